@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.util.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * JMH benchmarks for an {@link ExecutorChannel} with a handler that blocks (e.g. on JDBC
+ * or HTTP I/O) for {@code blockingMicros}, comparing a platform thread pool with the
+ * {@link VirtualThreadTaskExecutor}; each invocation sends a burst of messages and waits
+ * for all of them to be handled.
+ * <p>
+ * The virtual thread benchmark requires a Java 21 or later runtime.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockingHandlerBenchmarks {
+
+	private static final int BURST = 1000;
+
+	@Param({ "100", "1000" })
+	private long blockingMicros;
+
+	@Param({ "50", "200" })
+	private int platformPoolSize;
+
+	private final Message<?> message = MessageBuilder.withPayload("test").build();
+
+	private ThreadPoolTaskExecutor platformExecutor;
+
+	private ExecutorChannel platformChannel;
+
+	private ExecutorChannel virtualChannel;
+
+	private volatile CountDownLatch latch;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.platformExecutor = new ThreadPoolTaskExecutor();
+		this.platformExecutor.setCorePoolSize(this.platformPoolSize);
+		this.platformExecutor.setMaxPoolSize(this.platformPoolSize);
+		this.platformExecutor.setThreadNamePrefix("platform-");
+		this.platformExecutor.initialize();
+		this.platformChannel = new ExecutorChannel(this.platformExecutor);
+		this.platformChannel.subscribe(m -> block());
+		if (VirtualThreadTaskExecutor.isSupported()) {
+			this.virtualChannel = new ExecutorChannel(new VirtualThreadTaskExecutor());
+			this.virtualChannel.subscribe(m -> block());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.platformExecutor.shutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void platformThreads() throws InterruptedException {
+		burst(this.platformChannel);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void virtualThreads() throws InterruptedException {
+		if (this.virtualChannel == null) {
+			throw new IllegalStateException("Virtual threads require a Java 21 or later runtime");
+		}
+		burst(this.virtualChannel);
+	}
+
+	private void burst(ExecutorChannel channel) throws InterruptedException {
+		this.latch = new CountDownLatch(BURST);
+		for (int i = 0; i < BURST; i++) {
+			channel.send(this.message);
+		}
+		this.latch.await();
+	}
+
+	private void block() {
+		LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(this.blockingMicros));
+		this.latch.countDown();
+	}
+
+}
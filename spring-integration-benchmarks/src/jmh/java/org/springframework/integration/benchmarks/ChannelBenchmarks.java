@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.channel.FluxMessageChannel;
+import org.springframework.integration.channel.PriorityChannel;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.channel.RingBufferChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.util.CallerBlocksPolicy;
+import org.springframework.messaging.Message;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * JMH benchmarks for the core {@link org.springframework.messaging.MessageChannel}
+ * implementations.
+ * <p>
+ * Each benchmark runs in {@link Mode#Throughput} and {@link Mode#SampleTime};
+ * the latter reports the p99 (and other percentiles) of a single operation.
+ * Run with {@code ./gradlew :spring-integration-benchmarks:jmh}.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChannelBenchmarks {
+
+	private static final int SUBSCRIBERS = 4;
+
+	private static final int CAPACITY = 1024;
+
+	private final Message<?> message = MessageBuilder.withPayload("test").build();
+
+	private final Message<?> priorityMessage = MessageBuilder.withPayload("test").setPriority(5).build();
+
+	private DirectChannel directChannel;
+
+	private ExecutorChannel executorChannel;
+
+	private PublishSubscribeChannel publishSubscribeChannel;
+
+	private FluxMessageChannel fluxMessageChannel;
+
+	private QueueChannel queueChannel;
+
+	private PriorityChannel priorityChannel;
+
+	private QueueChannel boundedQueueChannel;
+
+	private PriorityChannel boundedPriorityChannel;
+
+	private RingBufferChannel ringBufferChannel;
+
+	private ThreadPoolExecutor executor;
+
+	@Setup(Level.Trial)
+	public void setup(Blackhole blackhole) {
+		this.executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024),
+				new CallerBlocksPolicy(Long.MAX_VALUE));
+
+		this.directChannel = new DirectChannel();
+		this.directChannel.subscribe(blackhole::consume);
+
+		this.executorChannel = new ExecutorChannel(this.executor);
+		this.executorChannel.afterPropertiesSet();
+		this.executorChannel.subscribe(blackhole::consume);
+
+		this.publishSubscribeChannel = new PublishSubscribeChannel();
+		this.publishSubscribeChannel.afterPropertiesSet();
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			this.publishSubscribeChannel.subscribe(blackhole::consume);
+		}
+
+		this.fluxMessageChannel = new FluxMessageChannel();
+		Flux.from(this.fluxMessageChannel).subscribe(blackhole::consume);
+
+		this.queueChannel = new QueueChannel();
+		this.priorityChannel = new PriorityChannel();
+		this.boundedQueueChannel = new QueueChannel(CAPACITY);
+		this.boundedPriorityChannel = new PriorityChannel(CAPACITY);
+		this.ringBufferChannel = new RingBufferChannel(CAPACITY);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Benchmark
+	public boolean directChannelSend() {
+		return this.directChannel.send(this.message);
+	}
+
+	@Benchmark
+	public boolean executorChannelSend() {
+		return this.executorChannel.send(this.message);
+	}
+
+	@Benchmark
+	public boolean publishSubscribeChannelSend() {
+		return this.publishSubscribeChannel.send(this.message);
+	}
+
+	@Benchmark
+	public boolean fluxMessageChannelSend() {
+		return this.fluxMessageChannel.send(this.message);
+	}
+
+	@Benchmark
+	public Message<?> queueChannelSendReceive() {
+		this.queueChannel.send(this.message);
+		return this.queueChannel.receive(0);
+	}
+
+	@Benchmark
+	public Message<?> ringBufferChannelSendReceive() {
+		this.ringBufferChannel.send(this.message);
+		return this.ringBufferChannel.receive(0);
+	}
+
+	@Benchmark
+	public Message<?> priorityChannelSendReceive() {
+		this.priorityChannel.send(this.priorityMessage);
+		return this.priorityChannel.receive(0);
+	}
+
+	@Benchmark
+	@Group("queueChannelContended")
+	@GroupThreads(4)
+	public boolean queueChannelProducer() {
+		return this.boundedQueueChannel.send(this.message, 0);
+	}
+
+	@Benchmark
+	@Group("queueChannelContended")
+	@GroupThreads(4)
+	public Message<?> queueChannelConsumer() {
+		return this.boundedQueueChannel.receive(0);
+	}
+
+	@Benchmark
+	@Group("priorityChannelContended")
+	@GroupThreads(4)
+	public boolean priorityChannelProducer() {
+		return this.boundedPriorityChannel.send(this.priorityMessage, 0);
+	}
+
+	@Benchmark
+	@Group("priorityChannelContended")
+	@GroupThreads(4)
+	public Message<?> priorityChannelConsumer() {
+		return this.boundedPriorityChannel.receive(0);
+	}
+
+	@Benchmark
+	@Group("ringBufferChannelContended")
+	@GroupThreads(4)
+	public boolean ringBufferChannelProducer() {
+		return this.ringBufferChannel.send(this.message, 0);
+	}
+
+	@Benchmark
+	@Group("ringBufferChannelContended")
+	@GroupThreads(4)
+	public Message<?> ringBufferChannelConsumer() {
+		return this.ringBufferChannel.receive(0);
+	}
+
+}
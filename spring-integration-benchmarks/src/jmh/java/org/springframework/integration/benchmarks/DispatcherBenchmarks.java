@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.dispatcher.BroadcastingDispatcher;
+import org.springframework.integration.dispatcher.RoundRobinLoadBalancingStrategy;
+import org.springframework.integration.dispatcher.UnicastingDispatcher;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * JMH benchmarks for the {@link UnicastingDispatcher} and {@link BroadcastingDispatcher}
+ * with a variable number of subscribed handlers; the {@link BroadcastingDispatcher} is also
+ * measured with an executor, submitting a task per handler and message or through
+ * per-handler lanes.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DispatcherBenchmarks {
+
+	@Param({ "1", "4", "12" })
+	private int handlers;
+
+	@Param({ "false", "true" })
+	private boolean applySequence;
+
+	private final Message<?> message = MessageBuilder.withPayload("test").build();
+
+	private UnicastingDispatcher unicastingDispatcher;
+
+	private UnicastingDispatcher roundRobinDispatcher;
+
+	private BroadcastingDispatcher broadcastingDispatcher;
+
+	private ExecutorService executor;
+
+	private BroadcastingDispatcher executorBroadcastingDispatcher;
+
+	private BroadcastingDispatcher laneBroadcastingDispatcher;
+
+	@Setup(Level.Trial)
+	public void setup(Blackhole blackhole) {
+		this.unicastingDispatcher = new UnicastingDispatcher();
+		this.roundRobinDispatcher = new UnicastingDispatcher();
+		this.roundRobinDispatcher.setLoadBalancingStrategy(new RoundRobinLoadBalancingStrategy());
+		this.broadcastingDispatcher = new BroadcastingDispatcher(true);
+		this.broadcastingDispatcher.setApplySequence(this.applySequence);
+		this.executor = Executors.newFixedThreadPool(4);
+		this.executorBroadcastingDispatcher = new BroadcastingDispatcher(this.executor);
+		this.executorBroadcastingDispatcher.setApplySequence(this.applySequence);
+		this.laneBroadcastingDispatcher = new BroadcastingDispatcher(this.executor);
+		this.laneBroadcastingDispatcher.setApplySequence(this.applySequence);
+		this.laneBroadcastingDispatcher.setSubscriberLaneCapacity(1024);
+		for (int i = 0; i < this.handlers; i++) {
+			this.unicastingDispatcher.addHandler(blackhole::consume);
+			this.roundRobinDispatcher.addHandler(blackhole::consume);
+			this.broadcastingDispatcher.addHandler(blackhole::consume);
+			this.executorBroadcastingDispatcher.addHandler(blackhole::consume);
+			this.laneBroadcastingDispatcher.addHandler(blackhole::consume);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Benchmark
+	public boolean unicastingDispatch() {
+		return this.unicastingDispatcher.dispatch(this.message);
+	}
+
+	@Benchmark
+	public boolean roundRobinDispatch() {
+		return this.roundRobinDispatcher.dispatch(this.message);
+	}
+
+	@Benchmark
+	public boolean broadcastingDispatch() {
+		return this.broadcastingDispatcher.dispatch(this.message);
+	}
+
+	@Benchmark
+	public boolean executorBroadcastingDispatch() {
+		return this.executorBroadcastingDispatcher.dispatch(this.message);
+	}
+
+	@Benchmark
+	public boolean laneBroadcastingDispatch() {
+		return this.laneBroadcastingDispatcher.dispatch(this.message);
+	}
+
+}
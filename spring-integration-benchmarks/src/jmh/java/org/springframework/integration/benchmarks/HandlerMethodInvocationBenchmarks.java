@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.annotation.UseSpelInvoker;
+import org.springframework.integration.handler.GenericHandler;
+import org.springframework.integration.handler.LambdaMessageProcessor;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.util.MessagingMethodInvokerHelper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.messaging.handler.invocation.InvocableHandlerMethod;
+
+/**
+ * JMH benchmark for the POJO method invocation strategies of the
+ * {@link MessagingMethodInvokerHelper}: the direct invoker with arguments bound straight
+ * from the message, the argument resolvers of an {@link InvocableHandlerMethod} and
+ * interpreted and compiled SpEL, compared with the {@link LambdaMessageProcessor} of a
+ * Java DSL {@link GenericHandler} lambda.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HandlerMethodInvocationBenchmarks {
+
+	private final Message<?> message = MessageBuilder.withPayload("foo").setHeader("bar", "bar").build();
+
+	private final Service service = new Service();
+
+	private MessagingMethodInvokerHelper<?> directInvoker;
+
+	private InvocableHandlerMethod invocableHandlerMethod;
+
+	private MessagingMethodInvokerHelper<?> spelInvoker;
+
+	private MessagingMethodInvokerHelper<?> compiledSpelInvoker;
+
+	private LambdaMessageProcessor lambdaMessageProcessor;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		Method method = Service.class.getMethod("handle", String.class, String.class);
+		this.directInvoker = new MessagingMethodInvokerHelper<>(this.service, method, false);
+
+		DefaultMessageHandlerMethodFactory messageHandlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+		messageHandlerMethodFactory.afterPropertiesSet();
+		this.invocableHandlerMethod = messageHandlerMethodFactory.createInvocableHandlerMethod(this.service, method);
+
+		this.spelInvoker = new MessagingMethodInvokerHelper<>(this.service, method, false);
+		this.spelInvoker.setUseSpelInvoker(true);
+
+		this.compiledSpelInvoker = new MessagingMethodInvokerHelper<>(this.service,
+				Service.class.getMethod("compiledHandle", String.class, String.class), false);
+
+		GenericHandler<String> handler =
+				(payload, headers) -> this.service.handle(payload, (String) headers.get("bar"));
+		this.lambdaMessageProcessor = new LambdaMessageProcessor(handler, String.class);
+		this.lambdaMessageProcessor.setBeanFactory(new DefaultListableBeanFactory());
+	}
+
+	@Benchmark
+	public Object directInvoker() throws Exception {
+		return this.directInvoker.process(this.message);
+	}
+
+	@Benchmark
+	public Object invocableHandlerMethod() throws Exception {
+		return this.invocableHandlerMethod.invoke(this.message);
+	}
+
+	@Benchmark
+	public Object spelInvoker() throws Exception {
+		return this.spelInvoker.process(this.message);
+	}
+
+	@Benchmark
+	public Object compiledSpelInvoker() throws Exception {
+		return this.compiledSpelInvoker.process(this.message);
+	}
+
+	@Benchmark
+	public Object lambdaMessageProcessor() throws Exception {
+		return this.lambdaMessageProcessor.processMessage(this.message);
+	}
+
+	public static class Service {
+
+		public String handle(String payload, @Header("bar") String bar) {
+			return payload + bar;
+		}
+
+		@UseSpelInvoker(compilerMode = "IMMEDIATE")
+		public String compiledHandle(String payload, @Header("bar") String bar) {
+			return payload + bar;
+		}
+
+	}
+
+}
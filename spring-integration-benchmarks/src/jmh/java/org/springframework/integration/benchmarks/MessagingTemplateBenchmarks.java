@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.integration.handler.BridgeHandler;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * JMH benchmark for the {@link MessagingTemplate#sendAndReceive} request-reply round trip
+ * through a {@link DirectChannel} and a {@link BridgeHandler} replying to the
+ * {@code replyChannel} header.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessagingTemplateBenchmarks {
+
+	private final Message<?> message = MessageBuilder.withPayload("test").build();
+
+	private final MessagingTemplate messagingTemplate = new MessagingTemplate();
+
+	private final DirectChannel requestChannel = new DirectChannel();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		BridgeHandler handler = new BridgeHandler();
+		handler.afterPropertiesSet();
+		this.requestChannel.subscribe(handler);
+		this.messagingTemplate.setDefaultChannel(this.requestChannel);
+	}
+
+	@Benchmark
+	public Message<?> sendAndReceive() {
+		return this.messagingTemplate.sendAndReceive(this.message);
+	}
+
+}
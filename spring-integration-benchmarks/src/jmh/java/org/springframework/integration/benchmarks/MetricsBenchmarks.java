@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.handler.AbstractMessageHandler;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.management.DefaultMetricsFactory;
+import org.springframework.integration.support.management.LatencyHistogramMetricsFactory;
+import org.springframework.integration.support.management.LockFreeMetricsFactory;
+import org.springframework.integration.support.management.MetricsFactory;
+import org.springframework.messaging.Message;
+
+/**
+ * JMH benchmarks for the {@link DirectChannel} send overhead with metrics off, counts only,
+ * and full statistics provided by the {@link DefaultMetricsFactory}, {@link LockFreeMetricsFactory}
+ * and {@link LatencyHistogramMetricsFactory}.
+ * The contended variant shows the monitor contention on the moving averages.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsBenchmarks {
+
+	@Param({ "off", "counts", "default", "lockFree", "histogram" })
+	private String metrics;
+
+	private final Message<?> message = MessageBuilder.withPayload("test").build();
+
+	private DirectChannel channel;
+
+	@Setup(Level.Trial)
+	public void setup(final Blackhole blackhole) {
+		AbstractMessageHandler handler = new AbstractMessageHandler() {
+
+			@Override
+			protected void handleMessageInternal(Message<?> message) throws Exception {
+				blackhole.consume(message);
+			}
+
+		};
+		this.channel = new DirectChannel();
+		this.channel.setLoggingEnabled(false);
+		handler.setLoggingEnabled(false);
+		MetricsFactory metricsFactory;
+		if ("lockFree".equals(this.metrics)) {
+			metricsFactory = new LockFreeMetricsFactory();
+		}
+		else if ("histogram".equals(this.metrics)) {
+			metricsFactory = new LatencyHistogramMetricsFactory();
+		}
+		else {
+			metricsFactory = new DefaultMetricsFactory();
+		}
+		this.channel.configureMetrics(metricsFactory.createChannelMetrics("channel"));
+		handler.configureMetrics(metricsFactory.createHandlerMetrics("handler"));
+		boolean stats = !"off".equals(this.metrics) && !"counts".equals(this.metrics);
+		this.channel.setCountsEnabled(!"off".equals(this.metrics));
+		this.channel.setStatsEnabled(stats);
+		handler.setCountsEnabled(!"off".equals(this.metrics));
+		handler.setStatsEnabled(stats);
+		this.channel.subscribe(handler);
+	}
+
+	@Benchmark
+	public boolean send() {
+		return this.channel.send(this.message);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public boolean sendContended() {
+		return this.channel.send(this.message);
+	}
+
+}
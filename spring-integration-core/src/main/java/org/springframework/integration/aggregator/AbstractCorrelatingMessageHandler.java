@@ -16,14 +16,15 @@
 
 package org.springframework.integration.aggregator;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.locks.Lock;
 
@@ -88,11 +89,21 @@ import org.springframework.util.CollectionUtils;
 public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageProducingHandler
 		implements DiscardingMessageHandler, DisposableBean, ApplicationEventPublisherAware, Lifecycle {
 
+	private static final int MIN_INCREMENTAL_RELEASE_STATES_SWEEP_THRESHOLD = 100;
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Comparator<Message<?>> sequenceNumberComparator = new SequenceNumberComparator();
 
-	private final Map<UUID, ScheduledFuture<?>> expireGroupScheduledFutures = new HashMap<>();
+	private final Map<UUID, ScheduledFuture<?>> expireGroupScheduledFutures = new ConcurrentHashMap<>();
+
+	private final Map<UUID, IncrementalReleaseState> incrementalReleaseStates = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of incremental release states above which the states of the groups
+	 * removed from the store by other means than this handler are evicted.
+	 */
+	private volatile int incrementalReleaseStatesSweepThreshold = MIN_INCREMENTAL_RELEASE_STATES_SWEEP_THRESHOLD;
 
 	private MessageGroupProcessor outputProcessor;
 
@@ -166,7 +177,10 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 	public final void setMessageStore(MessageGroupStore store) {
 		this.messageStore = store;
 		store.registerMessageGroupExpiryCallback(
-				(messageGroupStore, group) -> this.forceReleaseProcessor.processMessageGroup(group));
+				(messageGroupStore, group) -> {
+					this.incrementalReleaseStates.remove(UUIDConverter.getUUID(group.getGroupId()));
+					this.forceReleaseProcessor.processMessageGroup(group);
+				});
 	}
 
 	public void setCorrelationStrategy(CorrelationStrategy correlationStrategy) {
@@ -369,6 +383,10 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		return this.sequenceAware;
 	}
 
+	void setSequenceAware(boolean sequenceAware) {
+		this.sequenceAware = sequenceAware;
+	}
+
 	protected LockRegistry getLockRegistry() {
 		return this.lockRegistry;
 	}
@@ -426,7 +444,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 				}
 				messageGroup = this.store(correlationKey, message);
 
-				if (this.releaseStrategy.canRelease(messageGroup)) {
+				if (canRelease(groupIdUuid, messageGroup, message)) {
 					Collection<Message<?>> completedMessages = null;
 					try {
 						completedMessages = this.completeGroup(message, correlationKey, messageGroup);
@@ -434,7 +452,12 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 					finally {
 						// Always clean up even if there was an exception
 						// processing messages
-						this.afterRelease(messageGroup, completedMessages);
+						try {
+							this.afterRelease(messageGroup, completedMessages);
+						}
+						finally {
+							afterIncrementalRelease(groupIdUuid, correlationKey, completedMessages);
+						}
 					}
 					if (!isExpireGroupsUponCompletion() && this.minimumTimeoutForEmptyGroups > 0) {
 						removeEmptyGroupAfterTimeout(messageGroup, this.minimumTimeoutForEmptyGroups);
@@ -457,6 +480,74 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		return false;
 	}
 
+	@SuppressWarnings("unchecked")
+	private boolean canRelease(UUID groupIdUuid, MessageGroup messageGroup, Message<?> message) {
+		if (!(this.releaseStrategy instanceof IncrementalReleaseStrategy)) {
+			return this.releaseStrategy.canRelease(messageGroup);
+		}
+		IncrementalReleaseStrategy<Object> incrementalReleaseStrategy =
+				(IncrementalReleaseStrategy<Object>) this.releaseStrategy;
+		int size = messageGroup.size();
+		IncrementalReleaseState releaseState = this.incrementalReleaseStates.get(groupIdUuid);
+		boolean canRelease;
+		if (releaseState != null && releaseState.groupSize + 1 == size
+				&& releaseState.groupTimestamp == messageGroup.getTimestamp()) {
+			canRelease = incrementalReleaseStrategy.canRelease(messageGroup, releaseState.state, message);
+		}
+		else {
+			/*
+			 * No state yet, or the group has been changed by other means than adding this message
+			 * (e.g. another instance sharing the store): start over.
+			 */
+			releaseState = new IncrementalReleaseState(messageGroup.getGroupId(),
+					incrementalReleaseStrategy.createState(messageGroup), messageGroup.getTimestamp());
+			if (this.incrementalReleaseStates.put(groupIdUuid, releaseState) == null
+					&& this.incrementalReleaseStates.size() > this.incrementalReleaseStatesSweepThreshold) {
+				evictRemovedGroupsReleaseStates();
+			}
+			canRelease = incrementalReleaseStrategy.canRelease(messageGroup, releaseState.state, null);
+		}
+		releaseState.groupSize = size;
+		return canRelease;
+	}
+
+	/**
+	 * Keep the incremental release state of a partially released group up to date,
+	 * or evict it when the group is fully released or the strategy can't update it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void afterIncrementalRelease(UUID groupIdUuid, Object correlationKey,
+			Collection<Message<?>> completedMessages) {
+		IncrementalReleaseState releaseState = this.incrementalReleaseStates.remove(groupIdUuid);
+		if (releaseState != null && completedMessages != null) {
+			int remaining = this.messageStore.messageGroupSize(correlationKey);
+			if (remaining > 0 && ((IncrementalReleaseStrategy<Object>) this.releaseStrategy)
+					.released(releaseState.state, completedMessages)) {
+				releaseState.groupSize = remaining;
+				this.incrementalReleaseStates.put(groupIdUuid, releaseState);
+			}
+		}
+	}
+
+	/**
+	 * Evict the incremental release states of the groups which are no longer in the store,
+	 * e.g. removed by another instance or directly via the store; called when the number
+	 * of states reaches a threshold, which is then raised to twice the remaining states.
+	 */
+	private void evictRemovedGroupsReleaseStates() {
+		synchronized (this.incrementalReleaseStates) {
+			if (this.incrementalReleaseStates.size() > this.incrementalReleaseStatesSweepThreshold) {
+				this.incrementalReleaseStates.forEach((groupIdUuid, releaseState) -> {
+					if (this.messageStore.messageGroupSize(releaseState.groupId) == 0) {
+						this.incrementalReleaseStates.remove(groupIdUuid, releaseState);
+					}
+				});
+				this.incrementalReleaseStatesSweepThreshold = Math.max(MIN_INCREMENTAL_RELEASE_STATES_SWEEP_THRESHOLD,
+						2 * this.incrementalReleaseStates.size());
+			}
+		}
+	}
+
 	private void removeEmptyGroupAfterTimeout(MessageGroup messageGroup, long timeout) {
 		Object groupId = messageGroup.getGroupId();
 		UUID groupUuid = UUIDConverter.getUUID(groupId);
@@ -655,6 +746,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 			}
 			finally {
 				try {
+					this.incrementalReleaseStates.remove(UUIDConverter.getUUID(correlationKey));
 					if (removeGroup) {
 						this.remove(group);
 					}
@@ -672,6 +764,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 
 	void remove(MessageGroup group) {
 		Object correlationKey = group.getGroupId();
+		this.incrementalReleaseStates.remove(UUIDConverter.getUUID(correlationKey));
 		this.messageStore.removeMessageGroup(correlationKey);
 	}
 
@@ -823,8 +916,15 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 				if (messageSequenceSize == null) {
 					messageSequenceSize = 0;
 				}
-				return messageSequenceSize.equals(getSequenceSize())
-						&& !(this.sourceGroup != null ? this.sourceGroup.containsSequence(messageSequenceNumber)
+				if (!messageSequenceSize.equals(getSequenceSize())) {
+					return false;
+				}
+				BitSet accumulatedSequenceNumbers = getOne().getHeaders()
+						.get(AccumulatingMessageGroupProcessor.ACCUMULATED_SEQUENCE_NUMBERS, BitSet.class);
+				if (accumulatedSequenceNumbers != null) {
+					return !accumulatedSequenceNumbers.get(messageSequenceNumber);
+				}
+				return !(this.sourceGroup != null ? this.sourceGroup.containsSequence(messageSequenceNumber)
 						: containsSequenceNumber(this.getMessages(), messageSequenceNumber));
 			}
 			return true;
@@ -842,6 +942,24 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 
 	}
 
+	private static final class IncrementalReleaseState {
+
+		private final Object groupId;
+
+		private final Object state;
+
+		private final long groupTimestamp;
+
+		private volatile int groupSize;
+
+		IncrementalReleaseState(Object groupId, Object state, long groupTimestamp) {
+			this.groupId = groupId;
+			this.state = state;
+			this.groupTimestamp = groupTimestamp;
+		}
+
+	}
+
 	private class ForceReleaseMessageGroupProcessor implements MessageGroupProcessor {
 
 		ForceReleaseMessageGroupProcessor() {
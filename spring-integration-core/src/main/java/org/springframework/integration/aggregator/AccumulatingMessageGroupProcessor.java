@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MessageGroupProcessor} for the <i>fold</i> aggregation mode of the
+ * {@link AggregatingMessageHandler}: instead of storing each message of a group and
+ * building the result from all of them on release, the handler combines each arriving
+ * message into an accumulator with the {@link MessageAccumulator} and the group in the
+ * store only ever contains a single message carrying that accumulator.
+ * <p>
+ * The headers are merged as they arrive, with the same semantics as the
+ * {@link AbstractAggregatingMessageGroupProcessor#aggregateHeaders(MessageGroup)}: headers
+ * with conflicting values are excluded from the result. The accumulated message also
+ * carries the {@link #ACCUMULATED_COUNT} and the {@code sequenceSize} of the first
+ * message, so the release strategy can still compare the number of messages received
+ * with the sequence size, and the {@link #ACCUMULATED_SEQUENCE_NUMBERS}, so a message
+ * with a sequence number already accumulated can be rejected as a duplicate.
+ * <p>
+ * The original messages are not retained: the discard channel of an expired group
+ * receives the accumulated message instead.
+ *
+ * @param <A> the accumulator type.
+ *
+ * @since 5.0
+ */
+public class AccumulatingMessageGroupProcessor<A> extends AbstractAggregatingMessageGroupProcessor {
+
+	/**
+	 * The header for the number of messages folded into the accumulated message.
+	 */
+	public static final String ACCUMULATED_COUNT = "accumulatedCount";
+
+	/**
+	 * The header for the names of the headers excluded from the accumulated message
+	 * because of conflicting values.
+	 */
+	public static final String ACCUMULATED_HEADER_CONFLICTS = "accumulatedHeaderConflicts";
+
+	/**
+	 * The header for the {@link BitSet} of the sequence numbers of the messages folded into
+	 * the accumulated message.
+	 */
+	public static final String ACCUMULATED_SEQUENCE_NUMBERS = "accumulatedSequenceNumbers";
+
+	private final MessageAccumulator<A> accumulator;
+
+	public AccumulatingMessageGroupProcessor(MessageAccumulator<A> accumulator) {
+		Assert.notNull(accumulator, "'accumulator' must not be null");
+		this.accumulator = accumulator;
+	}
+
+	/**
+	 * Fold the message into the accumulated message of a group.
+	 * @param accumulated the current accumulated message; null for the first message of a group.
+	 * @param message the message to fold.
+	 * @return the new accumulated message.
+	 */
+	@SuppressWarnings("unchecked")
+	public Message<?> accumulate(Message<?> accumulated, Message<?> message) {
+		A newAccumulator = this.accumulator.accumulate(accumulated != null ? (A) accumulated.getPayload() : null,
+				message);
+		Assert.state(newAccumulator != null, "The 'MessageAccumulator' must not return null");
+		Map<String, Object> headers = new HashMap<>();
+		Set<String> conflictKeys = new HashSet<>();
+		int count = 1;
+		BitSet sequenceNumbers = new BitSet();
+		if (accumulated == null) {
+			for (Entry<String, Object> entry : message.getHeaders().entrySet()) {
+				if (!IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER.equals(entry.getKey())) {
+					headers.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		else {
+			MessageHeaders accumulatedHeaders = accumulated.getHeaders();
+			headers.putAll(accumulatedHeaders);
+			Collection<String> accumulatedConflictKeys =
+					accumulatedHeaders.get(ACCUMULATED_HEADER_CONFLICTS, Collection.class);
+			if (accumulatedConflictKeys != null) {
+				conflictKeys.addAll(accumulatedConflictKeys);
+			}
+			Integer accumulatedCount = accumulatedHeaders.get(ACCUMULATED_COUNT, Integer.class);
+			count = (accumulatedCount != null ? accumulatedCount : 1) + 1;
+			BitSet accumulatedSequenceNumbers = accumulatedHeaders.get(ACCUMULATED_SEQUENCE_NUMBERS, BitSet.class);
+			if (accumulatedSequenceNumbers != null) {
+				// a copy: the headers of the previous accumulated message are not modified
+				sequenceNumbers.or(accumulatedSequenceNumbers);
+			}
+			for (Entry<String, Object> entry : message.getHeaders().entrySet()) {
+				String key = entry.getKey();
+				if (isTransientHeader(key) || conflictKeys.contains(key)) {
+					continue;
+				}
+				Object value = entry.getValue();
+				if (!headers.containsKey(key)) {
+					headers.put(key, value);
+				}
+				else {
+					Object existingValue = headers.get(key);
+					if (value != existingValue && (value == null || !value.equals(existingValue))) {
+						headers.remove(key);
+						conflictKeys.add(key);
+					}
+				}
+			}
+		}
+		headers.put(ACCUMULATED_COUNT, count);
+		Integer sequenceNumber = message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER,
+				Integer.class);
+		if (sequenceNumber != null && sequenceNumber > 0) {
+			sequenceNumbers.set(sequenceNumber);
+		}
+		if (sequenceNumbers.isEmpty()) {
+			headers.remove(ACCUMULATED_SEQUENCE_NUMBERS);
+		}
+		else {
+			headers.put(ACCUMULATED_SEQUENCE_NUMBERS, sequenceNumbers);
+		}
+		if (conflictKeys.isEmpty()) {
+			headers.remove(ACCUMULATED_HEADER_CONFLICTS);
+		}
+		else {
+			headers.put(ACCUMULATED_HEADER_CONFLICTS, conflictKeys);
+		}
+		return getMessageBuilderFactory()
+				.withPayload(newAccumulator)
+				.copyHeaders(headers)
+				.build();
+	}
+
+	@Override
+	protected Map<String, Object> aggregateHeaders(MessageGroup group) {
+		Message<?> accumulated = group.getOne();
+		Assert.notNull(accumulated, this.getClass().getSimpleName() + " cannot process empty message groups");
+		Map<String, Object> headers = new HashMap<>();
+		for (Entry<String, Object> entry : accumulated.getHeaders().entrySet()) {
+			String key = entry.getKey();
+			if (!isTransientHeader(key) && !ACCUMULATED_COUNT.equals(key)
+					&& !ACCUMULATED_HEADER_CONFLICTS.equals(key) && !ACCUMULATED_SEQUENCE_NUMBERS.equals(key)) {
+				headers.put(key, entry.getValue());
+			}
+		}
+		return headers;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected Object aggregatePayloads(MessageGroup group, Map<String, Object> defaultHeaders) {
+		return this.accumulator.result((A) group.getOne().getPayload());
+	}
+
+	private static boolean isTransientHeader(String key) {
+		return MessageHeaders.ID.equals(key) || MessageHeaders.TIMESTAMP.equals(key)
+				|| IntegrationMessageHeaderAccessor.SEQUENCE_SIZE.equals(key)
+				|| IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER.equals(key);
+	}
+
+}
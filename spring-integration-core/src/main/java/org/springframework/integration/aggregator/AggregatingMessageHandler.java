@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,15 +18,28 @@ package org.springframework.integration.aggregator;
 
 import java.util.Collection;
 
+import org.springframework.context.Lifecycle;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
 
 /**
  * Aggregator specific implementation of {@link AbstractCorrelatingMessageHandler}.
  * Will remove {@link MessageGroup}s in the {@linkplain #afterRelease}
  * only if 'expireGroupsUponCompletion' flag is set to 'true'.
+ * <p>
+ * When the output processor is an {@link AccumulatingMessageGroupProcessor}, the handler
+ * works in the <i>fold</i> mode: each arriving message is combined into the single
+ * accumulated message of its group instead of being added to the group, so the memory
+ * (or the persistent store) only holds one message per group. In this mode, the
+ * {@link ReleaseStrategy} is presented with a group containing the accumulated message,
+ * but with the {@link MessageGroup#size()} reporting the number of messages accumulated.
+ * With a {@link SequenceSizeReleaseStrategy}, a message with a sequence number already
+ * accumulated is discarded, as in the regular mode. Since the original messages are not
+ * retained, the discard channel of an expired group receives the accumulated message.
  *
  * @author Oleg Zhurakousky
  * @author Artem Bilan
@@ -37,6 +50,8 @@ public class AggregatingMessageHandler extends AbstractCorrelatingMessageHandler
 
 	private volatile boolean expireGroupsUponCompletion = false;
 
+	private volatile AccumulatingMessageGroupProcessor<?> accumulatingProcessor;
+
 	public AggregatingMessageHandler(MessageGroupProcessor processor, MessageGroupStore store,
 			CorrelationStrategy correlationStrategy, ReleaseStrategy releaseStrategy) {
 		super(processor, store, correlationStrategy, releaseStrategy);
@@ -61,6 +76,34 @@ public class AggregatingMessageHandler extends AbstractCorrelatingMessageHandler
 		this.expireGroupsUponCompletion = expireGroupsUponCompletion;
 	}
 
+	@Override
+	protected void onInit() throws Exception {
+		super.onInit();
+		if (getOutputProcessor() instanceof AccumulatingMessageGroupProcessor) {
+			Assert.state(!isReleasePartialSequences(),
+					"Partial sequences cannot be released with an 'AccumulatingMessageGroupProcessor'");
+			this.accumulatingProcessor = (AccumulatingMessageGroupProcessor<?>) getOutputProcessor();
+			boolean sequenceAware = isSequenceAware();
+			setReleaseStrategy(new AccumulatedCountReleaseStrategy(getReleaseStrategy()));
+			// the sequence numbers are tracked in the accumulated message to reject the duplicates
+			setSequenceAware(sequenceAware);
+		}
+	}
+
+	@Override
+	protected MessageGroup store(Object correlationKey, Message<?> message) {
+		if (this.accumulatingProcessor == null) {
+			return super.store(correlationKey, message);
+		}
+		MessageGroupStore messageStore = getMessageStore();
+		Message<?> accumulated = messageStore.getOneMessageFromGroup(correlationKey);
+		Message<?> newAccumulated = this.accumulatingProcessor.accumulate(accumulated, message);
+		if (accumulated != null) {
+			messageStore.removeMessagesFromGroup(correlationKey, accumulated);
+		}
+		return new AccumulatedMessageGroup(messageStore.addMessageToGroup(correlationKey, newAccumulated));
+	}
+
 	@Override
 	protected boolean isExpireGroupsUponCompletion() {
 		return this.expireGroupsUponCompletion;
@@ -85,4 +128,66 @@ public class AggregatingMessageHandler extends AbstractCorrelatingMessageHandler
 		}
 	}
 
+	/**
+	 * A view of the group for the release strategy, with the size reporting the number of
+	 * messages folded into the accumulated message.
+	 */
+	private static final class AccumulatedMessageGroup extends SimpleMessageGroup {
+
+		AccumulatedMessageGroup(MessageGroup messageGroup) {
+			super(messageGroup.getMessages(), null, messageGroup.getGroupId(), messageGroup.getTimestamp(),
+					messageGroup.isComplete(), true);
+		}
+
+		@Override
+		public int size() {
+			Message<?> accumulated = getOne();
+			if (accumulated == null) {
+				return 0;
+			}
+			Integer count = accumulated.getHeaders().get(AccumulatingMessageGroupProcessor.ACCUMULATED_COUNT,
+					Integer.class);
+			return count != null ? count : super.size();
+		}
+
+	}
+
+	private static final class AccumulatedCountReleaseStrategy implements ReleaseStrategy, Lifecycle {
+
+		private final ReleaseStrategy delegate;
+
+		AccumulatedCountReleaseStrategy(ReleaseStrategy delegate) {
+			this.delegate = delegate instanceof AccumulatedCountReleaseStrategy
+					? ((AccumulatedCountReleaseStrategy) delegate).delegate
+					: delegate;
+		}
+
+		@Override
+		public boolean canRelease(MessageGroup group) {
+			return this.delegate.canRelease(group instanceof AccumulatedMessageGroup
+					? group
+					: new AccumulatedMessageGroup(group));
+		}
+
+		@Override
+		public void start() {
+			if (this.delegate instanceof Lifecycle) {
+				((Lifecycle) this.delegate).start();
+			}
+		}
+
+		@Override
+		public void stop() {
+			if (this.delegate instanceof Lifecycle) {
+				((Lifecycle) this.delegate).stop();
+			}
+		}
+
+		@Override
+		public boolean isRunning() {
+			return !(this.delegate instanceof Lifecycle) || ((Lifecycle) this.delegate).isRunning();
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.springframework.integration.aggregator;
 
-import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -117,11 +116,9 @@ public class CorrelatingMessageBarrier extends AbstractMessageHandler implements
 				//group might be removed by another thread
 				if (group != null) {
 					if (this.releaseStrategy.canRelease(group)) {
-						Message<?> nextMessage = null;
-
-						Iterator<Message<?>> messages = group.getMessages().iterator();
-						if (messages.hasNext()) {
-							nextMessage = messages.next();
+						// a single message is needed: don't iterate (and possibly stream) the whole group
+						Message<?> nextMessage = group.getOne();
+						if (nextMessage != null) {
 							this.store.removeMessagesFromGroup(key, nextMessage);
 							if (log.isDebugEnabled()) {
 								log.debug(String.format("Released message for key [%s]: %s.", key, nextMessage));
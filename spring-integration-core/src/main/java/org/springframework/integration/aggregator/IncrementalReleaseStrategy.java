@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.Collection;
+
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.messaging.Message;
+
+/**
+ * A {@link ReleaseStrategy} which can decide on the release incrementally: instead of
+ * (re)scanning the whole group for each arriving message, it accumulates what it needs in
+ * a small mutable state object which the correlating message handler keeps alongside the
+ * {@link MessageGroup} and passes to {@link #canRelease(MessageGroup, Object, Message)}
+ * together with the newly added message.
+ * <p>
+ * The state is created from the group with {@link #createState(MessageGroup)} when the
+ * handler has none for the group, or when the group has been modified otherwise than by
+ * adding that message (e.g. by another application instance sharing a persistent message
+ * store), or after a partial release which {@link #released(Object, Collection)} can't
+ * account for. The plain {@link #canRelease(MessageGroup)} is still
+ * used where no state is available, e.g. when a group is force-completed.
+ *
+ * @param <S> the state type.
+ *
+ * @since 5.0
+ */
+public interface IncrementalReleaseStrategy<S> extends ReleaseStrategy {
+
+	/**
+	 * Create a state accounting for all the messages currently in the group.
+	 * @param group the group.
+	 * @return the state.
+	 */
+	S createState(MessageGroup group);
+
+	/**
+	 * Account for the newly added message in the state and decide if the group can be released.
+	 * Implementations should not iterate the group messages.
+	 * @param group the group, already containing the message.
+	 * @param state the state for the group.
+	 * @param message the message just added to the group, or null if the state has just been
+	 * created from the group and therefore already accounts for it.
+	 * @return true if the group can be released.
+	 */
+	boolean canRelease(MessageGroup group, S state, Message<?> message);
+
+	/**
+	 * Account for the messages removed from the group by a partial release, e.g. by a
+	 * resequencer, so the state doesn't have to be created from the group again for the
+	 * next message. Returns false by default: the state is recreated.
+	 * @param state the state for the group.
+	 * @param releasedMessages the released messages.
+	 * @return true if the state has been updated, false if it has to be recreated.
+	 */
+	default boolean released(S state, Collection<Message<?>> releasedMessages) {
+		return false;
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.messaging.Message;
+
+/**
+ * An {@link IncrementalReleaseStrategy} variant of the {@link SequenceSizeReleaseStrategy}.
+ * When releasing partial sequences, the sequence numbers present in the group are tracked
+ * in a {@link BitSet}, so the lowest one is found without scanning and sorting the group
+ * messages for each arriving message.
+ *
+ * @since 5.0
+ */
+public class IncrementalSequenceSizeReleaseStrategy extends SequenceSizeReleaseStrategy
+		implements IncrementalReleaseStrategy<BitSet> {
+
+	/**
+	 * Construct an instance that does not support releasing partial sequences.
+	 */
+	public IncrementalSequenceSizeReleaseStrategy() {
+		super();
+	}
+
+	/**
+	 * Construct an instance that supports releasing partial sequences if
+	 * releasePartialSequences is true.
+	 * @param releasePartialSequences true to allow the release of partial sequences.
+	 */
+	public IncrementalSequenceSizeReleaseStrategy(boolean releasePartialSequences) {
+		super(releasePartialSequences);
+	}
+
+	@Override
+	public BitSet createState(MessageGroup group) {
+		BitSet sequenceNumbers = new BitSet();
+		if (isReleasePartialSequences()) {
+			for (Message<?> message : group.getMessages()) {
+				sequenceNumbers.set(new IntegrationMessageHeaderAccessor(message).getSequenceNumber());
+			}
+		}
+		return sequenceNumbers;
+	}
+
+	@Override
+	public boolean canRelease(MessageGroup group, BitSet state, Message<?> message) {
+		int size = group.size();
+		if (isReleasePartialSequences() && size > 0) {
+			if (message != null) {
+				state.set(new IntegrationMessageHeaderAccessor(message).getSequenceNumber());
+			}
+			return state.nextSetBit(0) - group.getLastReleasedMessageSequenceNumber() == 1;
+		}
+		else {
+			return size == 0 || group.getSequenceSize() == size;
+		}
+	}
+
+	@Override
+	public boolean released(BitSet state, Collection<Message<?>> releasedMessages) {
+		for (Message<?> message : releasedMessages) {
+			state.clear(new IntegrationMessageHeaderAccessor(message).getSequenceNumber());
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.messaging.Message;
+
+/**
+ * An {@link IncrementalReleaseStrategy} variant of the {@link TimeoutCountSequenceSizeReleaseStrategy}.
+ * The earliest message timestamp is maintained as the messages arrive, instead of iterating
+ * (and, with persistent stores, loading) all the group messages for each arriving message.
+ *
+ * @since 5.0
+ */
+public class IncrementalTimeoutCountSequenceSizeReleaseStrategy extends TimeoutCountSequenceSizeReleaseStrategy
+		implements IncrementalReleaseStrategy<AtomicLong> {
+
+	public IncrementalTimeoutCountSequenceSizeReleaseStrategy() {
+		super();
+	}
+
+	/**
+	 * @param threshold the number of messages to accept before releasing
+	 * @param timeout the timeout for the release in milliseconds
+	 */
+	public IncrementalTimeoutCountSequenceSizeReleaseStrategy(int threshold, long timeout) {
+		super(threshold, timeout);
+	}
+
+	@Override
+	public AtomicLong createState(MessageGroup group) {
+		return new AtomicLong(findEarliestTimestamp(group));
+	}
+
+	@Override
+	public boolean canRelease(MessageGroup group, AtomicLong state, Message<?> message) {
+		if (message != null) {
+			long timestamp = message.getHeaders().getTimestamp();
+			if (timestamp < state.get()) {
+				state.set(timestamp);
+			}
+		}
+		return canRelease(group, group.size(), state.get());
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import org.springframework.messaging.Message;
+
+/**
+ * A strategy to fold the messages of a group into an accumulator as they arrive,
+ * used by the {@link AccumulatingMessageGroupProcessor}.
+ * <p>
+ * The accumulator becomes the payload of the single message kept in the
+ * {@link org.springframework.integration.store.MessageGroupStore} for the group,
+ * so it must be {@link java.io.Serializable} (or otherwise supported by the store)
+ * when a persistent store is used.
+ *
+ * @param <A> the accumulator type.
+ *
+ * @since 5.0
+ */
+@FunctionalInterface
+public interface MessageAccumulator<A> {
+
+	/**
+	 * Combine the message into the accumulator.
+	 * @param accumulator the current accumulator; null for the first message of a group.
+	 * @param message the message to combine.
+	 * @return the new accumulator (may be the same instance); must not be null.
+	 */
+	A accumulate(A accumulator, Message<?> message);
+
+	/**
+	 * Convert the accumulator to the payload (or the {@link Message}) to emit when the
+	 * group is released. By default the accumulator itself is emitted.
+	 * @param accumulator the accumulator.
+	 * @return the result.
+	 */
+	default Object result(A accumulator) {
+		return accumulator;
+	}
+
+}
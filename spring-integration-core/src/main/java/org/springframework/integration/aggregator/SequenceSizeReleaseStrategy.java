@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -76,6 +76,14 @@ public class SequenceSizeReleaseStrategy implements ReleaseStrategy {
 		this.releasePartialSequences = releasePartialSequences;
 	}
 
+	/**
+	 * @return true when partial sequences are released.
+	 * @since 5.0
+	 */
+	protected boolean isReleasePartialSequences() {
+		return this.releasePartialSequences;
+	}
+
 	@Override
 	public boolean canRelease(MessageGroup messageGroup) {
 
@@ -62,15 +62,27 @@ public class TimeoutCountSequenceSizeReleaseStrategy implements ReleaseStrategy
 	}
 
 	public boolean canRelease(MessageGroup messages) {
-		long elapsedTime = System.currentTimeMillis() - findEarliestTimestamp(messages);
-		return messages.isComplete() || messages.getMessages().size() >= this.threshold || elapsedTime > this.timeout;
+		return canRelease(messages, messages.size(), findEarliestTimestamp(messages));
+	}
+
+	/**
+	 * Determine if the group can be released with the provided size and earliest message timestamp.
+	 * @param messages the message group
+	 * @param size the number of messages in the group
+	 * @param earliestTimestamp the earliest message timestamp
+	 * @return true if the group can be released
+	 * @since 5.0
+	 */
+	protected boolean canRelease(MessageGroup messages, int size, long earliestTimestamp) {
+		long elapsedTime = System.currentTimeMillis() - earliestTimestamp;
+		return messages.isComplete() || size >= this.threshold || elapsedTime > this.timeout;
 	}
 
 	/**
 	 * @param messages the message group
 	 * @return the earliest timestamp or Long.MAX_VALUE
 	 */
-	private long findEarliestTimestamp(MessageGroup messages) {
+	protected long findEarliestTimestamp(MessageGroup messages) {
 		long result = Long.MAX_VALUE;
 		for (Message<?> message : messages.getMessages()) {
 			long timestamp = message.getHeaders().getTimestamp();
@@ -308,6 +308,21 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		return this.channelMetrics.getStandardDeviationSendDuration();
 	}
 
+	@Override
+	public double getP50SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(50);
+	}
+
+	@Override
+	public double getP99SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(99);
+	}
+
+	@Override
+	public double getP999SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(99.9);
+	}
+
 	@Override
 	public Statistics getSendDuration() {
 		return this.channelMetrics.getSendDuration();
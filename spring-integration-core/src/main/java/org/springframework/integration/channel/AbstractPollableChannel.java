@@ -17,6 +17,8 @@
 package org.springframework.integration.channel;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 
@@ -25,6 +27,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -130,6 +133,79 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 		}
 	}
 
+	/**
+	 * Receive up to {@code maxMessages} messages from this channel in a single operation.
+	 * Blocks until the first message is available or the timeout elapses, according to
+	 * the {@link #receive(long)} semantics; the rest of the batch consists only of those
+	 * messages which are immediately available.
+	 * The {@link ChannelInterceptor#preReceive} is invoked once for the whole batch, whereas
+	 * {@link ChannelInterceptor#postReceive} and {@link ChannelInterceptor#afterReceiveCompletion}
+	 * are invoked for each received message.
+	 * @param maxMessages the maximum number of messages to receive.
+	 * @param timeout the timeout in milliseconds for the first message.
+	 * @return the received messages; never null, but may be empty.
+	 * @since 5.0
+	 * @see #doReceive(int, long)
+	 */
+	public List<Message<?>> receiveBatch(int maxMessages, long timeout) {
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than 0");
+		ChannelInterceptorList interceptorList = getInterceptors();
+		Deque<ChannelInterceptor> interceptorStack = null;
+		boolean counted = false;
+		boolean countsEnabled = isCountsEnabled();
+		try {
+			if (logger.isTraceEnabled()) {
+				logger.trace("preReceive on channel '" + this + "'");
+			}
+			if (interceptorList.getSize() > 0) {
+				interceptorStack = new ArrayDeque<ChannelInterceptor>();
+
+				if (!interceptorList.preReceive(this, interceptorStack)) {
+					return Collections.emptyList();
+				}
+			}
+			List<Message<?>> messages = this.doReceive(maxMessages, timeout);
+			if (countsEnabled) {
+				for (int i = 0; i < Math.max(1, messages.size()); i++) {
+					getMetrics().afterReceive();
+				}
+				counted = true;
+			}
+			if (!messages.isEmpty() && logger.isDebugEnabled()) {
+				logger.debug("postReceive on channel '" + this + "', messages: " + messages);
+			}
+			else if (logger.isTraceEnabled()) {
+				logger.trace("postReceive on channel '" + this + "', no messages");
+			}
+			if (!CollectionUtils.isEmpty(interceptorStack)) {
+				if (messages.isEmpty()) {
+					interceptorList.afterReceiveCompletion(null, this, null, interceptorStack);
+				}
+				else {
+					List<Message<?>> intercepted = new ArrayList<>(messages.size());
+					for (Message<?> message : messages) {
+						Message<?> theMessage = interceptorList.postReceive(message, this);
+						interceptorList.afterReceiveCompletion(theMessage, this, null, interceptorStack);
+						if (theMessage != null) {
+							intercepted.add(theMessage);
+						}
+					}
+					messages = intercepted;
+				}
+			}
+			return messages;
+		}
+		catch (RuntimeException e) {
+			if (countsEnabled && !counted) {
+				getMetrics().afterError();
+			}
+			if (!CollectionUtils.isEmpty(interceptorStack)) {
+				interceptorList.afterReceiveCompletion(null, this, e, interceptorStack);
+			}
+			throw e;
+		}
+	}
+
 	@Override
 	public void setInterceptors(List<ChannelInterceptor> interceptors) {
 		super.setInterceptors(interceptors);
@@ -191,4 +267,30 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 	 */
 	protected abstract Message<?> doReceive(long timeout);
 
+	/**
+	 * Receive up to {@code maxMessages} messages; waiting up to the timeout only for the
+	 * first one. This implementation invokes {@link #doReceive(long)} for each message;
+	 * subclasses are encouraged to override it with a bulk operation on their store.
+	 * @param maxMessages the maximum number of messages to receive.
+	 * @param timeout the timeout for the first message, see {@link #doReceive(long)}.
+	 * @return the messages; never null.
+	 * @since 5.0
+	 */
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		Message<?> message = doReceive(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>(Math.min(maxMessages, 16));
+		messages.add(message);
+		while (messages.size() < maxMessages) {
+			message = doReceive(0);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 }
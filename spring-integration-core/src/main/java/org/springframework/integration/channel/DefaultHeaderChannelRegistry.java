@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2016 the original author or authors.
+ * Copyright 2013-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,13 @@
 package org.springframework.integration.channel;
 
 import java.util.Date;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NavigableSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -39,6 +41,7 @@ import org.springframework.util.Assert;
  * in the event that the flow serialized the message at some point.
  * Channels are expired after a configurable delay (60 seconds by default).
  * The actual average expiry time will be 1.5x the delay.
+ * The reaper visits only the expired channels, in the order of their expiry.
  *
  * @author Gary Russell
  * @author Artem Bilan
@@ -54,6 +57,11 @@ public class DefaultHeaderChannelRegistry extends IntegrationObjectSupport
 
 	protected static final AtomicLong id = new AtomicLong();
 
+	private final NavigableSet<MessageChannelWrapper> expiryOrder =
+			new ConcurrentSkipListSet<MessageChannelWrapper>(
+					Comparator.comparingLong(MessageChannelWrapper::getExpireAt)
+							.thenComparing(MessageChannelWrapper::getName));
+
 	protected final String uuid = UUID.randomUUID().toString() + ":";
 
 	private volatile boolean removeOnGet;
@@ -163,8 +171,10 @@ public class DefaultHeaderChannelRegistry extends IntegrationObjectSupport
 		}
 		if (channel != null && channel instanceof MessageChannel) {
 			String name = this.uuid + DefaultHeaderChannelRegistry.id.incrementAndGet();
-			this.channels.put(name, new MessageChannelWrapper((MessageChannel) channel,
-					System.currentTimeMillis() + timeToLive));
+			MessageChannelWrapper wrapper = new MessageChannelWrapper(name, (MessageChannel) channel,
+					System.currentTimeMillis() + timeToLive);
+			this.channels.put(name, wrapper);
+			this.expiryOrder.add(wrapper);
 			if (logger.isDebugEnabled()) {
 				logger.debug("Registered " + channel + " as " + name);
 			}
@@ -181,6 +191,9 @@ public class DefaultHeaderChannelRegistry extends IntegrationObjectSupport
 			MessageChannelWrapper messageChannelWrapper;
 			if (this.removeOnGet) {
 				messageChannelWrapper = this.channels.remove(name);
+				if (messageChannelWrapper != null) {
+					this.expiryOrder.remove(messageChannelWrapper);
+				}
 			}
 			else {
 				messageChannelWrapper = this.channels.get(name);
@@ -206,23 +219,33 @@ public class DefaultHeaderChannelRegistry extends IntegrationObjectSupport
 	}
 
 	@Override
-	public synchronized void run() {
+	public void run() {
 		if (logger.isTraceEnabled()) {
 			logger.trace("Reaper started; channels size=" + this.channels.size());
 		}
-		Iterator<Entry<String, MessageChannelWrapper>> iterator = this.channels.entrySet().iterator();
+		ScheduledFuture<?> scheduledFuture;
+		synchronized (this) {
+			scheduledFuture = this.reaperScheduledFuture;
+		}
+		Iterator<MessageChannelWrapper> iterator = this.expiryOrder.iterator();
 		long now = System.currentTimeMillis();
 		while (iterator.hasNext()) {
-			Entry<String, MessageChannelWrapper> entry = iterator.next();
-			if (entry.getValue().getExpireAt() < now) {
-				if (logger.isDebugEnabled()) {
-					logger.debug("Expiring " + entry.getKey() + " (" + entry.getValue().getChannel() + ")");
-				}
-				iterator.remove();
+			MessageChannelWrapper wrapper = iterator.next();
+			if (wrapper.getExpireAt() >= now) {
+				break;
+			}
+			iterator.remove();
+			if (this.channels.remove(wrapper.getName(), wrapper) && logger.isDebugEnabled()) {
+				logger.debug("Expiring " + wrapper.getName() + " (" + wrapper.getChannel() + ")");
+			}
+		}
+		synchronized (this) {
+			// don't reschedule after a stop() or when a runReaper() or a restart has scheduled another reaper
+			if (this.running && this.reaperScheduledFuture == scheduledFuture) {
+				this.reaperScheduledFuture = this.getTaskScheduler().schedule(this,
+						new Date(System.currentTimeMillis() + this.reaperDelay));
 			}
 		}
-		this.reaperScheduledFuture = this.getTaskScheduler().schedule(this,
-				new Date(System.currentTimeMillis() + this.reaperDelay));
 		if (logger.isTraceEnabled()) {
 			logger.trace("Reaper completed; channels size=" + this.channels.size());
 		}
@@ -231,15 +254,22 @@ public class DefaultHeaderChannelRegistry extends IntegrationObjectSupport
 
 	private static final class MessageChannelWrapper {
 
+		private final String name;
+
 		private final MessageChannel channel;
 
 		private final long expireAt;
 
-		MessageChannelWrapper(MessageChannel channel, long expireAt) {
+		MessageChannelWrapper(String name, MessageChannel channel, long expireAt) {
+			this.name = name;
 			this.channel = channel;
 			this.expireAt = expireAt;
 		}
 
+		public String getName() {
+			return this.name;
+		}
+
 		public long getExpireAt() {
 			return this.expireAt;
 		}
@@ -18,22 +18,35 @@ package org.springframework.integration.channel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import org.springframework.messaging.Message;
 import org.springframework.util.Assert;
 
-import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.SignalType;
 
 /**
  * The {@link AbstractMessageChannel} implementation for the
  * Reactive Streams {@link Publisher} based on the Project Reactor {@link Flux}.
+ * <p>
+ * The {@link Publisher}s this channel is {@link #subscribeTo(Publisher) subscribed to}
+ * are requested for as many messages as the subscribers of this channel request, so
+ * a fast producer (e.g. a demand-driven
+ * {@link org.springframework.integration.endpoint.SourcePollingChannelAdapter}) can't
+ * flood the channel and a producer isn't asked for messages nobody is waiting for:
+ * such a producer is requested for at most the messages requested by the subscribers
+ * plus the {@code prefetch} of the channel. The messages {@link #send(Message) sent}
+ * to the channel regardless of the demand are buffered until they are requested.
  *
  * @author Artem Bilan
  * @author Gary Russell
@@ -43,18 +56,38 @@ import reactor.core.publisher.FluxSink;
 public class FluxMessageChannel extends AbstractMessageChannel
 		implements Publisher<Message<?>>, ReactiveStreamsSubscribableChannel {
 
+	/**
+	 * The default number of messages requested ahead of the demand of the subscribers.
+	 */
+	public static final int DEFAULT_PREFETCH = 16;
+
 	private final List<Subscriber<? super Message<?>>> subscribers = new ArrayList<>();
 
-	private final Map<Publisher<Message<?>>, ConnectableFlux<Message<?>>> publishers = new ConcurrentHashMap<>();
+	private final Set<DemandSubscriber> publisherSubscribers = new CopyOnWriteArraySet<>();
+
+	private final AtomicLong demand = new AtomicLong();
 
 	private final Flux<Message<?>> flux;
 
 	private FluxSink<Message<?>> sink;
 
 	public FluxMessageChannel() {
+		this(DEFAULT_PREFETCH);
+	}
+
+	/**
+	 * Create a channel which requests up to {@code prefetch} messages ahead of the demand
+	 * of its subscribers.
+	 * @param prefetch the prefetch.
+	 */
+	public FluxMessageChannel(int prefetch) {
+		Assert.isTrue(prefetch > 0, "'prefetch' must be greater than 0");
 		this.flux =
-				Flux.<Message<?>>create(emitter -> this.sink = emitter, FluxSink.OverflowStrategy.IGNORE)
-						.publish()
+				Flux.<Message<?>>create(emitter -> {
+					this.sink = emitter;
+					emitter.onRequest(this::requestFromPublishers);
+				}, FluxSink.OverflowStrategy.BUFFER)
+						.publish(prefetch)
 						.autoConnect();
 	}
 
@@ -63,6 +96,7 @@ public class FluxMessageChannel extends AbstractMessageChannel
 		Assert.state(this.subscribers.size() > 0,
 				() -> "The [" + this + "] doesn't have subscribers to accept messages");
 		this.sink.next(message);
+		this.demand.getAndUpdate(d -> d > 0 && d < Long.MAX_VALUE ? d - 1 : d);
 		return true;
 	}
 
@@ -73,23 +107,52 @@ public class FluxMessageChannel extends AbstractMessageChannel
 		this.flux.doOnCancel(() -> this.subscribers.remove(subscriber))
 				.retry()
 				.subscribe(subscriber);
-
-		this.publishers.values().forEach(ConnectableFlux::connect);
 	}
 
 	@Override
 	public void subscribeTo(Publisher<Message<?>> publisher) {
-		ConnectableFlux<Message<?>> connectableFlux =
-				Flux.from(publisher)
-						.doOnComplete(() -> this.publishers.remove(publisher))
-						.doOnNext(this::send)
-						.publish();
+		publisher.subscribe(new DemandSubscriber());
+	}
 
-		this.publishers.put(publisher, connectableFlux);
+	private void requestFromPublishers(long n) {
+		this.demand.getAndUpdate(d -> Operators.addCap(d, n));
+		for (DemandSubscriber subscriber : this.publisherSubscribers) {
+			subscriber.request(n);
+		}
+	}
 
-		if (!this.subscribers.isEmpty()) {
-			connectableFlux.connect();
+	/**
+	 * Sends the messages of a subscribed {@link Publisher} to this channel; it requests
+	 * the outstanding demand of the channel subscribers on subscription and then
+	 * propagates their further requests.
+	 */
+	private final class DemandSubscriber extends BaseSubscriber<Message<?>> {
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			FluxMessageChannel.this.publisherSubscribers.add(this);
+			long outstanding = FluxMessageChannel.this.demand.get();
+			if (outstanding > 0) {
+				request(outstanding);
+			}
 		}
+
+		@Override
+		protected void hookOnNext(Message<?> message) {
+			send(message);
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			FluxMessageChannel.this.logger.error("Error from the Publisher subscribed to the ["
+					+ FluxMessageChannel.this + "]", throwable);
+		}
+
+		@Override
+		protected void hookFinally(SignalType type) {
+			FluxMessageChannel.this.publisherSubscribers.remove(this);
+		}
+
 	}
 
 }
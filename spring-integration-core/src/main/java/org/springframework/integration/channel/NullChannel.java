@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -181,6 +181,21 @@ public class NullChannel implements PollableChannel, MessageChannelMetrics,
 		return this.channelMetrics.getStandardDeviationSendDuration();
 	}
 
+	@Override
+	public double getP50SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(50);
+	}
+
+	@Override
+	public double getP99SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(99);
+	}
+
+	@Override
+	public double getP999SendDuration() {
+		return this.channelMetrics.getSendDurationPercentile(99.9);
+	}
+
 	@Override
 	public Statistics getSendDuration() {
 		return this.channelMetrics.getSendDuration();
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.context.IntegrationProperties;
+import org.springframework.integration.dispatcher.PartitionedDispatcher;
+import org.springframework.integration.expression.ExpressionUtils;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * An {@link AbstractExecutorChannel} which dispatches each message to one of a fixed number
+ * of partitions, each with a single thread, according to the hash of the message partition
+ * key; messages with the same key (e.g. the same account) are therefore handled in the
+ * order they were sent, while messages with different keys are handled concurrently.
+ * <p>
+ * The partition key is the {@code correlationId} header by default; a {@link Function} or
+ * an {@link Expression} evaluated against the message can be provided instead. A message
+ * with a {@code null} key (e.g. without a {@code correlationId}) is dispatched according
+ * to its id: such messages are spread over the partitions, with no ordering guarantee.
+ * <p>
+ * The partitions are created on the first send, after which the partition settings
+ * can't be changed.
+ * <p>
+ * Each partition has a bounded queue; when it is full, the sender blocks until there is
+ * room (see {@link #setPartitionQueueCapacity(int)} and {@link #setPartitionQueueTimeout(long)}).
+ * Exceptions thrown by the subscribers are sent to the error channel as with the
+ * {@link ExecutorChannel}.
+ *
+ * @since 5.0
+ * @see PartitionedDispatcher
+ */
+public class PartitionedChannel extends AbstractExecutorChannel implements DisposableBean {
+
+	private volatile ErrorHandler errorHandler;
+
+	private volatile EvaluationContext evaluationContext;
+
+	/**
+	 * Create a channel with the provided number of partitions and the {@code correlationId}
+	 * header as the partition key; the messages without a {@code correlationId} are
+	 * dispatched according to their id.
+	 * @param partitionCount the number of partitions.
+	 */
+	public PartitionedChannel(int partitionCount) {
+		this(partitionCount, message -> message.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID));
+	}
+
+	/**
+	 * Create a channel with the provided number of partitions and partition key function.
+	 * @param partitionCount the number of partitions.
+	 * @param partitionKeyFunction the function to obtain the partition key of a message.
+	 */
+	public PartitionedChannel(int partitionCount, Function<Message<?>, Object> partitionKeyFunction) {
+		super(null);
+		this.dispatcher = new PartitionedDispatcher(partitionCount, partitionKeyFunction);
+	}
+
+	/**
+	 * Create a channel with the provided number of partitions and partition key expression
+	 * evaluated against the message.
+	 * @param partitionCount the number of partitions.
+	 * @param partitionKeyExpression the expression to evaluate the partition key of a message.
+	 */
+	public PartitionedChannel(int partitionCount, Expression partitionKeyExpression) {
+		super(null);
+		Assert.notNull(partitionKeyExpression, "'partitionKeyExpression' must not be null");
+		this.dispatcher = new PartitionedDispatcher(partitionCount,
+				message -> partitionKeyExpression.getValue(this.evaluationContext, message));
+	}
+
+	/**
+	 * Set the {@link ThreadFactory} for the partition threads.
+	 * @param threadFactory the thread factory.
+	 * @see PartitionedDispatcher#setThreadFactory(ThreadFactory)
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		getDispatcher().setThreadFactory(threadFactory);
+	}
+
+	/**
+	 * Set the capacity of each partition queue.
+	 * @param partitionQueueCapacity the capacity.
+	 * @see PartitionedDispatcher#setPartitionQueueCapacity(int)
+	 */
+	public void setPartitionQueueCapacity(int partitionQueueCapacity) {
+		getDispatcher().setPartitionQueueCapacity(partitionQueueCapacity);
+	}
+
+	/**
+	 * Set how long, in milliseconds, a sender waits for room in a full partition queue.
+	 * @param partitionQueueTimeout the timeout.
+	 * @see PartitionedDispatcher#setPartitionQueueTimeout(long)
+	 */
+	public void setPartitionQueueTimeout(long partitionQueueTimeout) {
+		getDispatcher().setPartitionQueueTimeout(partitionQueueTimeout);
+	}
+
+	/**
+	 * Specify whether the partitions should failover to the next subscriber when one
+	 * throws an Exception. By default, they will.
+	 * @param failover The failover boolean.
+	 */
+	public void setFailover(boolean failover) {
+		getDispatcher().setFailover(failover);
+	}
+
+	/**
+	 * Provide an {@link ErrorHandler} for the Exceptions thrown by the subscribers.
+	 * The default is a {@link MessagePublishingErrorHandler}.
+	 * @param errorHandler The error handler.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		getDispatcher().setErrorHandler(errorHandler);
+		this.errorHandler = errorHandler;
+	}
+
+	@Override
+	public String getComponentType() {
+		return "partitioned-channel";
+	}
+
+	@Override
+	protected PartitionedDispatcher getDispatcher() {
+		return (PartitionedDispatcher) this.dispatcher;
+	}
+
+	@Override
+	protected void onInit() throws Exception {
+		super.onInit();
+		this.evaluationContext = ExpressionUtils.createStandardEvaluationContext(getBeanFactory());
+		PartitionedDispatcher partitionedDispatcher = getDispatcher();
+		if (this.maxSubscribers == null) {
+			this.maxSubscribers =
+					getIntegrationProperty(IntegrationProperties.CHANNELS_MAX_UNICAST_SUBSCRIBERS, Integer.class);
+		}
+		partitionedDispatcher.setMaxSubscribers(this.maxSubscribers);
+		if (this.errorHandler == null) {
+			this.errorHandler = new MessagePublishingErrorHandler(
+					ChannelResolverUtils.getChannelResolver(getBeanFactory()));
+		}
+		partitionedDispatcher.setErrorHandler(this.errorHandler);
+		partitionedDispatcher.setMessageHandlingTaskDecorator(task -> {
+			if (PartitionedChannel.this.executorInterceptorsSize > 0) {
+				return new MessageHandlingTask(task);
+			}
+			else {
+				return task;
+			}
+		});
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		getDispatcher().shutdown();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.integration.context.IntegrationProperties;
 import org.springframework.integration.dispatcher.BroadcastingDispatcher;
-import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.util.ErrorHandlingTaskExecutor;
 import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
@@ -43,6 +43,8 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel {
 
 	private volatile int minSubscribers;
 
+	private volatile int subscriberLaneCapacity;
+
 	/**
 	 * Create a PublishSubscribeChannel that will use an {@link Executor}
 	 * to invoke the handlers. If this is null, each invocation will occur in
@@ -126,6 +128,21 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel {
 		getDispatcher().setMinSubscribers(minSubscribers);
 	}
 
+	/**
+	 * Set the capacity of the per-subscriber lanes used when an {@link Executor} is
+	 * provided. When greater than 0, messages are queued to a bounded lane per subscriber
+	 * instead of submitting a task per subscriber and message; each lane is drained by a
+	 * single executor thread at a time, so each subscriber receives the messages in the
+	 * order they were sent. When a lane is full, the sender blocks. Default: 0 (no lanes).
+	 * @param subscriberLaneCapacity the lane capacity.
+	 * @since 5.0
+	 * @see BroadcastingDispatcher#setSubscriberLaneCapacity(int)
+	 */
+	public void setSubscriberLaneCapacity(int subscriberLaneCapacity) {
+		this.subscriberLaneCapacity = subscriberLaneCapacity;
+		getDispatcher().setSubscriberLaneCapacity(subscriberLaneCapacity);
+	}
+
 	/**
 	 * Callback method for initialization.
 	 * @throws Exception the exception.
@@ -140,7 +157,7 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel {
 			if (!(this.executor instanceof ErrorHandlingTaskExecutor)) {
 				if (this.errorHandler == null) {
 					this.errorHandler = new MessagePublishingErrorHandler(
-							new BeanFactoryChannelResolver(this.getBeanFactory()));
+							ChannelResolverUtils.getChannelResolver(this.getBeanFactory()));
 				}
 				this.executor = new ErrorHandlingTaskExecutor(this.executor, this.errorHandler);
 			}
@@ -148,6 +165,7 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel {
 			getDispatcher().setIgnoreFailures(this.ignoreFailures);
 			getDispatcher().setApplySequence(this.applySequence);
 			getDispatcher().setMinSubscribers(this.minSubscribers);
+			getDispatcher().setSubscriberLaneCapacity(this.subscriberLaneCapacity);
 		}
 		if (this.maxSubscribers == null) {
 			Integer maxSubscribers =
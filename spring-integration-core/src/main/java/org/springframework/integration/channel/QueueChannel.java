@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.integration.channel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
@@ -145,6 +146,52 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 		}
 	}
 
+	/**
+	 * Receive the first message waiting up to the timeout, then drain up to
+	 * {@code maxMessages - 1} immediately available messages with a single
+	 * {@link BlockingQueue#drainTo(java.util.Collection, int)} operation on the underlying queue.
+	 * @since 5.0
+	 */
+	@Override
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		Message<?> message = doReceive(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>(Math.min(maxMessages, 16));
+		messages.add(message);
+		if (maxMessages > 1) {
+			drainTo(messages, maxMessages - 1);
+		}
+		return messages;
+	}
+
+	/**
+	 * Move up to {@code maxMessages} immediately available messages from the queue
+	 * to the provided list.
+	 * @param messages the list to add messages to.
+	 * @param maxMessages the maximum number of messages to move.
+	 * @return the number of moved messages.
+	 * @since 5.0
+	 */
+	protected int drainTo(List<Message<?>> messages, int maxMessages) {
+		if (this.queue instanceof BlockingQueue) {
+			return ((BlockingQueue<Message<?>>) this.queue).drainTo(messages, maxMessages);
+		}
+		else {
+			int drained = 0;
+			while (drained < maxMessages) {
+				Message<?> message = this.queue.poll();
+				if (message == null) {
+					break;
+				}
+				messages.add(message);
+				drained++;
+			}
+			return drained;
+		}
+	}
+
 	@Override
 	public List<Message<?>> clear() {
 		List<Message<?>> clearedMessages = new ArrayList<Message<?>>();
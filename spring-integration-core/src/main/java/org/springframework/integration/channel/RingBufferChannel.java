@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.support.PartialSuccessException;
+import org.springframework.integration.util.RingBufferBlockingQueue;
+import org.springframework.integration.util.RingBufferBlockingQueue.WaitStrategy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+
+/**
+ * A {@link QueueChannel} backed by a pre-allocated, lock-free {@link RingBufferBlockingQueue}.
+ * Unlike the {@link java.util.concurrent.LinkedBlockingQueue} of the default {@link QueueChannel},
+ * no node is allocated per message and producers and consumers don't contend on a lock,
+ * which makes this channel a better choice for many concurrent senders and pollers.
+ * <p>
+ * The capacity is always bounded and rounded up to the next power of two.
+ * The {@link WaitStrategy} determines how senders and receivers wait on a full or empty channel.
+ *
+ * @since 5.0
+ */
+public class RingBufferChannel extends QueueChannel {
+
+	private final RingBufferBlockingQueue<Message<?>> ringBuffer;
+
+	/**
+	 * Create a channel with the specified capacity and the {@link WaitStrategy#BLOCKING} strategy.
+	 * @param capacity The capacity.
+	 */
+	public RingBufferChannel(int capacity) {
+		this(capacity, WaitStrategy.BLOCKING);
+	}
+
+	/**
+	 * Create a channel with the specified capacity and {@link WaitStrategy}.
+	 * @param capacity The capacity.
+	 * @param waitStrategy The wait strategy.
+	 */
+	public RingBufferChannel(int capacity, WaitStrategy waitStrategy) {
+		this(new RingBufferBlockingQueue<>(capacity, waitStrategy));
+	}
+
+	private RingBufferChannel(RingBufferBlockingQueue<Message<?>> ringBuffer) {
+		super(ringBuffer);
+		this.ringBuffer = ringBuffer;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return this.ringBuffer.getWaitStrategy();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The ring buffer doesn't support removal from the middle, therefore all the messages are
+	 * drained and those accepted by the selector are put back to the tail of the buffer.
+	 * Messages sent concurrently may therefore be placed in between the retained ones, or
+	 * even fill the buffer: the retained messages which can't be put back are not dropped,
+	 * a {@link PartialSuccessException} is thrown with the purged messages as its
+	 * {@link PartialSuccessException#getPartialResults() partial results} and these
+	 * messages as its {@link PartialSuccessException#getDerivedInput() derived input}.
+	 */
+	@Override
+	public List<Message<?>> purge(MessageSelector selector) {
+		if (selector == null) {
+			return clear();
+		}
+		List<Message<?>> drained = clear();
+		List<Message<?>> purgedMessages = new ArrayList<>();
+		List<Message<?>> notRetainedMessages = new ArrayList<>();
+		for (Message<?> message : drained) {
+			if (!selector.accept(message)) {
+				purgedMessages.add(message);
+			}
+			else if (!this.ringBuffer.offer(message)) {
+				notRetainedMessages.add(message);
+			}
+		}
+		if (!notRetainedMessages.isEmpty()) {
+			Message<?> firstMessage = notRetainedMessages.get(0);
+			throw new PartialSuccessException(firstMessage,
+					notRetainedMessages.size() + " retained message(s) could not be put back to the channel",
+					new MessageDeliveryException(firstMessage, "The channel '" + getComponentName() + "' is full"),
+					purgedMessages, notRetainedMessages);
+		}
+		return purgedMessages;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,7 +25,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.context.Lifecycle;
 import org.springframework.integration.channel.ChannelInterceptorAware;
 import org.springframework.integration.core.MessageSelector;
-import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
@@ -183,7 +183,7 @@ public class WireTap extends ChannelInterceptorAdapter
 		if (this.channelName != null) {
 			synchronized (this) {
 				if (this.channelName != null) {
-					this.channel = new BeanFactoryChannelResolver(this.beanFactory)
+					this.channel = ChannelResolverUtils.getChannelResolver(this.beanFactory)
 							.resolveDestination(this.channelName);
 					this.channelName = null;
 				}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.integration.codec.kryo.MessageCodec;
+import org.springframework.integration.codec.kryo.MessageKryoRegistrar;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * A {@link Serializer} and {@link Deserializer} for the messages (and other values, such
+ * as the group metadata of key/value stores) of persistent message stores, delegating to
+ * a {@link Codec} - by default a Kryo {@link MessageCodec}. It can be provided as the
+ * {@code serializer} and {@code deserializer} of the JDBC, MongoDB and Gemfire stores,
+ * and, wrapped in the appropriate converters, as the Redis {@code valueSerializer}.
+ * <p>
+ * The values are written in a versioned format: a 2 byte signature, the format version,
+ * a flags byte, the class name of the value and the encoded value, deflated when it is
+ * at least {@link #setCompressionThreshold(int) compressionThreshold} bytes.
+ * <p>
+ * When reading, values written with Java serialization (e.g. by the default serializer
+ * of these stores) are recognized and deserialized with a {@link DefaultDeserializer},
+ * so an existing store can be switched to this serializer without migrating its data.
+ *
+ * @since 5.0
+ */
+public class CodecMessageSerializer implements Serializer<Object>, Deserializer<Object>, BeanClassLoaderAware {
+
+	private static final int SIGNATURE = 0x5349;
+
+	private static final int JAVA_SERIALIZATION_SIGNATURE = 0xACED;
+
+	private static final int VERSION = 1;
+
+	private static final int DEFLATED = 0x01;
+
+	private final Codec codec;
+
+	private int compressionThreshold = -1;
+
+	private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+	private DefaultDeserializer legacyDeserializer = new DefaultDeserializer(this.classLoader);
+
+	/**
+	 * Create an instance with a {@link MessageCodec} which retains the {@code id} and
+	 * {@code timestamp} of the messages; requires Kryo on the classpath.
+	 * @see MessageKryoRegistrar#setRetainIdAndTimestamp(boolean)
+	 */
+	public CodecMessageSerializer() {
+		this(storeMessageCodec());
+	}
+
+	/**
+	 * Create an instance with the provided {@link Codec}; for messages, it must retain
+	 * their {@code id} header, which the stores use to look them up.
+	 * @param codec the codec.
+	 */
+	public CodecMessageSerializer(Codec codec) {
+		Assert.notNull(codec, "'codec' must not be null");
+		this.codec = codec;
+	}
+
+	/**
+	 * Set the size of the encoded values from which they are deflated.
+	 * Default -1 - no compression.
+	 * @param compressionThreshold the threshold in bytes; a negative value disables the compression.
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		this.legacyDeserializer = new DefaultDeserializer(classLoader);
+	}
+
+	@Override
+	public void serialize(Object object, OutputStream outputStream) throws IOException {
+		Assert.notNull(object, "cannot serialize a null object");
+		byte[] encoded = this.codec.encode(object);
+		boolean deflate = this.compressionThreshold >= 0 && encoded.length >= this.compressionThreshold;
+		DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+		dataOutputStream.writeShort(SIGNATURE);
+		dataOutputStream.writeByte(VERSION);
+		dataOutputStream.writeByte(deflate ? DEFLATED : 0);
+		dataOutputStream.writeUTF(object.getClass().getName());
+		if (deflate) {
+			Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+			try {
+				DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(dataOutputStream, deflater);
+				deflaterOutputStream.write(encoded);
+				deflaterOutputStream.finish();
+			}
+			finally {
+				deflater.end();
+			}
+		}
+		else {
+			dataOutputStream.write(encoded);
+		}
+		dataOutputStream.flush();
+	}
+
+	@Override
+	public Object deserialize(InputStream inputStream) throws IOException {
+		DataInputStream dataInputStream = new DataInputStream(inputStream);
+		int signature = dataInputStream.readUnsignedShort();
+		if (signature == JAVA_SERIALIZATION_SIGNATURE) {
+			InputStream legacyInputStream = new SequenceInputStream(
+					new ByteArrayInputStream(new byte[] { (byte) (signature >> 8), (byte) signature }), inputStream);
+			return this.legacyDeserializer.deserialize(legacyInputStream);
+		}
+		if (signature != SIGNATURE) {
+			throw new IOException("Not a serialized message: unknown signature " + Integer.toHexString(signature));
+		}
+		int version = dataInputStream.readUnsignedByte();
+		if (version > VERSION) {
+			throw new IOException("Unsupported serialization format version " + version);
+		}
+		int flags = dataInputStream.readUnsignedByte();
+		String className = dataInputStream.readUTF();
+		Class<?> type;
+		try {
+			type = ClassUtils.forName(className, this.classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			throw new IOException("Failed to load the class of a serialized message: " + className, e);
+		}
+		if ((flags & DEFLATED) != 0) {
+			return this.codec.decode(new InflaterInputStream(dataInputStream), type);
+		}
+		return this.codec.decode(dataInputStream, type);
+	}
+
+	private static MessageCodec storeMessageCodec() {
+		MessageKryoRegistrar registrar = new MessageKryoRegistrar();
+		registrar.setRetainIdAndTimestamp(true);
+		return new MessageCodec(registrar);
+	}
+
+}
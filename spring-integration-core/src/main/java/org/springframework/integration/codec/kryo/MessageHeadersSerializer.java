@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,14 @@
 
 package org.springframework.integration.codec.kryo;
 
+import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.ReflectionUtils;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
@@ -32,6 +36,36 @@ import com.esotericsoftware.kryo.io.Output;
  * @since 4.2
  */
 class MessageHeadersSerializer extends Serializer<MessageHeaders> {
+
+	private static final Constructor<MessageHeaders> MESSAGE_HEADERS_CONSTRUCTOR;
+
+	static {
+		try {
+			MESSAGE_HEADERS_CONSTRUCTOR = MessageHeaders.class.getDeclaredConstructor(Map.class, UUID.class,
+					Long.class);
+			ReflectionUtils.makeAccessible(MESSAGE_HEADERS_CONSTRUCTOR);
+		}
+		catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private final boolean retainIdAndTimestamp;
+
+	MessageHeadersSerializer() {
+		this(false);
+	}
+
+	/**
+	 * Create an instance which, when {@code retainIdAndTimestamp} is true, decodes the
+	 * headers with their original id and timestamp instead of new ones.
+	 * @param retainIdAndTimestamp true to retain the id and timestamp.
+	 * @since 5.0
+	 */
+	MessageHeadersSerializer(boolean retainIdAndTimestamp) {
+		this.retainIdAndTimestamp = retainIdAndTimestamp;
+	}
+
 	@Override
 	public void write(Kryo kryo, Output output, MessageHeaders headers) {
 		HashMap<String, Object> map = new HashMap<String, Object>();
@@ -47,6 +81,10 @@ class MessageHeadersSerializer extends Serializer<MessageHeaders> {
 	public MessageHeaders read(Kryo kryo, Input input, Class<MessageHeaders> type) {
 		@SuppressWarnings("unchecked")
 		Map<String, Object> headers = kryo.readObject(input, HashMap.class);
+		if (this.retainIdAndTimestamp) {
+			return BeanUtils.instantiateClass(MESSAGE_HEADERS_CONSTRUCTOR, headers, headers.get(MessageHeaders.ID),
+					headers.get(MessageHeaders.TIMESTAMP));
+		}
 		return new MessageHeaders(headers);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,8 @@ public class MessageKryoRegistrar extends AbstractKryoRegistrar {
 
 	private volatile int mutableMessageHeadersRegistrationId = RegistrationIds.DEFAULT_MUTABLE_MESSAGEHEADERS_ID;
 
+	private volatile boolean retainIdAndTimestamp;
+
 	/**
 	 * Set the registration id for {@code MessageHeaders}.
 	 * @param messageHeadersRegistrationId the id, default 41.
@@ -52,11 +54,23 @@ public class MessageKryoRegistrar extends AbstractKryoRegistrar {
 		this.mutableMessageHeadersRegistrationId = mutableMessageHeadersRegistrationId;
 	}
 
+	/**
+	 * Set to true to decode {@code MessageHeaders} with their original {@code id} and
+	 * {@code timestamp}, as required to store messages; by default, decoded messages
+	 * get a new {@code id} and {@code timestamp}. Must be set before the codec using
+	 * this registrar is used.
+	 * @param retainIdAndTimestamp true to retain the id and timestamp.
+	 * @since 5.0
+	 * @see org.springframework.integration.codec.CodecMessageSerializer
+	 */
+	public void setRetainIdAndTimestamp(boolean retainIdAndTimestamp) {
+		this.retainIdAndTimestamp = retainIdAndTimestamp;
+	}
 
 	@Override
 	public List<Registration> getRegistrations() {
 		return Arrays.asList(
-				new Registration(MessageHeaders.class, new MessageHeadersSerializer(),
+				new Registration(MessageHeaders.class, new MessageHeadersSerializer(this.retainIdAndTimestamp),
 						this.messageHeadersRegistrationId),
 				new Registration(MutableMessageHeaders.class, new MutableMessageHeadersSerializer(),
 						this.mutableMessageHeadersRegistrationId));
@@ -282,6 +282,7 @@ public class ConsumerEndpointFactoryBean
 				pollingConsumer.setTrigger(this.pollerMetadata.getTrigger());
 				pollingConsumer.setAdviceChain(this.pollerMetadata.getAdviceChain());
 				pollingConsumer.setMaxMessagesPerPoll(this.pollerMetadata.getMaxMessagesPerPoll());
+				pollingConsumer.setBatchSize(this.pollerMetadata.getBatchSize());
 
 				pollingConsumer.setErrorHandler(this.pollerMetadata.getErrorHandler());
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import org.springframework.integration.channel.PublishSubscribeChannel;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.context.IntegrationProperties;
 import org.springframework.integration.handler.LoggingHandler;
+import org.springframework.integration.util.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
@@ -67,6 +68,10 @@ class DefaultConfiguringBeanFactoryPostProcessor implements BeanFactoryPostProce
 			if (!beanFactory.containsBean(IntegrationContextUtils.TASK_SCHEDULER_BEAN_NAME)) {
 				this.registerTaskScheduler(registry);
 			}
+			if (VirtualThreadTaskExecutor.isSupported()
+					&& !beanFactory.containsBean(IntegrationContextUtils.VIRTUAL_THREAD_TASK_EXECUTOR_BEAN_NAME)) {
+				this.registerVirtualThreadTaskExecutor(registry);
+			}
 			this.registerIdGeneratorConfigurer(registry);
 		}
 		else if (this.logger.isWarnEnabled()) {
@@ -168,4 +173,18 @@ class DefaultConfiguringBeanFactoryPostProcessor implements BeanFactoryPostProce
 		registry.registerBeanDefinition(IntegrationContextUtils.TASK_SCHEDULER_BEAN_NAME, scheduler);
 	}
 
+	/**
+	 * Register a lazy-init {@link VirtualThreadTaskExecutor} in the given BeanDefinitionRegistry,
+	 * to be referenced by the {@code task-executor} of pollers and executor channels.
+	 */
+	private void registerVirtualThreadTaskExecutor(BeanDefinitionRegistry registry) {
+		BeanDefinition executor = BeanDefinitionBuilder.genericBeanDefinition(VirtualThreadTaskExecutor.class)
+				.addConstructorArgValue("integration-virtual-")
+				.setLazyInit(true)
+				.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
+				.getBeanDefinition();
+
+		registry.registerBeanDefinition(IntegrationContextUtils.VIRTUAL_THREAD_TASK_EXECUTOR_BEAN_NAME, executor);
+	}
+
 }
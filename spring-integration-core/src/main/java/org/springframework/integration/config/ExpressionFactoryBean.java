@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2010 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -31,7 +32,7 @@ import org.springframework.util.Assert;
  */
 public class ExpressionFactoryBean extends AbstractFactoryBean<Expression> {
 
-	private final static ExpressionParser DEFAULT_PARSER = new SpelExpressionParser();
+	private final static ExpressionParser DEFAULT_PARSER = ExpressionUtils.getExpressionParser();
 
 
 	private final String expressionString;
@@ -47,6 +47,8 @@ import org.springframework.integration.config.annotation.MessagingAnnotationPost
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.context.IntegrationProperties;
 import org.springframework.integration.support.DefaultMessageBuilderFactory;
+import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.support.converter.ConfigurableCompositeMessageConverter;
 import org.springframework.integration.support.converter.DefaultDatatypeChannelMessageConverter;
 import org.springframework.integration.support.utils.IntegrationUtils;
@@ -93,6 +95,7 @@ public class IntegrationRegistrar implements ImportBeanDefinitionRegistrar, Bean
 		registerIntegrationEvaluationContext(registry);
 		registerIntegrationProperties(registry);
 		registerHeaderChannelRegistry(registry);
+		registerChannelResolver(registry);
 		registerGlobalChannelInterceptorProcessor(registry);
 		registerBuiltInBeans(registry);
 		registerDefaultConfiguringBeanFactoryPostProcessor(registry);
@@ -336,6 +339,23 @@ public class IntegrationRegistrar implements ImportBeanDefinitionRegistrar, Bean
 		}
 	}
 
+	/**
+	 * Register a shared {@link BeanFactoryChannelResolver} with a channel cache
+	 * in the given {@link BeanDefinitionRegistry}, if necessary.
+	 * @param registry The {@link BeanDefinitionRegistry} to register additional {@link BeanDefinition}s.
+	 */
+	private void registerChannelResolver(BeanDefinitionRegistry registry) {
+		if (!registry.containsBeanDefinition(ChannelResolverUtils.CHANNEL_RESOLVER_BEAN_NAME)) {
+			BeanDefinitionBuilder builder =
+					BeanDefinitionBuilder.genericBeanDefinition(BeanFactoryChannelResolver.class)
+							.addPropertyValue("cacheCapacity", ChannelResolverUtils.DEFAULT_CACHE_CAPACITY)
+							.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+			registry.registerBeanDefinition(ChannelResolverUtils.CHANNEL_RESOLVER_BEAN_NAME,
+					builder.getBeanDefinition());
+		}
+	}
+
 	/**
 	 * Register a {@link GlobalChannelInterceptorProcessor} in the given {@link BeanDefinitionRegistry}, if necessary.
 	 * @param registry The {@link BeanDefinitionRegistry} to register additional {@link BeanDefinition}s.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,8 @@ public class SourcePollingChannelAdapterFactoryBean implements FactoryBean<Sourc
 
 	private volatile Long sendTimeout;
 
+	private volatile boolean demandDriven;
+
 	private volatile String beanName;
 
 	private volatile ConfigurableBeanFactory beanFactory;
@@ -80,6 +82,16 @@ public class SourcePollingChannelAdapterFactoryBean implements FactoryBean<Sourc
 		this.sendTimeout = sendTimeout;
 	}
 
+	/**
+	 * Set to true to poll the source only on demand of the output channel subscribers.
+	 * @param demandDriven true to poll on demand.
+	 * @since 5.0
+	 * @see SourcePollingChannelAdapter#setDemandDriven(boolean)
+	 */
+	public void setDemandDriven(boolean demandDriven) {
+		this.demandDriven = demandDriven;
+	}
+
 	public void setOutputChannel(MessageChannel outputChannel) {
 		this.outputChannel = outputChannel;
 	}
@@ -184,6 +196,7 @@ public class SourcePollingChannelAdapterFactoryBean implements FactoryBean<Sourc
 			if (this.sendTimeout != null) {
 				spca.setSendTimeout(this.sendTimeout);
 			}
+			spca.setDemandDriven(this.demandDriven);
 			spca.setTaskExecutor(this.pollerMetadata.getTaskExecutor());
 			spca.setAdviceChain(this.pollerMetadata.getAdviceChain());
 			spca.setTrigger(this.pollerMetadata.getTrigger());
@@ -38,6 +38,8 @@ public abstract class IntegrationContextUtils {
 
 	public static final String TASK_SCHEDULER_BEAN_NAME = "taskScheduler";
 
+	public static final String VIRTUAL_THREAD_TASK_EXECUTOR_BEAN_NAME = "integrationVirtualThreadTaskExecutor";
+
 	public static final String ERROR_CHANNEL_BEAN_NAME = "errorChannel";
 
 	public static final String NULL_CHANNEL_BEAN_NAME = "nullChannel";
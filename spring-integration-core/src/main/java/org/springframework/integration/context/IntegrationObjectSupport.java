@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,10 +35,10 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.support.DefaultMessageBuilderFactory;
 import org.springframework.integration.support.MessageBuilderFactory;
-import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.support.context.NamedComponent;
 import org.springframework.integration.support.utils.IntegrationUtils;
 import org.springframework.messaging.MessageChannel;
@@ -66,7 +66,7 @@ import org.springframework.util.StringUtils;
 public abstract class IntegrationObjectSupport implements BeanNameAware, NamedComponent,
 		ApplicationContextAware, BeanFactoryAware, InitializingBean, ExpressionCapable {
 
-	protected static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+	protected static final ExpressionParser EXPRESSION_PARSER = ExpressionUtils.getExpressionParser();
 
 	/**
 	 * Logger that is available to subclasses
@@ -139,7 +139,8 @@ public abstract class IntegrationObjectSupport implements BeanNameAware, NamedCo
 
 	/**
 	 * Specify the {@link DestinationResolver} strategy to use.
-	 * The default is a BeanFactoryChannelResolver.
+	 * The default is the shared channel resolver obtained from
+	 * {@link ChannelResolverUtils#getChannelResolver(BeanFactory)}.
 	 * @param channelResolver The channel resolver.
 	 */
 	public void setChannelResolver(DestinationResolver<MessageChannel> channelResolver) {
@@ -203,7 +204,7 @@ public abstract class IntegrationObjectSupport implements BeanNameAware, NamedCo
 
 	protected DestinationResolver<MessageChannel> getChannelResolver() {
 		if (this.channelResolver == null) {
-			this.channelResolver = new BeanFactoryChannelResolver(this.beanFactory);
+			this.channelResolver = ChannelResolverUtils.getChannelResolver(this.beanFactory);
 		}
 		return this.channelResolver;
 	}
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.context.IntegrationProperties;
 import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.core.GenericMessagingTemplate;
@@ -57,12 +58,14 @@ public class MessagingTemplate extends GenericMessagingTemplate {
 	}
 
 	/**
-	 * Overridden to set the destination resolver to a {@link BeanFactoryChannelResolver}.
+	 * Overridden to set the destination resolver to the shared channel resolver obtained from
+	 * {@link ChannelResolverUtils#getChannelResolver(BeanFactory)}, or a new
+	 * {@link BeanFactoryChannelResolver} if there is no such a bean.
 	 */
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = beanFactory; //NOSONAR - non-sync is ok here
-		super.setDestinationResolver(new BeanFactoryChannelResolver(beanFactory));
+		super.setDestinationResolver(ChannelResolverUtils.getChannelResolver(beanFactory));
 	}
 
 	@Override
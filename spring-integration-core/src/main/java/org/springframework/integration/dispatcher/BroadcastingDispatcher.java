@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,11 @@
 package org.springframework.integration.dispatcher;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -28,7 +31,9 @@ import org.springframework.integration.support.DefaultMessageBuilderFactory;
 import org.springframework.integration.support.MessageBuilderFactory;
 import org.springframework.integration.support.MessageDecorator;
 import org.springframework.integration.support.utils.IntegrationUtils;
+import org.springframework.integration.util.RingBufferBlockingQueue;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.support.MessageHandlingRunnable;
@@ -43,6 +48,10 @@ import org.springframework.util.Assert;
  * If the 'ignoreFailures' flag is set to <code>true</code> on the other hand, it will make a best effort to send the
  * message to each of its handlers. In other words, when 'ignoreFailures' is <code>true</code>, if it fails to send to
  * any one handler, it will simply log a warn-level message but continue to send the Message to any other handlers.
+ * <p>
+ * With an Executor and a {@link #setSubscriberLaneCapacity(int) subscriberLaneCapacity}, Messages are queued
+ * to a bounded lane per handler instead of submitting a task per handler and Message; each lane is drained by
+ * a single Executor thread at a time, so each handler receives the Messages in the order they were dispatched.
  *
  * @author Mark Fisher
  * @author Iwein Fuld
@@ -68,6 +77,10 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 
 	private volatile MessageHandlingTaskDecorator messageHandlingTaskDecorator = task -> task;
 
+	private final Map<MessageHandler, SubscriberLane> lanes = new ConcurrentHashMap<>();
+
+	private volatile int subscriberLaneCapacity;
+
 	private BeanFactory beanFactory;
 
 
@@ -123,6 +136,20 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		this.minSubscribers = minSubscribers;
 	}
 
+	/**
+	 * Set the capacity of the per-handler lanes used when an Executor is provided.
+	 * When greater than 0, Messages are queued to a bounded lane per handler which is
+	 * drained, in order, by a single Executor thread at a time, instead of submitting
+	 * a task per handler and Message. When a lane is full, the dispatching thread
+	 * blocks until the handler catches up. Default 0 - no lanes.
+	 * @param subscriberLaneCapacity the lane capacity; rounded up to the next power of two.
+	 * @since 5.0
+	 */
+	public void setSubscriberLaneCapacity(int subscriberLaneCapacity) {
+		Assert.isTrue(subscriberLaneCapacity >= 0, "'subscriberLaneCapacity' must not be negative");
+		this.subscriberLaneCapacity = subscriberLaneCapacity;
+	}
+
 	public void setMessageHandlingTaskDecorator(MessageHandlingTaskDecorator messageHandlingTaskDecorator) {
 		Assert.notNull(messageHandlingTaskDecorator, "'messageHandlingTaskDecorator' must not be null.");
 		this.messageHandlingTaskDecorator = messageHandlingTaskDecorator;
@@ -169,8 +196,13 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 			}
 
 			if (this.executor != null) {
-				Runnable task = createMessageHandlingTask(handler, messageToSend);
-				this.executor.execute(task);
+				if (this.subscriberLaneCapacity > 0) {
+					enqueue(handler, messageToSend);
+				}
+				else {
+					Runnable task = createMessageHandlingTask(handler, messageToSend);
+					this.executor.execute(task);
+				}
 				dispatched++;
 			}
 			else {
@@ -190,6 +222,27 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		return dispatched >= this.minSubscribers;
 	}
 
+	@Override
+	public synchronized boolean removeHandler(MessageHandler handler) {
+		boolean removed = super.removeHandler(handler);
+		// an already scheduled lane still delivers the Messages queued before the removal
+		this.lanes.remove(handler);
+		return removed;
+	}
+
+	private void enqueue(MessageHandler handler, Message<?> message) {
+		SubscriberLane lane = this.lanes.get(handler);
+		if (lane == null) {
+			lane = this.lanes.computeIfAbsent(handler, SubscriberLane::new);
+		}
+		try {
+			lane.enqueue(message);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessageDeliveryException(message, "Interrupted while waiting for a subscriber lane", e);
+		}
+	}
 
 	private Runnable createMessageHandlingTask(final MessageHandler handler, final Message<?> message) {
 		MessageHandlingRunnable task = new MessageHandlingRunnable() {
@@ -235,4 +288,96 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		}
 	}
 
+	/**
+	 * A bounded queue of Messages for a single handler, drained by a single reusable task
+	 * which is submitted to the Executor only while the queue has Messages.
+	 */
+	private final class SubscriberLane implements Runnable {
+
+		private final RingBufferBlockingQueue<Message<?>> queue =
+				new RingBufferBlockingQueue<>(BroadcastingDispatcher.this.subscriberLaneCapacity);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private final LaneDelivery delivery;
+
+		SubscriberLane(MessageHandler handler) {
+			this.delivery = new LaneDelivery(handler);
+		}
+
+		void enqueue(Message<?> message) throws InterruptedException {
+			this.queue.put(message);
+			schedule();
+		}
+
+		private void schedule() {
+			if (!this.queue.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+				try {
+					BroadcastingDispatcher.this.executor.execute(this);
+				}
+				catch (RuntimeException e) {
+					this.scheduled.set(false);
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				int capacity = this.queue.getCapacity();
+				Message<?> message;
+				for (int i = 0; i < capacity && (message = this.queue.poll()) != null; i++) {
+					this.delivery.message = message;
+					try {
+						BroadcastingDispatcher.this.messageHandlingTaskDecorator.decorate(this.delivery).run();
+					}
+					finally {
+						this.delivery.message = null;
+					}
+				}
+			}
+			finally {
+				// an exception is propagated to the Executor after the remaining Messages are rescheduled
+				this.scheduled.set(false);
+				schedule();
+			}
+		}
+
+	}
+
+	/**
+	 * The {@link MessageHandlingRunnable} for the current Message of a {@link SubscriberLane};
+	 * reused for all the Messages since a lane delivers them one at a time.
+	 */
+	private final class LaneDelivery implements MessageHandlingRunnable {
+
+		private final MessageHandler handler;
+
+		private final MessageHandler delegate;
+
+		private Message<?> message;
+
+		LaneDelivery(MessageHandler handler) {
+			this.handler = handler;
+			this.delegate = message -> invokeHandler(handler, message);
+		}
+
+		@Override
+		public void run() {
+			invokeHandler(this.handler, this.message);
+		}
+
+		@Override
+		public Message<?> getMessage() {
+			return this.message;
+		}
+
+		@Override
+		public MessageHandler getMessageHandler() {
+			return this.delegate;
+		}
+
+	}
+
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.integration.util.CallerBlocksPolicy;
+import org.springframework.integration.util.ErrorHandlingTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * An {@link AbstractDispatcher} which hashes a partition key of each message onto one of
+ * a fixed number of partitions; each partition is a {@link UnicastingDispatcher} with its
+ * own single-threaded executor, so messages with the same key are handled in the order
+ * they were dispatched, while messages with different keys are handled concurrently.
+ * <p>
+ * Each partition has a bounded queue; when it is full, the dispatching thread blocks
+ * until there is room or the {@link #setPartitionQueueTimeout(long) partitionQueueTimeout}
+ * expires, in which case a {@link java.util.concurrent.RejectedExecutionException} is thrown.
+ * <p>
+ * A message with a {@code null} partition key is dispatched according to its id, so such
+ * messages are spread over the partitions and are not ordered relative to each other.
+ * <p>
+ * The partitions are created on the first dispatch, so the configuration setters throw an
+ * {@link IllegalStateException} after that; the {@link #shutdown()} must be called to stop
+ * their threads.
+ *
+ * @since 5.0
+ */
+public class PartitionedDispatcher extends AbstractDispatcher {
+
+	/**
+	 * The default capacity of each partition queue.
+	 */
+	public static final int DEFAULT_PARTITION_QUEUE_CAPACITY = 1024;
+
+	private final int partitionCount;
+
+	private final Function<Message<?>, Object> partitionKeyFunction;
+
+	private final UnicastingDispatcher[] partitions;
+
+	private final ExecutorService[] executors;
+
+	private ThreadFactory threadFactory;
+
+	private int partitionQueueCapacity = DEFAULT_PARTITION_QUEUE_CAPACITY;
+
+	private long partitionQueueTimeout = Long.MAX_VALUE;
+
+	private ErrorHandler errorHandler;
+
+	private boolean failover = true;
+
+	private MessageHandlingTaskDecorator messageHandlingTaskDecorator = task -> task;
+
+	private volatile boolean initialized;
+
+	/**
+	 * Create a dispatcher with the provided number of partitions and partition key function.
+	 * @param partitionCount the number of partitions.
+	 * @param partitionKeyFunction the function to obtain the partition key of a message.
+	 */
+	public PartitionedDispatcher(int partitionCount, Function<Message<?>, Object> partitionKeyFunction) {
+		Assert.isTrue(partitionCount > 0, "'partitionCount' must be greater than 0");
+		Assert.notNull(partitionKeyFunction, "'partitionKeyFunction' must not be null");
+		this.partitionCount = partitionCount;
+		this.partitionKeyFunction = partitionKeyFunction;
+		this.partitions = new UnicastingDispatcher[partitionCount];
+		this.executors = new ExecutorService[partitionCount];
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("partition-thread-");
+		threadFactory.setDaemon(true);
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set the {@link ThreadFactory} for the partition threads.
+	 * Default {@code partition-thread-} prefixed daemon threads.
+	 * @param threadFactory the thread factory.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "'threadFactory' must not be null");
+		assertNotInitialized("threadFactory");
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set the capacity of each partition queue.
+	 * Default {@value #DEFAULT_PARTITION_QUEUE_CAPACITY}.
+	 * @param partitionQueueCapacity the capacity.
+	 */
+	public void setPartitionQueueCapacity(int partitionQueueCapacity) {
+		Assert.isTrue(partitionQueueCapacity > 0, "'partitionQueueCapacity' must be greater than 0");
+		assertNotInitialized("partitionQueueCapacity");
+		this.partitionQueueCapacity = partitionQueueCapacity;
+	}
+
+	/**
+	 * Set how long, in milliseconds, a dispatching thread waits for room in a full partition
+	 * queue. Default {@link Long#MAX_VALUE} - wait until there is room.
+	 * @param partitionQueueTimeout the timeout.
+	 */
+	public void setPartitionQueueTimeout(long partitionQueueTimeout) {
+		assertNotInitialized("partitionQueueTimeout");
+		this.partitionQueueTimeout = partitionQueueTimeout;
+	}
+
+	/**
+	 * Set the {@link ErrorHandler} for the exceptions thrown by the handlers on the partition threads.
+	 * @param errorHandler the error handler.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		assertNotInitialized("errorHandler");
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Specify whether each partition should failover when a single {@link MessageHandler}
+	 * throws an Exception. The default value is <code>true</code>.
+	 * @param failover The failover boolean.
+	 * @see UnicastingDispatcher#setFailover(boolean)
+	 */
+	public void setFailover(boolean failover) {
+		assertNotInitialized("failover");
+		this.failover = failover;
+	}
+
+	public void setMessageHandlingTaskDecorator(MessageHandlingTaskDecorator messageHandlingTaskDecorator) {
+		Assert.notNull(messageHandlingTaskDecorator, "'messageHandlingTaskDecorator' must not be null.");
+		assertNotInitialized("messageHandlingTaskDecorator");
+		this.messageHandlingTaskDecorator = messageHandlingTaskDecorator;
+	}
+
+	public int getPartitionCount() {
+		return this.partitionCount;
+	}
+
+	@Override
+	public synchronized boolean addHandler(MessageHandler handler) {
+		boolean added = super.addHandler(handler);
+		if (added && this.initialized) {
+			for (UnicastingDispatcher partition : this.partitions) {
+				partition.addHandler(handler);
+			}
+		}
+		return added;
+	}
+
+	@Override
+	public synchronized boolean removeHandler(MessageHandler handler) {
+		boolean removed = super.removeHandler(handler);
+		if (removed && this.initialized) {
+			for (UnicastingDispatcher partition : this.partitions) {
+				partition.removeHandler(handler);
+			}
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean dispatch(Message<?> message) {
+		if (!this.initialized) {
+			populatePartitions();
+		}
+		Object partitionKey = this.partitionKeyFunction.apply(message);
+		if (partitionKey == null) {
+			// don't send all the messages without a key to the same partition
+			partitionKey = message.getHeaders().getId();
+		}
+		int partition = Math.abs(ObjectUtils.nullSafeHashCode(partitionKey) % this.partitionCount);
+		return this.partitions[partition].dispatch(message);
+	}
+
+	/**
+	 * Shut down the partition executors; the already queued messages are still handled.
+	 */
+	public synchronized void shutdown() {
+		for (ExecutorService executor : this.executors) {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	private void assertNotInitialized(String property) {
+		Assert.state(!this.initialized, "The '" + property + "' can't be changed after the first dispatch");
+	}
+
+	private synchronized void populatePartitions() {
+		if (!this.initialized) {
+			for (int i = 0; i < this.partitionCount; i++) {
+				this.executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+						new LinkedBlockingQueue<>(this.partitionQueueCapacity), this.threadFactory,
+						new CallerBlocksPolicy(this.partitionQueueTimeout));
+				Executor executor = this.errorHandler != null
+						? new ErrorHandlingTaskExecutor(this.executors[i], this.errorHandler)
+						: this.executors[i];
+				UnicastingDispatcher partition = new UnicastingDispatcher(executor);
+				partition.setFailover(this.failover);
+				partition.setLoadBalancingStrategy(new RoundRobinLoadBalancingStrategy());
+				partition.setMessageHandlingTaskDecorator(this.messageHandlingTaskDecorator);
+				for (MessageHandler handler : getHandlers()) {
+					partition.addHandler(handler);
+				}
+				this.partitions[i] = partition;
+			}
+			this.initialized = true;
+		}
+	}
+
+}
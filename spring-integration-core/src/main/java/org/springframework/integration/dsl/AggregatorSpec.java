@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,11 @@
 
 package org.springframework.integration.dsl;
 
+import org.springframework.integration.aggregator.AccumulatingMessageGroupProcessor;
 import org.springframework.integration.aggregator.AggregatingMessageHandler;
 import org.springframework.integration.aggregator.DefaultAggregatingMessageGroupProcessor;
 import org.springframework.integration.aggregator.ExpressionEvaluatingMessageGroupProcessor;
+import org.springframework.integration.aggregator.MessageAccumulator;
 import org.springframework.integration.aggregator.MessageGroupProcessor;
 import org.springframework.integration.aggregator.MethodInvokingMessageGroupProcessor;
 
@@ -85,6 +87,17 @@ public class AggregatorSpec extends CorrelationHandlerSpec<AggregatorSpec, Aggre
 		return _this();
 	}
 
+	/**
+	 * Fold the messages of a group into an accumulator as they arrive, instead of storing
+	 * them and building the output from the whole group on release.
+	 * @param accumulator the accumulator.
+	 * @return the aggregator spec.
+	 * @see AccumulatingMessageGroupProcessor
+	 */
+	public AggregatorSpec accumulator(MessageAccumulator<?> accumulator) {
+		return this.outputProcessor(new AccumulatingMessageGroupProcessor<>(accumulator));
+	}
+
 	/**
 	 * @param expireGroupsUponCompletion the expireGroupsUponCompletion.
 	 * @return the aggregator spec.
@@ -27,6 +27,7 @@ import org.springframework.integration.dsl.channel.PriorityChannelSpec;
 import org.springframework.integration.dsl.channel.PublishSubscribeChannelSpec;
 import org.springframework.integration.dsl.channel.QueueChannelSpec;
 import org.springframework.integration.dsl.channel.RendezvousChannelSpec;
+import org.springframework.integration.dsl.channel.RingBufferChannelSpec;
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
 import org.springframework.messaging.Message;
@@ -121,6 +122,14 @@ public class Channels {
 		return MessageChannels.publishSubscribe(id);
 	}
 
+	public RingBufferChannelSpec ringBuffer(int capacity) {
+		return MessageChannels.ringBuffer(capacity);
+	}
+
+	public RingBufferChannelSpec ringBuffer(String id, int capacity) {
+		return MessageChannels.ringBuffer(id, capacity);
+	}
+
 	public ExecutorChannelSpec executor(Executor executor) {
 		return MessageChannels.executor(executor);
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,8 +26,10 @@ import org.aopalliance.aop.Advice;
 import org.springframework.expression.Expression;
 import org.springframework.integration.expression.FunctionExpression;
 import org.springframework.integration.handler.DelayHandler;
+import org.springframework.integration.store.DelayedMessageStore;
 import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.messaging.Message;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
 
 /**
@@ -76,6 +78,41 @@ public final class DelayerEndpointSpec extends ConsumerEndpointSpec<DelayerEndpo
 		return _this();
 	}
 
+	/**
+	 * @param delayedMessageStore the delayed message store.
+	 * @return the endpoint spec.
+	 * @see DelayHandler#setDelayedMessageStore(DelayedMessageStore)
+	 */
+	public DelayerEndpointSpec delayedMessageStore(DelayedMessageStore delayedMessageStore) {
+		this.handler.setDelayedMessageStore(delayedMessageStore);
+		return _this();
+	}
+
+	/**
+	 * @param lookAheadWindow the look-ahead window in milliseconds.
+	 * @return the endpoint spec.
+	 * @see DelayHandler#setLookAheadWindow(long)
+	 */
+	public DelayerEndpointSpec lookAheadWindow(long lookAheadWindow) {
+		this.handler.setLookAheadWindow(lookAheadWindow);
+		return _this();
+	}
+
+	/**
+	 * Set the task scheduler for the endpoint (if polled) and for the release of the
+	 * delayed messages.
+	 * @param taskScheduler the task scheduler.
+	 * @return the endpoint spec.
+	 * @see DelayHandler#setTaskScheduler(TaskScheduler)
+	 */
+	@Override
+	public DelayerEndpointSpec taskScheduler(TaskScheduler taskScheduler) {
+		Assert.notNull(taskScheduler, "'taskScheduler' must not be null");
+		super.taskScheduler(taskScheduler);
+		this.handler.setTaskScheduler(taskScheduler);
+		return _this();
+	}
+
 	/**
 	 * Configure a list of {@link Advice} objects that will be applied, in nested order,
 	 * when delayed messages are sent.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.expression.ExpressionUtils;
 
 /**
  * The common Builder abstraction. The {@link #get()} method returns the final component.
@@ -35,7 +36,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 public abstract class IntegrationComponentSpec<S extends IntegrationComponentSpec<S, T>, T>
 		implements FactoryBean<T> {
 
-	protected final static SpelExpressionParser PARSER = new SpelExpressionParser();
+	protected final static SpelExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	protected final Log logger = LogFactory.getLog(getClass()); // NOSONAR
 
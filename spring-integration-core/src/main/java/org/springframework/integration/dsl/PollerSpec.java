@@ -29,6 +29,7 @@ import org.springframework.integration.channel.MessagePublishingErrorHandler;
 import org.springframework.integration.scheduling.PollerMetadata;
 import org.springframework.integration.transaction.TransactionInterceptorBuilder;
 import org.springframework.integration.transaction.TransactionSynchronizationFactory;
+import org.springframework.integration.util.VirtualThreadTaskExecutor;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.scheduling.Trigger;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -120,6 +121,17 @@ public final class PollerSpec extends IntegrationComponentSpec<PollerSpec, Polle
 		return this;
 	}
 
+	/**
+	 * @param batchSize the number of messages to receive and handle in a single poll task invocation.
+	 * @return the spec.
+	 * @since 5.0
+	 * @see PollerMetadata#setBatchSize
+	 */
+	public PollerSpec batchSize(int batchSize) {
+		this.target.setBatchSize(batchSize);
+		return this;
+	}
+
 	/**
 	 * Specify a timeout in milliseconds to wait for a message in the
 	 * {@link org.springframework.messaging.MessageChannel}.
@@ -187,6 +199,15 @@ public final class PollerSpec extends IntegrationComponentSpec<PollerSpec, Polle
 		return this;
 	}
 
+	/**
+	 * Perform each {@code pollingTask} on a new virtual thread; requires a Java 21 or later runtime.
+	 * @return the spec.
+	 * @see VirtualThreadTaskExecutor
+	 */
+	public PollerSpec virtualThreads() {
+		return taskExecutor(new VirtualThreadTaskExecutor("poller-virtual-"));
+	}
+
 	public PollerSpec sendTimeout(long sendTimeout) {
 		this.target.setSendTimeout(sendTimeout);
 		return this;
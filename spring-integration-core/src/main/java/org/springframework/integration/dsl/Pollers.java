@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.integration.dsl;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.integration.util.AdaptivePollingTrigger;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
@@ -76,6 +77,33 @@ public final class Pollers {
 		return new PollerSpec(periodicTrigger);
 	}
 
+	/**
+	 * Create a {@link PollerSpec} with an {@link AdaptivePollingTrigger} which backs off
+	 * the delay after empty polls and resets it after polls with messages.
+	 * @param minDelay the minimum delay between polls in milliseconds.
+	 * @param maxDelay the maximum delay between polls in milliseconds.
+	 * @return the spec.
+	 */
+	public static PollerSpec adaptive(long minDelay, long maxDelay) {
+		return new PollerSpec(new AdaptivePollingTrigger(minDelay, maxDelay));
+	}
+
+	/**
+	 * Create a {@link PollerSpec} with an {@link AdaptivePollingTrigger} which also grows
+	 * the messages per poll after polls reaching their limit.
+	 * @param minDelay the minimum delay between polls in milliseconds.
+	 * @param maxDelay the maximum delay between polls in milliseconds.
+	 * @param minMessagesPerPoll the minimum messages per poll.
+	 * @param maxMessagesPerPoll the maximum messages per poll.
+	 * @return the spec.
+	 */
+	public static PollerSpec adaptive(long minDelay, long maxDelay, int minMessagesPerPoll,
+			int maxMessagesPerPoll) {
+		AdaptivePollingTrigger trigger = new AdaptivePollingTrigger(minDelay, maxDelay);
+		trigger.setMessagesPerPollRange(minMessagesPerPoll, maxMessagesPerPoll);
+		return new PollerSpec(trigger);
+	}
+
 	public static PollerSpec cron(String cronExpression) {
 		return cron(cronExpression, TimeZone.getDefault());
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,19 @@ public final class SourcePollingChannelAdapterSpec extends
 		return _this();
 	}
 
+	/**
+	 * Poll the source only when the subscribers of the output channel, which must be a
+	 * {@link org.springframework.integration.channel.ReactiveStreamsSubscribableChannel},
+	 * request messages.
+	 * @param demandDriven true to poll on demand.
+	 * @return the spec.
+	 * @see org.springframework.integration.endpoint.SourcePollingChannelAdapter#setDemandDriven(boolean)
+	 */
+	public SourcePollingChannelAdapterSpec demandDriven(boolean demandDriven) {
+		this.endpointFactoryBean.setDemandDriven(demandDriven);
+		return _this();
+	}
+
 	public SourcePollingChannelAdapterSpec poller(PollerMetadata pollerMetadata) {
 		if (pollerMetadata != null) {
 			if (PollerMetadata.MAX_MESSAGES_UNBOUNDED == pollerMetadata.getMaxMessagesPerPoll()) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,4 +65,26 @@ public final class SplitterEndpointSpec<S extends AbstractMessageSplitter>
 		return this;
 	}
 
+	/**
+	 * Set the maximum number of split messages which may be in flight downstream at a time.
+	 * @param maxInFlight the maximum number of in-flight split messages.
+	 * @return the endpoint spec.
+	 * @see AbstractMessageSplitter#setMaxInFlight(int)
+	 */
+	public SplitterEndpointSpec<S> maxInFlight(int maxInFlight) {
+		this.handler.setMaxInFlight(maxInFlight);
+		return _this();
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for room in the in-flight window.
+	 * @param inFlightTimeout the timeout.
+	 * @return the endpoint spec.
+	 * @see AbstractMessageSplitter#setInFlightTimeout(long)
+	 */
+	public SplitterEndpointSpec<S> inFlightTimeout(long inFlightTimeout) {
+		this.handler.setInFlightTimeout(inFlightTimeout);
+		return _this();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,8 +22,9 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.serializer.Deserializer;
 import org.springframework.core.serializer.Serializer;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.integration.codec.Codec;
+import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.expression.FunctionExpression;
 import org.springframework.integration.json.JsonToObjectTransformer;
 import org.springframework.integration.json.ObjectToJsonTransformer;
@@ -51,7 +52,7 @@ import org.springframework.util.Assert;
  */
 public abstract class Transformers {
 
-	private final static SpelExpressionParser PARSER = new SpelExpressionParser();
+	private final static ExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	public static ObjectToStringTransformer objectToString() {
 		return objectToString(null);
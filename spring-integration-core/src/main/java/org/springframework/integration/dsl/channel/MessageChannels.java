@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
+import org.springframework.integration.util.VirtualThreadTaskExecutor;
 import org.springframework.messaging.Message;
 
 /**
@@ -72,6 +73,14 @@ public final class MessageChannels {
 		return queue(messageGroupStore, groupId).id(id);
 	}
 
+	public static RingBufferChannelSpec ringBuffer(int capacity) {
+		return new RingBufferChannelSpec(capacity);
+	}
+
+	public static RingBufferChannelSpec ringBuffer(String id, int capacity) {
+		return ringBuffer(capacity).id(id);
+	}
+
 	public static ExecutorChannelSpec executor(Executor executor) {
 		return new ExecutorChannelSpec(executor);
 	}
@@ -80,6 +89,22 @@ public final class MessageChannels {
 		return executor(executor).id(id);
 	}
 
+	public static ExecutorChannelSpec virtualThreadExecutor() {
+		return executor(new VirtualThreadTaskExecutor());
+	}
+
+	public static ExecutorChannelSpec virtualThreadExecutor(String id) {
+		return executor(id, new VirtualThreadTaskExecutor(id + "-"));
+	}
+
+	public static PartitionedChannelSpec partitioned(int partitionCount) {
+		return new PartitionedChannelSpec(partitionCount);
+	}
+
+	public static PartitionedChannelSpec partitioned(String id, int partitionCount) {
+		return partitioned(partitionCount).id(id);
+	}
+
 	public static RendezvousChannelSpec rendezvous() {
 		return new RendezvousChannelSpec();
 	}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dsl.channel;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import org.springframework.expression.Expression;
+import org.springframework.integration.channel.PartitionedChannel;
+import org.springframework.integration.expression.ExpressionUtils;
+import org.springframework.messaging.Message;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * @since 5.0
+ */
+public class PartitionedChannelSpec extends MessageChannelSpec<PartitionedChannelSpec, PartitionedChannel> {
+
+	private final int partitionCount;
+
+	private Function<Message<?>, Object> partitionKeyFunction;
+
+	private Expression partitionKeyExpression;
+
+	private ThreadFactory threadFactory;
+
+	private Integer partitionQueueCapacity;
+
+	private Long partitionQueueTimeout;
+
+	private Boolean failover;
+
+	private Integer maxSubscribers;
+
+	private ErrorHandler errorHandler;
+
+	PartitionedChannelSpec(int partitionCount) {
+		this.partitionCount = partitionCount;
+	}
+
+	public PartitionedChannelSpec partitionKey(Function<Message<?>, Object> partitionKeyFunction) {
+		this.partitionKeyFunction = partitionKeyFunction;
+		this.partitionKeyExpression = null;
+		return this;
+	}
+
+	public PartitionedChannelSpec partitionKeyHeader(String headerName) {
+		return partitionKey(message -> message.getHeaders().get(headerName));
+	}
+
+	public PartitionedChannelSpec partitionKeyExpression(String partitionKeyExpression) {
+		return partitionKeyExpression(ExpressionUtils.getExpressionParser().parseExpression(partitionKeyExpression));
+	}
+
+	public PartitionedChannelSpec partitionKeyExpression(Expression partitionKeyExpression) {
+		this.partitionKeyExpression = partitionKeyExpression;
+		this.partitionKeyFunction = null;
+		return this;
+	}
+
+	public PartitionedChannelSpec threadFactory(ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+		return this;
+	}
+
+	public PartitionedChannelSpec partitionQueueCapacity(int partitionQueueCapacity) {
+		this.partitionQueueCapacity = partitionQueueCapacity;
+		return this;
+	}
+
+	public PartitionedChannelSpec partitionQueueTimeout(long partitionQueueTimeout) {
+		this.partitionQueueTimeout = partitionQueueTimeout;
+		return this;
+	}
+
+	public PartitionedChannelSpec failover(Boolean failover) {
+		this.failover = failover;
+		return this;
+	}
+
+	public PartitionedChannelSpec maxSubscribers(Integer maxSubscribers) {
+		this.maxSubscribers = maxSubscribers;
+		return this;
+	}
+
+	public PartitionedChannelSpec errorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+		return this;
+	}
+
+	@Override
+	protected PartitionedChannel doGet() {
+		if (this.partitionKeyExpression != null) {
+			this.channel = new PartitionedChannel(this.partitionCount, this.partitionKeyExpression);
+		}
+		else if (this.partitionKeyFunction != null) {
+			this.channel = new PartitionedChannel(this.partitionCount, this.partitionKeyFunction);
+		}
+		else {
+			this.channel = new PartitionedChannel(this.partitionCount);
+		}
+		if (this.threadFactory != null) {
+			this.channel.setThreadFactory(this.threadFactory);
+		}
+		if (this.partitionQueueCapacity != null) {
+			this.channel.setPartitionQueueCapacity(this.partitionQueueCapacity);
+		}
+		if (this.partitionQueueTimeout != null) {
+			this.channel.setPartitionQueueTimeout(this.partitionQueueTimeout);
+		}
+		if (this.failover != null) {
+			this.channel.setFailover(this.failover);
+		}
+		if (this.maxSubscribers != null) {
+			this.channel.setMaxSubscribers(this.maxSubscribers);
+		}
+		if (this.errorHandler != null) {
+			this.channel.setErrorHandler(this.errorHandler);
+		}
+		return super.doGet();
+	}
+
+}
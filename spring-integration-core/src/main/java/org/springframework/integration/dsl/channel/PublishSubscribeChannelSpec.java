@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,4 +65,9 @@ public class PublishSubscribeChannelSpec<S extends PublishSubscribeChannelSpec<S
 		return _this();
 	}
 
+	public S subscriberLaneCapacity(int subscriberLaneCapacity) {
+		this.channel.setSubscriberLaneCapacity(subscriberLaneCapacity);
+		return _this();
+	}
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dsl.channel;
+
+import org.springframework.integration.channel.RingBufferChannel;
+import org.springframework.integration.util.RingBufferBlockingQueue.WaitStrategy;
+
+/**
+ * @since 5.0
+ */
+public class RingBufferChannelSpec extends MessageChannelSpec<RingBufferChannelSpec, RingBufferChannel> {
+
+	private final int capacity;
+
+	private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+	RingBufferChannelSpec(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public RingBufferChannelSpec waitStrategy(WaitStrategy waitStrategy) {
+		this.waitStrategy = waitStrategy;
+		return this;
+	}
+
+	@Override
+	protected RingBufferChannel doGet() {
+		this.channel = new RingBufferChannel(this.capacity, this.waitStrategy);
+		return super.doGet();
+	}
+
+}
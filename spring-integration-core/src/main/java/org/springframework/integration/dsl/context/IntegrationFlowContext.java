@@ -30,6 +30,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.support.context.NamedComponent;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.util.Assert;
@@ -144,6 +145,7 @@ public final class IntegrationFlowContext implements BeanFactoryAware {
 	/**
 	 * Destroy an {@link IntegrationFlow} bean (as well as all its dependant beans)
 	 * for provided {@code flowId} and clean up all the local cache for it.
+	 * The channels cached by the shared channel resolver are released as well.
 	 * @param flowId the bean name to destroy from
 	 */
 	public synchronized void remove(String flowId) {
@@ -151,6 +153,7 @@ public final class IntegrationFlowContext implements BeanFactoryAware {
 			IntegrationFlowRegistration flowRegistration = this.registry.remove(flowId);
 			flowRegistration.stop();
 			((DefaultSingletonBeanRegistry) this.beanFactory).destroySingleton(flowId);
+			ChannelResolverUtils.clearChannelResolverCache(this.beanFactory);
 		}
 		else {
 			throw new IllegalStateException("Only manually registered IntegrationFlows can be removed. "
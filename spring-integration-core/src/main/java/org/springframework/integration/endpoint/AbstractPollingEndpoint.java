@@ -16,7 +16,10 @@
 
 package org.springframework.integration.endpoint;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -30,12 +33,13 @@ import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.integration.channel.MessagePublishingErrorHandler;
 import org.springframework.integration.support.MessagingExceptionWrapper;
-import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.transaction.ExpressionEvaluatingTransactionSynchronizationProcessor;
 import org.springframework.integration.transaction.IntegrationResourceHolder;
 import org.springframework.integration.transaction.IntegrationResourceHolderSynchronization;
 import org.springframework.integration.transaction.PassThroughTransactionSynchronizationFactory;
 import org.springframework.integration.transaction.TransactionSynchronizationFactory;
+import org.springframework.integration.util.AdaptivePollingTrigger;
 import org.springframework.integration.util.ErrorHandlingTaskExecutor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -79,6 +83,8 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 
 	private volatile long maxMessagesPerPoll = -1;
 
+	private volatile int batchSize = 1;
+
 	private final Object initializationMonitor = new Object();
 
 	private volatile TransactionSynchronizationFactory transactionSynchronizationFactory;
@@ -103,6 +109,23 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		this.maxMessagesPerPoll = maxMessagesPerPoll;
 	}
 
+	/**
+	 * Set the number of messages to receive and handle within a single poll task invocation,
+	 * i.e. in one transaction and one advice chain pass when those are configured.
+	 * A batch is received via {@link #receiveMessages(int)}; its messages are handled one by one.
+	 * When {@link #setMaxMessagesPerPoll(long) maxMessagesPerPoll} is positive, the batch
+	 * size is limited by that value and messages are counted towards it batch-by-batch.
+	 * The message bound to the transaction synchronization resource holder for a batch
+	 * has the {@code List} of the received messages as its payload.
+	 * Defaults to 1 - a message per poll task invocation.
+	 * @param batchSize the batch size.
+	 * @since 5.0
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
 	public void setErrorHandler(ErrorHandler errorHandler) {
 		this.errorHandler = errorHandler;
 	}
@@ -136,6 +159,18 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		return this.beanClassLoader;
 	}
 
+	/**
+	 * Return true if the polls are transactional: the advice chain contains a
+	 * {@link TransactionInterceptor} or a {@link TransactionSynchronizationFactory} is configured.
+	 * @return true if transactional.
+	 * @since 5.0
+	 */
+	protected boolean isTransactional() {
+		return this.transactionSynchronizationFactory != null
+				|| (this.adviceChain != null
+						&& this.adviceChain.stream().anyMatch(TransactionInterceptor.class::isInstance));
+	}
+
 	/**
 	 * Return true if this advice should be applied only to the {@link #receiveMessage()} operation
 	 * rather than the whole poll.
@@ -165,7 +200,7 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 					if (this.errorHandler == null) {
 						Assert.notNull(this.getBeanFactory(), "BeanFactory is required");
 						this.errorHandler = new MessagePublishingErrorHandler(
-								new BeanFactoryChannelResolver(getBeanFactory()));
+								ChannelResolverUtils.getChannelResolver(getBeanFactory()));
 						this.errorHandlerIsDefault = true;
 					}
 					this.taskExecutor = new ErrorHandlingTaskExecutor(this.taskExecutor, this.errorHandler);
@@ -180,7 +215,6 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	private Runnable createPoller() throws Exception {
 		List<Advice> receiveOnlyAdviceChain = null;
 		if (!CollectionUtils.isEmpty(this.adviceChain)) {
@@ -189,7 +223,7 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 					.collect(Collectors.toList());
 		}
 
-		Callable<Boolean> pollingTask = this::doPoll;
+		Callable<?> pollingTask = this::doPoll;
 
 		List<Advice> adviceChain = this.adviceChain;
 		if (!CollectionUtils.isEmpty(adviceChain)) {
@@ -199,7 +233,7 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 						.filter(advice -> !isReceiveOnlyAdvice(advice))
 						.forEach(proxyFactory::addAdvice);
 			}
-			pollingTask = (Callable<Boolean>) proxyFactory.getProxy(this.beanClassLoader);
+			pollingTask = (Callable<?>) proxyFactory.getProxy(this.beanClassLoader);
 		}
 		if (!CollectionUtils.isEmpty(receiveOnlyAdviceChain)) {
 			applyReceiveOnlyAdviceChain(receiveOnlyAdviceChain);
@@ -235,7 +269,57 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		this.initialized = false;
 	}
 
-	private boolean doPoll() {
+	/**
+	 * Run a poll as soon as possible, in addition to those scheduled by the trigger;
+	 * e.g. when {@link #shouldPoll()} becomes true. Ignored when the endpoint isn't polling.
+	 * @since 5.0
+	 */
+	protected void pollNow() {
+		if (this.runningTask != null) {
+			this.getTaskScheduler().schedule(this.poller, new Date());
+		}
+	}
+
+	/**
+	 * Return whether the next poll task should be invoked; checked before each of them,
+	 * so a poll ends as soon as it returns false. Subclasses can override it to poll only
+	 * when there is demand for messages. Defaults to true.
+	 * @return true to poll.
+	 * @since 5.0
+	 * @see #pollNow()
+	 */
+	protected boolean shouldPoll() {
+		return true;
+	}
+
+	private long obtainMaxMessagesPerPoll() {
+		Trigger trigger = this.trigger;
+		if (trigger instanceof AdaptivePollingTrigger) {
+			int messagesPerPoll = ((AdaptivePollingTrigger) trigger).getMessagesPerPoll();
+			if (messagesPerPoll > 0) {
+				return messagesPerPoll;
+			}
+		}
+		return this.maxMessagesPerPoll;
+	}
+
+	private int obtainBatchSize() {
+		long maxMessagesPerPoll = obtainMaxMessagesPerPoll();
+		if (maxMessagesPerPoll > 0 && maxMessagesPerPoll < this.batchSize) {
+			return (int) maxMessagesPerPoll;
+		}
+		return this.batchSize;
+	}
+
+	/**
+	 * Poll a message or a batch of messages and handle them.
+	 * @return the number of messages received.
+	 */
+	private int doPoll() {
+		int batchSize = obtainBatchSize();
+		if (batchSize > 1) {
+			return doPollBatch(batchSize);
+		}
 		IntegrationResourceHolder holder = this.bindResourceHolderIfNecessary(
 				this.getResourceKey(), this.getResourceToBind());
 		Message<?> message = null;
@@ -247,18 +331,18 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 				if (logger.isDebugEnabled()) {
 					logger.debug("Poll interrupted - during stop()? : " + e.getMessage());
 				}
-				return false;
+				return 0;
 			}
 			else {
 				throw (RuntimeException) e;
 			}
 		}
-		boolean result;
+		int result;
 		if (message == null) {
 			if (this.logger.isDebugEnabled()) {
-				this.logger.debug("Received no Message during the poll, returning 'false'");
+				this.logger.debug("Received no Message during the poll");
 			}
-			result = false;
+			result = 0;
 		}
 		else {
 			if (this.logger.isDebugEnabled()) {
@@ -278,11 +362,73 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 					throw new MessagingException(message, e);
 				}
 			}
-			result = true;
+			result = 1;
 		}
 		return result;
 	}
 
+	private int doPollBatch(int batchSize) {
+		IntegrationResourceHolder holder = this.bindResourceHolderIfNecessary(
+				this.getResourceKey(), this.getResourceToBind());
+		List<Message<?>> messages;
+		try {
+			messages = this.receiveMessages(batchSize);
+		}
+		catch (Exception e) {
+			if (Thread.interrupted()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Poll interrupted - during stop()? : " + e.getMessage());
+				}
+				return 0;
+			}
+			else {
+				throw (RuntimeException) e;
+			}
+		}
+		if (messages.isEmpty()) {
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Received no Messages during the poll");
+			}
+			return 0;
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Poll resulted in " + messages.size() + " Messages: " + messages);
+		}
+		// Without a transaction to roll back, the rest of the batch must not be lost due to a single failure
+		boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+		if (holder != null) {
+			// the transaction synchronization applies to the whole batch
+			holder.setMessage(getMessageBuilderFactory().withPayload(messages).build());
+		}
+		MessagingException failure = null;
+		for (Message<?> message : messages) {
+			try {
+				this.handleMessage(message);
+			}
+			catch (Exception e) {
+				MessagingException exception = e instanceof MessagingException
+						? new MessagingExceptionWrapper(message, (MessagingException) e)
+						: new MessagingException(message, e);
+				if (transactional) {
+					throw exception;
+				}
+				else if (failure == null) {
+					failure = exception;
+				}
+				else if (this.errorHandler != null) {
+					this.errorHandler.handleError(exception);
+				}
+				else {
+					logger.error("Failed to handle a Message from the batch", exception);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return messages.size();
+	}
+
 	/**
 	 * Obtain the next message (if one is available). MAY return null
 	 * if no message is immediately available.
@@ -290,6 +436,32 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 	 */
 	protected abstract Message<?> receiveMessage();
 
+	/**
+	 * Obtain up to {@code maxMessages} messages for a batch poll. This implementation
+	 * calls {@link #receiveMessage()} until it returns null or the batch is complete;
+	 * subclasses may override it with a bulk receive operation.
+	 * @param maxMessages the maximum number of messages.
+	 * @return the messages; never null, but may be empty.
+	 * @since 5.0
+	 * @see #setBatchSize(int)
+	 */
+	protected List<Message<?>> receiveMessages(int maxMessages) {
+		Message<?> message = this.receiveMessage();
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>();
+		messages.add(message);
+		while (messages.size() < maxMessages) {
+			message = this.receiveMessage();
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 	/**
 	 * Handle a message.
 	 * @param message The message.
@@ -355,9 +527,9 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 	 */
 	private final class Poller implements Runnable {
 
-		private final Callable<Boolean> pollingTask;
+		private final Callable<?> pollingTask;
 
-		Poller(Callable<Boolean> pollingTask) {
+		Poller(Callable<?> pollingTask) {
 			this.pollingTask = pollingTask;
 		}
 
@@ -365,40 +537,63 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		public void run() {
 			AbstractPollingEndpoint.this.taskExecutor.execute(() -> {
 				int count = 0;
-				while (AbstractPollingEndpoint.this.initialized
-						&& (AbstractPollingEndpoint.this.maxMessagesPerPoll <= 0
-						|| count < AbstractPollingEndpoint.this.maxMessagesPerPoll)) {
-					try {
-						if (!Poller.this.pollingTask.call()) {
+				long maxMessagesPerPoll = obtainMaxMessagesPerPoll();
+				boolean exhausted = false;
+				try {
+					while (AbstractPollingEndpoint.this.initialized && shouldPoll()
+							&& (maxMessagesPerPoll <= 0 || count < maxMessagesPerPoll)) {
+						int batchSize = obtainBatchSize();
+						int received = pollOnce(batchSize);
+						count += received;
+						// a partial batch means the source is drained
+						exhausted = received < batchSize;
+						if (exhausted) {
 							break;
 						}
-						count++;
 					}
-					catch (Exception e) {
-						if (e instanceof MessagingException) {
-							throw (MessagingException) e;
-						}
-						else {
-							Message<?> failedMessage = null;
-							if (AbstractPollingEndpoint.this.transactionSynchronizationFactory != null) {
-								Object resource = TransactionSynchronizationManager.getResource(getResourceToBind());
-								if (resource instanceof IntegrationResourceHolder) {
-									failedMessage = ((IntegrationResourceHolder) resource).getMessage();
-								}
-							}
-							throw new MessagingException(failedMessage, e);
-						}
+				}
+				finally {
+					Trigger trigger = AbstractPollingEndpoint.this.trigger;
+					if (trigger instanceof AdaptivePollingTrigger) {
+						((AdaptivePollingTrigger) trigger).pollCompleted(count,
+								!exhausted && maxMessagesPerPoll > 0 && count >= maxMessagesPerPoll);
 					}
-					finally {
-						if (AbstractPollingEndpoint.this.transactionSynchronizationFactory != null) {
-							Object resource = getResourceToBind();
-							if (TransactionSynchronizationManager.hasResource(resource)) {
-								TransactionSynchronizationManager.unbindResource(resource);
-							}
+				}
+			});
+		}
+
+		private int pollOnce(int batchSize) {
+			try {
+				Object result = this.pollingTask.call();
+				if (result instanceof Number) {
+					return ((Number) result).intValue();
+				}
+				// an advice may complete the poll with a boolean, e.g. the PollSkipAdvice
+				return Boolean.TRUE.equals(result) ? batchSize : 0;
+			}
+			catch (Exception e) {
+				if (e instanceof MessagingException) {
+					throw (MessagingException) e;
+				}
+				else {
+					Message<?> failedMessage = null;
+					if (AbstractPollingEndpoint.this.transactionSynchronizationFactory != null) {
+						Object resource = TransactionSynchronizationManager.getResource(getResourceToBind());
+						if (resource instanceof IntegrationResourceHolder) {
+							failedMessage = ((IntegrationResourceHolder) resource).getMessage();
 						}
 					}
+					throw new MessagingException(failedMessage, e);
 				}
-			});
+			}
+			finally {
+				if (AbstractPollingEndpoint.this.transactionSynchronizationFactory != null) {
+					Object resource = getResourceToBind();
+					if (TransactionSynchronizationManager.hasResource(resource)) {
+						TransactionSynchronizationManager.unbindResource(resource);
+					}
+				}
+			}
 		}
 
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,14 @@
 package org.springframework.integration.endpoint;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 
 import org.springframework.context.Lifecycle;
+import org.springframework.integration.channel.AbstractPollableChannel;
 import org.springframework.integration.channel.ExecutorChannelInterceptorAware;
 import org.springframework.integration.core.MessageProducer;
 import org.springframework.integration.router.MessageRouter;
@@ -193,6 +196,34 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 				: this.inputChannel.receive();
 	}
 
+	/**
+	 * Receive a batch from the input channel. An {@link AbstractPollableChannel} is asked for
+	 * a bulk {@link AbstractPollableChannel#receiveBatch(int, long) receiveBatch()} operation;
+	 * otherwise only the first message is awaited for the {@code receiveTimeout}, the rest of
+	 * the batch is composed of immediately available messages.
+	 * @since 5.0
+	 */
+	@Override
+	protected List<Message<?>> receiveMessages(int maxMessages) {
+		if (this.inputChannel instanceof AbstractPollableChannel) {
+			return ((AbstractPollableChannel) this.inputChannel).receiveBatch(maxMessages, this.receiveTimeout);
+		}
+		Message<?> message = receiveMessage();
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>();
+		messages.add(message);
+		while (messages.size() < maxMessages) {
+			message = this.inputChannel.receive(0);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 	@Override
 	protected Object getResourceToBind() {
 		return this.inputChannel;
@@ -27,7 +27,7 @@ import org.springframework.integration.channel.MessageChannelReactiveUtils;
 import org.springframework.integration.channel.MessagePublishingErrorHandler;
 import org.springframework.integration.core.MessageProducer;
 import org.springframework.integration.router.MessageRouter;
-import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
@@ -114,7 +114,7 @@ public class ReactiveStreamsConsumer extends AbstractEndpoint implements Integra
 		super.onInit();
 		if (this.errorHandler == null) {
 			Assert.notNull(getBeanFactory(), "BeanFactory is required");
-			this.errorHandler = new MessagePublishingErrorHandler(new BeanFactoryChannelResolver(getBeanFactory()));
+			this.errorHandler = new MessagePublishingErrorHandler(ChannelResolverUtils.getChannelResolver(getBeanFactory()));
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.integration.endpoint;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.aopalliance.aop.Advice;
 
@@ -28,6 +29,7 @@ import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.context.Lifecycle;
 import org.springframework.integration.aop.AbstractMessageSourceAdvice;
+import org.springframework.integration.channel.ReactiveStreamsSubscribableChannel;
 import org.springframework.integration.context.ExpressionCapable;
 import org.springframework.integration.core.MessageSource;
 import org.springframework.integration.core.MessagingTemplate;
@@ -41,6 +43,10 @@ import org.springframework.messaging.MessagingException;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+
 /**
  * A Channel Adapter implementation for connecting a
  * {@link MessageSource} to a {@link MessageChannel}.
@@ -67,6 +73,16 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 
 	private volatile boolean shouldTrack;
 
+	private final AtomicLong demand = new AtomicLong();
+
+	private final Object receiveMonitor = new Object();
+
+	private volatile boolean demandDriven;
+
+	private volatile boolean manageFetchSize;
+
+	private volatile FluxSink<Message<?>> demandSink;
+
 	/**
 	 * Specify the source to be polled for Messages.
 	 *
@@ -126,6 +142,25 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 		this.shouldTrack = shouldTrack;
 	}
 
+	/**
+	 * Set to true to poll the source only when the subscribers of the output channel,
+	 * which must be a {@link ReactiveStreamsSubscribableChannel} (e.g. a
+	 * {@link org.springframework.integration.channel.FluxMessageChannel}), request
+	 * messages: the adapter subscribes the channel to a publisher of the polled messages,
+	 * a {@code request(n)} starts a poll right away and a poll ends once the demand is
+	 * satisfied (the {@code maxMessagesPerPoll} is ignored) or the source is empty.
+	 * Trigger polls are skipped while there is no demand. When the source is a
+	 * {@link MessageSourceManagement} without a {@code maxFetchSize}, the outstanding
+	 * demand is used as the fetch size. The messages are handed over to the channel
+	 * subscribers, possibly after the end of the poll, so the poller can't be
+	 * transactional in this mode.
+	 * @param demandDriven true to poll on demand.
+	 * @since 5.0
+	 */
+	public void setDemandDriven(boolean demandDriven) {
+		this.demandDriven = demandDriven;
+	}
+
 	@Override
 	public String getComponentType() {
 		return (this.source instanceof NamedComponent) ?
@@ -171,12 +206,43 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 			((Lifecycle) this.source).start();
 		}
 		super.doStart();
+		if (this.demandDriven) {
+			subscribeOutputChannel();
+		}
+	}
+
+	private void subscribeOutputChannel() {
+		MessageChannel outputChannel = getOutputChannel();
+		Assert.state(outputChannel instanceof ReactiveStreamsSubscribableChannel,
+				"A 'demandDriven' adapter requires a ReactiveStreamsSubscribableChannel as the output channel");
+		this.manageFetchSize = this.originalSource instanceof MessageSourceManagement
+				&& (this.manageFetchSize || ((MessageSourceManagement) this.originalSource).getMaxFetchSize() <= 0);
+		setMaxMessagesPerPoll(-1);
+		this.demand.set(0);
+		((ReactiveStreamsSubscribableChannel) outputChannel).subscribeTo(
+				Flux.create(sink -> {
+					this.demandSink = sink;
+					sink.onRequest(this::addDemand);
+					sink.onCancel(() -> this.demand.set(0));
+				}));
+	}
+
+	private void addDemand(long n) {
+		long previous = this.demand.getAndUpdate(d -> Operators.addCap(d, n));
+		if (previous <= 0) {
+			pollNow();
+		}
 	}
 
 
 	@Override
 	protected void doStop() {
 		super.doStop();
+		if (this.demandSink != null) {
+			this.demand.set(0);
+			this.demandSink.complete();
+			this.demandSink = null;
+		}
 		if (this.source instanceof Lifecycle) {
 			((Lifecycle) this.source).stop();
 		}
@@ -190,6 +256,9 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 				|| (this.outputChannelName != null && this.outputChannel == null),
 				"One and only one of 'outputChannelName' or 'outputChannel' is required.");
 		super.onInit();
+		// the messages are handed over to the channel subscribers, which may handle them after the poll
+		Assert.state(!this.demandDriven || !isTransactional(),
+				"A 'demandDriven' adapter can't be used with a transactional poller");
 		if (this.getBeanFactory() != null) {
 			this.messagingTemplate.setBeanFactory(this.getBeanFactory());
 		}
@@ -212,6 +281,11 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 		if (this.shouldTrack) {
 			message = MessageHistory.write(message, this, this.getMessageBuilderFactory());
 		}
+		FluxSink<Message<?>> demandSink = this.demandSink;
+		if (demandSink != null) {
+			demandSink.next(message);
+			return;
+		}
 		try {
 			this.messagingTemplate.send(getOutputChannel(), message);
 		}
@@ -227,9 +301,33 @@ public class SourcePollingChannelAdapter extends AbstractPollingEndpoint
 
 	@Override
 	protected Message<?> receiveMessage() {
+		if (this.demandDriven) {
+			// an on-demand poll may overlap with one scheduled by the trigger
+			synchronized (this.receiveMonitor) {
+				long demand = this.demand.get();
+				if (demand <= 0) {
+					return null;
+				}
+				if (this.manageFetchSize) {
+					((MessageSourceManagement) this.originalSource)
+							.setMaxFetchSize((int) Math.min(demand, Integer.MAX_VALUE));
+				}
+				Message<?> message = this.source.receive();
+				if (message != null) {
+					// consumed under the monitor, so overlapping polls can't exceed the demand
+					this.demand.getAndUpdate(d -> d > 0 && d < Long.MAX_VALUE ? d - 1 : d);
+				}
+				return message;
+			}
+		}
 		return this.source.receive();
 	}
 
+	@Override
+	protected boolean shouldPoll() {
+		return !this.demandDriven || this.demand.get() > 0;
+	}
+
 	@Override
 	protected Object getResourceToBind() {
 		return this.originalSource;
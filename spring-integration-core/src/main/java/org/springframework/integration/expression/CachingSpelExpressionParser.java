@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.expression;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link SpelExpressionParser} for framework expressions which caches the parsed
+ * expressions by expression string, so each distinct expression is parsed (and compiled,
+ * when a compiler mode is enabled) once regardless of how many components use it.
+ * <p>The compiler mode is {@link #COMPILER_MODE_PROPERTY_NAME} if set (e.g. {@code MIXED}),
+ * otherwise the standard SpEL {@code spring.expression.compiler.mode}, which defaults to
+ * {@link SpelCompilerMode#OFF}. Compilation is opt-in because a {@code MIXED} expression
+ * whose compiled form fails is evaluated again in interpreted mode, so the side effects
+ * of the methods it calls may happen twice.
+ * <p>The cache is maintained per thread context {@link ClassLoader}, which is only weakly
+ * referenced, so an application class loader (and the classes compiled for it) is not
+ * retained after the application is undeployed.
+ * <p>Expressions which can't be compiled keep being interpreted; they are reported,
+ * together with the reason, by {@link #getCompilationFailures()}.
+ *
+ * @since 5.0
+ */
+public class CachingSpelExpressionParser extends SpelExpressionParser {
+
+	/**
+	 * The property to set the compiler mode of the framework expressions, without
+	 * affecting the other SpEL expressions; e.g. {@code MIXED} or {@code IMMEDIATE}.
+	 */
+	public static final String COMPILER_MODE_PROPERTY_NAME = "spring.integration.expression.compiler.mode";
+
+	/**
+	 * The default maximum number of cached expressions.
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+	private static final Log logger = LogFactory.getLog(CachingSpelExpressionParser.class);
+
+	private final Map<ClassLoader, Map<String, SpelExpression>> caches =
+			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+	private final Map<String, String> compilationFailures = new ConcurrentHashMap<>();
+
+	private final AtomicInteger compiledCount = new AtomicInteger();
+
+	private final SpelParserConfiguration configuration;
+
+	private final SpelExpressionParser parser;
+
+	private volatile int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+
+	public CachingSpelExpressionParser() {
+		this(false, false);
+	}
+
+	public CachingSpelExpressionParser(boolean autoGrowNullReferences, boolean autoGrowCollections) {
+		this(new SpelParserConfiguration(defaultCompilerMode(), null, autoGrowNullReferences, autoGrowCollections,
+				Integer.MAX_VALUE));
+	}
+
+	public CachingSpelExpressionParser(SpelParserConfiguration configuration) {
+		super(configuration);
+		Assert.notNull(configuration, "'configuration' must not be null");
+		this.configuration = configuration;
+		this.parser = new SpelExpressionParser(configuration);
+	}
+
+	/**
+	 * Set the maximum number of cached expressions per class loader; expressions parsed
+	 * after the cache is full are not cached. Default {@value #DEFAULT_CACHE_CAPACITY}.
+	 * @param cacheCapacity the capacity.
+	 */
+	public void setCacheCapacity(int cacheCapacity) {
+		Assert.isTrue(cacheCapacity >= 0, "'cacheCapacity' must not be negative");
+		this.cacheCapacity = cacheCapacity;
+	}
+
+	@Override
+	protected SpelExpression doParseExpression(String expressionString, ParserContext context)
+			throws ParseException {
+
+		Map<String, SpelExpression> cache = getCache();
+		SpelExpression expression = cache.get(expressionString);
+		if (expression == null) {
+			SpelExpression parsed = this.parser.parseRaw(expressionString);
+			expression = new MonitoredSpelExpression(expressionString, (SpelNodeImpl) parsed.getAST());
+			if (cache.size() < this.cacheCapacity) {
+				SpelExpression existing = cache.putIfAbsent(expressionString, expression);
+				if (existing != null) {
+					expression = existing;
+				}
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * Return the number of expressions cached for the current thread context class loader.
+	 * @return the number of cached expressions.
+	 */
+	public int getCachedExpressionCount() {
+		return getCache().size();
+	}
+
+	/**
+	 * Return the number of expressions compiled so far.
+	 * @return the number of compiled expressions.
+	 */
+	public int getCompiledExpressionCount() {
+		return this.compiledCount.get();
+	}
+
+	/**
+	 * Return the expressions which failed to compile, mapped to the reason; an expression
+	 * which is compiled later on (e.g. after all its branches have been evaluated) is removed.
+	 * At most {@link #setCacheCapacity(int) cacheCapacity} failures are retained.
+	 * @return the compilation failures.
+	 */
+	public Map<String, String> getCompilationFailures() {
+		return Collections.unmodifiableMap(this.compilationFailures);
+	}
+
+	/**
+	 * Clear the cache and the compilation statistics.
+	 */
+	public void clear() {
+		this.caches.clear();
+		this.compilationFailures.clear();
+		this.compiledCount.set(0);
+	}
+
+	private Map<String, SpelExpression> getCache() {
+		ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+		if (classLoader == null) {
+			classLoader = CachingSpelExpressionParser.class.getClassLoader();
+		}
+		return this.caches.computeIfAbsent(classLoader, k -> new ConcurrentHashMap<>());
+	}
+
+	private static SpelCompilerMode defaultCompilerMode() {
+		String compilerMode = SpringProperties.getProperty(COMPILER_MODE_PROPERTY_NAME);
+		// null falls back to the standard 'spring.expression.compiler.mode', OFF by default
+		return StringUtils.hasText(compilerMode)
+				? SpelCompilerMode.valueOf(compilerMode.trim().toUpperCase())
+				: null;
+	}
+
+	private static String nonCompilableReason(SpelNodeImpl node) {
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNodeImpl child = (SpelNodeImpl) node.getChild(i);
+			if (!child.isCompilable()) {
+				return nonCompilableReason(child);
+			}
+		}
+		if (node.isCompilable()) {
+			return "bytecode generation failed";
+		}
+		return node.getClass().getSimpleName() + " '" + node.toStringAST()
+				+ "' is not compilable or has not been evaluated yet";
+	}
+
+	/**
+	 * A {@link SpelExpression} which records the outcome of its compilation attempts.
+	 */
+	private final class MonitoredSpelExpression extends SpelExpression {
+
+		private volatile boolean compiled;
+
+		MonitoredSpelExpression(String expressionString, SpelNodeImpl ast) {
+			super(expressionString, ast, CachingSpelExpressionParser.this.configuration);
+		}
+
+		@Override
+		public boolean compileExpression() {
+			boolean result = super.compileExpression();
+			String expressionString = getExpressionString();
+			if (result) {
+				if (!this.compiled) {
+					this.compiled = true;
+					CachingSpelExpressionParser.this.compiledCount.incrementAndGet();
+					CachingSpelExpressionParser.this.compilationFailures.remove(expressionString);
+				}
+			}
+			else if (!CachingSpelExpressionParser.this.compilationFailures.containsKey(expressionString)
+					&& CachingSpelExpressionParser.this.compilationFailures.size()
+							< CachingSpelExpressionParser.this.cacheCapacity) {
+				String reason = nonCompilableReason((SpelNodeImpl) getAST());
+				CachingSpelExpressionParser.this.compilationFailures.put(expressionString, reason);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Expression [" + expressionString + "] cannot be compiled: " + reason);
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
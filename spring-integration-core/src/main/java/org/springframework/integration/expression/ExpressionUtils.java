@@ -27,8 +27,6 @@ import org.springframework.context.expression.MapAccessor;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
 import org.springframework.integration.context.IntegrationContextUtils;
@@ -46,7 +44,10 @@ import org.springframework.util.Assert;
  */
 public final class ExpressionUtils {
 
-	private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+	private static final CachingSpelExpressionParser EXPRESSION_PARSER = new CachingSpelExpressionParser();
+
+	private static final CachingSpelExpressionParser AUTO_GROW_EXPRESSION_PARSER =
+			new CachingSpelExpressionParser(true, true);
 
 	private static final Log logger = LogFactory.getLog(ExpressionUtils.class);
 
@@ -54,6 +55,25 @@ public final class ExpressionUtils {
 		super();
 	}
 
+	/**
+	 * Return the shared {@link CachingSpelExpressionParser} for framework expressions.
+	 * @return the parser.
+	 * @since 5.0
+	 */
+	public static CachingSpelExpressionParser getExpressionParser() {
+		return EXPRESSION_PARSER;
+	}
+
+	/**
+	 * Return the shared {@link CachingSpelExpressionParser} for framework expressions
+	 * which auto-grow {@code null} references and collections.
+	 * @return the parser.
+	 * @since 5.0
+	 */
+	public static CachingSpelExpressionParser getAutoGrowExpressionParser() {
+		return AUTO_GROW_EXPRESSION_PARSER;
+	}
+
 	/**
 	 * Create a {@link StandardEvaluationContext} with a {@link MapAccessor} in its
 	 * property accessor property and the supplied {@link ConversionService} in its
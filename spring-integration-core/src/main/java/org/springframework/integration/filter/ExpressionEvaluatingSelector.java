@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,8 @@ package org.springframework.integration.filter;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.handler.ExpressionEvaluatingMessageProcessor;
 
 /**
@@ -34,7 +33,7 @@ import org.springframework.integration.handler.ExpressionEvaluatingMessageProces
 public class ExpressionEvaluatingSelector extends AbstractMessageProcessingSelector {
 
 	private static final ExpressionParser expressionParser =
-			new SpelExpressionParser(new SpelParserConfiguration(true, true));
+			ExpressionUtils.getAutoGrowExpressionParser();
 
 	private final String expressionString;
 
@@ -36,7 +36,7 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.SynthesizingMethodParameter;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.mapping.InboundMessageMapper;
@@ -85,7 +85,7 @@ class GatewayMethodInboundMessageMapper implements InboundMessageMapper<Object[]
 
 	private final static Log logger = LogFactory.getLog(GatewayMethodInboundMessageMapper.class);
 
-	private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+	private static final ExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	private final Method method;
 
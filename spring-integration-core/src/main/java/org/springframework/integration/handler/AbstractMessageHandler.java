@@ -212,6 +212,21 @@ public abstract class AbstractMessageHandler extends IntegrationObjectSupport im
 		return this.handlerMetrics.getStandardDeviationDuration();
 	}
 
+	@Override
+	public double getP50Duration() {
+		return this.handlerMetrics.getDurationPercentile(50);
+	}
+
+	@Override
+	public double getP99Duration() {
+		return this.handlerMetrics.getDurationPercentile(99);
+	}
+
+	@Override
+	public double getP999Duration() {
+		return this.handlerMetrics.getDurationPercentile(99.9);
+	}
+
 	@Override
 	public int getActiveCount() {
 		return this.handlerMetrics.getActiveCount();
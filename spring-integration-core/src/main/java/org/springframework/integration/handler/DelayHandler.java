@@ -20,12 +20,16 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.aopalliance.aop.Advice;
 
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.expression.EvaluationContext;
@@ -33,6 +37,8 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.integration.context.IntegrationObjectSupport;
 import org.springframework.integration.expression.ExpressionUtils;
+import org.springframework.integration.store.DelayedMessageStore;
+import org.springframework.integration.store.DelayedMessageStore.DueMessage;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.integration.store.MessageStore;
@@ -71,6 +77,12 @@ import org.springframework.util.CollectionUtils;
  * seconds from the current time). If the value is a Date, it will be
  * delayed at least until that Date occurs (i.e. the delay in that case is
  * equivalent to {@code headerDate.getTime() - new Date().getTime()}).
+ * <p>
+ * When a {@link DelayedMessageStore} is provided, the delayed Messages are stored with
+ * their release time and only those due within the {@code lookAheadWindow} are scheduled;
+ * the others are periodically loaded from the store in batches as their release time
+ * approaches, so neither the memory nor the restart time depend on the number of
+ * delayed Messages.
  *
  * @author Mark Fisher
  * @author Artem Bilan
@@ -82,7 +94,18 @@ import org.springframework.util.CollectionUtils;
 @ManagedResource
 @IntegrationManagedResource
 public class DelayHandler extends AbstractReplyProducingMessageHandler implements DelayHandlerManagement,
-		ApplicationListener<ContextRefreshedEvent> {
+		ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+	/**
+	 * The default look-ahead window (60 seconds) for the {@link DelayedMessageStore}.
+	 */
+	public static final long DEFAULT_LOOK_AHEAD_WINDOW = 60000;
+
+	/**
+	 * The default maximum number of Messages (1000) loaded from the {@link DelayedMessageStore}
+	 * by each query of the look-ahead.
+	 */
+	public static final int DEFAULT_LOOK_AHEAD_BATCH_SIZE = 1000;
 
 	private final String messageGroupId;
 
@@ -102,6 +125,20 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	private EvaluationContext evaluationContext;
 
+	private volatile DelayedMessageStore delayedMessageStore;
+
+	private volatile long lookAheadWindow = DEFAULT_LOOK_AHEAD_WINDOW;
+
+	private volatile int lookAheadBatchSize = DEFAULT_LOOK_AHEAD_BATCH_SIZE;
+
+	private final Map<UUID, ScheduledFuture<?>> scheduledReleases = new ConcurrentHashMap<>();
+
+	private final Object lookAheadMonitor = new Object();
+
+	private long lookAheadCursor = Long.MIN_VALUE;
+
+	private volatile ScheduledFuture<?> lookAheadFuture;
+
 	/**
 	 * Create a DelayHandler with the given 'messageGroupId' that is used as 'key' for {@link MessageGroup}
 	 * to store delayed Messages in the {@link MessageGroupStore}. The sending of Messages after
@@ -128,6 +165,18 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		this.setTaskScheduler(taskScheduler);
 	}
 
+	/**
+	 * Set the {@link TaskScheduler} to schedule the release of the delayed Messages;
+	 * for example, a {@link org.springframework.integration.scheduling.HashedWheelTaskScheduler}
+	 * when a very large number of Messages are delayed.
+	 * @param taskScheduler the task scheduler.
+	 * @since 5.0
+	 */
+	@Override
+	public void setTaskScheduler(TaskScheduler taskScheduler) {
+		super.setTaskScheduler(taskScheduler);
+	}
+
 	/**
 	 * Set the default delay in milliseconds. If no {@code delayExpression} property
 	 * has been provided, the default delay will be applied to all Messages. If
@@ -192,6 +241,43 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		this.messageStore = messageStore;
 	}
 
+	/**
+	 * Specify the {@link DelayedMessageStore} to store Messages, indexed by their release
+	 * time, while awaiting the delay. When provided, it is used instead of the
+	 * {@link #setMessageStore(MessageGroupStore) messageStore} and only the Messages due
+	 * within the {@link #setLookAheadWindow(long) lookAheadWindow} are scheduled.
+	 * @param delayedMessageStore the delayed message store.
+	 * @since 5.0
+	 */
+	public void setDelayedMessageStore(DelayedMessageStore delayedMessageStore) {
+		Assert.notNull(delayedMessageStore, "'delayedMessageStore' must not be null");
+		this.delayedMessageStore = delayedMessageStore;
+	}
+
+	/**
+	 * Set the time in milliseconds ahead of which the Messages from the
+	 * {@link DelayedMessageStore} are scheduled for release; the store is queried
+	 * every half of this window. Default {@value #DEFAULT_LOOK_AHEAD_WINDOW}.
+	 * @param lookAheadWindow the look-ahead window in milliseconds.
+	 * @since 5.0
+	 */
+	public void setLookAheadWindow(long lookAheadWindow) {
+		Assert.isTrue(lookAheadWindow > 0, "'lookAheadWindow' must be greater than 0");
+		this.lookAheadWindow = lookAheadWindow;
+	}
+
+	/**
+	 * Set the maximum number of Messages loaded from the {@link DelayedMessageStore}
+	 * by each query of the look-ahead; the store is queried page by page until all the
+	 * Messages due within the window are scheduled. Default {@value #DEFAULT_LOOK_AHEAD_BATCH_SIZE}.
+	 * @param lookAheadBatchSize the batch size.
+	 * @since 5.0
+	 */
+	public void setLookAheadBatchSize(int lookAheadBatchSize) {
+		Assert.isTrue(lookAheadBatchSize > 0, "'lookAheadBatchSize' must be greater than 0");
+		this.lookAheadBatchSize = lookAheadBatchSize;
+	}
+
 	/**
 	 * Specify the {@code List<Advice>} to advise {@link DelayHandler.ReleaseMessageHandler} proxy.
 	 * Usually used to add transactions to delayed messages retrieved from a transactional message store.
@@ -329,9 +415,25 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 					.withPayload(messageWrapper)
 					.copyHeaders(message.getHeaders())
 					.build();
-			this.messageStore.addMessageToGroup(this.messageGroupId, delayedMessage);
+			if (this.delayedMessageStore != null) {
+				this.delayedMessageStore.addDelayedMessage(this.messageGroupId, delayedMessage,
+						messageWrapper.getRequestDate() + delay);
+			}
+			else {
+				this.messageStore.addMessageToGroup(this.messageGroupId, delayedMessage);
+			}
 		}
 
+		if (this.delayedMessageStore != null) {
+			long releaseTime = messageWrapper.getRequestDate() + delay;
+			if (releaseTime <= System.currentTimeMillis() + this.lookAheadWindow) {
+				scheduleRelease(delayedMessage, releaseTime);
+			}
+			else {
+				startLookAhead();
+			}
+			return;
+		}
 
 		Runnable releaseTask;
 
@@ -354,6 +456,60 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		getTaskScheduler().schedule(releaseTask, new Date(messageWrapper.getRequestDate() + delay));
 	}
 
+	private void scheduleRelease(Message<?> delayedMessage, long releaseTime) {
+		// Fine to keep the reference to the message: it is due within the look-ahead window
+		this.scheduledReleases.computeIfAbsent(delayedMessage.getHeaders().getId(),
+				id -> getTaskScheduler().schedule(() -> releaseMessage(delayedMessage), new Date(releaseTime)));
+	}
+
+	private void startLookAhead() {
+		if (this.lookAheadFuture == null) {
+			synchronized (this) {
+				if (this.lookAheadFuture == null) {
+					this.lookAheadFuture = getTaskScheduler()
+							.scheduleWithFixedDelay(this::lookAhead, Math.max(this.lookAheadWindow / 2, 1));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Schedule the Messages from the {@link DelayedMessageStore} due within the
+	 * look-ahead window which are not scheduled yet. The store is read page by page,
+	 * from the latest release time scheduled so far: the Messages added later with an
+	 * earlier release time are due within the window, hence scheduled directly by
+	 * {@link #releaseMessageAfterDelay(Message, long)}. The Messages are scheduled at the
+	 * release time they were stored with, which also moves the cursor, so it never goes
+	 * past the window; a Message which can't be scheduled is logged and skipped.
+	 */
+	private void lookAhead() {
+		synchronized (this.lookAheadMonitor) {
+			long until = System.currentTimeMillis() + this.lookAheadWindow;
+			int maxMessages = this.lookAheadBatchSize;
+			while (true) {
+				long from = this.lookAheadCursor;
+				Collection<DueMessage> dueMessages =
+						this.delayedMessageStore.getMessagesDueBetween(this.messageGroupId, from, until, maxMessages);
+				for (DueMessage dueMessage : dueMessages) {
+					long releaseTime = dueMessage.getReleaseTime();
+					try {
+						scheduleRelease(dueMessage.getMessage(), releaseTime);
+					}
+					catch (RuntimeException e) {
+						logger.error("Failed to schedule the release of " + dueMessage.getMessage(), e);
+					}
+					this.lookAheadCursor = Math.max(this.lookAheadCursor, releaseTime);
+				}
+				if (dueMessages.size() < maxMessages) {
+					break;
+				}
+				// The Messages with the cursor release time are read again and skipped as already scheduled;
+				// the page is widened when all its Messages have the same release time.
+				maxMessages = this.lookAheadCursor == from ? maxMessages * 2 : this.lookAheadBatchSize;
+			}
+		}
+	}
+
 	private Message<?> getMessageById(UUID messageId) {
 		Message<?> theMessage = ((MessageStore) this.messageStore).getMessage(messageId);
 
@@ -375,7 +531,7 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	private void doReleaseMessage(Message<?> message) {
 		if (removeDelayedMessageFromMessageStore(message)) {
-			if (!(this.messageStore instanceof SimpleMessageStore)) {
+			if (this.delayedMessageStore == null && !(this.messageStore instanceof SimpleMessageStore)) {
 				this.messageStore.removeMessagesFromGroup(this.messageGroupId, message);
 			}
 			this.handleMessageInternal(message);
@@ -389,7 +545,16 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 	}
 
 	private boolean removeDelayedMessageFromMessageStore(Message<?> message) {
-		if (this.messageStore instanceof SimpleMessageStore) {
+		if (this.delayedMessageStore != null) {
+			UUID messageId = message.getHeaders().getId();
+			try {
+				return this.delayedMessageStore.removeDelayedMessage(this.messageGroupId, messageId);
+			}
+			finally {
+				this.scheduledReleases.remove(messageId);
+			}
+		}
+		else if (this.messageStore instanceof SimpleMessageStore) {
 			synchronized (this.messageGroupId) {
 				Collection<Message<?>> messages = this.messageStore.getMessageGroup(this.messageGroupId).getMessages();
 				if (messages.contains(message)) {
@@ -408,6 +573,9 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	@Override
 	public int getDelayedMessageCount() {
+		if (this.delayedMessageStore != null) {
+			return this.delayedMessageStore.getDelayedMessageCount(this.messageGroupId);
+		}
 		return this.messageStore.messageGroupSize(this.messageGroupId);
 	}
 
@@ -417,9 +585,27 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 	 * The logic is based on iteration over {@code messageGroup.getMessages()}
 	 * and schedules task for 'delay' logic.
 	 * This behavior is dictated by the avoidance of invocation thread overload.
+	 * With a {@link DelayedMessageStore}, only the Messages due within the look-ahead
+	 * window are loaded, and then periodically as time goes.
 	 */
 	@Override
 	public synchronized void reschedulePersistedMessages() {
+		if (this.delayedMessageStore != null) {
+			// Only the release tasks which have been lost (e.g. cancelled by a stopped scheduler)
+			// are scheduled again; the pending ones are kept, so a Message isn't scheduled twice.
+			this.scheduledReleases.values().removeIf(ScheduledFuture::isDone);
+			synchronized (this.lookAheadMonitor) {
+				this.lookAheadCursor = Long.MIN_VALUE;
+			}
+			if (this.lookAheadFuture != null && !this.lookAheadFuture.isDone()) {
+				getTaskScheduler().schedule(this::lookAhead, new Date());
+			}
+			else {
+				this.lookAheadFuture = null;
+				startLookAhead();
+			}
+			return;
+		}
 		MessageGroup messageGroup = this.messageStore.getMessageGroup(this.messageGroupId);
 		for (final Message<?> message : messageGroup.getMessages()) {
 			getTaskScheduler().schedule((Runnable) () -> {
@@ -455,6 +641,22 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		}
 	}
 
+	/**
+	 * Cancel the look-ahead task and the scheduled releases of the Messages from the
+	 * {@link DelayedMessageStore}; they remain in the store to be rescheduled on restart.
+	 */
+	@Override
+	public synchronized void destroy() {
+		if (this.lookAheadFuture != null) {
+			this.lookAheadFuture.cancel(true);
+			this.lookAheadFuture = null;
+		}
+		if (this.delayedMessageStore != null) {
+			this.scheduledReleases.values().forEach(future -> future.cancel(false));
+			this.scheduledReleases.clear();
+		}
+	}
+
 
 	/**
 	 * Delegate {@link MessageHandler} implementation for 'release Message task'.
@@ -18,7 +18,6 @@ package org.springframework.integration.handler.advice;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.expression.ExpressionUtils;
@@ -74,7 +73,7 @@ public class ExpressionEvaluatingRequestHandlerAdvice extends AbstractRequestHan
 	 * @since 4.3.7
 	 */
 	public void setOnSuccessExpressionString(String onSuccessExpression) {
-		this.onSuccessExpression = new SpelExpressionParser().parseExpression(onSuccessExpression);
+		this.onSuccessExpression = ExpressionUtils.getExpressionParser().parseExpression(onSuccessExpression);
 	}
 
 	/**
@@ -105,7 +104,7 @@ public class ExpressionEvaluatingRequestHandlerAdvice extends AbstractRequestHan
 	 * @since 4.3.7
 	 */
 	public void setOnFailureExpressionString(String onFailureExpression) {
-		this.onFailureExpression = new SpelExpressionParser().parseExpression(onFailureExpression);
+		this.onFailureExpression = ExpressionUtils.getExpressionParser().parseExpression(onFailureExpression);
 	}
 
 	/**
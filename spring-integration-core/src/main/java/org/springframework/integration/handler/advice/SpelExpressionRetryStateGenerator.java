@@ -21,7 +21,6 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.classify.Classifier;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.messaging.Message;
@@ -51,13 +50,13 @@ public class SpelExpressionRetryStateGenerator implements RetryStateGenerator, B
 
 	public SpelExpressionRetryStateGenerator(String keyExpression, String forceRefreshExpression) {
 		Assert.notNull(keyExpression, "keyExpression must not be null");
-		this.keyExpression = new SpelExpressionParser().parseExpression(keyExpression);
+		this.keyExpression = ExpressionUtils.getExpressionParser().parseExpression(keyExpression);
 		this.evaluationContext = ExpressionUtils.createStandardEvaluationContext();
 		if (forceRefreshExpression == null) {
 			this.forceRefreshExpression = null;
 		}
 		else {
-			this.forceRefreshExpression = new SpelExpressionParser().parseExpression(forceRefreshExpression);
+			this.forceRefreshExpression = ExpressionUtils.getExpressionParser().parseExpression(forceRefreshExpression);
 		}
 	}
 
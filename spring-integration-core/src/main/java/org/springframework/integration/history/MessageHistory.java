@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,16 @@
 package org.springframework.integration.history;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Properties;
+import java.util.RandomAccess;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -81,9 +84,8 @@ public final class MessageHistory implements List<Properties>, Serializable {
 		Properties metadata = extractMetadata(component);
 		if (!metadata.isEmpty()) {
 			MessageHistory previousHistory = message.getHeaders().get(HEADER_NAME, MessageHistory.class);
-			List<Properties> components = (previousHistory != null) ?
-					new ArrayList<Properties>(previousHistory) : new ArrayList<Properties>();
-			components.add(metadata);
+			List<Properties> components = SharedComponents.append(
+					previousHistory != null ? previousHistory.components : Collections.emptyList(), metadata);
 			MessageHistory history = new MessageHistory(components);
 
 			if (message instanceof MutableMessage) {
@@ -278,6 +280,82 @@ public final class MessageHistory implements List<Properties>, Serializable {
 	}
 
 
+	/**
+	 * An immutable view of the first {@code size} components of an append-only array
+	 * shared by the successive histories of a flow, so writing the history on each hop
+	 * doesn't copy the components of the previous ones. Only appending to a history
+	 * which is not the latest one written from the same array (e.g. after a
+	 * publish-subscribe channel) copies its components into a new array.
+	 * Serialized as a plain {@link ArrayList}.
+	 */
+	private static final class SharedComponents extends AbstractList<Properties>
+			implements RandomAccess, Serializable {
+
+		private final transient Shared shared;
+
+		private final int size;
+
+		SharedComponents(Shared shared, int size) {
+			this.shared = shared;
+			this.size = size;
+		}
+
+		static SharedComponents append(List<Properties> components, Properties component) {
+			if (components instanceof SharedComponents) {
+				SharedComponents sharedComponents = (SharedComponents) components;
+				Shared shared = sharedComponents.shared;
+				synchronized (shared) {
+					if (shared.size == sharedComponents.size) {
+						Properties[] elements = shared.elements;
+						if (elements.length == shared.size) {
+							elements = Arrays.copyOf(elements, shared.size * 2);
+						}
+						elements[shared.size++] = component;
+						// the volatile write publishes the element for the lock-free reads
+						shared.elements = elements;
+						return new SharedComponents(shared, shared.size);
+					}
+				}
+			}
+			int size = components.size();
+			Properties[] elements = components.toArray(new Properties[Math.max(size * 2, 8)]);
+			elements[size] = component;
+			return new SharedComponents(new Shared(elements, size + 1), size + 1);
+		}
+
+		@Override
+		public Properties get(int index) {
+			if (index < 0 || index >= this.size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+			}
+			return this.shared.elements[index];
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+
+		private Object writeReplace() {
+			return new ArrayList<Properties>(this);
+		}
+
+	}
+
+	private static final class Shared {
+
+		private volatile Properties[] elements;
+
+		private int size;
+
+		Shared(Properties[] elements, int size) {
+			this.elements = elements;
+			this.size = size;
+		}
+
+	}
+
+
 	/**
 	 * Inner class for each Entry in the history.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2016 the original author or authors.
+ * Copyright 2014-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,7 +23,6 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.messaging.Message;
 
@@ -64,7 +63,7 @@ import org.springframework.messaging.Message;
 public class ExpressionEvaluatingRoutingSlipRouteStrategy
 		implements RoutingSlipRouteStrategy, BeanFactoryAware, InitializingBean {
 
-	private static final ExpressionParser PARSER = new SpelExpressionParser();
+	private static final ExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	private final Expression expression;
 
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * A {@link TaskScheduler} based on a hashed timing wheel, for components scheduling a
+ * very large number of (mostly cancelled) one-off tasks, such as the group timeouts of an
+ * aggregator or the messages of a {@code DelayHandler}.
+ * <p>
+ * Scheduling and cancelling are O(1) and do not contend on a shared heap as with the
+ * {@code ScheduledThreadPoolExecutor}: new and cancelled tasks are handed over through
+ * non-blocking queues to a single timer thread, which places them in the wheel bucket for
+ * their deadline and, on each tick, hands the expired tasks of the current bucket over to
+ * the task executor. The price is precision: a task runs up to one {@code tickDuration}
+ * late (plus the time to be executed by the task executor).
+ * <p>
+ * The expired tasks are run on the provided {@link Executor}, or on an internal fixed
+ * thread pool of {@link #DEFAULT_POOL_SIZE} threads when none is provided. Periodic and
+ * {@link Trigger} tasks are supported by re-scheduling them on the wheel after each
+ * execution. The timer thread is started on the first schedule and stopped by
+ * {@link #destroy()}; the tasks which are not expired yet are then discarded.
+ *
+ * @since 5.0
+ */
+public class HashedWheelTaskScheduler implements TaskScheduler, DisposableBean {
+
+	/**
+	 * The default tick duration in milliseconds.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 10;
+
+	/**
+	 * The default number of buckets in the wheel.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	/**
+	 * The default number of threads of the internal task executor.
+	 */
+	public static final int DEFAULT_POOL_SIZE = 10;
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private static final int STATE_INIT = 0;
+
+	private static final int STATE_STARTED = 1;
+
+	private static final int STATE_SHUTDOWN = 2;
+
+	private static final Log logger = LogFactory.getLog(HashedWheelTaskScheduler.class);
+
+	private final Queue<WheelTask> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	private final Object lifecycleMonitor = new Object();
+
+	private final long tickDuration;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private volatile int state = STATE_INIT;
+
+	private volatile long startTime;
+
+	private volatile Executor taskExecutor;
+
+	private ExecutorService internalExecutor;
+
+	private ThreadFactory threadFactory;
+
+	private ErrorHandler errorHandler;
+
+	private Thread timerThread;
+
+	/**
+	 * Create a scheduler with {@link #DEFAULT_TICK_DURATION} and
+	 * {@link #DEFAULT_TICKS_PER_WHEEL}.
+	 */
+	public HashedWheelTaskScheduler() {
+		this(DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Create a scheduler with the provided precision and wheel size. Tasks with a delay
+	 * greater than {@code tickDuration * ticksPerWheel} go around the wheel several times.
+	 * @param tickDuration the duration of a tick in milliseconds; the timer precision.
+	 * @param ticksPerWheel the number of buckets in the wheel; rounded up to a power of 2.
+	 */
+	public HashedWheelTaskScheduler(long tickDuration, int ticksPerWheel) {
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be greater than 0");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30,
+				"'ticksPerWheel' must be between 1 and 2^30");
+		this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+		int wheelSize = 1;
+		while (wheelSize < ticksPerWheel) {
+			wheelSize <<= 1;
+		}
+		this.wheel = new Bucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = wheelSize - 1;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("wheel-scheduler-");
+		threadFactory.setDaemon(true);
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set the {@link Executor} to run the expired tasks. By default, an internal fixed
+	 * thread pool of {@link #DEFAULT_POOL_SIZE} threads is used.
+	 * @param taskExecutor the task executor.
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		Assert.notNull(taskExecutor, "'taskExecutor' must not be null");
+		Assert.state(this.state == STATE_INIT, "The 'taskExecutor' cannot be changed once the scheduler is started");
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set the {@link ThreadFactory} for the timer thread (and the threads of the internal
+	 * task executor). By default, daemon threads named {@code wheel-scheduler-}; the timer
+	 * thread is always a daemon thread, so it doesn't prevent the JVM from exiting when the
+	 * scheduler is not destroyed.
+	 * @param threadFactory the thread factory.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "'threadFactory' must not be null");
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set an {@link ErrorHandler} for the exceptions thrown by the tasks. By default, the
+	 * exceptions are logged; and propagated to the {@link ScheduledFuture} of the one-off
+	 * tasks.
+	 * @param errorHandler the error handler.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		return new ReschedulingTask(errorHandlingTask(task, true), trigger).schedule();
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		return schedule(new WheelTask(errorHandlingTask(task, false)), startTime.getTime());
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return schedule(task, periodicTrigger(period, true, startTime.getTime() - System.currentTimeMillis()));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return schedule(task, periodicTrigger(period, true, 0));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return schedule(task, periodicTrigger(delay, false, startTime.getTime() - System.currentTimeMillis()));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return schedule(task, periodicTrigger(delay, false, 0));
+	}
+
+	@Override
+	public void destroy() {
+		synchronized (this.lifecycleMonitor) {
+			if (this.state == STATE_STARTED) {
+				this.state = STATE_SHUTDOWN;
+				this.timerThread.interrupt();
+				if (this.internalExecutor != null) {
+					this.internalExecutor.shutdown();
+				}
+			}
+			else {
+				this.state = STATE_SHUTDOWN;
+			}
+		}
+	}
+
+	private WheelTask schedule(WheelTask task, long startTime) {
+		start();
+		long delay = TimeUnit.MILLISECONDS.toNanos(startTime - System.currentTimeMillis());
+		if (delay <= 0) {
+			execute(task);
+		}
+		else {
+			long deadline = System.nanoTime() - this.startTime + delay;
+			// Guard against overflow
+			task.deadline = deadline < 0 ? Long.MAX_VALUE : deadline;
+			this.pendingTasks.add(task);
+		}
+		return task;
+	}
+
+	private void start() {
+		if (this.state != STATE_STARTED) {
+			synchronized (this.lifecycleMonitor) {
+				if (this.state == STATE_SHUTDOWN) {
+					throw new TaskRejectedException("The HashedWheelTaskScheduler has been destroyed");
+				}
+				if (this.state == STATE_INIT) {
+					if (this.taskExecutor == null) {
+						this.internalExecutor = Executors.newFixedThreadPool(DEFAULT_POOL_SIZE, this.threadFactory);
+						this.taskExecutor = this.internalExecutor;
+					}
+					this.startTime = System.nanoTime();
+					this.timerThread = this.threadFactory.newThread(new Worker());
+					this.timerThread.setDaemon(true);
+					this.timerThread.start();
+					this.state = STATE_STARTED;
+				}
+			}
+		}
+	}
+
+	private void execute(WheelTask task) {
+		try {
+			this.taskExecutor.execute(task);
+		}
+		catch (RejectedExecutionException e) {
+			task.cancel(false);
+			if (logger.isWarnEnabled()) {
+				logger.warn("The task executor rejected an expired task", e);
+			}
+		}
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private static Trigger periodicTrigger(long period, boolean fixedRate, long initialDelay) {
+		PeriodicTrigger trigger = new PeriodicTrigger(period);
+		trigger.setFixedRate(fixedRate);
+		trigger.setInitialDelay(Math.max(initialDelay, 0));
+		return trigger;
+	}
+
+	private final class Worker implements Runnable {
+
+		private long tick;
+
+		Worker() {
+			super();
+		}
+
+		@Override
+		public void run() {
+			HashedWheelTaskScheduler scheduler = HashedWheelTaskScheduler.this;
+			while (scheduler.state == STATE_STARTED) {
+				long deadline = waitForNextTick();
+				if (deadline > 0) {
+					removeCancelledTasks();
+					transferPendingTasks();
+					scheduler.wheel[(int) (this.tick & scheduler.mask)].expireTasks(deadline);
+					this.tick++;
+				}
+			}
+		}
+
+		/**
+		 * Sleep until the end of the current tick.
+		 * @return the current time relative to the start time, or -1 if the scheduler is shut down.
+		 */
+		private long waitForNextTick() {
+			long deadline = HashedWheelTaskScheduler.this.tickDuration * (this.tick + 1);
+			while (true) {
+				long currentTime = System.nanoTime() - HashedWheelTaskScheduler.this.startTime;
+				long sleepTime = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999999);
+				if (sleepTime <= 0) {
+					return currentTime;
+				}
+				try {
+					Thread.sleep(sleepTime);
+				}
+				catch (InterruptedException e) {
+					if (HashedWheelTaskScheduler.this.state == STATE_SHUTDOWN) {
+						return -1;
+					}
+				}
+			}
+		}
+
+		private void removeCancelledTasks() {
+			WheelTask task = HashedWheelTaskScheduler.this.cancelledTasks.poll();
+			while (task != null) {
+				if (task.bucket != null) {
+					task.bucket.remove(task);
+				}
+				task = HashedWheelTaskScheduler.this.cancelledTasks.poll();
+			}
+		}
+
+		private void transferPendingTasks() {
+			HashedWheelTaskScheduler scheduler = HashedWheelTaskScheduler.this;
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+				WheelTask task = scheduler.pendingTasks.poll();
+				if (task == null) {
+					break;
+				}
+				if (!task.isCancelled()) {
+					long calculated = task.deadline / scheduler.tickDuration;
+					task.remainingRounds = (calculated - this.tick) / scheduler.wheel.length;
+					// Schedule in the current tick if the deadline is already passed
+					long ticks = Math.max(calculated, this.tick);
+					scheduler.wheel[(int) (ticks & scheduler.mask)].add(task);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A doubly-linked list of tasks; only accessed by the timer thread.
+	 */
+	private final class Bucket {
+
+		private WheelTask head;
+
+		private WheelTask tail;
+
+		Bucket() {
+			super();
+		}
+
+		void add(WheelTask task) {
+			task.bucket = this;
+			if (this.head == null) {
+				this.head = task;
+				this.tail = task;
+			}
+			else {
+				this.tail.next = task;
+				task.prev = this.tail;
+				this.tail = task;
+			}
+		}
+
+		void expireTasks(long deadline) {
+			WheelTask task = this.head;
+			while (task != null) {
+				WheelTask next = task.next;
+				if (task.isCancelled()) {
+					remove(task);
+				}
+				else if (task.remainingRounds <= 0 && task.deadline <= deadline) {
+					remove(task);
+					execute(task);
+				}
+				else {
+					task.remainingRounds--;
+				}
+				task = next;
+			}
+		}
+
+		void remove(WheelTask task) {
+			WheelTask next = task.next;
+			if (task.prev != null) {
+				task.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = task.prev;
+			}
+			if (task == this.head) {
+				this.head = next;
+			}
+			if (task == this.tail) {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+		}
+
+	}
+
+	private final class WheelTask extends FutureTask<Object> implements ScheduledFuture<Object> {
+
+		private volatile long deadline;
+
+		private long remainingRounds;
+
+		private WheelTask prev;
+
+		private WheelTask next;
+
+		private Bucket bucket;
+
+		WheelTask(Runnable task) {
+			super(task, null);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				HashedWheelTaskScheduler.this.cancelledTasks.add(this);
+			}
+			return cancelled;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - (System.nanoTime() - HashedWheelTaskScheduler.this.startTime),
+					TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+	}
+
+	/**
+	 * A task re-scheduled on the wheel according to its {@link Trigger} after each execution.
+	 */
+	private final class ReschedulingTask implements Runnable, ScheduledFuture<Object> {
+
+		private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+
+		private final Object monitor = new Object();
+
+		private final Runnable delegate;
+
+		private final Trigger trigger;
+
+		private WheelTask currentFuture;
+
+		private Date scheduledExecutionTime;
+
+		ReschedulingTask(Runnable delegate, Trigger trigger) {
+			this.delegate = delegate;
+			this.trigger = trigger;
+		}
+
+		ScheduledFuture<?> schedule() {
+			synchronized (this.monitor) {
+				this.scheduledExecutionTime = this.trigger.nextExecutionTime(this.triggerContext);
+				if (this.scheduledExecutionTime == null) {
+					return null;
+				}
+				this.currentFuture = HashedWheelTaskScheduler.this.schedule(new WheelTask(this),
+						this.scheduledExecutionTime.getTime());
+				return this;
+			}
+		}
+
+		@Override
+		public void run() {
+			Date actualExecutionTime = new Date();
+			this.delegate.run();
+			Date completionTime = new Date();
+			synchronized (this.monitor) {
+				this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, completionTime);
+				if (!this.currentFuture.isCancelled() && HashedWheelTaskScheduler.this.state == STATE_STARTED) {
+					schedule();
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (this.monitor) {
+				return this.currentFuture.cancel(mayInterruptIfRunning);
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			synchronized (this.monitor) {
+				return this.currentFuture.isCancelled();
+			}
+		}
+
+		@Override
+		public boolean isDone() {
+			synchronized (this.monitor) {
+				return this.currentFuture.isDone();
+			}
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			WheelTask future;
+			synchronized (this.monitor) {
+				future = this.currentFuture;
+			}
+			return future.get();
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+
+			WheelTask future;
+			synchronized (this.monitor) {
+				future = this.currentFuture;
+			}
+			return future.get(timeout, unit);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			synchronized (this.monitor) {
+				return this.currentFuture.getDelay(unit);
+			}
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+	}
+
+}
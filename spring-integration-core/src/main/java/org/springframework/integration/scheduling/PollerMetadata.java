@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,6 +50,8 @@ public class PollerMetadata {
 
 	private volatile long receiveTimeout = 1000;
 
+	private volatile int batchSize = 1;
+
 	private volatile ErrorHandler errorHandler;
 
 	private volatile List<Advice> adviceChain;
@@ -106,6 +108,23 @@ public class PollerMetadata {
 		return this.maxMessagesPerPoll;
 	}
 
+	/**
+	 * Set the number of messages to receive and handle within a single poll task
+	 * invocation (one transaction when the advice chain is transactional).
+	 * <p>The default is 1.
+	 * @param batchSize the batch size.
+	 * @since 5.0
+	 * @see org.springframework.integration.endpoint.AbstractPollingEndpoint#setBatchSize(int)
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
 	public void setReceiveTimeout(long receiveTimeout) {
 		this.receiveTimeout = receiveTimeout;
 	}
@@ -22,17 +22,33 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Publisher;
 
+import org.springframework.integration.MessageTimeoutException;
+import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.integration.channel.AbstractPollableChannel;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.channel.PartitionedChannel;
 import org.springframework.integration.channel.ReactiveStreamsSubscribableChannel;
 import org.springframework.integration.handler.AbstractReplyProducingMessageHandler;
 import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
 import org.springframework.integration.util.FunctionIterator;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHandlingException;
+import org.springframework.messaging.support.ChannelInterceptorAdapter;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.Assert;
+import org.springframework.util.IdGenerator;
 
 import reactor.core.publisher.Flux;
 
@@ -45,8 +61,33 @@ import reactor.core.publisher.Flux;
  */
 public abstract class AbstractMessageSplitter extends AbstractReplyProducingMessageHandler {
 
+	/**
+	 * The default time to wait for room in the {@link #setMaxInFlight(int) in-flight window}.
+	 * @since 5.0
+	 */
+	public static final long DEFAULT_IN_FLIGHT_TIMEOUT = 60000;
+
+	/**
+	 * The internal header with the key tracking a split message in the in-flight window;
+	 * removed before the message is handed over to the consumer of the output channel.
+	 */
+	private static final String IN_FLIGHT_KEY_HEADER = "splitterInFlightKey";
+
+	private static final IdGenerator IN_FLIGHT_KEY_GENERATOR = new AlternativeJdkIdGenerator();
+
+	/**
+	 * The in-flight keys with the time their permits have been acquired.
+	 */
+	private final Map<Object, Long> inFlightKeys = new ConcurrentHashMap<>();
+
 	private boolean applySequence = true;
 
+	private volatile Semaphore inFlightPermits;
+
+	private volatile long inFlightTimeout = DEFAULT_IN_FLIGHT_TIMEOUT;
+
+	private volatile Boolean windowed;
+
 	/**
 	 * Set the applySequence flag to the specified value. Defaults to true.
 	 * @param applySequence true to apply sequence information.
@@ -55,6 +96,40 @@ public abstract class AbstractMessageSplitter extends AbstractReplyProducingMess
 		this.applySequence = applySequence;
 	}
 
+	/**
+	 * Set the maximum number of split messages which may be in flight downstream at a time.
+	 * When the window is full, the splitter stops iterating the split result until a
+	 * message has been received from an {@link AbstractPollableChannel} output channel
+	 * (e.g. a {@link org.springframework.integration.channel.QueueChannel}), or handled
+	 * (e.g. processed, or stored by an aggregator) by the consumer of an
+	 * {@link ExecutorChannel} or a {@link PartitionedChannel} output channel, so a large
+	 * lazy result (an {@link Iterator}, a {@link Stream} or a {@link Publisher}) is
+	 * streamed with bounded memory. With other channels, the send itself applies back
+	 * pressure and the setting is ignored.
+	 * The window is shared by all the messages split by this splitter.
+	 * @param maxInFlight the maximum number of in-flight split messages.
+	 * @since 5.0
+	 */
+	public void setMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "'maxInFlight' must be greater than 0");
+		this.inFlightPermits = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for room in the {@link #setMaxInFlight(int)
+	 * in-flight window}. When it elapses, the messages which have been in flight for longer
+	 * are considered lost (e.g. purged from a queue or dropped by a channel interceptor)
+	 * and their permits are reclaimed; if there is still no room, a
+	 * {@link MessageTimeoutException} is thrown.
+	 * Default {@value #DEFAULT_IN_FLIGHT_TIMEOUT}.
+	 * @param inFlightTimeout the timeout.
+	 * @since 5.0
+	 */
+	public void setInFlightTimeout(long inFlightTimeout) {
+		Assert.isTrue(inFlightTimeout >= 0, "'inFlightTimeout' must not be negative");
+		this.inFlightTimeout = inFlightTimeout;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected final Object handleRequestMessage(Message<?> message) {
@@ -227,9 +302,14 @@ public abstract class AbstractMessageSplitter extends AbstractReplyProducingMess
 	protected void produceOutput(Object result, Message<?> requestMessage) {
 		if (result instanceof Iterator<?>) {
 			Iterator<?> iterator = (Iterator<?>) result;
+			boolean windowed = isWindowed();
 			while (iterator.hasNext()) {
-				super.produceOutput(iterator.next(), requestMessage);
-
+				if (windowed) {
+					produceWindowedOutput(iterator, requestMessage);
+				}
+				else {
+					super.produceOutput(iterator.next(), requestMessage);
+				}
 			}
 		}
 		else {
@@ -237,6 +317,79 @@ public abstract class AbstractMessageSplitter extends AbstractReplyProducingMess
 		}
 	}
 
+	private boolean isWindowed() {
+		if (this.inFlightPermits == null) {
+			return false;
+		}
+		if (this.windowed == null) {
+			synchronized (this.inFlightKeys) {
+				if (this.windowed == null) {
+					MessageChannel outputChannel = getOutputChannel();
+					boolean asyncOutput = outputChannel instanceof AbstractPollableChannel
+							|| outputChannel instanceof ExecutorChannel
+							|| outputChannel instanceof PartitionedChannel;
+					if (asyncOutput) {
+						((AbstractMessageChannel) outputChannel).addInterceptor(new InFlightReleasingInterceptor());
+					}
+					else if (logger.isWarnEnabled()) {
+						logger.warn("The 'maxInFlight' is ignored for the output channel " + outputChannel
+								+ " of " + this + "; it applies only to asynchronous point-to-point channels");
+					}
+					this.windowed = asyncOutput;
+				}
+			}
+		}
+		return this.windowed;
+	}
+
+	private void produceWindowedOutput(Iterator<?> iterator, Message<?> requestMessage) {
+		acquireInFlight(requestMessage);
+		Object key = IN_FLIGHT_KEY_GENERATOR.generateId();
+		this.inFlightKeys.put(key, System.currentTimeMillis());
+		try {
+			AbstractIntegrationMessageBuilder<?> builder = (AbstractIntegrationMessageBuilder<?>) iterator.next();
+			super.produceOutput(builder.setHeader(IN_FLIGHT_KEY_HEADER, key), requestMessage);
+		}
+		catch (RuntimeException | Error e) {
+			releaseInFlight(key);
+			throw e;
+		}
+	}
+
+	private void acquireInFlight(Message<?> requestMessage) {
+		long timeout = this.inFlightTimeout;
+		try {
+			if (!this.inFlightPermits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+				long expired = System.currentTimeMillis() - timeout;
+				this.inFlightKeys.forEach((key, time) -> {
+					if (time <= expired) {
+						releaseInFlight(key);
+					}
+				});
+				if (!this.inFlightPermits.tryAcquire()) {
+					throw new MessageTimeoutException(requestMessage,
+							"No room in the in-flight window of " + this + " within " + timeout + "ms");
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessageHandlingException(requestMessage, "Interrupted while waiting for the in-flight window", e);
+		}
+	}
+
+	private void releaseInFlight(Object key) {
+		if (key != null && this.inFlightKeys.remove(key) != null) {
+			this.inFlightPermits.release();
+		}
+	}
+
+	private Message<?> removeInFlightKey(Message<?> message) {
+		return getMessageBuilderFactory().fromMessage(message)
+				.removeHeader(IN_FLIGHT_KEY_HEADER)
+				.build();
+	}
+
 	@Override
 	public String getComponentType() {
 		return "splitter";
@@ -252,4 +405,51 @@ public abstract class AbstractMessageSplitter extends AbstractReplyProducingMess
 	 */
 	protected abstract Object splitMessage(Message<?> message);
 
+
+	/**
+	 * Releases the in-flight window permit of a split message once it has been received
+	 * from a pollable output channel, or once the consumer of a subscribable output
+	 * channel has handled it, and removes the in-flight key header from the message.
+	 */
+	private final class InFlightReleasingInterceptor extends ChannelInterceptorAdapter
+			implements ExecutorChannelInterceptor {
+
+		/**
+		 * The key of the message being handled; the handling runs on a single thread.
+		 */
+		private final ThreadLocal<Object> handledKey = new ThreadLocal<>();
+
+		@Override
+		public Message<?> postReceive(Message<?> message, MessageChannel channel) {
+			Object key = message != null ? message.getHeaders().get(IN_FLIGHT_KEY_HEADER) : null;
+			if (key == null) {
+				return message;
+			}
+			// including a direct receive() which has no handling to wait for
+			releaseInFlight(key);
+			return removeInFlightKey(message);
+		}
+
+		@Override
+		public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+			Object key = message.getHeaders().get(IN_FLIGHT_KEY_HEADER);
+			if (key == null) {
+				return message;
+			}
+			this.handledKey.set(key);
+			return removeInFlightKey(message);
+		}
+
+		@Override
+		public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+				Exception ex) {
+			Object key = this.handledKey.get();
+			if (key != null) {
+				this.handledKey.remove();
+				releaseInFlight(key);
+			}
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,11 @@
 
 package org.springframework.integration.store;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.springframework.util.Assert;
 
@@ -29,8 +34,12 @@ public abstract class AbstractBatchingMessageGroupStore implements BasicMessageG
 
 	private static final int DEFAULT_REMOVE_BATCH_SIZE = 100;
 
+	private static final int DEFAULT_STREAM_PAGE_SIZE = 100;
+
 	private volatile int removeBatchSize = DEFAULT_REMOVE_BATCH_SIZE;
 
+	private volatile int streamPageSize = DEFAULT_STREAM_PAGE_SIZE;
+
 	private volatile MessageGroupFactory messageGroupFactory = new SimpleMessageGroupFactory();
 
 	/**
@@ -48,6 +57,24 @@ public abstract class AbstractBatchingMessageGroupStore implements BasicMessageG
 		return this.removeBatchSize;
 	}
 
+	/**
+	 * Set the number of messages retrieved at once when the messages of a lazy-loaded
+	 * group are iterated, for message stores that support paging. Larger groups are
+	 * streamed page by page instead of being loaded in memory at once.
+	 * Default 100.
+	 * @param streamPageSize the page size.
+	 * @since 5.0
+	 * @see MessageGroupStore#streamMessagesForGroup(Object)
+	 */
+	public void setStreamPageSize(int streamPageSize) {
+		Assert.isTrue(streamPageSize > 0, "'streamPageSize' must be greater than 0");
+		this.streamPageSize = streamPageSize;
+	}
+
+	public int getStreamPageSize() {
+		return this.streamPageSize;
+	}
+
 	/**
 	 * Specify the {@link MessageGroupFactory} to create {@link MessageGroup} object where
 	 * it is necessary.
@@ -64,4 +91,23 @@ public abstract class AbstractBatchingMessageGroupStore implements BasicMessageG
 		return this.messageGroupFactory;
 	}
 
+	/**
+	 * Return a stream of the values for the provided keys, retrieved lazily with one
+	 * invocation of the retriever per {@link #setStreamPageSize(int) page} of keys.
+	 * @param keys the keys.
+	 * @param pageRetriever the function to retrieve the values of a page of keys.
+	 * @param <K> the key type.
+	 * @param <V> the value type.
+	 * @return the stream of values.
+	 * @since 5.0
+	 */
+	protected <K, V> Stream<V> streamInPages(List<K> keys,
+			Function<List<K>, ? extends Collection<? extends V>> pageRetriever) {
+		int pageSize = this.streamPageSize;
+		int pages = (keys.size() + pageSize - 1) / pageSize;
+		return IntStream.range(0, pages)
+				.mapToObj(page -> keys.subList(page * pageSize, Math.min(keys.size(), (page + 1) * pageSize)))
+				.flatMap(pageKeys -> pageRetriever.apply(pageKeys).stream());
+	}
+
 }
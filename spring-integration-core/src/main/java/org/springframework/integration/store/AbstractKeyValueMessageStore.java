@@ -20,8 +20,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.messaging.Message;
@@ -135,6 +138,9 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 
 			MessageGroup messageGroup = getMessageGroupFactory()
 					.create(this, groupId, metadata.getTimestamp(), metadata.isComplete());
+			if (messageGroup instanceof PersistentMessageGroup) {
+				((PersistentMessageGroup) messageGroup).setSize(metadata.size());
+			}
 			messageGroup.setLastModified(metadata.getLastModified());
 			messageGroup.setLastReleasedMessageSequenceNumber(metadata.getLastReleasedMessageSequenceNumber());
 			return messageGroup;
@@ -291,6 +297,22 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 		return messages;
 	}
 
+	@Override
+	public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		MessageGroupMetadata groupMetadata = getGroupMetadata(groupId);
+		if (groupMetadata == null) {
+			return Stream.empty();
+		}
+		List<Object> messageKeys = new ArrayList<Object>(groupMetadata.size());
+		Iterator<UUID> messageIds = groupMetadata.messageIdIterator();
+		while (messageIds.hasNext()) {
+			messageKeys.add(MESSAGE_KEY_PREFIX + messageIds.next());
+		}
+		return streamInPages(messageKeys, this::doRetrieveAll)
+				.filter(Objects::nonNull)
+				.map(this::extractMessage);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public Iterator<MessageGroup> iterator() {
@@ -328,6 +350,22 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 
 	protected abstract Object doRetrieve(Object id);
 
+	/**
+	 * Retrieve the values for the provided ids; by default, with an invocation of
+	 * {@link #doRetrieve(Object)} per id. Subclasses can override this method to
+	 * retrieve them with a single operation.
+	 * @param ids the ids.
+	 * @return the values in the order of the ids; null for missing values.
+	 * @since 5.0
+	 */
+	protected Collection<?> doRetrieveAll(Collection<?> ids) {
+		List<Object> values = new ArrayList<Object>(ids.size());
+		for (Object id : ids) {
+			values.add(doRetrieve(id));
+		}
+		return values;
+	}
+
 	protected abstract void doStore(Object id, Object objectToStore);
 
 	protected abstract void doStoreIfAbsent(Object id, Object objectToStore);
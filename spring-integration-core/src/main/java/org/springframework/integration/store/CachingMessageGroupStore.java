@@ -0,0 +1,501 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * A write-through {@link MessageGroupStore} decorator which keeps a local near-cache of the
+ * groups of a persistent store (JDBC, MongoDB, Redis etc.), so the correlation endpoints
+ * ({@code <aggregator>}, {@code <resequencer>}, {@code <delayer>}) don't read the group from
+ * the database on each message: the group metadata and size are cached and, for groups of up
+ * to {@link #setMaxCachedMessagesPerGroup(int) maxCachedMessagesPerGroup} messages, the
+ * messages too; the messages of larger groups are retrieved from the store when iterated.
+ * <p>
+ * The mutating operations are performed on the store first and then applied to the cached
+ * group, so a group is only read from the store when it isn't cached: the cache holds up to
+ * {@link #setMaxCachedGroups(int) maxCachedGroups} groups, evicting the least recently used
+ * ones, and a group is evicted after the {@link #setTimeToLive(long) timeToLive} since it
+ * was read from the store.
+ * <p>
+ * The groups are cached locally, so the cache is consistent only when this instance is the
+ * only writer of its groups - the correlation endpoints serialize the operations on a group
+ * with their {@link LockRegistry} - e.g. a single application instance, or the groups are
+ * partitioned between the instances by their correlation key. Otherwise, the
+ * {@code timeToLive} bounds the time during which a change made by another instance can be
+ * missed.
+ *
+ * @since 5.0
+ */
+public class CachingMessageGroupStore implements MessageGroupStore {
+
+	/**
+	 * The default maximum number of cached groups.
+	 */
+	public static final int DEFAULT_MAX_CACHED_GROUPS = 1000;
+
+	/**
+	 * The default maximum number of cached messages per group.
+	 */
+	public static final int DEFAULT_MAX_CACHED_MESSAGES_PER_GROUP = 100;
+
+	/**
+	 * The default time to live of the cached groups in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 60000;
+
+	private final MessageGroupStore messageGroupStore;
+
+	private final LockRegistry lockRegistry = new DefaultLockRegistry();
+
+	@SuppressWarnings("serial")
+	private final Map<Object, CachedGroup> groups = Collections.synchronizedMap(
+			new LinkedHashMap<Object, CachedGroup>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Entry<Object, CachedGroup> eldest) {
+					return this.size() > CachingMessageGroupStore.this.maxCachedGroups;
+				}
+
+			});
+
+	private volatile int maxCachedGroups = DEFAULT_MAX_CACHED_GROUPS;
+
+	private volatile int maxCachedMessagesPerGroup = DEFAULT_MAX_CACHED_MESSAGES_PER_GROUP;
+
+	private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	/**
+	 * Create an instance caching the groups of the provided store.
+	 * @param messageGroupStore the store.
+	 */
+	public CachingMessageGroupStore(MessageGroupStore messageGroupStore) {
+		Assert.notNull(messageGroupStore, "'messageGroupStore' must not be null");
+		this.messageGroupStore = messageGroupStore;
+	}
+
+	/**
+	 * Set the maximum number of cached groups; the least recently used group is evicted
+	 * when it is exceeded. Default {@value #DEFAULT_MAX_CACHED_GROUPS}.
+	 * @param maxCachedGroups the maximum number of groups.
+	 */
+	public void setMaxCachedGroups(int maxCachedGroups) {
+		Assert.isTrue(maxCachedGroups > 0, "'maxCachedGroups' must be greater than 0");
+		this.maxCachedGroups = maxCachedGroups;
+	}
+
+	/**
+	 * Set the maximum number of messages of a group to cache; only the metadata and size
+	 * of larger groups are cached, and such a group is evicted when messages are added to it,
+	 * since the store may already contain some of them.
+	 * Default {@value #DEFAULT_MAX_CACHED_MESSAGES_PER_GROUP}.
+	 * @param maxCachedMessagesPerGroup the maximum number of messages; 0 to cache no message.
+	 */
+	public void setMaxCachedMessagesPerGroup(int maxCachedMessagesPerGroup) {
+		Assert.isTrue(maxCachedMessagesPerGroup >= 0, "'maxCachedMessagesPerGroup' must not be negative");
+		this.maxCachedMessagesPerGroup = maxCachedMessagesPerGroup;
+	}
+
+	/**
+	 * Set the time in milliseconds after which a group read from the store is evicted,
+	 * even when it has been updated in the meantime. Default {@value #DEFAULT_TIME_TO_LIVE}.
+	 * @param timeToLive the time to live.
+	 */
+	public void setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive > 0, "'timeToLive' must be greater than 0");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Evict the group from the cache, e.g. after it has been modified by another instance.
+	 * @param groupId the group id.
+	 */
+	public void invalidate(Object groupId) {
+		this.groups.remove(groupId);
+	}
+
+	/**
+	 * Evict all the groups from the cache.
+	 */
+	public void invalidateAll() {
+		this.groups.clear();
+	}
+
+	@Override
+	public int messageGroupSize(Object groupId) {
+		CachedGroup cachedGroup = getCachedGroup(groupId);
+		if (cachedGroup != null) {
+			return cachedGroup.size();
+		}
+		return this.messageGroupStore.messageGroupSize(groupId);
+	}
+
+	@Override
+	public MessageGroup getMessageGroup(Object groupId) {
+		CachedGroup cachedGroup = getCachedGroup(groupId);
+		if (cachedGroup == null) {
+			Lock lock = this.lockRegistry.obtain(groupId);
+			lock.lock();
+			try {
+				cachedGroup = getCachedGroup(groupId);
+				if (cachedGroup == null) {
+					cachedGroup = new CachedGroup(this.messageGroupStore.getMessageGroup(groupId));
+					this.groups.put(groupId, cachedGroup);
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		return cachedGroup.toMessageGroup();
+	}
+
+	@Override
+	public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+		addMessagesToGroup(groupId, message);
+		return getMessageGroup(groupId);
+	}
+
+	@Override
+	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+		writeThrough(groupId, () -> {
+			this.messageGroupStore.addMessagesToGroup(groupId, messages);
+			return null;
+		}, (cachedGroup, result) -> cachedGroup.add(messages));
+	}
+
+	@Override
+	public Message<?> pollMessageFromGroup(Object groupId) {
+		return writeThrough(groupId, () -> this.messageGroupStore.pollMessageFromGroup(groupId),
+				CachedGroup::poll);
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		writeThrough(groupId, () -> {
+			this.messageGroupStore.removeMessageGroup(groupId);
+			return null;
+		}, (cachedGroup, result) -> false);
+	}
+
+	@Override
+	public void removeMessagesFromGroup(Object key, Collection<Message<?>> messages) {
+		CachedGroup cachedGroup = getCachedGroup(key);
+		Set<UUID> messageIds = null;
+		if (cachedGroup != null && cachedGroup.hasMessages()) {
+			messageIds = new HashSet<UUID>();
+			for (Message<?> message : messages) {
+				messageIds.add(message.getHeaders().getId());
+			}
+		}
+		Set<UUID> messageIdsToRemove = messageIds;
+		writeThrough(key, () -> {
+			this.messageGroupStore.removeMessagesFromGroup(key, messages);
+			return null;
+		}, (group, result) -> messageIdsToRemove != null && group.remove(messageIdsToRemove));
+	}
+
+	@Override
+	public void removeMessagesFromGroup(Object key, Message<?>... messages) {
+		removeMessagesFromGroup(key, Arrays.asList(messages));
+	}
+
+	@Override
+	public void completeGroup(Object groupId) {
+		writeThrough(groupId, () -> {
+			this.messageGroupStore.completeGroup(groupId);
+			return null;
+		}, (cachedGroup, result) -> cachedGroup.complete());
+	}
+
+	@Override
+	public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+		writeThrough(groupId, () -> {
+			this.messageGroupStore.setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+			return null;
+		}, (cachedGroup, result) -> cachedGroup.setLastReleasedSequenceNumber(sequenceNumber));
+	}
+
+	@Override
+	public Message<?> getOneMessageFromGroup(Object groupId) {
+		CachedGroup cachedGroup = getCachedGroup(groupId);
+		if (cachedGroup == null) {
+			return this.messageGroupStore.getOneMessageFromGroup(groupId);
+		}
+		Message<?> one = cachedGroup.getOne();
+		if (one == null && cachedGroup.size() > 0) {
+			one = this.messageGroupStore.getOneMessageFromGroup(groupId);
+			cachedGroup.setOne(one);
+		}
+		return one;
+	}
+
+	@Override
+	public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+		CachedGroup cachedGroup = getCachedGroup(groupId);
+		Collection<Message<?>> messages = cachedGroup != null ? cachedGroup.getMessages() : null;
+		return messages != null ? messages : this.messageGroupStore.getMessagesForGroup(groupId);
+	}
+
+	@Override
+	public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		CachedGroup cachedGroup = getCachedGroup(groupId);
+		Collection<Message<?>> messages = cachedGroup != null ? cachedGroup.getMessages() : null;
+		return messages != null ? messages.stream() : this.messageGroupStore.streamMessagesForGroup(groupId);
+	}
+
+	@Override
+	public MessageGroupMetadata getGroupMetadata(Object groupId) {
+		return this.messageGroupStore.getGroupMetadata(groupId);
+	}
+
+	@Override
+	public int getMessageCountForAllMessageGroups() {
+		return this.messageGroupStore.getMessageCountForAllMessageGroups();
+	}
+
+	@Override
+	public int getMessageGroupCount() {
+		return this.messageGroupStore.getMessageGroupCount();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The group is evicted from the cache before invoking the callback, so the
+	 * callback reads it from the store.
+	 */
+	@Override
+	public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+		this.messageGroupStore.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+			invalidate(group.getGroupId());
+			callback.execute(this, group);
+		});
+	}
+
+	@Override
+	public int expireMessageGroups(long timeout) {
+		return this.messageGroupStore.expireMessageGroups(timeout);
+	}
+
+	@Override
+	public Iterator<MessageGroup> iterator() {
+		return this.messageGroupStore.iterator();
+	}
+
+	private CachedGroup getCachedGroup(Object groupId) {
+		CachedGroup cachedGroup = this.groups.get(groupId);
+		if (cachedGroup != null && cachedGroup.isExpired()) {
+			this.groups.remove(groupId, cachedGroup);
+			return null;
+		}
+		return cachedGroup;
+	}
+
+	/**
+	 * Perform the write on the store, then update the cached group, if any, or evict it
+	 * when the write fails or the update returns false; the writes and the reads from the
+	 * store of the same group are serialized, so a group read before a write can't be
+	 * cached after it.
+	 */
+	private <T> T writeThrough(Object groupId, Supplier<T> write, BiPredicate<CachedGroup, T> update) {
+		Lock lock = this.lockRegistry.obtain(groupId);
+		lock.lock();
+		try {
+			T result;
+			try {
+				result = write.get();
+			}
+			catch (RuntimeException e) {
+				invalidate(groupId);
+				throw e;
+			}
+			CachedGroup cachedGroup = getCachedGroup(groupId);
+			if (cachedGroup != null && !update.test(cachedGroup, result)) {
+				invalidate(groupId);
+			}
+			return result;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private int getStreamPageSize() {
+		return this.messageGroupStore instanceof AbstractBatchingMessageGroupStore
+				? ((AbstractBatchingMessageGroupStore) this.messageGroupStore).getStreamPageSize()
+				: Integer.MAX_VALUE;
+	}
+
+	private final class CachedGroup {
+
+		private final long readTime = System.currentTimeMillis();
+
+		private final Object groupId;
+
+		private final long timestamp;
+
+		private long lastModified;
+
+		private boolean complete;
+
+		private int lastReleasedSequenceNumber;
+
+		private int size;
+
+		private Message<?> one;
+
+		/**
+		 * All the messages of the group; null when there are more than maxCachedMessagesPerGroup.
+		 */
+		private List<Message<?>> messages;
+
+		CachedGroup(MessageGroup group) {
+			this.groupId = group.getGroupId();
+			this.timestamp = group.getTimestamp();
+			this.lastModified = group.getLastModified();
+			this.complete = group.isComplete();
+			this.lastReleasedSequenceNumber = group.getLastReleasedMessageSequenceNumber();
+			this.size = group.size();
+			if (this.size == 0) {
+				this.messages = new ArrayList<Message<?>>();
+			}
+			else if (this.size <= CachingMessageGroupStore.this.maxCachedMessagesPerGroup) {
+				this.messages = new ArrayList<Message<?>>(group.getMessages());
+				this.size = this.messages.size();
+			}
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() - this.readTime > CachingMessageGroupStore.this.timeToLive;
+		}
+
+		synchronized boolean hasMessages() {
+			return this.messages != null;
+		}
+
+		synchronized int size() {
+			return this.size;
+		}
+
+		synchronized Message<?> getOne() {
+			if (this.messages != null) {
+				return this.messages.isEmpty() ? null : this.messages.get(0);
+			}
+			return this.one;
+		}
+
+		synchronized void setOne(Message<?> one) {
+			this.one = one;
+		}
+
+		synchronized Collection<Message<?>> getMessages() {
+			return this.messages != null ? new ArrayList<Message<?>>(this.messages) : null;
+		}
+
+		synchronized boolean add(Message<?>[] messagesToAdd) {
+			if (this.messages == null) {
+				// the store may already contain some of them, so the new size can't be derived
+				return false;
+			}
+			this.lastModified = System.currentTimeMillis();
+			Set<UUID> messageIds = new HashSet<UUID>();
+			for (Message<?> message : this.messages) {
+				messageIds.add(message.getHeaders().getId());
+			}
+			for (Message<?> message : messagesToAdd) {
+				if (messageIds.add(message.getHeaders().getId())) {
+					this.messages.add(message);
+				}
+			}
+			this.size = this.messages.size();
+			if (this.size > CachingMessageGroupStore.this.maxCachedMessagesPerGroup) {
+				this.one = this.messages.get(0);
+				this.messages = null;
+			}
+			return true;
+		}
+
+		synchronized boolean remove(Set<UUID> messageIds) {
+			if (this.messages == null) {
+				return false;
+			}
+			this.messages.removeIf(message -> messageIds.contains(message.getHeaders().getId()));
+			this.size = this.messages.size();
+			this.lastModified = System.currentTimeMillis();
+			return true;
+		}
+
+		synchronized boolean poll(Message<?> polled) {
+			if (polled == null) {
+				return true;
+			}
+			return remove(Collections.singleton(polled.getHeaders().getId()));
+		}
+
+		synchronized boolean complete() {
+			this.complete = true;
+			this.lastModified = System.currentTimeMillis();
+			return true;
+		}
+
+		synchronized boolean setLastReleasedSequenceNumber(int sequenceNumber) {
+			this.lastReleasedSequenceNumber = sequenceNumber;
+			this.lastModified = System.currentTimeMillis();
+			return true;
+		}
+
+		synchronized MessageGroup toMessageGroup() {
+			MessageGroup group;
+			if (this.messages != null) {
+				group = new SimpleMessageGroup(this.messages, this.groupId, this.timestamp, this.complete);
+			}
+			else {
+				PersistentMessageGroup persistentGroup = new PersistentMessageGroup(CachingMessageGroupStore.this,
+						new SimpleMessageGroup(Collections.<Message<?>>emptyList(), this.groupId, this.timestamp,
+								this.complete),
+						getStreamPageSize());
+				persistentGroup.setSize(this.size);
+				group = persistentGroup;
+			}
+			group.setLastModified(this.lastModified);
+			group.setLastReleasedMessageSequenceNumber(this.lastReleasedSequenceNumber);
+			return group;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2016 the original author or authors.
+ * Copyright 2014-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,11 @@
 
 package org.springframework.integration.store;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.Message;
 
 /**
  * A marker interface that indicates this message store has optimizations for
@@ -28,4 +32,27 @@ import org.springframework.integration.channel.QueueChannel;
  */
 public interface ChannelMessageStore extends BasicMessageGroupStore {
 
+	/**
+	 * Poll up to {@code maxMessages} messages from the group, e.g. for a
+	 * {@link java.util.concurrent.BlockingQueue#drainTo(java.util.Collection, int) drainTo()}
+	 * on a {@link MessageGroupQueue}. The default implementation invokes
+	 * {@link #pollMessageFromGroup(Object)} until it returns null; stores which can poll
+	 * several messages with a single operation should override it.
+	 * @param groupId the group id.
+	 * @param maxMessages the maximum number of messages to poll.
+	 * @return the polled messages; never null.
+	 * @since 5.0
+	 */
+	default List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		List<Message<?>> messages = new ArrayList<>();
+		while (messages.size() < maxMessages) {
+			Message<?> message = pollMessageFromGroup(groupId);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.messaging.Message;
+
+/**
+ * A store for delayed messages indexed by their release time, so a
+ * {@link org.springframework.integration.handler.DelayHandler} can retrieve only
+ * the messages due within a look-ahead window, instead of loading all the
+ * delayed messages in memory.
+ * <p>
+ * Removing a message is the claim of its release: when several instances share the
+ * same store, only the one which actually removed the message releases it.
+ *
+ * @since 5.0
+ */
+public interface DelayedMessageStore {
+
+	/**
+	 * Store the message to be released at the given time.
+	 * @param groupId the group (usually the delayer's {@code messageGroupId}).
+	 * @param message the message.
+	 * @param releaseTime the release time in milliseconds since the epoch.
+	 */
+	void addDelayedMessage(Object groupId, Message<?> message, long releaseTime);
+
+	/**
+	 * Retrieve, without removing, the messages due to be released before the given time,
+	 * in release time order.
+	 * @param groupId the group.
+	 * @param time the time in milliseconds since the epoch (exclusive).
+	 * @param maxMessages the maximum number of messages to return.
+	 * @return the messages; never null.
+	 */
+	default Collection<Message<?>> getMessagesDueBefore(Object groupId, long time, int maxMessages) {
+		return getMessagesDueBetween(groupId, Long.MIN_VALUE, time, maxMessages)
+				.stream()
+				.map(DueMessage::getMessage)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Retrieve, without removing, the messages due to be released from the {@code from}
+	 * time (inclusive) to the {@code to} time (exclusive), in release time order, so the
+	 * due messages can be read page by page; each message is returned with its stored
+	 * release time.
+	 * @param groupId the group.
+	 * @param from the time in milliseconds since the epoch (inclusive).
+	 * @param to the time in milliseconds since the epoch (exclusive).
+	 * @param maxMessages the maximum number of messages to return.
+	 * @return the messages with their release time; never null.
+	 */
+	Collection<DueMessage> getMessagesDueBetween(Object groupId, long from, long to, int maxMessages);
+
+	/**
+	 * Remove the message from the store.
+	 * @param groupId the group.
+	 * @param messageId the message id.
+	 * @return true if the message was removed by this call.
+	 */
+	boolean removeDelayedMessage(Object groupId, UUID messageId);
+
+	/**
+	 * Return the number of messages of the group in the store.
+	 * @param groupId the group.
+	 * @return the count.
+	 */
+	int getDelayedMessageCount(Object groupId);
+
+
+	/**
+	 * A message retrieved from the store with the release time it was stored with.
+	 */
+	final class DueMessage {
+
+		private final Message<?> message;
+
+		private final long releaseTime;
+
+		public DueMessage(Message<?> message, long releaseTime) {
+			this.message = message;
+			this.releaseTime = releaseTime;
+		}
+
+		public Message<?> getMessage() {
+			return this.message;
+		}
+
+		public long getReleaseTime() {
+			return this.releaseTime;
+		}
+
+		@Override
+		public String toString() {
+			return "DueMessage [message=" + this.message + ", releaseTime=" + this.releaseTime + "]";
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -201,10 +201,18 @@ public class MessageGroupQueue extends AbstractQueue<Message<?>> implements Bloc
 		try {
 			storeLock.lockInterruptibly();
 			try {
-				Message<?> message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
-				for (int i = 0; i < maxElements && message != null; i++) {
-					list.add(message);
-					message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
+				if (this.messageGroupStore instanceof ChannelMessageStore) {
+					list.addAll(((ChannelMessageStore) this.messageGroupStore)
+							.pollMessagesFromGroup(this.groupId, maxElements));
+				}
+				else {
+					for (int i = 0; i < maxElements; i++) {
+						Message<?> message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
+						if (message == null) {
+							break;
+						}
+						list.add(message);
+					}
 				}
 				this.messageStoreNotFull.signal();
 			}
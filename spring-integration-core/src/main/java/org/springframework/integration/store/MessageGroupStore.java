@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.integration.store;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
@@ -142,6 +143,21 @@ public interface MessageGroupStore extends BasicMessageGroupStore {
 	 */
 	Collection<Message<?>> getMessagesForGroup(Object groupId);
 
+	/**
+	 * Return a stream of the messages for the provided group id. Stores which support
+	 * it retrieve (and deserialize) the messages lazily, page by page, while the stream
+	 * is consumed; by default, the messages are retrieved with
+	 * {@link #getMessagesForGroup(Object)}. The stream may be abandoned before its end
+	 * without being closed, so an implementation must not hold a resource, such as a
+	 * database cursor, open between the pages.
+	 * @param groupId The group id to retrieve messages for.
+	 * @return the stream of the messages for group.
+	 * @since 5.0
+	 */
+	default Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		return getMessagesForGroup(groupId).stream();
+	}
+
 	/**
 	 * Invoked when a MessageGroupStore expires a group.
 	 */
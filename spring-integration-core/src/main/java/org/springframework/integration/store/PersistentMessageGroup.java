@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -28,6 +29,14 @@ import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.messaging.Message;
 
 /**
+ * A {@link MessageGroup} which loads its size, one message and its messages lazily
+ * from the store.
+ * <p>The messages of a group with more than the store's stream page size are not kept:
+ * each iteration of {@link #getMessages()} streams them from the store again, e.g. a
+ * release which iterates the group in the release strategy, the output processor and
+ * the removal of the released messages reads it several times; size-only release
+ * strategies and {@link #getOne()} don't iterate the messages.
+ *
  * @author Artem Bilan
  * @since 4.3
  */
@@ -41,13 +50,30 @@ class PersistentMessageGroup implements MessageGroup {
 
 	private final MessageGroup original;
 
+	private final int streamPageSize;
+
 	private volatile Message<?> oneMessage;
 
 	private volatile int size;
 
 	PersistentMessageGroup(MessageGroupStore messageGroupStore, MessageGroup original) {
+		this(messageGroupStore, original, messageGroupStore instanceof AbstractBatchingMessageGroupStore
+				? ((AbstractBatchingMessageGroupStore) messageGroupStore).getStreamPageSize()
+				: Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create an instance which streams its messages from the store when there are more
+	 * than the provided page size.
+	 * @param messageGroupStore the store.
+	 * @param original the group with the metadata.
+	 * @param streamPageSize the page size.
+	 * @since 5.0
+	 */
+	PersistentMessageGroup(MessageGroupStore messageGroupStore, MessageGroup original, int streamPageSize) {
 		this.messageGroupStore = messageGroupStore;
 		this.original = original;
+		this.streamPageSize = streamPageSize;
 	}
 
 	public void setSize(int size) {
@@ -216,6 +242,13 @@ class PersistentMessageGroup implements MessageGroup {
 
 		@Override
 		public Iterator<Message<?>> iterator() {
+			if (this.collection == null && isPaged()) {
+				Object groupId = PersistentMessageGroup.this.original.getGroupId();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Streaming messages for messageGroup: " + groupId);
+				}
+				return new StreamIterator(PersistentMessageGroup.this.messageGroupStore.streamMessagesForGroup(groupId));
+			}
 			load();
 			return this.collection.iterator();
 		}
@@ -225,6 +258,42 @@ class PersistentMessageGroup implements MessageGroup {
 			return PersistentMessageGroup.this.size();
 		}
 
+		private boolean isPaged() {
+			return size() > PersistentMessageGroup.this.streamPageSize;
+		}
+
+	}
+
+	/**
+	 * Iterates over a stream of messages and closes it when exhausted; the stores read
+	 * the stream page by page, without keeping a resource open between the pages, so an
+	 * iteration may stop before the end.
+	 */
+	private static final class StreamIterator implements Iterator<Message<?>> {
+
+		private final Stream<Message<?>> stream;
+
+		private final Iterator<Message<?>> iterator;
+
+		StreamIterator(Stream<Message<?>> stream) {
+			this.stream = stream;
+			this.iterator = stream.iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			boolean hasNext = this.iterator.hasNext();
+			if (!hasNext) {
+				this.stream.close();
+			}
+			return hasNext;
+		}
+
+		@Override
+		public Message<?> next() {
+			return this.iterator.next();
+		}
+
 	}
 
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.util.UpperBound;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory {@link SimpleMessageStore} which partitions messages and groups across a number
+ * of independent {@link SimpleMessageStore} shards. Each shard has its own maps and its own
+ * {@link DefaultLockRegistry}, so the operations on different
+ * groups (e.g. hundreds of thousands of open aggregator groups) are spread across
+ * {@code shards * 256} group locks instead of contending on the 256 locks of a single store.
+ * <p>
+ * The shard is selected by a mixed hash of the group id (or message id), independent from the
+ * bits used by the shard's {@link DefaultLockRegistry}, so the groups of a shard are spread
+ * across all its locks.
+ * <p>
+ * The individual message capacity is shared by all the shards; the group capacity applies to
+ * each group, as with the {@link SimpleMessageStore}.
+ * A custom {@link LockRegistry} is applied to all the shards, so their group operations
+ * contend on its locks again.
+ *
+ * @since 5.0
+ */
+public class ShardedSimpleMessageStore extends SimpleMessageStore {
+
+	/**
+	 * The default number of shards.
+	 */
+	public static final int DEFAULT_SHARDS = 16;
+
+	private final SimpleMessageStore[] shards;
+
+	/**
+	 * Create a store with {@link #DEFAULT_SHARDS} shards and unlimited capacity.
+	 */
+	public ShardedSimpleMessageStore() {
+		this(DEFAULT_SHARDS);
+	}
+
+	/**
+	 * Create a store with the provided number of shards and unlimited capacity.
+	 * @param shards the number of shards.
+	 */
+	public ShardedSimpleMessageStore(int shards) {
+		this(shards, 0, 0);
+	}
+
+	/**
+	 * Create a store with the provided number of shards and capacities.
+	 * @param shards the number of shards.
+	 * @param individualCapacity The message capacity; shared by the shards.
+	 * @param groupCapacity      The capacity of each group.
+	 * @see SimpleMessageStore#SimpleMessageStore(int, int)
+	 */
+	public ShardedSimpleMessageStore(int shards, int individualCapacity, int groupCapacity) {
+		this(shards, individualCapacity, groupCapacity, 0);
+	}
+
+	/**
+	 * Create a store with the provided number of shards, capacities and the timeout in
+	 * milliseconds to wait for the empty slot in the store.
+	 * @param shards the number of shards.
+	 * @param individualCapacity The message capacity; shared by the shards.
+	 * @param groupCapacity      The capacity of each group.
+	 * @param upperBoundTimeout  The time to wait if the store is at max capacity.
+	 * @see SimpleMessageStore#SimpleMessageStore(int, int, long)
+	 */
+	public ShardedSimpleMessageStore(int shards, int individualCapacity, int groupCapacity, long upperBoundTimeout) {
+		super(upperBoundTimeout);
+		Assert.isTrue(shards > 0, "'shards' must be greater than 0");
+		this.shards = new SimpleMessageStore[shards];
+		UpperBound individualUpperBound = new UpperBound(individualCapacity);
+		for (int i = 0; i < shards; i++) {
+			this.shards[i] = new SimpleMessageStore(individualUpperBound, individualCapacity, groupCapacity,
+					upperBoundTimeout, new DefaultLockRegistry());
+		}
+	}
+
+	public int getShardCount() {
+		return this.shards.length;
+	}
+
+	@Override
+	public void setCopyOnGet(boolean copyOnGet) {
+		for (SimpleMessageStore shard : this.shards) {
+			shard.setCopyOnGet(copyOnGet);
+		}
+	}
+
+	/**
+	 * Set the {@link LockRegistry} of all the shards, instead of their own
+	 * {@link DefaultLockRegistry}; e.g. a registry shared with other components.
+	 * @param lockRegistry the lock registry.
+	 */
+	@Override
+	public void setLockRegistry(LockRegistry lockRegistry) {
+		if (this.logger.isWarnEnabled()) {
+			this.logger.warn("The same LockRegistry is used by all the shards of the ShardedSimpleMessageStore; "
+					+ "their group operations contend on its locks again.");
+		}
+		for (SimpleMessageStore shard : this.shards) {
+			shard.setLockRegistry(lockRegistry);
+		}
+	}
+
+	@Override
+	public void setMessageGroupFactory(MessageGroupFactory messageGroupFactory) {
+		super.setMessageGroupFactory(messageGroupFactory);
+		for (SimpleMessageStore shard : this.shards) {
+			shard.setMessageGroupFactory(messageGroupFactory);
+		}
+	}
+
+	@Override
+	@ManagedAttribute
+	public long getMessageCount() {
+		long count = 0;
+		for (SimpleMessageStore shard : this.shards) {
+			count += shard.getMessageCount();
+		}
+		return count;
+	}
+
+	@Override
+	@ManagedAttribute
+	public int getMessageCountForAllMessageGroups() {
+		int count = 0;
+		for (SimpleMessageStore shard : this.shards) {
+			count += shard.getMessageCountForAllMessageGroups();
+		}
+		return count;
+	}
+
+	@Override
+	@ManagedAttribute
+	public int getMessageGroupCount() {
+		int count = 0;
+		for (SimpleMessageStore shard : this.shards) {
+			count += shard.getMessageGroupCount();
+		}
+		return count;
+	}
+
+	@Override
+	public <T> Message<T> addMessage(Message<T> message) {
+		return shardFor(message.getHeaders().getId()).addMessage(message);
+	}
+
+	@Override
+	public Message<?> getMessage(UUID key) {
+		return (key != null) ? shardFor(key).getMessage(key) : null;
+	}
+
+	@Override
+	public MessageMetadata getMessageMetadata(UUID id) {
+		return (id != null) ? shardFor(id).getMessageMetadata(id) : null;
+	}
+
+	@Override
+	public Message<?> removeMessage(UUID key) {
+		return (key != null) ? shardFor(key).removeMessage(key) : null;
+	}
+
+	@Override
+	public MessageGroup getMessageGroup(Object groupId) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		return shardFor(groupId).getMessageGroup(groupId);
+	}
+
+	@Override
+	protected MessageGroup copy(MessageGroup group) {
+		return shardFor(group.getGroupId()).copy(group);
+	}
+
+	@Override
+	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		shardFor(groupId).addMessagesToGroup(groupId, messages);
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		shardFor(groupId).removeMessageGroup(groupId);
+	}
+
+	@Override
+	public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+		shardFor(groupId).removeMessagesFromGroup(groupId, messages);
+	}
+
+	@Override
+	public Iterator<MessageGroup> iterator() {
+		List<MessageGroup> groups = new ArrayList<>();
+		for (SimpleMessageStore shard : this.shards) {
+			Iterator<MessageGroup> iterator = shard.iterator();
+			while (iterator.hasNext()) {
+				groups.add(iterator.next());
+			}
+		}
+		return groups.iterator();
+	}
+
+	@Override
+	public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+		shardFor(groupId).setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+	}
+
+	@Override
+	public void completeGroup(Object groupId) {
+		shardFor(groupId).completeGroup(groupId);
+	}
+
+	@Override
+	public Message<?> pollMessageFromGroup(Object groupId) {
+		return shardFor(groupId).pollMessageFromGroup(groupId);
+	}
+
+	@Override
+	public int messageGroupSize(Object groupId) {
+		return shardFor(groupId).messageGroupSize(groupId);
+	}
+
+	@Override
+	public MessageGroupMetadata getGroupMetadata(Object groupId) {
+		return shardFor(groupId).getGroupMetadata(groupId);
+	}
+
+	@Override
+	public Message<?> getOneMessageFromGroup(Object groupId) {
+		return shardFor(groupId).getOneMessageFromGroup(groupId);
+	}
+
+	@Override
+	public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+		return shardFor(groupId).getMessagesForGroup(groupId);
+	}
+
+	@Override
+	public void clearMessageGroup(Object groupId) {
+		shardFor(groupId).clearMessageGroup(groupId);
+	}
+
+	private SimpleMessageStore shardFor(Object key) {
+		int hash = key.hashCode() * 0x9E3779B9;
+		return this.shards[(hash >>> 16) % this.shards.length];
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory {@link DelayedMessageStore}: each group is a skip list ordered by
+ * release time, with an index by message id for the removal.
+ *
+ * @since 5.0
+ */
+public class SimpleDelayedMessageStore implements DelayedMessageStore {
+
+	private final ConcurrentMap<Object, DelayedGroup> groups = new ConcurrentHashMap<>();
+
+	@Override
+	public void addDelayedMessage(Object groupId, Message<?> message, long releaseTime) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		Assert.notNull(message, "'message' must not be null");
+		DelayedGroup group = this.groups.computeIfAbsent(groupId, k -> new DelayedGroup());
+		UUID id = message.getHeaders().getId();
+		ReleaseKey key = new ReleaseKey(releaseTime, id);
+		ReleaseKey previous = group.keys.put(id, key);
+		if (previous != null) {
+			group.messages.remove(previous);
+		}
+		group.messages.put(key, message);
+	}
+
+	@Override
+	public Collection<DueMessage> getMessagesDueBetween(Object groupId, long from, long to, int maxMessages) {
+		DelayedGroup group = this.groups.get(groupId);
+		if (group == null || from >= to) {
+			return Collections.emptyList();
+		}
+		ConcurrentNavigableMap<ReleaseKey, Message<?>> due =
+				group.messages.subMap(new ReleaseKey(from, null), new ReleaseKey(to, null));
+		List<DueMessage> messages = new ArrayList<>(Math.min(maxMessages, 16));
+		for (Map.Entry<ReleaseKey, Message<?>> entry : due.entrySet()) {
+			if (messages.size() >= maxMessages) {
+				break;
+			}
+			messages.add(new DueMessage(entry.getValue(), entry.getKey().releaseTime));
+		}
+		return messages;
+	}
+
+	@Override
+	public boolean removeDelayedMessage(Object groupId, UUID messageId) {
+		DelayedGroup group = this.groups.get(groupId);
+		if (group == null) {
+			return false;
+		}
+		ReleaseKey key = group.keys.remove(messageId);
+		return key != null && group.messages.remove(key) != null;
+	}
+
+	@Override
+	public int getDelayedMessageCount(Object groupId) {
+		DelayedGroup group = this.groups.get(groupId);
+		return group == null ? 0 : group.keys.size();
+	}
+
+
+	private static final class DelayedGroup {
+
+		private final Map<UUID, ReleaseKey> keys = new ConcurrentHashMap<>();
+
+		private final ConcurrentNavigableMap<ReleaseKey, Message<?>> messages = new ConcurrentSkipListMap<>();
+
+		DelayedGroup() {
+			super();
+		}
+
+	}
+
+	private static final class ReleaseKey implements Comparable<ReleaseKey> {
+
+		private final long releaseTime;
+
+		private final UUID messageId;
+
+		ReleaseKey(long releaseTime, UUID messageId) {
+			this.releaseTime = releaseTime;
+			this.messageId = messageId;
+		}
+
+		@Override
+		public int compareTo(ReleaseKey other) {
+			int result = Long.compare(this.releaseTime, other.releaseTime);
+			if (result != 0) {
+				return result;
+			}
+			// a null id (the bound of a range) sorts before any message with the same time
+			if (this.messageId == null) {
+				return other.messageId == null ? 0 : -1;
+			}
+			if (other.messageId == null) {
+				return 1;
+			}
+			return this.messageId.compareTo(other.messageId);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ReleaseKey)) {
+				return false;
+			}
+			ReleaseKey other = (ReleaseKey) obj;
+			return this.releaseTime == other.releaseTime
+					&& (this.messageId == null ? other.messageId == null : this.messageId.equals(other.messageId));
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(this.releaseTime) + (this.messageId == null ? 0 : this.messageId.hashCode());
+		}
+
+	}
+
+}
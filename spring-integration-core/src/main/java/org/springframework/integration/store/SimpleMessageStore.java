@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,12 +50,11 @@ import org.springframework.util.CollectionUtils;
 public class SimpleMessageStore extends AbstractMessageGroupStore
 		implements MessageStore, ChannelMessageStore {
 
-	private final ConcurrentMap<UUID, Message<?>> idToMessage = new ConcurrentHashMap<UUID, Message<?>>();
+	private final ConcurrentMap<UUID, Message<?>> idToMessage;
 
-	private final ConcurrentMap<Object, MessageGroup> groupIdToMessageGroup =
-			new ConcurrentHashMap<Object, MessageGroup>();
+	private final ConcurrentMap<Object, MessageGroup> groupIdToMessageGroup;
 
-	private final ConcurrentMap<Object, UpperBound> groupToUpperBound = new ConcurrentHashMap<Object, UpperBound>();
+	private final ConcurrentMap<Object, UpperBound> groupToUpperBound;
 
 	private final int groupCapacity;
 
@@ -122,15 +121,52 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 	 */
 	public SimpleMessageStore(int individualCapacity, int groupCapacity, long upperBoundTimeout,
 			LockRegistry lockRegistry) {
+		this(new UpperBound(individualCapacity), individualCapacity, groupCapacity, upperBoundTimeout, lockRegistry);
+	}
+
+	/**
+	 * Create a store which accounts its messages in the provided {@link UpperBound},
+	 * e.g. shared with the other shards of a {@link ShardedSimpleMessageStore}.
+	 * @param individualUpperBound the message capacity {@link UpperBound}.
+	 * @param individualCapacity The message capacity of the upper bound.
+	 * @param groupCapacity      The capacity of each group.
+	 * @param upperBoundTimeout  The time to wait if the store is at max capacity
+	 * @param lockRegistry       The lock registry.
+	 * @since 5.0
+	 */
+	SimpleMessageStore(UpperBound individualUpperBound, int individualCapacity, int groupCapacity,
+			long upperBoundTimeout, LockRegistry lockRegistry) {
 		super(false);
 		Assert.notNull(lockRegistry, "The LockRegistry cannot be null");
-		this.individualUpperBound = new UpperBound(individualCapacity);
+		this.idToMessage = new ConcurrentHashMap<UUID, Message<?>>();
+		this.groupIdToMessageGroup = new ConcurrentHashMap<Object, MessageGroup>();
+		this.groupToUpperBound = new ConcurrentHashMap<Object, UpperBound>();
+		this.individualUpperBound = individualUpperBound;
 		this.individualCapacity = individualCapacity;
 		this.groupCapacity = groupCapacity;
 		this.lockRegistry = lockRegistry;
 		this.upperBoundTimeout = upperBoundTimeout;
 	}
 
+	/**
+	 * Create a store which doesn't hold any message itself, and therefore allocates
+	 * neither maps nor locks, because all the operations are delegated to other stores,
+	 * e.g. the shards of a {@link ShardedSimpleMessageStore}.
+	 * @param upperBoundTimeout The time to wait if the store is at max capacity
+	 * @since 5.0
+	 */
+	SimpleMessageStore(long upperBoundTimeout) {
+		super(false);
+		this.idToMessage = null;
+		this.groupIdToMessageGroup = null;
+		this.groupToUpperBound = null;
+		this.individualUpperBound = null;
+		this.individualCapacity = 0;
+		this.groupCapacity = 0;
+		this.lockRegistry = null;
+		this.upperBoundTimeout = upperBoundTimeout;
+	}
+
 	/**
 	 * Creates a SimpleMessageStore with the same capacity for individual and grouped messages.
 	 * @param capacity The capacity.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.expression.ExpressionUtils;
 
 /**
  * A {@code Builder} pattern implementation for the {@link Map}.
@@ -33,7 +34,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
  */
 public class MapBuilder<B extends MapBuilder<B, K, V>, K, V> {
 
-	protected final static SpelExpressionParser PARSER = new SpelExpressionParser();
+	protected final static SpelExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	private final Map<K, V> map = new HashMap<K, V>();
 
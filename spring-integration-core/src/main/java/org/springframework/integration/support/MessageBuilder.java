@@ -317,10 +317,12 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 				&& !containsReadOnly(this.originalMessage.getHeaders())) {
 			return this.originalMessage;
 		}
+		// The MessageHeaders instance is used as is by the message; a Map would be copied once more
+		MessageHeaders headers = this.headerAccessor.toMessageHeaders();
 		if (this.payload instanceof Throwable) {
-			return (Message<T>) new ErrorMessage((Throwable) this.payload, this.headerAccessor.toMap());
+			return (Message<T>) new ErrorMessage((Throwable) this.payload, headers);
 		}
-		return new GenericMessage<T>(this.payload, this.headerAccessor.toMap());
+		return new GenericMessage<T>(this.payload, headers);
 	}
 
 	private boolean containsReadOnly(MessageHeaders headers) {
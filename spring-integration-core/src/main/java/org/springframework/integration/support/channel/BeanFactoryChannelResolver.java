@@ -16,6 +16,9 @@
 
 package org.springframework.integration.support.channel;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -23,6 +26,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.core.DestinationResolutionException;
@@ -37,6 +41,11 @@ import org.springframework.util.Assert;
  *
  * Consults a {@link HeaderChannelRegistry}, if available, if the bean is not found.
  *
+ * <p>When a {@link #setCacheCapacity(int) cacheCapacity} is set, resolved singleton
+ * channels are cached by name; a cached channel is only returned while it is still the
+ * singleton registered with that name, so channels removed or replaced at runtime
+ * (e.g. by the {@code IntegrationFlowContext}) are resolved again.
+ *
  * @author Mark Fisher
  * @author Gary Russell
  * @author Artem Bilan
@@ -47,12 +56,16 @@ public class BeanFactoryChannelResolver implements DestinationResolver<MessageCh
 
 	private final static Log logger = LogFactory.getLog(BeanFactoryChannelResolver.class);
 
+	private final Map<String, MessageChannel> channelCache = new ConcurrentHashMap<>();
+
 	private volatile BeanFactory beanFactory;
 
 	private volatile HeaderChannelRegistry replyChannelRegistry;
 
 	private volatile boolean initialized;
 
+	private volatile int cacheCapacity;
+
 	/**
 	 * Create a new instance of the {@link BeanFactoryChannelResolver} class.
 	 * <p>The BeanFactory to access must be set via <code>setBeanFactory</code>.
@@ -82,11 +95,53 @@ public class BeanFactoryChannelResolver implements DestinationResolver<MessageCh
 		this.beanFactory = beanFactory;
 	}
 
+	/**
+	 * Set the maximum number of resolved channels to cache; channels resolved after the
+	 * cache is full are not cached. Only singleton channel beans registered directly with
+	 * the bean factory of this resolver are cached. Default 0 - no caching.
+	 * @param cacheCapacity the capacity.
+	 * @since 5.0
+	 */
+	public void setCacheCapacity(int cacheCapacity) {
+		Assert.isTrue(cacheCapacity >= 0, "'cacheCapacity' must not be negative");
+		this.cacheCapacity = cacheCapacity;
+		if (cacheCapacity == 0) {
+			this.channelCache.clear();
+		}
+	}
+
+	/**
+	 * Remove all the cached channels.
+	 * @since 5.0
+	 */
+	public void clearCache() {
+		this.channelCache.clear();
+	}
+
 	@Override
 	public MessageChannel resolveDestination(String name) {
 		Assert.state(this.beanFactory != null, "BeanFactory is required");
+		MessageChannel channel = this.channelCache.get(name);
+		if (channel != null) {
+			if (channel == getSingleton(name)) {
+				return channel;
+			}
+			this.channelCache.remove(name, channel);
+		}
+		HeaderChannelRegistry registry = this.replyChannelRegistry;
+		if (registry != null) {
+			channel = registry.channelNameToChannel(name);
+			if (channel != null) {
+				return channel;
+			}
+		}
 		try {
-			return this.beanFactory.getBean(name, MessageChannel.class);
+			channel = this.beanFactory.getBean(name, MessageChannel.class);
+			if (this.cacheCapacity > 0 && this.channelCache.size() < this.cacheCapacity
+					&& channel == getSingleton(name)) {
+				this.channelCache.put(name, channel);
+			}
+			return channel;
 		}
 		catch (BeansException e) {
 			if (!(e instanceof NoSuchBeanDefinitionException)) {
@@ -108,8 +163,8 @@ public class BeanFactoryChannelResolver implements DestinationResolver<MessageCh
 					}
 				}
 			}
-			if (this.replyChannelRegistry != null) {
-				MessageChannel channel = this.replyChannelRegistry.channelNameToChannel(name);
+			if (registry == null && this.replyChannelRegistry != null) {
+				channel = this.replyChannelRegistry.channelNameToChannel(name);
 				if (channel != null) {
 					return channel;
 				}
@@ -121,4 +176,10 @@ public class BeanFactoryChannelResolver implements DestinationResolver<MessageCh
 		}
 	}
 
+	private Object getSingleton(String name) {
+		return this.beanFactory instanceof SingletonBeanRegistry
+				? ((SingletonBeanRegistry) this.beanFactory).getSingleton(name)
+				: null;
+	}
+
 }
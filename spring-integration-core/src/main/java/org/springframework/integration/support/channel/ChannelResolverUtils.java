@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.channel;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.core.DestinationResolver;
+import org.springframework.util.Assert;
+
+/**
+ * Channel resolution utilities.
+ *
+ * @since 5.0
+ */
+public final class ChannelResolverUtils {
+
+	/**
+	 * The name of the shared channel resolver bean.
+	 */
+	public static final String CHANNEL_RESOLVER_BEAN_NAME = "integrationChannelResolver";
+
+	/**
+	 * The cache capacity of the shared {@link BeanFactoryChannelResolver}.
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+	private ChannelResolverUtils() {
+		super();
+	}
+
+	/**
+	 * Obtain a {@link DestinationResolver} registered with the
+	 * {@value #CHANNEL_RESOLVER_BEAN_NAME} bean name, or a new
+	 * {@link BeanFactoryChannelResolver} if there is no such a bean.
+	 * @param beanFactory BeanFactory for lookup, must not be null.
+	 * @return the channel resolver.
+	 */
+	@SuppressWarnings("unchecked")
+	public static DestinationResolver<MessageChannel> getChannelResolver(BeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "'beanFactory' must not be null");
+		if (!beanFactory.containsBean(CHANNEL_RESOLVER_BEAN_NAME)) {
+			return new BeanFactoryChannelResolver(beanFactory);
+		}
+		return beanFactory.getBean(CHANNEL_RESOLVER_BEAN_NAME, DestinationResolver.class);
+	}
+
+	/**
+	 * Remove the cached channels of the shared channel resolver, if it is a
+	 * {@link BeanFactoryChannelResolver}.
+	 * @param beanFactory BeanFactory for lookup, must not be null.
+	 */
+	public static void clearChannelResolverCache(BeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "'beanFactory' must not be null");
+		if (beanFactory.containsBean(CHANNEL_RESOLVER_BEAN_NAME)) {
+			Object channelResolver = beanFactory.getBean(CHANNEL_RESOLVER_BEAN_NAME);
+			if (channelResolver instanceof BeanFactoryChannelResolver) {
+				((BeanFactoryChannelResolver) channelResolver).clearCache();
+			}
+		}
+	}
+
+}
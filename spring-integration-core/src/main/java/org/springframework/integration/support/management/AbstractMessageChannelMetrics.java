@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -96,6 +96,18 @@ public abstract class AbstractMessageChannelMetrics implements ConfigurableMetri
 
 	public abstract double getStandardDeviationSendDuration();
 
+	/**
+	 * Return the send duration (milliseconds) at the provided percentile; implementations
+	 * not tracking the duration distribution return 0.
+	 * @param percentile the percentile (0-100), e.g. 99.9.
+	 * @return the duration.
+	 * @since 5.0
+	 * @see LatencyHistogram
+	 */
+	public double getSendDurationPercentile(double percentile) {
+		return 0;
+	}
+
 	public abstract Statistics getSendDuration();
 
 	public abstract Statistics getSendRate();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2016 the original author or authors.
+ * Copyright 2009-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,8 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 
 	protected final ExponentialMovingAverageRate sendRate;
 
+	protected final LatencyHistogram sendDurationHistogram;
+
 	protected final AtomicLong sendCount = new AtomicLong();
 
 	protected final AtomicLong sendErrorCount = new AtomicLong();
@@ -83,11 +85,29 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 	public DefaultMessageChannelMetrics(String name, ExponentialMovingAverage sendDuration,
 			ExponentialMovingAverageRate sendErrorRate, ExponentialMovingAverageRatio sendSuccessRatio,
 			ExponentialMovingAverageRate sendRate) {
+		this(name, sendDuration, sendErrorRate, sendSuccessRatio, sendRate, null);
+	}
+
+	/**
+	 * Construct an instance with the supplied metrics and a {@link LatencyHistogram} to
+	 * additionally record the send duration distribution for percentiles.
+	 * @param name the name.
+	 * @param sendDuration an {@link ExponentialMovingAverage} for calculating the send duration.
+	 * @param sendErrorRate an {@link ExponentialMovingAverageRate} for calculating the send error rate.
+	 * @param sendSuccessRatio an {@link ExponentialMovingAverageRatio} for calculating the success ratio.
+	 * @param sendRate an {@link ExponentialMovingAverageRate} for calculating the send rate.
+	 * @param sendDurationHistogram a {@link LatencyHistogram} for the send duration percentiles; may be null.
+	 * @since 5.0
+	 */
+	public DefaultMessageChannelMetrics(String name, ExponentialMovingAverage sendDuration,
+			ExponentialMovingAverageRate sendErrorRate, ExponentialMovingAverageRatio sendSuccessRatio,
+			ExponentialMovingAverageRate sendRate, LatencyHistogram sendDurationHistogram) {
 		super(name);
 		this.sendDuration = sendDuration;
 		this.sendErrorRate = sendErrorRate;
 		this.sendSuccessRatio = sendSuccessRatio;
 		this.sendRate = sendRate;
+		this.sendDurationHistogram = sendDurationHistogram;
 	}
 
 	public void destroy() {
@@ -112,7 +132,11 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 		if (result && isFullStatsEnabled()) {
 			long now = System.nanoTime();
 			this.sendSuccessRatio.success(now);
-			this.sendDuration.append(now - ((DefaultChannelMetricsContext) context).start);
+			long duration = now - ((DefaultChannelMetricsContext) context).start;
+			this.sendDuration.append(duration);
+			if (this.sendDurationHistogram != null) {
+				this.sendDurationHistogram.record(duration);
+			}
 		}
 		else {
 			if (isFullStatsEnabled()) {
@@ -130,6 +154,9 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 		this.sendErrorRate.reset();
 		this.sendSuccessRatio.reset();
 		this.sendRate.reset();
+		if (this.sendDurationHistogram != null) {
+			this.sendDurationHistogram.reset();
+		}
 		this.sendCount.set(0);
 		this.sendErrorCount.set(0);
 		this.receiveErrorCount.set(0);
@@ -196,6 +223,11 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 		return this.sendDuration.getStandardDeviation();
 	}
 
+	@Override
+	public double getSendDurationPercentile(double percentile) {
+		return this.sendDurationHistogram != null ? this.sendDurationHistogram.getValueAtPercentile(percentile) : 0;
+	}
+
 	@Override
 	public Statistics getSendDuration() {
 		return this.sendDuration.getStatistics();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,8 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 
 	protected final ExponentialMovingAverage duration;
 
+	protected final LatencyHistogram durationHistogram;
+
 	public DefaultMessageHandlerMetrics() {
 		this(null);
 	}
@@ -59,8 +61,24 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 	 * @since 4.2
 	 */
 	public DefaultMessageHandlerMetrics(String name, ExponentialMovingAverage duration) {
+		this(name, duration, null);
+	}
+
+	/**
+	 * Construct an instance with the supplied {@link ExponentialMovingAverage} calculating
+	 * the duration of processing by the message handler (and any downstream synchronous
+	 * endpoints) and a {@link LatencyHistogram} to additionally record the duration
+	 * distribution for percentiles.
+	 * @param name the name.
+	 * @param duration an {@link ExponentialMovingAverage} for calculating the duration.
+	 * @param durationHistogram a {@link LatencyHistogram} for the duration percentiles; may be null.
+	 * @since 5.0
+	 */
+	public DefaultMessageHandlerMetrics(String name, ExponentialMovingAverage duration,
+			LatencyHistogram durationHistogram) {
 		super(name);
 		this.duration = duration;
+		this.durationHistogram = durationHistogram;
 	}
 
 	@Override
@@ -78,7 +96,11 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 	public void afterHandle(MetricsContext context, boolean success) {
 		this.activeCount.decrementAndGet();
 		if (isFullStatsEnabled() && success) {
-			this.duration.append(System.nanoTime() - ((DefaultHandlerMetricsContext) context).start);
+			long duration = System.nanoTime() - ((DefaultHandlerMetricsContext) context).start;
+			this.duration.append(duration);
+			if (this.durationHistogram != null) {
+				this.durationHistogram.record(duration);
+			}
 		}
 		else if (!success) {
 			this.errorCount.incrementAndGet();
@@ -88,6 +110,9 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 	@Override
 	public synchronized void reset() {
 		this.duration.reset();
+		if (this.durationHistogram != null) {
+			this.durationHistogram.reset();
+		}
 		this.errorCount.set(0);
 		this.handleCount.set(0);
 	}
@@ -135,6 +160,11 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 		return this.duration.getStandardDeviation();
 	}
 
+	@Override
+	public double getDurationPercentile(double percentile) {
+		return this.durationHistogram != null ? this.durationHistogram.getValueAtPercentile(percentile) : 0;
+	}
+
 	@Override
 	public int getActiveCount() {
 		return (int) this.activeCount.get();
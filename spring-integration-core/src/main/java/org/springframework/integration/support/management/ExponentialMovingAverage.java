@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2016 the original author or authors.
+ * Copyright 2009-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -96,13 +96,18 @@ public class ExponentialMovingAverage {
 		this.count++; //NOSONAR - false positive, we're synchronized
 	}
 
+	/**
+	 * Return a copy of the retained measurements, oldest first.
+	 * @return the measurements.
+	 * @since 5.0
+	 */
+	protected synchronized List<Double> copySamples() {
+		return new ArrayList<Double>(this.samples);
+	}
+
 	private Statistics calc() {
-		List<Double> copy;
-		long count;
-		synchronized (this) {
-			copy = new ArrayList<Double>(this.samples);
-			count = this.count;
-		}
+		List<Double> copy = copySamples();
+		long count = getCountLong();
 		double sum = 0;
 		double decay = 1 - 1. / this.window;
 		double sumSquares = 0;
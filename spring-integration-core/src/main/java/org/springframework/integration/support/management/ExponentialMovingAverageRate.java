@@ -118,13 +118,27 @@ public class ExponentialMovingAverageRate {
 		this.count++; //NOSONAR - false positive, we're synchronized
 	}
 
+	/**
+	 * Return a copy of the retained event times, oldest first.
+	 * @return the times.
+	 * @since 5.0
+	 */
+	protected synchronized List<Long> copyTimes() {
+		return new ArrayList<Long>(this.times);
+	}
+
+	/**
+	 * Return the time of the last event.
+	 * @return the time or null if there are no retained events.
+	 * @since 5.0
+	 */
+	protected synchronized Long lastMeasurement() {
+		return this.times.peekLast();
+	}
+
 	private Statistics calcStatic() {
-		List<Long> copy;
-		long count;
-		synchronized (this) {
-			copy = new ArrayList<Long>(this.times);
-			count = this.count;
-		}
+		List<Long> copy = copyTimes();
+		long count = getCountLong();
 		ExponentialMovingAverage rates = new ExponentialMovingAverage(this.window);
 		double t0 = 0;
 		double sum = 0;
@@ -186,7 +200,7 @@ public class ExponentialMovingAverageRate {
 	 * @return the time in milliseconds since the last measurement
 	 */
 	public double getTimeSinceLastMeasurement() {
-		if (this.count == 0) {
+		if (getCountLong() == 0) {
 			return 0;
 		}
 		double t0 = lastTime();
@@ -206,7 +220,7 @@ public class ExponentialMovingAverageRate {
 	 * @return the new mean.
 	 */
 	private double recalcMean(Statistics staticStats) {
-		long count = this.count;
+		long count = getCountLong();
 		count = count > this.retention ? this.retention : count;
 		if (count == 0) {
 			return 0;
@@ -217,9 +231,10 @@ public class ExponentialMovingAverageRate {
 		return count / (count / staticStats.getMean() + value);
 	}
 
-	private synchronized double lastTime() {
-		if (this.times.size() > 0) {
-			return this.times.peekLast() / this.factor;
+	private double lastTime() {
+		Long last = lastMeasurement();
+		if (last != null) {
+			return last / this.factor;
 		}
 		else {
 			return this.t0;
@@ -137,15 +137,31 @@ public class ExponentialMovingAverageRatio {
 		this.count++; //NOSONAR - false positive, we're synchronized
 	}
 
+	/**
+	 * Copy the retained event times and outcomes (1 for success, 0 for failure), oldest first.
+	 * @param times the list to copy times to.
+	 * @param values the list to copy outcomes to.
+	 * @since 5.0
+	 */
+	protected synchronized void copySamples(List<Long> times, List<Integer> values) {
+		times.addAll(this.times);
+		values.addAll(this.values);
+	}
+
+	/**
+	 * Return the time of the last event.
+	 * @return the time or null if there are no retained events.
+	 * @since 5.0
+	 */
+	protected synchronized Long lastMeasurement() {
+		return this.times.peekLast();
+	}
+
 	private Statistics calcStatic() {
-		List<Long> copyTimes;
-		List<Integer> copyValues;
-		long count;
-		synchronized (this) {
-			copyTimes = new ArrayList<Long>(this.times);
-			copyValues = new ArrayList<Integer>(this.values);
-			count = this.count;
-		}
+		List<Long> copyTimes = new ArrayList<Long>();
+		List<Integer> copyValues = new ArrayList<Integer>();
+		copySamples(copyTimes, copyValues);
+		long count = getCountLong();
 		ExponentialMovingAverage cumulative = new ExponentialMovingAverage(this.window);
 		double t0 = 0;
 		double sum = 0;
@@ -215,7 +231,7 @@ public class ExponentialMovingAverageRatio {
 	 * @return the mean success rate
 	 */
 	public double getMean() {
-		if (this.count == 0) {
+		if (getCountLong() == 0) {
 			// Optimistic to start: success rate is 100%
 			return 1;
 		}
@@ -234,9 +250,10 @@ public class ExponentialMovingAverageRatio {
 		return alpha * mean + 1 - alpha;
 	}
 
-	private synchronized double lastTime() {
-		if (this.times.size() > 0) {
-			return this.times.peekLast();
+	private double lastTime() {
+		Long last = lastMeasurement();
+		if (last != null) {
+			return last;
 		}
 		else {
 			return this.t0 * this.factor;
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A lock-free, fixed memory histogram of durations (nanoseconds) with a configurable
+ * precision, following the High Dynamic Range (HDR) histogram bucketing: values are
+ * grouped by their power of two and each power of two is linearly divided into sub-buckets,
+ * so that the relative error of a recorded value never exceeds the configured number of
+ * significant decimal digits.
+ * <p>
+ * Recording a value is a single atomic increment of the bucket count; percentiles are
+ * calculated from a (weakly consistent) snapshot of the counts and are reported as the
+ * highest value equivalent to the bucket the percentile falls into, in milliseconds.
+ * Values greater than the highest trackable value are recorded as the highest trackable value.
+ *
+ * @since 5.0
+ */
+public class LatencyHistogram {
+
+	/**
+	 * The default highest trackable value - one hour.
+	 */
+	public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+	/**
+	 * The default number of significant decimal digits - 2 (a relative error less than 1%).
+	 */
+	public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+	private final long highestTrackableValue;
+
+	private final int subBucketBits;
+
+	private final int subBucketCount;
+
+	private final int subBucketHalfCount;
+
+	private final AtomicLongArray counts;
+
+	/**
+	 * Construct an instance with the {@link #DEFAULT_HIGHEST_TRACKABLE_VALUE} and
+	 * {@link #DEFAULT_SIGNIFICANT_DIGITS}.
+	 */
+	public LatencyHistogram() {
+		this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+	}
+
+	/**
+	 * Construct an instance with the provided highest trackable value and precision.
+	 * @param highestTrackableValue the highest value (nanoseconds) to distinguish.
+	 * @param significantDigits the number of significant decimal digits (1-4) to maintain.
+	 */
+	public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+		Assert.isTrue(significantDigits >= 1 && significantDigits <= 4, "'significantDigits' must be between 1 and 4");
+		long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+		this.subBucketBits = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+		this.subBucketCount = 1 << this.subBucketBits;
+		this.subBucketHalfCount = this.subBucketCount >> 1;
+		Assert.isTrue(highestTrackableValue >= this.subBucketCount,
+				"'highestTrackableValue' must be at least " + this.subBucketCount);
+		this.highestTrackableValue = highestTrackableValue;
+		this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+	}
+
+	public long getHighestTrackableValue() {
+		return this.highestTrackableValue;
+	}
+
+	/**
+	 * Record a duration.
+	 * @param nanos the duration in nanoseconds; negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		this.counts.incrementAndGet(indexOf(Math.max(0, Math.min(nanos, this.highestTrackableValue))));
+	}
+
+	/**
+	 * @return the number of recorded values.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < this.counts.length(); i++) {
+			count += this.counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Return the value (milliseconds) at the provided percentile, or 0 if no values are recorded.
+	 * @param percentile the percentile (0-100), e.g. 99.9.
+	 * @return the value.
+	 */
+	public double getValueAtPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100, "'percentile' must be between 0 and 100");
+		long[] snapshot = new long[this.counts.length()];
+		long total = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = this.counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long cumulative = 0;
+		int index = 0;
+		for (; index < snapshot.length - 1; index++) {
+			cumulative += snapshot[index];
+			if (cumulative >= countAtPercentile) {
+				break;
+			}
+		}
+		return Math.min(highestEquivalentValue(index), this.highestTrackableValue) / 1000000.;
+	}
+
+	/**
+	 * Clear the recorded values; values recorded concurrently may or may not be retained.
+	 */
+	public void reset() {
+		for (int i = 0; i < this.counts.length(); i++) {
+			this.counts.set(i, 0);
+		}
+	}
+
+	private int indexOf(long value) {
+		if (value < this.subBucketCount) {
+			return (int) value;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(value) - this.subBucketBits;
+		return this.subBucketCount + (shift - 1) * this.subBucketHalfCount
+				+ (int) (value >>> shift) - this.subBucketHalfCount;
+	}
+
+	private long highestEquivalentValue(int index) {
+		if (index < this.subBucketCount) {
+			return index;
+		}
+		int shift = (index - this.subBucketCount) / this.subBucketHalfCount + 1;
+		long subBucket = (index - this.subBucketCount) % this.subBucketHalfCount + this.subBucketHalfCount;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[N=%d, p50=%f, p99=%f, p999=%f]", getCount(), getValueAtPercentile(50),
+				getValueAtPercentile(99), getValueAtPercentile(99.9));
+	}
+
+}
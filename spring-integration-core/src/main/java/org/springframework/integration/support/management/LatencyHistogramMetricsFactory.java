@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+/**
+ * A {@link MetricsFactory} for the {@link DefaultMessageChannelMetrics} and
+ * {@link DefaultMessageHandlerMetrics} which, in addition to the lock-free moving averages
+ * (see {@link LockFreeMetricsFactory}), record the send and handle durations in a
+ * {@link LatencyHistogram}, so the duration percentiles (e.g. p50, p99, p999) are available.
+ * Averages hide the outliers (such as GC pauses or lock contention) which dominate the
+ * tail latency.
+ *
+ * @since 5.0
+ */
+public class LatencyHistogramMetricsFactory implements MetricsFactory {
+
+	private final int window;
+
+	private final long highestTrackableValue;
+
+	private final int significantDigits;
+
+	/**
+	 * Construct an instance with the default moving average window (10) and
+	 * the {@link LatencyHistogram} defaults (1 hour, 2 significant digits).
+	 */
+	public LatencyHistogramMetricsFactory() {
+		this(DefaultMessageChannelMetrics.DEFAULT_MOVING_AVERAGE_WINDOW);
+	}
+
+	/**
+	 * Construct an instance with the provided moving average window and
+	 * the {@link LatencyHistogram} defaults (1 hour, 2 significant digits).
+	 * @param window the exponential lapse window (number of measurements).
+	 */
+	public LatencyHistogramMetricsFactory(int window) {
+		this(window, LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_VALUE, LatencyHistogram.DEFAULT_SIGNIFICANT_DIGITS);
+	}
+
+	/**
+	 * Construct an instance with the provided moving average window and histogram settings.
+	 * @param window the exponential lapse window (number of measurements).
+	 * @param highestTrackableValue the highest duration (nanoseconds) to distinguish.
+	 * @param significantDigits the number of significant decimal digits (1-4) to maintain.
+	 */
+	public LatencyHistogramMetricsFactory(int window, long highestTrackableValue, int significantDigits) {
+		this.window = window;
+		this.highestTrackableValue = highestTrackableValue;
+		this.significantDigits = significantDigits;
+	}
+
+	@Override
+	public AbstractMessageChannelMetrics createChannelMetrics(String name) {
+		return new DefaultMessageChannelMetrics(name,
+				new LockFreeExponentialMovingAverage(this.window, 1000000.),
+				new LockFreeExponentialMovingAverageRate(DefaultMessageChannelMetrics.ONE_SECOND_SECONDS,
+						DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS, this.window, true),
+				new LockFreeExponentialMovingAverageRatio(DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS,
+						this.window, true),
+				new LockFreeExponentialMovingAverageRate(DefaultMessageChannelMetrics.ONE_SECOND_SECONDS,
+						DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS, this.window, true),
+				createHistogram());
+	}
+
+	@Override
+	public AbstractMessageHandlerMetrics createHandlerMetrics(String name) {
+		return new DefaultMessageHandlerMetrics(name, new LockFreeExponentialMovingAverage(this.window, 1000000.),
+				createHistogram());
+	}
+
+	private LatencyHistogram createHistogram() {
+		return new LatencyHistogram(this.highestTrackableValue, this.significantDigits);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -107,6 +107,21 @@ public class LifecycleMessageHandlerMetrics implements MessageHandlerMetrics, Li
 		return this.delegate.getStandardDeviationDuration();
 	}
 
+	@Override
+	public double getP50Duration() {
+		return this.delegate.getP50Duration();
+	}
+
+	@Override
+	public double getP99Duration() {
+		return this.delegate.getP99Duration();
+	}
+
+	@Override
+	public double getP999Duration() {
+		return this.delegate.getP999Duration();
+	}
+
 	@Override
 	public Statistics getDuration() {
 		return this.delegate.getDuration();
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link ExponentialMovingAverage} which records measurements in a lock-free ring
+ * instead of a {@code synchronized} deque; the statistics are calculated the same way,
+ * on retrieval.
+ *
+ * @since 5.0
+ */
+public class LockFreeExponentialMovingAverage extends ExponentialMovingAverage {
+
+	private final int retention;
+
+	private final SampleRing samples;
+
+	/**
+	 * Create a moving average accumulator with decay lapse window provided.
+	 * @param window the exponential lapse window (number of measurements)
+	 */
+	public LockFreeExponentialMovingAverage(int window) {
+		this(window, 1);
+	}
+
+	/**
+	 * Create a moving average accumulator with decay lapse window provided.
+	 * @param window the exponential lapse window (number of measurements)
+	 * @param factor a factor by which raw values are reduced during analysis; e.g. to analyze in ms and
+	 * raw values are ns, set the factor to 1000000.0.
+	 */
+	public LockFreeExponentialMovingAverage(int window, double factor) {
+		super(window, factor);
+		this.retention = window * 5;
+		this.samples = new SampleRing(this.retention);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		this.samples.reset();
+	}
+
+	@Override
+	public void append(double value) {
+		this.samples.add(Double.doubleToRawLongBits(value));
+	}
+
+	@Override
+	protected List<Double> copySamples() {
+		long[] raw = new long[this.retention];
+		int size = this.samples.snapshot(raw, null);
+		List<Double> copy = new ArrayList<Double>(size);
+		for (int i = 0; i < size; i++) {
+			copy.add(Double.longBitsToDouble(raw[i]));
+		}
+		return copy;
+	}
+
+	@Override
+	public int getCount() {
+		return (int) getCountLong();
+	}
+
+	@Override
+	public long getCountLong() {
+		return this.samples.getCount();
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link ExponentialMovingAverageRate} which records event times in a lock-free ring
+ * instead of a {@code synchronized} deque; the statistics are calculated the same way,
+ * on retrieval.
+ *
+ * @since 5.0
+ */
+public class LockFreeExponentialMovingAverageRate extends ExponentialMovingAverageRate {
+
+	private final int retention;
+
+	private final SampleRing times;
+
+	/**
+	 * @param period the period to base the rate measurement (in seconds)
+	 * @param lapsePeriod the exponential lapse rate for the rate average (in seconds)
+	 * @param window the exponential lapse window (number of measurements)
+	 */
+	public LockFreeExponentialMovingAverageRate(double period, double lapsePeriod, int window) {
+		this(period, lapsePeriod, window, false);
+	}
+
+	/**
+	 * @param period the period to base the rate measurement (in seconds)
+	 * @param lapsePeriod the exponential lapse rate for the rate average (in seconds)
+	 * @param window the exponential lapse window (number of measurements)
+	 * @param millis when true, analyze the data as milliseconds instead of the native nanoseconds
+	 */
+	public LockFreeExponentialMovingAverageRate(double period, double lapsePeriod, int window, boolean millis) {
+		super(period, lapsePeriod, window, millis);
+		this.retention = window * 5;
+		this.times = new SampleRing(this.retention);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		this.times.reset();
+	}
+
+	@Override
+	public void increment() {
+		increment(System.nanoTime());
+	}
+
+	@Override
+	public void increment(long t) {
+		this.times.add(t);
+	}
+
+	@Override
+	protected List<Long> copyTimes() {
+		long[] raw = new long[this.retention];
+		int size = this.times.snapshot(raw, null);
+		List<Long> copy = new ArrayList<Long>(size);
+		for (int i = 0; i < size; i++) {
+			copy.add(raw[i]);
+		}
+		return copy;
+	}
+
+	@Override
+	protected Long lastMeasurement() {
+		return this.times.last();
+	}
+
+	@Override
+	public int getCount() {
+		return (int) getCountLong();
+	}
+
+	@Override
+	public long getCountLong() {
+		return this.times.getCount();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import java.util.List;
+
+/**
+ * An {@link ExponentialMovingAverageRatio} which records events in a lock-free ring
+ * instead of {@code synchronized} deques; the statistics are calculated the same way,
+ * on retrieval.
+ *
+ * @since 5.0
+ */
+public class LockFreeExponentialMovingAverageRatio extends ExponentialMovingAverageRatio {
+
+	private final int retention;
+
+	private final SampleRing events;
+
+	/**
+	 * @param lapsePeriod the exponential lapse rate for the rate average (in seconds)
+	 * @param window the exponential lapse window (number of measurements)
+	 */
+	public LockFreeExponentialMovingAverageRatio(double lapsePeriod, int window) {
+		this(lapsePeriod, window, false);
+	}
+
+	/**
+	 * @param lapsePeriod the exponential lapse rate for the rate average (in seconds)
+	 * @param window the exponential lapse window (number of measurements)
+	 * @param millis when true, analyze the data as milliseconds instead of the native nanoseconds
+	 */
+	public LockFreeExponentialMovingAverageRatio(double lapsePeriod, int window, boolean millis) {
+		super(lapsePeriod, window, millis);
+		this.retention = window * 5;
+		this.events = new SampleRing(this.retention);
+	}
+
+	@Override
+	public void success() {
+		this.events.add(System.nanoTime(), 1);
+	}
+
+	@Override
+	public void success(long t) {
+		this.events.add(t, 1);
+	}
+
+	@Override
+	public void failure() {
+		this.events.add(System.nanoTime(), 0);
+	}
+
+	@Override
+	public void failure(long t) {
+		this.events.add(t, 0);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		this.events.reset();
+	}
+
+	@Override
+	protected void copySamples(List<Long> times, List<Integer> values) {
+		long[] rawTimes = new long[this.retention];
+		int[] rawValues = new int[this.retention];
+		int size = this.events.snapshot(rawTimes, rawValues);
+		for (int i = 0; i < size; i++) {
+			times.add(rawTimes[i]);
+			values.add(rawValues[i]);
+		}
+	}
+
+	@Override
+	protected Long lastMeasurement() {
+		return this.events.last();
+	}
+
+	@Override
+	public int getCount() {
+		return (int) getCountLong();
+	}
+
+	@Override
+	public long getCountLong() {
+		return this.events.getCount();
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+/**
+ * A {@link MetricsFactory} for the {@link DefaultMessageChannelMetrics} and
+ * {@link DefaultMessageHandlerMetrics} backed by the lock-free moving averages
+ * ({@link LockFreeExponentialMovingAverage}, {@link LockFreeExponentialMovingAverageRate} and
+ * {@link LockFreeExponentialMovingAverageRatio}). The statistics are the same as with the
+ * {@link DefaultMetricsFactory}, but recording a send or handle measurement doesn't acquire a
+ * monitor, avoiding contention on busy channels and handlers with statistics enabled.
+ *
+ * @since 5.0
+ */
+public class LockFreeMetricsFactory implements MetricsFactory {
+
+	private final int window;
+
+	/**
+	 * Construct an instance with the default moving average window (10).
+	 */
+	public LockFreeMetricsFactory() {
+		this(DefaultMessageChannelMetrics.DEFAULT_MOVING_AVERAGE_WINDOW);
+	}
+
+	/**
+	 * Construct an instance with the provided moving average window.
+	 * @param window the exponential lapse window (number of measurements).
+	 */
+	public LockFreeMetricsFactory(int window) {
+		this.window = window;
+	}
+
+	@Override
+	public AbstractMessageChannelMetrics createChannelMetrics(String name) {
+		return new DefaultMessageChannelMetrics(name,
+				new LockFreeExponentialMovingAverage(this.window, 1000000.),
+				new LockFreeExponentialMovingAverageRate(DefaultMessageChannelMetrics.ONE_SECOND_SECONDS,
+						DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS, this.window, true),
+				new LockFreeExponentialMovingAverageRatio(DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS,
+						this.window, true),
+				new LockFreeExponentialMovingAverageRate(DefaultMessageChannelMetrics.ONE_SECOND_SECONDS,
+						DefaultMessageChannelMetrics.ONE_MINUTE_SECONDS, this.window, true));
+	}
+
+	@Override
+	public AbstractMessageHandlerMetrics createHandlerMetrics(String name) {
+		return new DefaultMessageHandlerMetrics(name, new LockFreeExponentialMovingAverage(this.window, 1000000.));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -103,6 +103,36 @@ public interface MessageChannelMetrics extends IntegrationStatsManagement {
 	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Channel Send Standard Deviation Duration in Milliseconds")
 	double getStandardDeviationSendDuration();
 
+	/**
+	 * @return the median (50th percentile) send duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Channel Send 50th Percentile Duration in Milliseconds")
+	default double getP50SendDuration() {
+		return 0;
+	}
+
+	/**
+	 * @return the 99th percentile send duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Channel Send 99th Percentile Duration in Milliseconds")
+	default double getP99SendDuration() {
+		return 0;
+	}
+
+	/**
+	 * @return the 99.9th percentile send duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Channel Send 99.9th Percentile Duration in Milliseconds")
+	default double getP999SendDuration() {
+		return 0;
+	}
+
 	/**
 	 * @return summary statistics about the send duration (milliseconds)
 	 */
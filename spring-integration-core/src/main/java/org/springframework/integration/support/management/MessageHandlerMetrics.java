@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -76,6 +76,36 @@ public interface MessageHandlerMetrics extends IntegrationStatsManagement {
 	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Handler Standard Deviation Duration in Milliseconds")
 	double getStandardDeviationDuration();
 
+	/**
+	 * @return the median (50th percentile) handler duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Handler 50th Percentile Duration in Milliseconds")
+	default double getP50Duration() {
+		return 0;
+	}
+
+	/**
+	 * @return the 99th percentile handler duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Handler 99th Percentile Duration in Milliseconds")
+	default double getP99Duration() {
+		return 0;
+	}
+
+	/**
+	 * @return the 99.9th percentile handler duration (milliseconds); 0 if percentiles are not tracked
+	 * @since 5.0
+	 * @see LatencyHistogramMetricsFactory
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Handler 99.9th Percentile Duration in Milliseconds")
+	default double getP999Duration() {
+		return 0;
+	}
+
 	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Handler Active Execution Count")
 	int getActiveCount();
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size, lock-free ring of the most recent samples used by the lock-free moving averages.
+ * Writers claim a position with a single atomic increment and publish the sample with a
+ * per-slot sequence; readers take a consistent, oldest-first snapshot of the published samples
+ * skipping those being concurrently (over)written.
+ * Each sample is a {@code long} with an optional {@code int} tag.
+ *
+ * @since 5.0
+ */
+final class SampleRing {
+
+	private final int capacity;
+
+	private final AtomicLongArray values;
+
+	private final AtomicIntegerArray tags;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong count = new AtomicLong();
+
+	SampleRing(int capacity) {
+		this.capacity = capacity;
+		this.values = new AtomicLongArray(capacity);
+		this.tags = new AtomicIntegerArray(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+	}
+
+	void add(long value) {
+		add(value, 0);
+	}
+
+	void add(long value, int tag) {
+		long position = this.count.getAndIncrement();
+		int index = (int) (position % this.capacity);
+		this.sequences.lazySet(index, -1);
+		this.values.lazySet(index, value);
+		this.tags.lazySet(index, tag);
+		this.sequences.lazySet(index, position + 1);
+	}
+
+	long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Snapshot the retained samples, oldest first.
+	 * @param values the array for sample values; must be of the ring capacity.
+	 * @param tags the array for sample tags; must be of the ring capacity, or null if not needed.
+	 * @return the number of samples copied to the arrays.
+	 */
+	int snapshot(long[] values, int[] tags) {
+		long last = this.count.get();
+		long first = Math.max(0, last - this.capacity);
+		int size = 0;
+		for (long position = first; position < last; position++) {
+			int index = (int) (position % this.capacity);
+			if (this.sequences.get(index) == position + 1) {
+				long value = this.values.get(index);
+				int tag = this.tags.get(index);
+				if (this.sequences.get(index) == position + 1) {
+					values[size] = value;
+					if (tags != null) {
+						tags[size] = tag;
+					}
+					size++;
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the most recently published sample value, or null if none.
+	 */
+	Long last() {
+		long last = this.count.get();
+		long first = Math.max(0, last - this.capacity);
+		for (long position = last - 1; position >= first; position--) {
+			int index = (int) (position % this.capacity);
+			if (this.sequences.get(index) == position + 1) {
+				long value = this.values.get(index);
+				if (this.sequences.get(index) == position + 1) {
+					return value;
+				}
+			}
+		}
+		return null;
+	}
+
+	void reset() {
+		this.count.set(0);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, 0);
+		}
+	}
+
+}
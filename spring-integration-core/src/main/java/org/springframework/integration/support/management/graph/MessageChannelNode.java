@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -96,6 +96,18 @@ public class MessageChannelNode extends IntegrationNode {
 			return this.channel.getStandardDeviationSendDuration();
 		}
 
+		public double getP50SendDuration() {
+			return this.channel.getP50SendDuration();
+		}
+
+		public double getP99SendDuration() {
+			return this.channel.getP99SendDuration();
+		}
+
+		public double getP999SendDuration() {
+			return this.channel.getP999SendDuration();
+		}
+
 		public Statistics getSendDuration() {
 			return this.channel.getSendDuration();
 		}
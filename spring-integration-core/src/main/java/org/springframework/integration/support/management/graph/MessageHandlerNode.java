@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -82,6 +82,18 @@ public class MessageHandlerNode extends EndpointNode {
 			return this.handler.getStandardDeviationDuration();
 		}
 
+		public double getP50Duration() {
+			return this.handler.getP50Duration();
+		}
+
+		public double getP99Duration() {
+			return this.handler.getP99Duration();
+		}
+
+		public double getP999Duration() {
+			return this.handler.getP999Duration();
+		}
+
 		public long getActiveCount() {
 			return this.handler.getActiveCountLong();
 		}
@@ -25,7 +25,7 @@ import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.context.Lifecycle;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.integration.expression.ExpressionUtils;
@@ -60,7 +60,7 @@ public class ContentEnricher extends AbstractReplyProducingMessageHandler implem
 	/**
 	 * Customized SpelExpressionParser to allow to specify nested properties when paren is null
 	 */
-	private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(true, true));
+	private final ExpressionParser parser = ExpressionUtils.getAutoGrowExpressionParser();
 
 	private volatile Map<Expression, Expression> nullResultPropertyExpressions = new HashMap<>();
 
@@ -102,7 +102,9 @@ public class HeaderEnricher extends IntegrationObjectSupport implements Transfor
 	@Override
 	public Message<?> transform(Message<?> message) {
 		try {
-			Map<String, Object> headerMap = new HashMap<String, Object>(message.getHeaders());
+			// Only the changed headers are collected and applied on top of the message headers,
+			// instead of copying all of them to a map before the builder copies them again
+			Map<String, Object> headerMap = new HashMap<String, Object>();
 			this.addHeadersFromMessageProcessor(message, headerMap);
 			for (Map.Entry<String, ? extends HeaderValueMessageProcessor<?>> entry : this.headersToAdd.entrySet()) {
 				String key = entry.getKey();
@@ -113,7 +115,7 @@ public class HeaderEnricher extends IntegrationObjectSupport implements Transfor
 					shouldOverwrite = this.defaultOverwrite;
 				}
 
-				boolean headerDoesNotExist = headerMap.get(key) == null;
+				boolean headerDoesNotExist = getHeader(message, headerMap, key) == null;
 
 				/*
 				 * Only evaluate value expression if necessary
@@ -125,7 +127,12 @@ public class HeaderEnricher extends IntegrationObjectSupport implements Transfor
 					}
 				}
 			}
-			return this.getMessageBuilderFactory().withPayload(message.getPayload()).copyHeaders(headerMap).build();
+			// A new message, even for a mutable input message or when no header changes
+			return this.getMessageBuilderFactory()
+					.withPayload(message.getPayload())
+					.copyHeaders(message.getHeaders())
+					.copyHeaders(headerMap)
+					.build();
 		}
 		catch (Exception e) {
 			throw new MessagingException(message, "failed to transform message headers", e);
@@ -140,7 +147,7 @@ public class HeaderEnricher extends IntegrationObjectSupport implements Transfor
 				for (Entry<?, ?> entry : resultMap.entrySet()) {
 					Object key = entry.getKey();
 					if (key instanceof String) {
-						if (this.defaultOverwrite || headerMap.get(key) == null) {
+						if (this.defaultOverwrite || getHeader(message, headerMap, key) == null) {
 							headerMap.put((String) key, entry.getValue());
 						}
 					}
@@ -155,6 +162,10 @@ public class HeaderEnricher extends IntegrationObjectSupport implements Transfor
 		}
 	}
 
+	private static Object getHeader(Message<?> message, Map<String, Object> headerMap, Object key) {
+		return headerMap.containsKey(key) ? headerMap.get(key) : message.getHeaders().get(key);
+	}
+
 	@Override
 	public void onInit() throws Exception {
 		boolean shouldOverwrite = this.defaultOverwrite;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,7 +27,6 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.support.DefaultMessageBuilderFactory;
@@ -49,7 +48,7 @@ public abstract class AbstractExpressionEvaluator implements BeanFactoryAware, I
 
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
-	protected static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+	protected static final ExpressionParser EXPRESSION_PARSER = ExpressionUtils.getExpressionParser();
 
 	private final BeanFactoryTypeConverter typeConverter = new BeanFactoryTypeConverter();
 
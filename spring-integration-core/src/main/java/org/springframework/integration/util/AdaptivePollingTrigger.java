@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.util.Date;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.util.Assert;
+
+/**
+ * A fixed-delay {@link Trigger} for polling endpoints which adapts the delay, and
+ * optionally the {@code maxMessagesPerPoll}, to the yield of the polls:
+ * <ul>
+ * <li>after a poll without messages, the delay is multiplied by the
+ * {@link #setBackOffMultiplier(double) backOffMultiplier}, up to the maximum delay, and
+ * the messages per poll are reset to the minimum;</li>
+ * <li>after a poll which reached its {@code maxMessagesPerPoll}, the delay is reset to the
+ * minimum and the messages per poll are multiplied by the multiplier, up to the maximum;</li>
+ * <li>after any other poll with messages, the delay is divided by the multiplier, down to
+ * the minimum.</li>
+ * </ul>
+ * The {@link org.springframework.integration.endpoint.AbstractPollingEndpoint} reports the
+ * result of each poll to this trigger via {@link #pollCompleted(long, boolean)} and, when a
+ * {@link #setMessagesPerPollRange(int, int) messages per poll range} is configured, uses
+ * {@link #getMessagesPerPoll()} instead of its own {@code maxMessagesPerPoll}.
+ * <p>
+ * An instance must not be shared between endpoints. With an asynchronous
+ * {@code taskExecutor}, a poll result applies to the poll after the next one.
+ *
+ * @since 5.0
+ */
+public class AdaptivePollingTrigger implements Trigger {
+
+	private final long minDelay;
+
+	private final long maxDelay;
+
+	private volatile double backOffMultiplier = 2.0;
+
+	private volatile int minMessagesPerPoll;
+
+	private volatile int maxMessagesPerPoll;
+
+	private volatile long initialDelay;
+
+	private volatile long delay;
+
+	private volatile int messagesPerPoll;
+
+	/**
+	 * Create a trigger with the provided delay bounds in milliseconds; the first delay
+	 * is the minimum.
+	 * @param minDelay the minimum delay between polls.
+	 * @param maxDelay the maximum delay between polls.
+	 */
+	public AdaptivePollingTrigger(long minDelay, long maxDelay) {
+		Assert.isTrue(minDelay >= 0, "'minDelay' must not be negative");
+		Assert.isTrue(maxDelay >= minDelay, "'maxDelay' must not be less than 'minDelay'");
+		this.minDelay = minDelay;
+		this.maxDelay = maxDelay;
+		this.delay = minDelay;
+	}
+
+	/**
+	 * Set the factor to back off the delay with after an empty poll, and to grow the
+	 * messages per poll with after a saturated one. Default 2.0.
+	 * @param backOffMultiplier the multiplier; must be greater than 1.
+	 */
+	public void setBackOffMultiplier(double backOffMultiplier) {
+		Assert.isTrue(backOffMultiplier > 1, "'backOffMultiplier' must be greater than 1");
+		this.backOffMultiplier = backOffMultiplier;
+	}
+
+	/**
+	 * Set the bounds of the messages per poll to adapt; when not set, only the delay is
+	 * adapted and the endpoint's {@code maxMessagesPerPoll} is used.
+	 * @param minMessagesPerPoll the minimum messages per poll; the initial value.
+	 * @param maxMessagesPerPoll the maximum messages per poll.
+	 */
+	public void setMessagesPerPollRange(int minMessagesPerPoll, int maxMessagesPerPoll) {
+		Assert.isTrue(minMessagesPerPoll > 0, "'minMessagesPerPoll' must be greater than 0");
+		Assert.isTrue(maxMessagesPerPoll >= minMessagesPerPoll,
+				"'maxMessagesPerPoll' must not be less than 'minMessagesPerPoll'");
+		this.minMessagesPerPoll = minMessagesPerPoll;
+		this.maxMessagesPerPoll = maxMessagesPerPoll;
+		this.messagesPerPoll = minMessagesPerPoll;
+	}
+
+	/**
+	 * Specify the delay for the initial execution in milliseconds.
+	 * @param initialDelay the initial delay.
+	 */
+	public void setInitialDelay(long initialDelay) {
+		Assert.isTrue(initialDelay >= 0, "'initialDelay' must not be negative");
+		this.initialDelay = initialDelay;
+	}
+
+	/**
+	 * Return the current delay between polls in milliseconds.
+	 * @return the delay.
+	 */
+	public long getDelay() {
+		return this.delay;
+	}
+
+	/**
+	 * Return the current messages per poll, or 0 if no
+	 * {@link #setMessagesPerPollRange(int, int) range} is configured.
+	 * @return the messages per poll.
+	 */
+	public int getMessagesPerPoll() {
+		return this.messagesPerPoll;
+	}
+
+	/**
+	 * Adapt the delay and messages per poll to the result of a poll.
+	 * @param messageCount the number of messages received by the poll.
+	 * @param saturated true if the poll ended because it reached its {@code maxMessagesPerPoll}.
+	 */
+	public synchronized void pollCompleted(long messageCount, boolean saturated) {
+		if (messageCount == 0) {
+			this.delay = Math.min(this.maxDelay, Math.max((long) (this.delay * this.backOffMultiplier), 1));
+			this.messagesPerPoll = this.minMessagesPerPoll;
+		}
+		else if (saturated) {
+			this.delay = this.minDelay;
+			if (this.maxMessagesPerPoll > 0) {
+				this.messagesPerPoll = (int) Math.min(this.maxMessagesPerPoll,
+						Math.ceil(this.messagesPerPoll * this.backOffMultiplier));
+			}
+		}
+		else {
+			this.delay = Math.max(this.minDelay, (long) (this.delay / this.backOffMultiplier));
+		}
+	}
+
+	@Override
+	public Date nextExecutionTime(TriggerContext triggerContext) {
+		if (triggerContext.lastScheduledExecutionTime() == null) {
+			return new Date(System.currentTimeMillis() + this.initialDelay);
+		}
+		return new Date(triggerContext.lastCompletionTime().getTime() + this.delay);
+	}
+
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.ValueConstants;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Invokes a POJO handler method with arguments bound straight from the {@link Message},
+ * bypassing the argument resolvers of the
+ * {@link org.springframework.messaging.handler.invocation.InvocableHandlerMethod}.
+ * <p>The method is called through a class generated once by the {@link LambdaMetafactory}
+ * when it is public, is visible from this class' {@link ClassLoader} and has up to
+ * {@value #MAX_GENERATED_ARITY} parameters; through a {@link MethodHandle} otherwise.
+ * <p>Only payload, {@link Message}, {@link Headers @Headers}, unqualified {@link Map} and
+ * simple {@link Header @Header} parameters are supported: {@link #forMethod} returns
+ * {@code null} for any other method. {@link #invoke} returns {@link #NOT_BOUND} when an
+ * argument of a particular message would require a conversion, a default value or
+ * validation, in which case the caller falls back to the regular invocation.
+ *
+ * @since 5.0
+ */
+final class DirectHandlerMethodInvoker {
+
+	/**
+	 * The result of {@link #invoke} when the message can't be bound directly.
+	 */
+	static final Object NOT_BOUND = new Object();
+
+	private static final int MAX_GENERATED_ARITY = 3;
+
+	private static final Log logger = LogFactory.getLog(DirectHandlerMethodInvoker.class);
+
+	private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER =
+			new LocalVariableTableParameterNameDiscoverer();
+
+	private final Object target;
+
+	private final ArgumentBinder[] binders;
+
+	private final Invoker invoker;
+
+	private DirectHandlerMethodInvoker(Object target, ArgumentBinder[] binders, Invoker invoker) {
+		this.target = target;
+		this.binders = binders;
+		this.invoker = invoker;
+	}
+
+	/**
+	 * Invoke the method with arguments bound from the message.
+	 * @param message the message.
+	 * @return the method result or {@link #NOT_BOUND}.
+	 * @throws Exception any exception thrown by the method.
+	 */
+	Object invoke(Message<?> message) throws Exception {
+		if (message == null) {
+			return NOT_BOUND;
+		}
+		Object[] arguments = new Object[this.binders.length];
+		for (int i = 0; i < arguments.length; i++) {
+			Object argument = this.binders[i].bind(message);
+			if (argument == NOT_BOUND) {
+				return NOT_BOUND;
+			}
+			arguments[i] = argument;
+		}
+		try {
+			return this.invoker.invoke(this.target, arguments);
+		}
+		catch (Exception | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Create an invoker for the provided method if all its parameters can be bound directly.
+	 * @param target the target object.
+	 * @param method the handler method.
+	 * @return the invoker or {@code null}.
+	 */
+	static DirectHandlerMethodInvoker forMethod(Object target, Method method) {
+		Method bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		if (Modifier.isStatic(bridgedMethod.getModifiers())) {
+			return null;
+		}
+		Annotation[][] parameterAnnotations = bridgedMethod.getParameterAnnotations();
+		ArgumentBinder[] binders = new ArgumentBinder[parameterAnnotations.length];
+		for (int i = 0; i < binders.length; i++) {
+			binders[i] = binderFor(new MethodParameter(bridgedMethod, i), parameterAnnotations[i]);
+			if (binders[i] == null) {
+				return null;
+			}
+		}
+		try {
+			return new DirectHandlerMethodInvoker(target, binders, createInvoker(bridgedMethod));
+		}
+		catch (Throwable e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot create a direct invoker for [" + bridgedMethod + "]", e);
+			}
+			return null;
+		}
+	}
+
+	private static ArgumentBinder binderFor(MethodParameter parameter, Annotation[] annotations) {
+		Class<?> parameterType = parameter.getParameterType();
+		if (Collection.class.isAssignableFrom(parameterType)
+				|| Iterator.class.isAssignableFrom(parameterType)
+				|| parameterType.isArray()
+				|| Properties.class.isAssignableFrom(parameterType)
+				|| Optional.class.equals(parameterType)
+				|| MessageHeaderAccessor.class.isAssignableFrom(parameterType)) {
+			return null;
+		}
+		for (Annotation annotation : annotations) {
+			if (annotation.annotationType().getSimpleName().startsWith("Valid")) {
+				return null;
+			}
+		}
+		Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(parameterType);
+		Annotation mappingAnnotation = MessagingAnnotationUtils.findMessagePartAnnotation(annotations, true);
+		if (mappingAnnotation == null) {
+			if (Message.class.isAssignableFrom(parameterType)) {
+				Class<?> payloadType = ResolvableType.forMethodParameter(parameter)
+						.as(Message.class)
+						.getGeneric()
+						.resolve(Object.class);
+				return message ->
+						targetType.isInstance(message) && payloadType.isInstance(message.getPayload())
+								? message
+								: NOT_BOUND;
+			}
+			else if (Map.class.isAssignableFrom(parameterType)) {
+				return message -> {
+					Object map = message.getPayload() instanceof Map ? message.getPayload() : message.getHeaders();
+					return targetType.isInstance(map) ? map : NOT_BOUND;
+				};
+			}
+			else {
+				return payloadBinder(targetType);
+			}
+		}
+		Class<? extends Annotation> annotationType = mappingAnnotation.annotationType();
+		if (annotationType.equals(Payload.class)) {
+			if (StringUtils.hasText((String) AnnotationUtils.getValue(mappingAnnotation))) {
+				return null;
+			}
+			return payloadBinder(targetType);
+		}
+		else if (annotationType.equals(Headers.class)) {
+			return message -> targetType.isInstance(message.getHeaders()) ? message.getHeaders() : NOT_BOUND;
+		}
+		else if (annotationType.equals(Header.class) && !Map.class.isAssignableFrom(parameterType)) {
+			AnnotationAttributes annotationAttributes =
+					(AnnotationAttributes) AnnotationUtils.getAnnotationAttributes(mappingAnnotation);
+			if (!ValueConstants.DEFAULT_NONE.equals(annotationAttributes.getString("defaultValue"))) {
+				return null;
+			}
+			String headerName = annotationAttributes.getString(AnnotationUtils.VALUE);
+			if (!StringUtils.hasText(headerName)) {
+				parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+				headerName = parameter.getParameterName();
+			}
+			if (headerName == null || headerName.indexOf('.') != -1) {
+				return null;
+			}
+			String name = headerName;
+			return message -> {
+				Object value = message.getHeaders().get(name);
+				return targetType.isInstance(value) ? value : NOT_BOUND;
+			};
+		}
+		return null;
+	}
+
+	private static ArgumentBinder payloadBinder(Class<?> targetType) {
+		return message -> targetType.isInstance(message.getPayload()) ? message.getPayload() : NOT_BOUND;
+	}
+
+	private static Invoker createInvoker(Method method) throws Throwable {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		int arity = method.getParameterCount();
+		if (arity <= MAX_GENERATED_ARITY && !void.class.equals(method.getReturnType()) && isAccessible(method)) {
+			MethodHandle handle = lookup.unreflect(method);
+			switch (arity) {
+				case 0:
+					Invoker0 invoker0 = (Invoker0) generate(lookup, handle, Invoker0.class).invoke();
+					return (target, arguments) -> invoker0.invoke(target);
+				case 1:
+					Invoker1 invoker1 = (Invoker1) generate(lookup, handle, Invoker1.class).invoke();
+					return (target, arguments) -> invoker1.invoke(target, arguments[0]);
+				case 2:
+					Invoker2 invoker2 = (Invoker2) generate(lookup, handle, Invoker2.class).invoke();
+					return (target, arguments) -> invoker2.invoke(target, arguments[0], arguments[1]);
+				default:
+					Invoker3 invoker3 = (Invoker3) generate(lookup, handle, Invoker3.class).invoke();
+					return (target, arguments) -> invoker3.invoke(target, arguments[0], arguments[1], arguments[2]);
+			}
+		}
+		ReflectionUtils.makeAccessible(method);
+		MethodHandle handle = lookup.unreflect(method)
+				.asSpreader(Object[].class, arity)
+				.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		return (target, arguments) -> (Object) handle.invokeExact(target, arguments);
+	}
+
+	private static MethodHandle generate(MethodHandles.Lookup lookup, MethodHandle handle, Class<?> invokerType)
+			throws Exception {
+
+		CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+				MethodType.methodType(invokerType),
+				MethodType.genericMethodType(handle.type().parameterCount()),
+				handle,
+				handle.type().wrap().changeReturnType(Object.class));
+		return callSite.getTarget();
+	}
+
+	/*
+	 * The generated class references the declaring and parameter types, so they have to be
+	 * public and resolvable from the class loader of this class.
+	 */
+	private static boolean isAccessible(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || !isAccessible(method.getDeclaringClass())) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isAccessible(parameterType)) {
+				return false;
+			}
+		}
+		return isAccessible(method.getReturnType());
+	}
+
+	private static boolean isAccessible(Class<?> type) {
+		Class<?> componentType = type;
+		while (componentType.isArray()) {
+			componentType = componentType.getComponentType();
+		}
+		return componentType.isPrimitive()
+				|| (Modifier.isPublic(componentType.getModifiers())
+						&& ClassUtils.isVisible(componentType, DirectHandlerMethodInvoker.class.getClassLoader()));
+	}
+
+	@FunctionalInterface
+	private interface ArgumentBinder {
+
+		Object bind(Message<?> message);
+
+	}
+
+	@FunctionalInterface
+	private interface Invoker {
+
+		Object invoke(Object target, Object[] arguments) throws Throwable;
+
+	}
+
+	@FunctionalInterface
+	interface Invoker0 {
+
+		Object invoke(Object target);
+
+	}
+
+	@FunctionalInterface
+	interface Invoker1 {
+
+		Object invoke(Object target, Object argument1);
+
+	}
+
+	@FunctionalInterface
+	interface Invoker2 {
+
+		Object invoke(Object target, Object argument1, Object argument2);
+
+	}
+
+	@FunctionalInterface
+	interface Invoker3 {
+
+		Object invoke(Object target, Object argument1, Object argument2, Object argument3);
+
+	}
+
+}
@@ -123,7 +123,7 @@ public class MessagingMethodInvokerHelper<T> extends AbstractExpressionEvaluator
 	// Number of times to try an InvocableHandlerMethod before giving up in favor of an expression.
 	private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
 
-	private static final ExpressionParser EXPRESSION_PARSER_DEFAULT = EXPRESSION_PARSER;
+	private static final ExpressionParser EXPRESSION_PARSER_DEFAULT = new SpelExpressionParser();
 
 	private static final ExpressionParser EXPRESSION_PARSER_OFF = new SpelExpressionParser(
 			new SpelParserConfiguration(SpelCompilerMode.OFF, null));
@@ -463,6 +463,11 @@ public class MessagingMethodInvokerHelper<T> extends AbstractExpressionEvaluator
 				: SPEL_COMPILERS.get(SpelCompilerMode.valueOf(compilerMode));
 		}
 		candidate.expression = parser.parseExpression(candidate.expressionString);
+		if (!candidate.canProcessMessageList) {
+			candidate.directInvoker =
+					DirectHandlerMethodInvoker.forMethod(candidate.invocableHandlerMethod.getBean(),
+							candidate.invocableHandlerMethod.getMethod());
+		}
 		candidate.initialized = true;
 	}
 
@@ -909,6 +914,8 @@ public class MessagingMethodInvokerHelper<T> extends AbstractExpressionEvaluator
 
 		private volatile Expression expression;
 
+		private volatile DirectHandlerMethodInvoker directInvoker;
+
 		private volatile TypeDescriptor targetParameterTypeDescriptor;
 
 		private volatile Class<?> targetParameterType = Void.class;
@@ -939,6 +946,12 @@ public class MessagingMethodInvokerHelper<T> extends AbstractExpressionEvaluator
 			if (this.canProcessMessageList) {
 				message = new MutableMessage<>(parameters.getMessages(), parameters.getHeaders());
 			}
+			else if (this.directInvoker != null) {
+				Object result = this.directInvoker.invoke(message);
+				if (result != DirectHandlerMethodInvoker.NOT_BOUND) {
+					return (T) result;
+				}
+			}
 			return (T) this.invocableHandlerMethod.invoke(message);
 		}
 
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, lock-free, multi-producer/multi-consumer {@link BlockingQueue} backed by a
+ * pre-allocated ring buffer.
+ * <p>
+ * Each slot carries a sequence number which producers and consumers claim with a single
+ * CAS on the tail and head counters respectively, so no node is allocated per element and
+ * no lock is taken on the non-waiting paths. The capacity is rounded up to the next power of two.
+ * <p>
+ * The {@link WaitStrategy} determines how a thread idles when the queue is full (producers)
+ * or empty (consumers) within the blocking and timed operations.
+ * <p>
+ * The {@link #iterator()} returns a weakly consistent snapshot which doesn't support removal;
+ * therefore {@link #remove(Object)} is not supported either.
+ *
+ * @param <E> the element type.
+ *
+ * @since 5.0
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+	private static final int SPIN_TRIES = 100;
+
+	private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final int capacity;
+
+	private final int mask;
+
+	private final AtomicReferenceArray<E> buffer;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong tail = new AtomicLong();
+
+	private final WaitStrategy waitStrategy;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = this.lock.newCondition();
+
+	private final Condition notFull = this.lock.newCondition();
+
+	private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+	private final AtomicInteger waitingProducers = new AtomicInteger();
+
+	/**
+	 * Create a queue with the provided capacity and {@link WaitStrategy#BLOCKING} strategy.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 */
+	public RingBufferBlockingQueue(int capacity) {
+		this(capacity, WaitStrategy.BLOCKING);
+	}
+
+	/**
+	 * Create a queue with the provided capacity and {@link WaitStrategy}.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 * @param waitStrategy the {@link WaitStrategy} for full/empty conditions.
+	 */
+	public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+		Assert.isTrue(capacity > 0, "'capacity' must be a positive integer");
+		Assert.isTrue(capacity <= (1 << 30), "'capacity' must not be greater than 2^30");
+		Assert.notNull(waitStrategy, "'waitStrategy' must not be null");
+		this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.mask = this.capacity - 1;
+		this.buffer = new AtomicReferenceArray<>(this.capacity);
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, i);
+		}
+		this.waitStrategy = waitStrategy;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return this.waitStrategy;
+	}
+
+	@Override
+	public boolean offer(E e) {
+		Assert.notNull(e, "'e' must not be null");
+		long position = this.tail.get();
+		while (true) {
+			int index = (int) (position & this.mask);
+			long difference = this.sequences.get(index) - position;
+			if (difference == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					this.buffer.lazySet(index, e);
+					this.sequences.set(index, position + 1);
+					signal(this.waitingConsumers, this.notEmpty);
+					return true;
+				}
+				position = this.tail.get();
+			}
+			else if (difference < 0) {
+				return false;
+			}
+			else {
+				position = this.tail.get();
+			}
+		}
+	}
+
+	@Override
+	public E poll() {
+		long position = this.head.get();
+		while (true) {
+			int index = (int) (position & this.mask);
+			long difference = this.sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (this.head.compareAndSet(position, position + 1)) {
+					E e = this.buffer.get(index);
+					this.buffer.lazySet(index, null);
+					this.sequences.set(index, position + this.capacity);
+					signal(this.waitingProducers, this.notFull);
+					return e;
+				}
+				position = this.head.get();
+			}
+			else if (difference < 0) {
+				return null;
+			}
+			else {
+				position = this.head.get();
+			}
+		}
+	}
+
+	@Override
+	public E peek() {
+		long position = this.head.get();
+		int index = (int) (position & this.mask);
+		if (this.sequences.get(index) == position + 1) {
+			return this.buffer.get(index);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		long deadline = System.nanoTime() + nanos;
+		int idleCount = 0;
+		while (!offer(e)) {
+			nanos = deadline - System.nanoTime();
+			if (nanos <= 0) {
+				return false;
+			}
+			idleCount = idle(idleCount, nanos, this.waitingProducers, this.notFull);
+		}
+		return true;
+	}
+
+	@Override
+	public void put(E e) throws InterruptedException {
+		int idleCount = 0;
+		while (!offer(e)) {
+			idleCount = idle(idleCount, Long.MAX_VALUE, this.waitingProducers, this.notFull);
+		}
+	}
+
+	@Override
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		long deadline = System.nanoTime() + nanos;
+		int idleCount = 0;
+		E e;
+		while ((e = poll()) == null) {
+			nanos = deadline - System.nanoTime();
+			if (nanos <= 0) {
+				return null;
+			}
+			idleCount = idle(idleCount, nanos, this.waitingConsumers, this.notEmpty);
+		}
+		return e;
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		int idleCount = 0;
+		E e;
+		while ((e = poll()) == null) {
+			idleCount = idle(idleCount, Long.MAX_VALUE, this.waitingConsumers, this.notEmpty);
+		}
+		return e;
+	}
+
+	@Override
+	public int size() {
+		long head = this.head.get();
+		long size = this.tail.get() - head;
+		return (int) Math.max(0, Math.min(size, this.capacity));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.tail.get() == this.head.get();
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return this.capacity - size();
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements) {
+		Assert.notNull(c, "'c' must not be null");
+		Assert.isTrue(c != this, "Cannot drain a queue to itself");
+		int drained = 0;
+		while (drained < maxElements) {
+			E e = poll();
+			if (e == null) {
+				break;
+			}
+			c.add(e);
+			drained++;
+		}
+		return drained;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		List<E> snapshot = new ArrayList<>(size());
+		long position = this.head.get();
+		long limit = this.tail.get();
+		for (; position < limit; position++) {
+			E e = this.buffer.get((int) (position & this.mask));
+			if (e != null) {
+				snapshot.add(e);
+			}
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	private int idle(int idleCount, long nanos, AtomicInteger waiters, Condition condition)
+			throws InterruptedException {
+
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		switch (this.waitStrategy) {
+			case YIELD:
+				if (idleCount > SPIN_TRIES) {
+					Thread.yield();
+				}
+				break;
+			case PARK:
+				if (idleCount > SPIN_TRIES) {
+					LockSupport.parkNanos(this, Math.min(nanos, PARK_NANOS));
+				}
+				break;
+			case BLOCKING:
+				block(nanos, waiters, condition);
+				break;
+			default:
+				break;
+		}
+		return idleCount + 1;
+	}
+
+	private void block(long nanos, AtomicInteger waiters, Condition condition) throws InterruptedException {
+		this.lock.lockInterruptibly();
+		try {
+			waiters.incrementAndGet();
+			try {
+				boolean mustWait = condition == this.notEmpty ? isEmpty() : size() >= this.capacity;
+				if (mustWait) {
+					condition.awaitNanos(nanos);
+				}
+			}
+			finally {
+				waiters.decrementAndGet();
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void signal(AtomicInteger waiters, Condition condition) {
+		if (this.waitStrategy == WaitStrategy.BLOCKING && waiters.get() > 0) {
+			this.lock.lock();
+			try {
+				condition.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[capacity=" + this.capacity + ", size=" + size()
+				+ ", waitStrategy=" + this.waitStrategy + "]";
+	}
+
+	/**
+	 * The strategy for a producer or consumer waiting on a full or empty ring buffer.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Busy spin; the lowest latency at the cost of a fully occupied CPU core per waiting thread.
+		 */
+		SPIN,
+
+		/**
+		 * Spin for a while then {@link Thread#yield()} to other threads.
+		 */
+		YIELD,
+
+		/**
+		 * Spin for a while then park for short periods; a trade-off between latency and CPU usage.
+		 */
+		PARK,
+
+		/**
+		 * Wait on a lock condition which is signalled only when there are waiting threads;
+		 * the most CPU-friendly strategy, similar to the {@link java.util.concurrent.LinkedBlockingQueue}.
+		 */
+		BLOCKING
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link SimpleAsyncTaskExecutor} which runs each task on a new virtual thread, so
+ * blocking handlers (JDBC, HTTP, SFTP etc.) can have a large number of messages in flight
+ * without sizing a thread pool.
+ * <p>
+ * Virtual threads require a Java 21 (or later) runtime; they are created reflectively, so
+ * this class can be loaded on earlier runtimes, but its constructors throw an
+ * {@link IllegalStateException} there: use {@link #isSupported()} to check.
+ * <p>
+ * The {@link #setConcurrencyLimit(int) concurrencyLimit} can be used to throttle the
+ * number of concurrent tasks, e.g. to protect a downstream resource.
+ *
+ * @since 5.0
+ */
+public class VirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor {
+
+	private static final Method OF_VIRTUAL_METHOD;
+
+	private static final Method NAME_METHOD;
+
+	private static final Method FACTORY_METHOD;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method factory = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			name = builderClass.getMethod("name", String.class, long.class);
+			factory = builderClass.getMethod("factory");
+			// preview runtimes throw UnsupportedOperationException when preview features are disabled
+			ofVirtual.invoke(null);
+		}
+		catch (Exception e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL_METHOD = ofVirtual;
+		NAME_METHOD = name;
+		FACTORY_METHOD = factory;
+	}
+
+	/**
+	 * Create an instance with {@code virtual-} prefixed thread names.
+	 */
+	public VirtualThreadTaskExecutor() {
+		this("virtual-");
+	}
+
+	/**
+	 * Create an instance with the provided thread name prefix.
+	 * @param threadNamePrefix the thread name prefix.
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		super(virtualThreadFactory(threadNamePrefix));
+		setThreadNamePrefix(threadNamePrefix);
+	}
+
+	/**
+	 * Return true if the current runtime supports virtual threads.
+	 * @return true if virtual threads are supported.
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL_METHOD != null;
+	}
+
+	private static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+		Assert.state(isSupported(), "Virtual threads require a Java 21 or later runtime");
+		Assert.notNull(threadNamePrefix, "'threadNamePrefix' must not be null");
+		Object builder = ReflectionUtils.invokeMethod(OF_VIRTUAL_METHOD, null);
+		builder = ReflectionUtils.invokeMethod(NAME_METHOD, builder, threadNamePrefix, 0L);
+		return (ThreadFactory) ReflectionUtils.invokeMethod(FACTORY_METHOD, builder);
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class AccumulatingMessageGroupProcessorTests {
+
+	@Test
+	public void testFoldLargeGroup() {
+		SimpleMessageStore store = new SimpleMessageStore();
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new AccumulatingMessageGroupProcessor<Long>(
+						(sum, message) -> (sum == null ? 0L : sum) + (Integer) message.getPayload()), store);
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		int size = 100000;
+		for (int i = 1; i <= size; i++) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId("foo")
+					.setSequenceNumber(i)
+					.setSequenceSize(size)
+					.setHeader("common", "bar")
+					.setHeader("conflict", i % 3)
+					.setHeader("sometimes", i == 42 ? "baz" : null)
+					.build());
+			if (i < size) {
+				assertEquals(1, store.getMessageGroup("foo").size());
+			}
+		}
+		Message<?> result = outputChannel.receive(0);
+		assertNotNull(result);
+		assertEquals((long) size * (size + 1) / 2, result.getPayload());
+		assertEquals("foo", new IntegrationMessageHeaderAccessor(result).getCorrelationId());
+		assertEquals("bar", result.getHeaders().get("common"));
+		assertEquals("baz", result.getHeaders().get("sometimes"));
+		assertFalse(result.getHeaders().containsKey("conflict"));
+		assertFalse(result.getHeaders().containsKey(AccumulatingMessageGroupProcessor.ACCUMULATED_COUNT));
+		assertFalse(result.getHeaders().containsKey(AccumulatingMessageGroupProcessor.ACCUMULATED_HEADER_CONFLICTS));
+		assertEquals(0, store.getMessageCountForAllMessageGroups());
+	}
+
+	@Test
+	public void testCountReleaseStrategyAndResult() {
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new AccumulatingMessageGroupProcessor<>(new MessageAccumulator<StringBuilder>() {
+
+					@Override
+					public StringBuilder accumulate(StringBuilder accumulator, Message<?> message) {
+						return (accumulator == null ? new StringBuilder() : accumulator).append(message.getPayload());
+					}
+
+					@Override
+					public Object result(StringBuilder accumulator) {
+						return accumulator.toString();
+					}
+
+				}), new SimpleMessageStore(), message -> "foo", new MessageCountReleaseStrategy(3));
+		aggregator.setExpireGroupsUponCompletion(true);
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (String payload : new String[] { "a", "b", "c", "d", "e" }) {
+			aggregator.handleMessage(MessageBuilder.withPayload(payload).build());
+		}
+		Message<?> result = outputChannel.receive(0);
+		assertNotNull(result);
+		assertEquals("abc", result.getPayload());
+		assertNull(outputChannel.receive(0));
+		assertEquals(1, aggregator.getMessageStore().getMessageGroup("foo").size());
+		assertEquals("de", aggregator.getMessageStore().getOneMessageFromGroup("foo").getPayload().toString());
+	}
+
+	@Test
+	public void testTimeoutCountThreshold() {
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new AccumulatingMessageGroupProcessor<Integer>(
+						(count, message) -> (count == null ? 0 : count) + 1),
+				new SimpleMessageStore(), message -> "foo", new TimeoutCountSequenceSizeReleaseStrategy(3, 60000));
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i = 0; i < 3; i++) {
+			assertNull(outputChannel.receive(0));
+			aggregator.handleMessage(new GenericMessage<>(i));
+		}
+		Message<?> result = outputChannel.receive(0);
+		assertNotNull(result);
+		assertEquals(3, result.getPayload());
+	}
+
+	@Test
+	public void testDuplicateSequenceAndExpiryDiscard() {
+		SimpleMessageStore store = new SimpleMessageStore();
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new AccumulatingMessageGroupProcessor<Integer>(
+						(sum, message) -> (sum == null ? 0 : sum) + (Integer) message.getPayload()),
+				store, null, new SequenceSizeReleaseStrategy());
+		QueueChannel outputChannel = new QueueChannel();
+		QueueChannel discardChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setDiscardChannel(discardChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i : new int[] { 1, 2, 2 }) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId("foo")
+					.setSequenceNumber(i)
+					.setSequenceSize(3)
+					.build());
+		}
+		Message<?> duplicate = discardChannel.receive(0);
+		assertNotNull(duplicate);
+		assertEquals(2, duplicate.getPayload());
+		assertNull(outputChannel.receive(0));
+		assertEquals(2, store.getOneMessageFromGroup("foo")
+				.getHeaders().get(AccumulatingMessageGroupProcessor.ACCUMULATED_COUNT));
+
+		// the originals are not retained: the accumulated message is discarded on expiry
+		assertEquals(1, store.expireMessageGroups(-10000));
+		Message<?> discarded = discardChannel.receive(0);
+		assertNotNull(discarded);
+		assertEquals(3, discarded.getPayload());
+		assertEquals(2, discarded.getHeaders().get(AccumulatingMessageGroupProcessor.ACCUMULATED_COUNT));
+		assertNull(discardChannel.receive(0));
+		assertNull(outputChannel.receive(0));
+	}
+
+}
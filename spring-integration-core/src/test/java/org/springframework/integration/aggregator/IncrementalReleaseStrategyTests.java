@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.util.TestUtils;
+import org.springframework.messaging.Message;
+
+/**
+ * @since 5.0
+ */
+public class IncrementalReleaseStrategyTests {
+
+	@Test
+	public void testAggregatorDoesNotRescanGroup() {
+		final AtomicInteger createStateCount = new AtomicInteger();
+		final AtomicInteger fullScanCount = new AtomicInteger();
+		IncrementalSequenceSizeReleaseStrategy releaseStrategy = new IncrementalSequenceSizeReleaseStrategy() {
+
+			@Override
+			public BitSet createState(MessageGroup group) {
+				createStateCount.incrementAndGet();
+				return super.createState(group);
+			}
+
+			@Override
+			public boolean canRelease(MessageGroup messageGroup) {
+				fullScanCount.incrementAndGet();
+				return super.canRelease(messageGroup);
+			}
+
+		};
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new DefaultAggregatingMessageGroupProcessor(), new SimpleMessageStore(), null, releaseStrategy);
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i = 1; i <= 1000; i++) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId("foo")
+					.setSequenceNumber(i)
+					.setSequenceSize(1000)
+					.build());
+		}
+		Message<?> result = outputChannel.receive(0);
+		assertNotNull(result);
+		assertEquals(1000, ((Collection<?>) result.getPayload()).size());
+		assertEquals(1, createStateCount.get());
+		assertEquals(0, fullScanCount.get());
+	}
+
+	@Test
+	public void testResequencerPartialSequences() {
+		ResequencingMessageHandler resequencer = new ResequencingMessageHandler(
+				new ResequencingMessageGroupProcessor(), new SimpleMessageStore(), null,
+				new IncrementalSequenceSizeReleaseStrategy(true));
+		QueueChannel outputChannel = new QueueChannel();
+		resequencer.setOutputChannel(outputChannel);
+		resequencer.setBeanFactory(mock(BeanFactory.class));
+		resequencer.afterPropertiesSet();
+		for (int sequenceNumber : new int[] { 3, 1, 2, 5, 6, 4 }) {
+			resequencer.handleMessage(MessageBuilder.withPayload(sequenceNumber)
+					.setCorrelationId("foo")
+					.setSequenceNumber(sequenceNumber)
+					.setSequenceSize(6)
+					.build());
+		}
+		for (int i = 1; i <= 6; i++) {
+			Message<?> message = outputChannel.receive(0);
+			assertNotNull(message);
+			assertEquals(i, new IntegrationMessageHeaderAccessor(message).getSequenceNumber());
+		}
+		assertNull(outputChannel.receive(0));
+	}
+
+	@Test
+	public void testResequencerPartialReleaseUpdatesState() {
+		final AtomicInteger createStateCount = new AtomicInteger();
+		IncrementalSequenceSizeReleaseStrategy releaseStrategy = new IncrementalSequenceSizeReleaseStrategy(true) {
+
+			@Override
+			public BitSet createState(MessageGroup group) {
+				createStateCount.incrementAndGet();
+				return super.createState(group);
+			}
+
+		};
+		ResequencingMessageHandler resequencer = new ResequencingMessageHandler(
+				new ResequencingMessageGroupProcessor(), new SimpleMessageStore(), null, releaseStrategy);
+		QueueChannel outputChannel = new QueueChannel();
+		resequencer.setOutputChannel(outputChannel);
+		resequencer.setBeanFactory(mock(BeanFactory.class));
+		resequencer.afterPropertiesSet();
+		for (int sequenceNumber : new int[] { 3, 1, 2, 5, 6, 4 }) {
+			resequencer.handleMessage(MessageBuilder.withPayload(sequenceNumber)
+					.setCorrelationId("foo")
+					.setSequenceNumber(sequenceNumber)
+					.setSequenceSize(6)
+					.build());
+		}
+		for (int i = 1; i <= 6; i++) {
+			Message<?> message = outputChannel.receive(0);
+			assertNotNull(message);
+			assertEquals(i, new IntegrationMessageHeaderAccessor(message).getSequenceNumber());
+		}
+		// created for '3' and, after the group has been emptied by the release of '2' and '3', for '5'
+		assertEquals(2, createStateCount.get());
+	}
+
+	@Test
+	public void testStatesOfRemovedGroupsEvicted() {
+		SimpleMessageStore messageStore = new SimpleMessageStore();
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new DefaultAggregatingMessageGroupProcessor(), messageStore, null,
+				new IncrementalSequenceSizeReleaseStrategy());
+		aggregator.setOutputChannel(new QueueChannel());
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i = 0; i < 100; i++) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId(i)
+					.setSequenceNumber(1)
+					.setSequenceSize(2)
+					.build());
+			messageStore.removeMessageGroup(i);
+		}
+		Map<?, ?> states = TestUtils.getPropertyValue(aggregator, "incrementalReleaseStates", Map.class);
+		assertEquals(100, states.size());
+		aggregator.handleMessage(MessageBuilder.withPayload("foo")
+				.setCorrelationId("foo")
+				.setSequenceNumber(1)
+				.setSequenceSize(2)
+				.build());
+		assertEquals(1, states.size());
+	}
+
+	@Test
+	public void testTimeoutCountThreshold() {
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new DefaultAggregatingMessageGroupProcessor(), new SimpleMessageStore(), message -> "foo",
+				new IncrementalTimeoutCountSequenceSizeReleaseStrategy(5, 60000));
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i = 0; i < 4; i++) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i).build());
+		}
+		assertNull(outputChannel.receive(0));
+		aggregator.handleMessage(MessageBuilder.withPayload(4).build());
+		Message<?> result = outputChannel.receive(0);
+		assertNotNull(result);
+		assertEquals(5, ((Collection<?>) result.getPayload()).size());
+	}
+
+	@Test
+	public void testTimeoutCountTimeout() {
+		IncrementalTimeoutCountSequenceSizeReleaseStrategy releaseStrategy =
+				new IncrementalTimeoutCountSequenceSizeReleaseStrategy(100, 1000);
+		MessageGroup group = new SimpleMessageStore().addMessageToGroup("foo",
+				MessageBuilder.withPayload("foo").build());
+		AtomicLong state = releaseStrategy.createState(group);
+		assertFalse(releaseStrategy.canRelease(group, state, null));
+		state.set(System.currentTimeMillis() - 2000);
+		assertTrue(releaseStrategy.canRelease(group, state, null));
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class PartitionedChannelTests {
+
+	@Test
+	public void testPerKeyOrdering() throws Exception {
+		PartitionedChannel channel = new PartitionedChannel(4);
+		channel.setPartitionQueueCapacity(10);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		verifyPerKeyOrdering(channel, "correlationId");
+	}
+
+	@Test
+	public void testPartitionKeyExpression() throws Exception {
+		PartitionedChannel channel =
+				new PartitionedChannel(3, new SpelExpressionParser().parseExpression("headers.account"));
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		verifyPerKeyOrdering(channel, "account");
+	}
+
+	@Test
+	public void testMessagesWithoutKeySpread() throws Exception {
+		PartitionedChannel channel = new PartitionedChannel(4);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		int count = 100;
+		CountDownLatch latch = new CountDownLatch(count);
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		channel.subscribe(m -> {
+			threads.add(Thread.currentThread().getName());
+			latch.countDown();
+		});
+		for (int i = 0; i < count; i++) {
+			assertTrue(channel.send(new GenericMessage<>(i)));
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertTrue(threads.size() > 1);
+		channel.destroy();
+	}
+
+	@Test
+	public void testNoReconfigurationAfterFirstSend() throws Exception {
+		PartitionedChannel channel = new PartitionedChannel(2);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		channel.subscribe(m -> latch.countDown());
+		assertTrue(channel.send(new GenericMessage<>("foo")));
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		try {
+			channel.setPartitionQueueCapacity(10);
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("partitionQueueCapacity"));
+		}
+		try {
+			channel.setErrorHandler(t -> { });
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("errorHandler"));
+		}
+		channel.destroy();
+	}
+
+	private void verifyPerKeyOrdering(PartitionedChannel channel, String keyHeader) throws Exception {
+		int keys = 8;
+		int count = 500;
+		CountDownLatch latch = new CountDownLatch(keys * count);
+		Map<Object, List<Object>> received = new ConcurrentHashMap<>();
+		Map<Object, String> threads = new ConcurrentHashMap<>();
+		List<Object> otherThreadKeys = new ArrayList<>();
+		channel.subscribe(m -> {
+			Object key = m.getHeaders().get(keyHeader);
+			received.computeIfAbsent(key, k -> new ArrayList<>()).add(m.getPayload());
+			String thread = Thread.currentThread().getName();
+			if (!thread.equals(threads.computeIfAbsent(key, k -> thread))) {
+				synchronized (otherThreadKeys) {
+					otherThreadKeys.add(key);
+				}
+			}
+			latch.countDown();
+		});
+		for (int i = 0; i < count; i++) {
+			for (int key = 0; key < keys; key++) {
+				Message<Integer> message = MessageBuilder.withPayload(i)
+						.setHeader(keyHeader, "key" + key)
+						.build();
+				assertTrue(channel.send(message));
+			}
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		List<Object> expected = IntStream.range(0, count).boxed().collect(Collectors.toList());
+		assertEquals(keys, received.size());
+		for (List<Object> payloads : received.values()) {
+			assertEquals(expected, payloads);
+		}
+		assertTrue(otherThreadKeys.isEmpty());
+		assertTrue(threads.values().stream().allMatch(name -> name.startsWith("partition-thread-")));
+		channel.destroy();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -52,6 +53,21 @@ public class PriorityChannelTests {
 		assertTrue(channel.send(new GenericMessage<String>("test5")));
 	}
 
+	@Test
+	public void testReceiveBatch() {
+		PriorityChannel channel = new PriorityChannel(3);
+		channel.send(createPriorityMessage(1));
+		channel.send(createPriorityMessage(5));
+		channel.send(createPriorityMessage(3));
+		assertFalse(channel.send(createPriorityMessage(7), 0));
+		List<Message<?>> messages = channel.receiveBatch(10, 0);
+		assertEquals(3, messages.size());
+		assertEquals("test:5", messages.get(0).getPayload());
+		assertEquals("test:3", messages.get(1).getPayload());
+		assertEquals("test:1", messages.get(2).getPayload());
+		assertEquals(3, channel.getRemainingCapacity());
+	}
+
 	@Test
 	public void testDefaultComparatorWithTimestampFallback() throws Exception {
 		PriorityChannel channel = new PriorityChannel();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,26 @@
 package org.springframework.integration.channel;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.messaging.support.GenericMessage;
 
 /**
  * @author Gary Russell
@@ -49,4 +60,33 @@ public class PublishSubscribeChannelTests {
 		}
 	}
 
+	@Test
+	public void testSubscriberLanes() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		PublishSubscribeChannel channel = new PublishSubscribeChannel(executor);
+		channel.setSubscriberLaneCapacity(16);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		int count = 1000;
+		CountDownLatch latch = new CountDownLatch(3 * count);
+		List<List<Object>> received = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			List<Object> payloads = new ArrayList<>();
+			received.add(payloads);
+			channel.subscribe(m -> {
+				payloads.add(m.getPayload());
+				latch.countDown();
+			});
+		}
+		for (int i = 0; i < count; i++) {
+			assertTrue(channel.send(new GenericMessage<>(i)));
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		List<Object> expected = IntStream.range(0, count).boxed().collect(Collectors.toList());
+		for (List<Object> payloads : received) {
+			assertEquals(expected, payloads);
+		}
+		executor.shutdownNow();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -223,6 +223,22 @@ public class QueueChannelTests {
 		assertTrue(channel.send(new GenericMessage<String>("roomAvailable"), 0));
 	}
 
+	@Test
+	public void testReceiveBatch() {
+		QueueChannel channel = new QueueChannel();
+		assertTrue(channel.receiveBatch(10, 0).isEmpty());
+		for (int i = 0; i < 5; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		List<Message<?>> messages = channel.receiveBatch(3, 0);
+		assertEquals(3, messages.size());
+		assertEquals(0, messages.get(0).getPayload());
+		assertEquals(2, messages.get(2).getPayload());
+		messages = channel.receiveBatch(10, 100);
+		assertEquals(2, messages.size());
+		assertEquals(0, channel.getQueueSize());
+	}
+
 	@Rule
 	public final TemporaryFolder tempFolder = new TemporaryFolder();
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import org.springframework.integration.support.PartialSuccessException;
+import org.springframework.integration.util.RingBufferBlockingQueue.WaitStrategy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class RingBufferChannelTests {
+
+	@Test
+	public void testCapacityIsRoundedUpToPowerOfTwo() {
+		RingBufferChannel channel = new RingBufferChannel(5);
+		assertEquals(8, channel.getRemainingCapacity());
+		for (int i = 0; i < 8; i++) {
+			assertTrue(channel.send(new GenericMessage<>(i), 0));
+		}
+		assertFalse(channel.send(new GenericMessage<>(8), 0));
+		assertEquals(8, channel.getQueueSize());
+		assertEquals(0, channel.getRemainingCapacity());
+		for (int i = 0; i < 8; i++) {
+			assertEquals(i, channel.receive(0).getPayload());
+		}
+		assertNull(channel.receive(0));
+	}
+
+	@Test
+	public void testReceiveTimeout() {
+		RingBufferChannel channel = new RingBufferChannel(4);
+		long start = System.currentTimeMillis();
+		assertNull(channel.receive(100));
+		assertTrue(System.currentTimeMillis() - start >= 100);
+	}
+
+	@Test
+	public void testPurge() {
+		RingBufferChannel channel = new RingBufferChannel(8);
+		for (int i = 0; i < 6; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		List<Message<?>> purged = channel.purge(message -> ((Integer) message.getPayload()) % 2 == 0);
+		assertEquals(3, purged.size());
+		assertEquals(3, channel.getQueueSize());
+		assertEquals(0, channel.receive(0).getPayload());
+		assertEquals(2, channel.receive(0).getPayload());
+		assertEquals(4, channel.receive(0).getPayload());
+		assertEquals(0, channel.clear().size());
+	}
+
+	@Test
+	public void testPurgeWhenFilledConcurrently() {
+		RingBufferChannel channel = new RingBufferChannel(4);
+		for (int i = 0; i < 4; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		AtomicBoolean filled = new AtomicBoolean();
+		try {
+			channel.purge(message -> {
+				if (filled.compareAndSet(false, true)) {
+					for (int i = 4; i < 8; i++) {
+						channel.send(new GenericMessage<>(i), 0);
+					}
+				}
+				return ((Integer) message.getPayload()) % 2 == 0;
+			});
+			fail("PartialSuccessException expected");
+		}
+		catch (PartialSuccessException e) {
+			assertEquals(2, e.getPartialResults().size());
+			assertEquals(2, e.getDerivedInput().size());
+			assertEquals(0, ((Message<?>) e.getDerivedInput().iterator().next()).getPayload());
+		}
+		assertEquals(4, channel.getQueueSize());
+		assertEquals(4, channel.receive(0).getPayload());
+	}
+
+	@Test
+	public void testConcurrentProducersAndConsumers() throws Exception {
+		for (WaitStrategy waitStrategy : new WaitStrategy[] { WaitStrategy.BLOCKING, WaitStrategy.PARK,
+				WaitStrategy.YIELD }) {
+			final RingBufferChannel channel = new RingBufferChannel(16, waitStrategy);
+			final int producers = 4;
+			final int messagesPerProducer = 10000;
+			final AtomicLong sum = new AtomicLong();
+			ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+			for (int i = 0; i < producers; i++) {
+				executor.execute(() -> {
+					for (int j = 1; j <= messagesPerProducer; j++) {
+						channel.send(new GenericMessage<>(j));
+					}
+				});
+				executor.execute(() -> {
+					for (int j = 0; j < messagesPerProducer; j++) {
+						Message<?> message = channel.receive(10000);
+						assertNotNull(message);
+						sum.addAndGet((Integer) message.getPayload());
+					}
+				});
+			}
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+			assertEquals((long) producers * messagesPerProducer * (messagesPerProducer + 1) / 2, sum.get());
+			assertEquals(0, channel.getQueueSize());
+		}
+	}
+
+}
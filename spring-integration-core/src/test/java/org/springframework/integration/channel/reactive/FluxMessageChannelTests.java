@@ -17,21 +17,27 @@
 package org.springframework.integration.channel.reactive;
 
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.isOneOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.reactivestreams.Subscription;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,15 +46,20 @@ import org.springframework.integration.channel.FluxMessageChannel;
 import org.springframework.integration.channel.MessageChannelReactiveUtils;
 import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.endpoint.SourcePollingChannelAdapter;
+import org.springframework.integration.transaction.PassThroughTransactionSynchronizationFactory;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 
 /**
@@ -106,6 +117,74 @@ public class FluxMessageChannelTests {
 		assertThat(results, contains("FOO", "BAR"));
 	}
 
+	@Test
+	public void testDemandDrivenSourcePollingChannelAdapter() throws Exception {
+		int prefetch = 4;
+		FluxMessageChannel channel = new FluxMessageChannel(prefetch);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+
+		AtomicInteger polled = new AtomicInteger();
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.initialize();
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		adapter.setSource(() -> new GenericMessage<>(polled.incrementAndGet()));
+		adapter.setOutputChannel(channel);
+		adapter.setDemandDriven(true);
+		adapter.setTrigger(new PeriodicTrigger(10));
+		adapter.setTaskScheduler(taskScheduler);
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+		adapter.start();
+
+		Thread.sleep(100);
+		assertEquals(0, polled.get());
+
+		CountDownLatch received = new CountDownLatch(10);
+		BaseSubscriber<Message<?>> subscriber = new BaseSubscriber<Message<?>>() {
+
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				request(10);
+			}
+
+			@Override
+			protected void hookOnNext(Message<?> value) {
+				received.countDown();
+			}
+
+		};
+		channel.subscribe(subscriber);
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+
+		int bounded = polled.get();
+		Thread.sleep(200);
+		assertEquals(bounded, polled.get());
+		assertThat(bounded, lessThanOrEqualTo(10 + prefetch));
+
+		subscriber.request(Long.MAX_VALUE);
+		int n = 0;
+		while (n++ < 100 && polled.get() < 1000) {
+			Thread.sleep(100);
+		}
+		assertThat(polled.get(), greaterThanOrEqualTo(1000));
+
+		adapter.stop();
+		subscriber.dispose();
+		taskScheduler.destroy();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testDemandDrivenRejectsTransactionalPoller() {
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		adapter.setSource(() -> new GenericMessage<>("foo"));
+		adapter.setOutputChannel(new FluxMessageChannel());
+		adapter.setDemandDriven(true);
+		adapter.setTransactionSynchronizationFactory(new PassThroughTransactionSynchronizationFactory());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+	}
+
 	@Configuration
 	@EnableIntegration
 	public static class TestConfiguration {
@@ -28,19 +28,30 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.integration.channel.DefaultHeaderChannelRegistry;
 import org.springframework.integration.channel.DirectChannel;
 import org.springframework.integration.channel.MessagePublishingErrorHandler;
@@ -51,11 +62,13 @@ import org.springframework.integration.handler.AbstractReplyProducingMessageHand
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.integration.support.MessagingExceptionWrapper;
 import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
+import org.springframework.integration.support.channel.ChannelResolverUtils;
 import org.springframework.integration.support.channel.HeaderChannelRegistry;
 import org.springframework.integration.test.util.TestUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.messaging.core.DestinationResolver;
 import org.springframework.messaging.support.ErrorMessage;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.scheduling.TaskScheduler;
@@ -261,6 +274,109 @@ public class HeaderChannelRegistryTests {
 		}
 	}
 
+	@Test
+	public void testBFCRCache() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		DirectChannel foo = new DirectChannel();
+		beanFactory.registerSingleton("foo", foo);
+		DefaultHeaderChannelRegistry registry = new DefaultHeaderChannelRegistry();
+		beanFactory.registerSingleton(IntegrationContextUtils.INTEGRATION_HEADER_CHANNEL_REGISTRY_BEAN_NAME, registry);
+		BeanFactoryChannelResolver resolver = new BeanFactoryChannelResolver(beanFactory);
+		resolver.setCacheCapacity(1);
+		Map<?, ?> cache = TestUtils.getPropertyValue(resolver, "channelCache", Map.class);
+
+		assertSame(foo, resolver.resolveDestination("foo"));
+		assertSame(foo, cache.get("foo"));
+
+		beanFactory.destroySingleton("foo");
+		DirectChannel newFoo = new DirectChannel();
+		beanFactory.registerSingleton("foo", newFoo);
+		assertSame(newFoo, resolver.resolveDestination("foo"));
+		assertSame(newFoo, cache.get("foo"));
+
+		beanFactory.registerSingleton("bar", new DirectChannel());
+		assertNotNull(resolver.resolveDestination("bar"));
+		assertEquals(1, cache.size());
+
+		MessageChannel replyChannel = new QueueChannel();
+		String replyChannelName = (String) registry.channelToChannelName(replyChannel);
+		assertSame(replyChannel, resolver.resolveDestination(replyChannelName));
+		replyChannelName = (String) registry.channelToChannelName(replyChannel);
+		assertSame(replyChannel, resolver.resolveDestination(replyChannelName));
+		assertEquals(1, cache.size());
+
+		resolver.clearCache();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testChannelResolverWithoutSharedBean() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		DirectChannel foo = new DirectChannel();
+		beanFactory.registerSingleton("foo", foo);
+		DestinationResolver<MessageChannel> resolver = ChannelResolverUtils.getChannelResolver(beanFactory);
+		assertThat(resolver, instanceOf(BeanFactoryChannelResolver.class));
+		assertSame(foo, resolver.resolveDestination("foo"));
+		assertNotNull(ChannelResolverUtils.getChannelResolver(mock(BeanFactory.class)));
+	}
+
+	@Test
+	public void testReaperVisitsOnlyExpired() {
+		DefaultHeaderChannelRegistry registry = new DefaultHeaderChannelRegistry();
+		registry.setTaskScheduler(mock(TaskScheduler.class));
+		MessageChannel channel = new DirectChannel();
+		String expired = (String) registry.channelToChannelName(channel, -1000);
+		String live = (String) registry.channelToChannelName(channel, 60000);
+		String removed = (String) registry.channelToChannelName(channel, -1000);
+		registry.setRemoveOnGet(true);
+		assertSame(channel, registry.channelNameToChannel(removed));
+		assertEquals(2, registry.size());
+		registry.runReaper();
+		assertEquals(1, registry.size());
+		assertNull(registry.channelNameToChannel(expired));
+		assertEquals(1, TestUtils.getPropertyValue(registry, "expiryOrder", Set.class).size());
+		assertSame(channel, registry.channelNameToChannel(live));
+		assertEquals(0, TestUtils.getPropertyValue(registry, "expiryOrder", Set.class).size());
+	}
+
+	@Test
+	public void testNoRescheduleWhenStoppedDuringRun() throws Exception {
+		DefaultHeaderChannelRegistry registry = new DefaultHeaderChannelRegistry();
+		TaskScheduler scheduler = mock(TaskScheduler.class);
+		doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), any(Date.class));
+		registry.setTaskScheduler(scheduler);
+		registry.channelToChannelName(new DirectChannel(), -1000);
+		verify(scheduler).schedule(any(Runnable.class), any(Date.class));
+		CountDownLatch inRun = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		Map<String, Object> channels = new ConcurrentHashMap<String, Object>(
+				TestUtils.getPropertyValue(registry, "channels", Map.class)) {
+
+			@Override
+			public boolean remove(Object key, Object value) {
+				inRun.countDown();
+				try {
+					stopped.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.remove(key, value);
+			}
+
+		};
+		new DirectFieldAccessor(registry).setPropertyValue("channels", channels);
+		Thread reaper = new Thread(registry);
+		reaper.start();
+		assertTrue(inRun.await(10, TimeUnit.SECONDS));
+		registry.stop();
+		stopped.countDown();
+		reaper.join(10000);
+		assertEquals(0, registry.size());
+		verify(scheduler).schedule(any(Runnable.class), any(Date.class));
+		assertNull(TestUtils.getPropertyValue(registry, "reaperScheduledFuture"));
+	}
+
 	@Test
 	public void testRemoveOnGet() {
 		DefaultHeaderChannelRegistry registry = new DefaultHeaderChannelRegistry();
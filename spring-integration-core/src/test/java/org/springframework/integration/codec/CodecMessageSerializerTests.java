@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.integration.store.MessageGroupMetadata;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * @since 5.0
+ */
+public class CodecMessageSerializerTests {
+
+	@Test
+	public void testMessageRoundTrip() throws IOException {
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		Message<String> message = MessageBuilder.withPayload("foo")
+				.setHeader("bar", 42)
+				.setCorrelationId("baz")
+				.build();
+		Message<?> result = (Message<?>) deserialize(serializer, serialize(serializer, message));
+		assertEquals(message, result);
+		assertEquals(message.getHeaders().getId(), result.getHeaders().getId());
+		assertEquals(message.getHeaders().getTimestamp(), result.getHeaders().getTimestamp());
+	}
+
+	@Test
+	public void testCompression() throws IOException {
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		Message<String> message = MessageBuilder.withPayload(new String(new char[2000]).replace('\0', 'x')).build();
+		byte[] uncompressed = serialize(serializer, message);
+		serializer.setCompressionThreshold(100);
+		byte[] compressed = serialize(serializer, message);
+		assertTrue(compressed.length < uncompressed.length / 2);
+		assertEquals(message, deserialize(serializer, compressed));
+		assertEquals(message, deserialize(serializer, uncompressed));
+	}
+
+	@Test
+	public void testLegacyJavaSerialization() throws IOException {
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		Message<String> message = MessageBuilder.withPayload("foo").setHeader("bar", 42).build();
+		byte[] legacy = new SerializingConverter().convert(message);
+		assertEquals(message, deserialize(serializer, legacy));
+		assertTrue(serialize(serializer, message).length < legacy.length);
+	}
+
+	@Test
+	public void testGroupMetadata() throws IOException {
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		Message<String> message = MessageBuilder.withPayload("foo").build();
+		SimpleMessageGroup group = new SimpleMessageGroup("bar");
+		group.add(message);
+		group.setLastReleasedMessageSequenceNumber(3);
+		MessageGroupMetadata metadata = (MessageGroupMetadata) deserialize(serializer,
+				serialize(serializer, new MessageGroupMetadata(group)));
+		assertEquals(message.getHeaders().getId(), metadata.firstId());
+		assertEquals(3, metadata.getLastReleasedMessageSequenceNumber());
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnknownSignature() throws IOException {
+		deserialize(new CodecMessageSerializer(), new byte[] { 1, 2, 3, 4 });
+	}
+
+	private static byte[] serialize(CodecMessageSerializer serializer, Object object) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		serializer.serialize(object, outputStream);
+		return outputStream.toByteArray();
+	}
+
+	private static Object deserialize(CodecMessageSerializer serializer, byte[] bytes) throws IOException {
+		return serializer.deserialize(new ByteArrayInputStream(bytes));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.integration.codec.kryo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -28,6 +29,9 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
 /**
  * @author David Turanski
  * @since 4.2
@@ -124,6 +128,22 @@ public class KryoCodecTests {
 		assertEquals(2, foo2.get("two"));
 	}
 
+	@Test
+	public void testMessageIdRetainedOnlyWhenConfigured() throws IOException {
+		Message<String> message = new GenericMessage<>("foo");
+		MessageCodec codec = new MessageCodec();
+		Message<?> decoded = codec.decode(codec.encode(message), GenericMessage.class);
+		assertEquals("foo", decoded.getPayload());
+		assertNotEquals(message.getHeaders().getId(), decoded.getHeaders().getId());
+
+		MessageKryoRegistrar registrar = new MessageKryoRegistrar();
+		registrar.setRetainIdAndTimestamp(true);
+		codec = new MessageCodec(registrar);
+		decoded = codec.decode(codec.encode(message), GenericMessage.class);
+		assertEquals(message.getHeaders().getId(), decoded.getHeaders().getId());
+		assertEquals(message.getHeaders().getTimestamp(), decoded.getHeaders().getTimestamp());
+	}
+
 	static class SomeClassWithNoDefaultConstructors {
 
 		private String val1;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Properties;
 
 import org.junit.Test;
@@ -128,6 +132,30 @@ public class MessageHistoryTests {
 		assertEquals("testComponent-1,testComponent-2", history2.toString());
 	}
 
+	@Test
+	public void testBranchesAndSerialization() throws Exception {
+		Message<String> message = new GenericMessage<>("foo");
+		for (int i = 0; i < 20; i++) {
+			message = MessageHistory.write(message, new TestComponent(i));
+		}
+		Message<String> branch1 = MessageHistory.write(message, new TestComponent(100));
+		Message<String> branch2 = MessageHistory.write(message, new TestComponent(200));
+		assertEquals(20, MessageHistory.read(message).size());
+		assertEquals(21, MessageHistory.read(branch1).size());
+		assertEquals(21, MessageHistory.read(branch2).size());
+		assertEquals("testComponent-100", MessageHistory.read(branch1).get(20).getProperty(MessageHistory.NAME_PROPERTY));
+		assertEquals("testComponent-200", MessageHistory.read(branch2).get(20).getProperty(MessageHistory.NAME_PROPERTY));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ObjectOutputStream(out).writeObject(branch2);
+		@SuppressWarnings("unchecked")
+		Message<String> deserialized = (Message<String>) new ObjectInputStream(
+				new ByteArrayInputStream(out.toByteArray())).readObject();
+		assertEquals(MessageHistory.read(branch2).toString(), MessageHistory.read(deserialized).toString());
+		Message<String> afterDeserialization = MessageHistory.write(deserialized, new TestComponent(300));
+		assertEquals(22, MessageHistory.read(afterDeserialization).size());
+	}
+
 
 	private static class TestComponent implements NamedComponent {
 
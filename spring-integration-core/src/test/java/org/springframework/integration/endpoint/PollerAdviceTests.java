@@ -26,7 +26,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
@@ -70,6 +72,7 @@ import org.springframework.integration.scheduling.SimplePollSkipStrategy;
 import org.springframework.integration.test.rule.Log4jLevelAdjuster;
 import org.springframework.integration.test.util.OnlyOnceTrigger;
 import org.springframework.integration.test.util.TestUtils;
+import org.springframework.integration.util.AdaptivePollingTrigger;
 import org.springframework.integration.util.CompoundTrigger;
 import org.springframework.integration.util.DynamicPeriodicTrigger;
 import org.springframework.messaging.Message;
@@ -333,6 +336,70 @@ public class PollerAdviceTests {
 		verify(override, atLeast(2)).nextExecutionTime(any(TriggerContext.class));
 	}
 
+	@Test
+	public void testAdaptivePollingTrigger() throws Exception {
+		AdaptivePollingTrigger trigger = new AdaptivePollingTrigger(1, 1000);
+		trigger.setMessagesPerPollRange(1, 16);
+		trigger.pollCompleted(1, true);
+		trigger.pollCompleted(2, true);
+		assertEquals(4, trigger.getMessagesPerPoll());
+		assertEquals(1, trigger.getDelay());
+		trigger.pollCompleted(0, false);
+		trigger.pollCompleted(0, false);
+		assertEquals(1, trigger.getMessagesPerPoll());
+		assertEquals(4, trigger.getDelay());
+		trigger.pollCompleted(1, false);
+		assertEquals(2, trigger.getDelay());
+
+		SourcePollingChannelAdapter idleAdapter = new SourcePollingChannelAdapter();
+		AdaptivePollingTrigger idleTrigger = new AdaptivePollingTrigger(1, 64);
+		CountDownLatch idlePolls = new CountDownLatch(8);
+		idleAdapter.setSource(() -> {
+			idlePolls.countDown();
+			return null;
+		});
+		idleAdapter.setTrigger(idleTrigger);
+		configure(idleAdapter);
+		idleAdapter.afterPropertiesSet();
+		idleAdapter.start();
+		assertTrue(idlePolls.await(10, TimeUnit.SECONDS));
+		idleAdapter.stop();
+		assertEquals(64, idleTrigger.getDelay());
+
+		SourcePollingChannelAdapter busyAdapter = new SourcePollingChannelAdapter();
+		AdaptivePollingTrigger busyTrigger = new AdaptivePollingTrigger(1, 64);
+		busyTrigger.setMessagesPerPollRange(1, 32);
+		CountDownLatch busyPolls = new CountDownLatch(100);
+		busyAdapter.setSource(() -> {
+			busyPolls.countDown();
+			return new GenericMessage<>("foo");
+		});
+		busyAdapter.setTrigger(busyTrigger);
+		configure(busyAdapter);
+		busyAdapter.afterPropertiesSet();
+		busyAdapter.start();
+		assertTrue(busyPolls.await(10, TimeUnit.SECONDS));
+		busyAdapter.stop();
+		assertEquals(32, busyTrigger.getMessagesPerPoll());
+		assertEquals(1, busyTrigger.getDelay());
+	}
+
+	@Test
+	public void testAdaptivePollingTriggerPartialBatch() {
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		AdaptivePollingTrigger trigger = spy(new AdaptivePollingTrigger(1, 64));
+		AtomicInteger available = new AtomicInteger(3);
+		adapter.setSource(() -> available.getAndDecrement() > 0 ? new GenericMessage<>("foo") : null);
+		adapter.setTrigger(trigger);
+		adapter.setBatchSize(4);
+		configure(adapter);
+		adapter.afterPropertiesSet();
+		adapter.start();
+		verify(trigger, timeout(10000)).pollCompleted(3, false);
+		adapter.stop();
+		verify(trigger, never()).pollCompleted(4, false);
+	}
+
 	private void configure(SourcePollingChannelAdapter adapter) {
 		adapter.setOutputChannel(new NullChannel());
 		adapter.setBeanFactory(mock(BeanFactory.class));
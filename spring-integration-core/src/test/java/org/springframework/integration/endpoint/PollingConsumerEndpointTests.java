@@ -120,6 +120,19 @@ public class PollingConsumerEndpointTests {
 		assertEquals(5, consumer.counter.get());
 	}
 
+	@Test
+	public void batchOfMessages() {
+		Mockito.when(channelMock.receive()).thenReturn(message);
+		Mockito.when(channelMock.receive(0)).thenReturn(message, message, message, message, null);
+		endpoint.setBatchSize(3);
+		endpoint.setMaxMessagesPerPoll(6);
+		endpoint.start();
+		trigger.await();
+		endpoint.stop();
+		assertEquals(6, consumer.counter.get());
+		Mockito.verify(channelMock, Mockito.times(2)).receive();
+	}
+
 	@Test
 	public void heavierLoadTest() throws Exception {
 		for (int i = 0; i < 1000; i++) {
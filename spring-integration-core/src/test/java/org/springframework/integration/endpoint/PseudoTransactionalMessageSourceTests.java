@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
@@ -395,6 +396,32 @@ public class PseudoTransactionalMessageSourceTests {
 		assertEquals(2, txSyncCounter.get());
 	}
 
+	@Test
+	public void testBatchIsBoundToTheResourceHolder() {
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		ExpressionEvaluatingTransactionSynchronizationProcessor syncProcessor =
+				new ExpressionEvaluatingTransactionSynchronizationProcessor();
+		syncProcessor.setBeanFactory(mock(BeanFactory.class));
+		PollableChannel queueChannel = new QueueChannel();
+		syncProcessor.setAfterRollbackExpression(new SpelExpressionParser().parseExpression("payload.![payload]"));
+		syncProcessor.setAfterRollbackChannel(queueChannel);
+		adapter.setTransactionSynchronizationFactory(new DefaultTransactionSynchronizationFactory(syncProcessor));
+		adapter.setOutputChannel(new QueueChannel());
+		AtomicInteger counter = new AtomicInteger();
+		adapter.setSource(() -> counter.get() < 3 ? new GenericMessage<>(counter.incrementAndGet()) : null);
+		adapter.setBatchSize(5);
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		doPoll(adapter);
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		Message<?> rollbackMessage = queueChannel.receive(1000);
+		assertNotNull(rollbackMessage);
+		assertEquals(Arrays.asList(1, 2, 3), rollbackMessage.getPayload());
+	}
+
 	protected void doPoll(SourcePollingChannelAdapter adapter) {
 		try {
 			Method method = AbstractPollingEndpoint.class.getDeclaredMethod("doPoll");
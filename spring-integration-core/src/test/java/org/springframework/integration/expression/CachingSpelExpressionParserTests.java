@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.expression;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class CachingSpelExpressionParserTests {
+
+	@Test
+	public void testNotCompiledByDefault() {
+		CachingSpelExpressionParser parser = new CachingSpelExpressionParser();
+		Expression expression = parser.parseExpression("payload.length() > 2");
+		assertSame(expression, parser.parseExpression("payload.length() > 2"));
+		Message<String> message = new GenericMessage<>("foo");
+		for (int i = 0; i < 200; i++) {
+			assertTrue(expression.getValue(message, Boolean.class));
+		}
+		assertEquals(0, parser.getCompiledExpressionCount());
+	}
+
+	@Test
+	public void testCacheAndCompilation() {
+		CachingSpelExpressionParser parser =
+				new CachingSpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+		Expression expression = parser.parseExpression("payload.length() > 2");
+		assertThat(expression, instanceOf(SpelExpression.class));
+		assertSame(expression, parser.parseExpression("payload.length() > 2"));
+		assertEquals(1, parser.getCachedExpressionCount());
+
+		Message<String> message = new GenericMessage<>("foo");
+		for (int i = 0; i < 200; i++) {
+			assertTrue(expression.getValue(message, Boolean.class));
+		}
+		assertEquals(1, parser.getCompiledExpressionCount());
+		assertTrue(parser.getCompilationFailures().isEmpty());
+
+		Expression projection = parser.parseExpression("{1, 2, 3}.![#this * 2]");
+		for (int i = 0; i < 200; i++) {
+			projection.getValue();
+		}
+		assertEquals(1, parser.getCompiledExpressionCount());
+		assertThat(parser.getCompilationFailures().get("{1, 2, 3}.![#this * 2]"), containsString("is not compilable"));
+
+		Expression template = parser.parseExpression("#{'foo'}bar", new TemplateParserContext());
+		assertNotSame(template, parser.parseExpression("#{'foo'}bar", new TemplateParserContext()));
+		assertEquals("foobar", template.getValue());
+		// the template itself isn't cached, but its embedded expression is
+		assertEquals(3, parser.getCachedExpressionCount());
+
+		parser.clear();
+		assertEquals(0, parser.getCachedExpressionCount());
+		assertEquals(0, parser.getCompiledExpressionCount());
+		assertTrue(parser.getCompilationFailures().isEmpty());
+	}
+
+	@Test
+	public void testCachePerClassLoader() {
+		CachingSpelExpressionParser parser = new CachingSpelExpressionParser();
+		Expression expression = parser.parseExpression("payload");
+		Thread thread = Thread.currentThread();
+		ClassLoader classLoader = thread.getContextClassLoader();
+		try {
+			thread.setContextClassLoader(new URLClassLoader(new URL[0], classLoader));
+			assertEquals(0, parser.getCachedExpressionCount());
+			assertNotSame(expression, parser.parseExpression("payload"));
+		}
+		finally {
+			thread.setContextClassLoader(classLoader);
+		}
+		assertSame(expression, parser.parseExpression("payload"));
+	}
+
+	@Test
+	public void testCacheCapacity() {
+		CachingSpelExpressionParser parser = new CachingSpelExpressionParser();
+		parser.setCacheCapacity(1);
+		Expression expression = parser.parseExpression("payload");
+		assertSame(expression, parser.parseExpression("payload"));
+		assertNotSame(parser.parseExpression("headers"), parser.parseExpression("headers"));
+		assertEquals(1, parser.getCachedExpressionCount());
+	}
+
+}
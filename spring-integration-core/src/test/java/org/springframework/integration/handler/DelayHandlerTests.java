@@ -22,23 +22,34 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.channel.DirectChannel;
@@ -47,6 +58,7 @@ import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleDelayedMessageStore;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.integration.test.util.TestUtils;
@@ -55,6 +67,7 @@ import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessageHandlingException;
 import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
@@ -482,6 +495,120 @@ public class DelayHandlerTests {
 		assertEquals(1, works.size());
 	}
 
+	@Test
+	public void testDelayedMessageStoreLookAhead() throws Exception {
+		SimpleDelayedMessageStore delayedMessageStore = new SimpleDelayedMessageStore();
+		this.delayHandler.setDelayedMessageStore(delayedMessageStore);
+		this.delayHandler.setLookAheadWindow(50);
+		this.delayHandler.setDefaultDelay(200);
+		this.delayHandler.afterPropertiesSet();
+		Message<?> message = MessageBuilder.withPayload("test").build();
+		this.input.send(message);
+		assertEquals(1, this.delayHandler.getDelayedMessageCount());
+		assertEquals(1, delayedMessageStore.getDelayedMessageCount(DELAYER_MESSAGE_GROUP_ID));
+		assertTrue(delayedMessageStore.getMessagesDueBefore(DELAYER_MESSAGE_GROUP_ID,
+				System.currentTimeMillis() + 50, 10).isEmpty());
+		waitForLatch(10000);
+		assertSame(message.getPayload(), this.resultHandler.lastMessage.getPayload());
+		assertEquals(0, this.delayHandler.getDelayedMessageCount());
+
+		// Restart with messages in the store
+		Message<?> delayedMessage = MessageBuilder.withPayload(new DelayHandler.DelayedMessageWrapper(
+				MessageBuilder.withPayload("persisted").build(), System.currentTimeMillis() - 1000))
+				.build();
+		delayedMessageStore.addDelayedMessage(DELAYER_MESSAGE_GROUP_ID, delayedMessage,
+				System.currentTimeMillis() - 800);
+		DelayHandler restartedHandler = new DelayHandler(DELAYER_MESSAGE_GROUP_ID, this.taskScheduler);
+		restartedHandler.setDelayedMessageStore(delayedMessageStore);
+		restartedHandler.setDefaultDelay(200);
+		QueueChannel outputChannel = new QueueChannel();
+		restartedHandler.setOutputChannel(outputChannel);
+		restartedHandler.setBeanFactory(mock(BeanFactory.class));
+		restartedHandler.afterPropertiesSet();
+		restartedHandler.onApplicationEvent(new ContextRefreshedEvent(TestUtils.createTestApplicationContext()));
+		Message<?> released = outputChannel.receive(10000);
+		assertNotNull(released);
+		assertEquals("persisted", released.getPayload());
+		assertEquals(0, delayedMessageStore.getDelayedMessageCount(DELAYER_MESSAGE_GROUP_ID));
+	}
+
+	@Test
+	public void testDelayedMessageStoreLookAheadPages() {
+		SimpleDelayedMessageStore delayedMessageStore = new SimpleDelayedMessageStore();
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 5; i++) {
+			int delay = i < 3 ? 1000 : 1000 + i;
+			Message<?> delayedMessage = MessageBuilder.withPayload(new DelayHandler.DelayedMessageWrapper(
+					MessageBuilder.withPayload("persisted" + i).setHeader("delay", delay).build(), now))
+					.build();
+			delayedMessageStore.addDelayedMessage(DELAYER_MESSAGE_GROUP_ID, delayedMessage, now + delay);
+		}
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		ScheduledFuture<?> releaseFuture = mock(ScheduledFuture.class);
+		ScheduledFuture<?> lookAheadFuture = mock(ScheduledFuture.class);
+		doReturn(releaseFuture).when(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+		doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return lookAheadFuture;
+		}).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong());
+		given(lookAheadFuture.isDone()).willReturn(true);
+		DelayHandler handler = new DelayHandler(DELAYER_MESSAGE_GROUP_ID, taskScheduler);
+		handler.setDelayedMessageStore(delayedMessageStore);
+		handler.setDelayExpressionString("headers.delay");
+		handler.setLookAheadBatchSize(2);
+		handler.setOutputChannel(new QueueChannel());
+		handler.setBeanFactory(mock(BeanFactory.class));
+		handler.afterPropertiesSet();
+		handler.onApplicationEvent(new ContextRefreshedEvent(TestUtils.createTestApplicationContext()));
+		verify(taskScheduler, times(5)).schedule(any(Runnable.class), any(Date.class));
+
+		// The pending releases are not scheduled again
+		handler.reschedulePersistedMessages();
+		verify(taskScheduler, times(2)).scheduleWithFixedDelay(any(Runnable.class), anyLong());
+		verify(taskScheduler, times(5)).schedule(any(Runnable.class), any(Date.class));
+
+		handler.destroy();
+		verify(lookAheadFuture).cancel(true);
+		verify(releaseFuture, times(5)).cancel(false);
+		assertEquals(5, delayedMessageStore.getDelayedMessageCount(DELAYER_MESSAGE_GROUP_ID));
+	}
+
+	@Test
+	public void testDelayedMessageStoreLookAheadUsesStoredReleaseTime() {
+		SimpleDelayedMessageStore delayedMessageStore = new SimpleDelayedMessageStore();
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 3; i++) {
+			Message<?> delayedMessage = MessageBuilder.withPayload(new DelayHandler.DelayedMessageWrapper(
+					MessageBuilder.withPayload("persisted" + i).setHeader("delay", "invalid").build(), now))
+					.build();
+			delayedMessageStore.addDelayedMessage(DELAYER_MESSAGE_GROUP_ID, delayedMessage, now + 1000 + i);
+		}
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		ScheduledFuture<?> lookAheadFuture = mock(ScheduledFuture.class);
+		doThrow(new TaskRejectedException("test"))
+				.doReturn(mock(ScheduledFuture.class))
+				.when(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+		doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return lookAheadFuture;
+		}).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong());
+		DelayHandler handler = new DelayHandler(DELAYER_MESSAGE_GROUP_ID, taskScheduler);
+		handler.setDelayedMessageStore(delayedMessageStore);
+		handler.setDelayExpressionString("headers.delay");
+		handler.setIgnoreExpressionFailures(false);
+		handler.setOutputChannel(new QueueChannel());
+		handler.setBeanFactory(mock(BeanFactory.class));
+		handler.afterPropertiesSet();
+		handler.onApplicationEvent(new ContextRefreshedEvent(TestUtils.createTestApplicationContext()));
+		ArgumentCaptor<Date> releaseDates = ArgumentCaptor.forClass(Date.class);
+		verify(taskScheduler, times(3)).schedule(any(Runnable.class), releaseDates.capture());
+		assertEquals(now + 1000, releaseDates.getAllValues().get(0).getTime());
+		assertEquals(now + 1001, releaseDates.getAllValues().get(1).getTime());
+		assertEquals(now + 1002, releaseDates.getAllValues().get(2).getTime());
+		assertEquals(now + 1002, TestUtils.getPropertyValue(handler, "lookAheadCursor"));
+		handler.destroy();
+	}
+
 
 	private void waitForLatch(long timeout) {
 		try {
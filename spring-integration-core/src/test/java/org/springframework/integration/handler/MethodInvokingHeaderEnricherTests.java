@@ -19,6 +19,8 @@ package org.springframework.integration.handler;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -30,6 +32,8 @@ import org.junit.Test;
 
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.MutableMessageBuilder;
+import org.springframework.integration.support.MutableMessageBuilderFactory;
 import org.springframework.integration.transformer.HeaderEnricher;
 import org.springframework.integration.transformer.support.StaticHeaderValueMessageProcessor;
 import org.springframework.messaging.Message;
@@ -115,6 +119,23 @@ public class MethodInvokingHeaderEnricherTests {
 		}
 	}
 
+	@Test
+	public void mutableMessageNotModified() {
+		HeaderEnricher enricher =
+				new HeaderEnricher(Collections.singletonMap("foo", new StaticHeaderValueMessageProcessor<>("bar")));
+		enricher.setMessageBuilderFactory(new MutableMessageBuilderFactory());
+		Message<?> message = MutableMessageBuilder.withPayload("test").build();
+		Message<?> result = enricher.transform(message);
+		assertNotSame(message, result);
+		assertEquals("bar", result.getHeaders().get("foo"));
+		assertNull(message.getHeaders().get("foo"));
+
+		enricher.setDefaultOverwrite(false);
+		Message<?> unchanged = enricher.transform(result);
+		assertNotSame(result, unchanged);
+		assertEquals("bar", unchanged.getHeaders().get("foo"));
+	}
+
 	public static class TestBean {
 
 		public Map<String, Object> process(@Payload("toUpperCase()") String s) {
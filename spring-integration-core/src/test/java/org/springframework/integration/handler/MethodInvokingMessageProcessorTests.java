@@ -68,6 +68,7 @@ import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessageHandlingException;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.StopWatch;
 
@@ -867,6 +868,57 @@ public class MethodInvokingMessageProcessorTests {
 				TestUtils.getPropertyValue(helper, "handlerMethod.expression.configuration.compilerMode"));
 	}
 
+	@Test
+	public void testDirectInvoker() throws Exception {
+		DirectInvokerBean bean = new DirectInvokerBean();
+		MessagingMethodInvokerHelper<?> helper = new MessagingMethodInvokerHelper<>(bean,
+				DirectInvokerBean.class.getMethod("concat", String.class, String.class), false);
+		assertEquals("foobar", helper.process(MessageBuilder.withPayload("foo").setHeader("bar", "bar").build()));
+		assertNotNull(TestUtils.getPropertyValue(helper, "handlerMethod.directInvoker"));
+
+		try {
+			helper.process(new GenericMessage<>("foo"));
+			fail("MessagingException expected");
+		}
+		catch (MessagingException e) {
+			assertThat(e.getMessage(), Matchers.containsString("'bar'"));
+		}
+
+		helper = new MessagingMethodInvokerHelper<>(bean,
+				DirectInvokerBean.class.getMethod("increment", int.class), false);
+		assertEquals(43, helper.process(new GenericMessage<>(42)));
+		assertEquals(43, helper.process(new GenericMessage<>("42")));
+
+		helper = new MessagingMethodInvokerHelper<>(bean,
+				DirectInvokerBean.class.getMethod("headers", Message.class, Map.class), false);
+		assertEquals("foo", helper.process(MessageBuilder.withPayload("foo").setHeader("bar", "baz").build()));
+		assertEquals("baz", bean.headers.get("bar"));
+
+		class Foo {
+
+			@SuppressWarnings("unused")
+			void service(String payload, @Header("bar") Optional<String> bar) {
+				// empty
+			}
+
+			@SuppressWarnings("unused")
+			String handle(String payload, @Header Integer count) {
+				return payload + count;
+			}
+
+		}
+
+		helper = new MessagingMethodInvokerHelper<>(new Foo(),
+				Foo.class.getDeclaredMethod("service", String.class, Optional.class), false);
+		helper.process(new GenericMessage<>("foo"));
+		assertNull(TestUtils.getPropertyValue(helper, "handlerMethod.directInvoker"));
+
+		helper = new MessagingMethodInvokerHelper<>(new Foo(),
+				Foo.class.getDeclaredMethod("handle", String.class, Integer.class), false);
+		assertEquals("foo1", helper.process(MessageBuilder.withPayload("foo").setHeader("count", 1).build()));
+		assertNotNull(TestUtils.getPropertyValue(helper, "handlerMethod.directInvoker"));
+	}
+
 	private DirectFieldAccessor compileImmediate(MethodInvokingMessageProcessor processor) {
 		// Update the parser configuration compiler mode
 		SpelParserConfiguration config = TestUtils.getPropertyValue(processor,
@@ -1147,6 +1199,25 @@ public class MethodInvokingMessageProcessorTests {
 
 	}
 
+	public static class DirectInvokerBean {
+
+		private volatile Map<String, Object> headers;
+
+		public String concat(String payload, @Header("bar") String bar) {
+			return payload + bar;
+		}
+
+		public int increment(int value) {
+			return value + 1;
+		}
+
+		public Object headers(Message<String> message, @Headers Map<String, Object> headers) {
+			this.headers = headers;
+			return message.getPayload();
+		}
+
+	}
+
 	/*
 	 * Public for SpEL access.
 	 */
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.integration.aggregator.AggregatingMessageHandler;
+import org.springframework.integration.aggregator.DefaultAggregatingMessageGroupProcessor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.expression.ValueExpression;
+import org.springframework.integration.handler.DelayHandler;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.util.TestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class HashedWheelTaskSchedulerTests {
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler(5, 16);
+
+	@After
+	public void tearDown() {
+		this.scheduler.destroy();
+	}
+
+	@Test
+	public void testScheduleAndCancel() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(5000);
+		long startTime = System.currentTimeMillis();
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			// Delays beyond a full turn of the wheel (5 * 16 ms)
+			futures.add(this.scheduler.schedule(() -> {
+				executions.incrementAndGet();
+				latch.countDown();
+			}, new Date(startTime + 1000 + i % 300)));
+		}
+		for (int i = 0; i < futures.size(); i += 2) {
+			assertTrue(futures.get(i).cancel(false));
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertThat(System.currentTimeMillis() - startTime, greaterThanOrEqualTo(1000L));
+		Thread.sleep(100);
+		assertEquals(5000, executions.get());
+		assertTrue(futures.get(0).isCancelled());
+		assertTrue(futures.get(1).isDone());
+	}
+
+	@Test
+	public void testPeriodicAndFailingTasks() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, 10);
+		assertTrue(TestUtils.getPropertyValue(this.scheduler, "timerThread", Thread.class).isDaemon());
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertTrue(future.cancel(false));
+		ScheduledFuture<?> failing = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("test");
+		}, new Date(System.currentTimeMillis() + 10));
+		try {
+			failing.get(10, TimeUnit.SECONDS);
+			fail("Expected ExecutionException");
+		}
+		catch (ExecutionException e) {
+			assertEquals("test", e.getCause().getMessage());
+		}
+		this.scheduler.destroy();
+		try {
+			this.scheduler.schedule(() -> { }, new Date());
+			fail("Expected TaskRejectedException");
+		}
+		catch (TaskRejectedException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testAggregatorGroupTimeout() {
+		AggregatingMessageHandler aggregator = new AggregatingMessageHandler(
+				new DefaultAggregatingMessageGroupProcessor(), new SimpleMessageStore());
+		aggregator.setTaskScheduler(this.scheduler);
+		aggregator.setGroupTimeoutExpression(new ValueExpression<>(50L));
+		aggregator.setSendPartialResultOnExpiry(true);
+		QueueChannel outputChannel = new QueueChannel();
+		aggregator.setOutputChannel(outputChannel);
+		aggregator.setBeanFactory(mock(BeanFactory.class));
+		aggregator.afterPropertiesSet();
+		for (int i = 0; i < 100; i++) {
+			aggregator.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId(i % 10)
+					.setSequenceSize(100)
+					.build());
+		}
+		int count = 0;
+		for (int i = 0; i < 10; i++) {
+			Message<?> result = outputChannel.receive(10000);
+			assertNotNull(result);
+			count += ((Collection<?>) result.getPayload()).size();
+		}
+		assertEquals(100, count);
+	}
+
+	@Test
+	public void testDelayHandler() {
+		DelayHandler delayHandler = new DelayHandler("delayer", this.scheduler);
+		delayHandler.setDefaultDelay(50);
+		QueueChannel outputChannel = new QueueChannel();
+		delayHandler.setOutputChannel(outputChannel);
+		delayHandler.setBeanFactory(mock(BeanFactory.class));
+		delayHandler.afterPropertiesSet();
+		long startTime = System.currentTimeMillis();
+		delayHandler.handleMessage(new GenericMessage<>("foo"));
+		Message<?> result = outputChannel.receive(10000);
+		assertNotNull(result);
+		assertEquals("foo", result.getPayload());
+		assertThat(System.currentTimeMillis() - startTime, greaterThanOrEqualTo(50L));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,22 +17,31 @@
 package org.springframework.integration.splitter;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.annotation.Splitter;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
 import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.endpoint.EventDrivenConsumer;
 import org.springframework.integration.support.MessageBuilder;
@@ -162,6 +171,63 @@ public class StreamingSplitterTests {
 		assertThat(receivedMessageCounter.get(), is(messageQuantity));
 	}
 
+	@Test
+	public void splitWithMaxInFlight_splitsBoundedByDownstream() throws Exception {
+		int messageQuantity = 50;
+		IteratorTestBean testBean = new IteratorTestBean(messageQuantity);
+		MethodInvokingSplitter splitter = new MethodInvokingSplitter(testBean);
+		splitter.setMaxInFlight(3);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		ExecutorChannel outputChannel = new ExecutorChannel(executor);
+		outputChannel.setBeanFactory(mock(BeanFactory.class));
+		outputChannel.afterPropertiesSet();
+		AtomicInteger handled = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(messageQuantity);
+		outputChannel.subscribe(m -> {
+			maxInFlight.accumulateAndGet(testBean.counter.get() - handled.get(), Math::max);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+			handled.incrementAndGet();
+			latch.countDown();
+		});
+		splitter.setOutputChannel(outputChannel);
+
+		splitter.handleMessage(this.message);
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertThat(maxInFlight.get(), lessThanOrEqualTo(3));
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void splitWithMaxInFlight_releasedOnReceive() throws Exception {
+		int messageQuantity = 5;
+		MethodInvokingSplitter splitter = new MethodInvokingSplitter(new IteratorTestBean(messageQuantity));
+		splitter.setMaxInFlight(2);
+		QueueChannel outputChannel = new QueueChannel();
+		splitter.setOutputChannel(outputChannel);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.execute(() -> splitter.handleMessage(this.message));
+		for (int i = 0; i < messageQuantity; i++) {
+			Message<?> received = outputChannel.receive(10000);
+			assertThat(received, notNullValue());
+			assertTrue(received.getHeaders().keySet().stream().noneMatch(h -> h.startsWith("splitterInFlight")));
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void splitWithMaxInFlight_lostPermitsReclaimed() throws Exception {
+		int messageQuantity = 5;
+		MethodInvokingSplitter splitter = new MethodInvokingSplitter(new IteratorTestBean(messageQuantity));
+		splitter.setMaxInFlight(2);
+		splitter.setInFlightTimeout(50);
+		QueueChannel outputChannel = new QueueChannel();
+		splitter.setOutputChannel(outputChannel);
+		splitter.handleMessage(this.message);
+		assertThat(outputChannel.getQueueSize(), is(messageQuantity));
+	}
+
 	static class IteratorTestBean {
 
 		final int max;
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class CachingMessageGroupStoreTests {
+
+	@Test
+	public void testGroupReadOnce() {
+		SimpleMessageStore delegate = spy(new SimpleMessageStore());
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		for (int i = 0; i < 5; i++) {
+			MessageGroup group = store.addMessageToGroup("foo", new GenericMessage<>("bar" + i));
+			assertEquals(i + 1, group.size());
+		}
+		MessageGroup group = store.getMessageGroup("foo");
+		assertEquals(5, group.size());
+		assertEquals("bar0", group.getOne().getPayload());
+		assertEquals(5, store.messageGroupSize("foo"));
+		verify(delegate, times(1)).getMessageGroup("foo");
+		verify(delegate, never()).messageGroupSize("foo");
+		assertEquals(5, delegate.messageGroupSize("foo"));
+	}
+
+	@Test
+	public void testLargeGroupMessagesNotCached() {
+		SimpleMessageStore delegate = spy(new SimpleMessageStore());
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		store.setMaxCachedMessagesPerGroup(2);
+		store.getMessageGroup("foo");
+		for (int i = 0; i < 3; i++) {
+			store.addMessagesToGroup("foo", new GenericMessage<>("bar" + i));
+		}
+		MessageGroup group = store.getMessageGroup("foo");
+		assertEquals(3, group.size());
+		assertEquals("bar0", group.getOne().getPayload());
+		verify(delegate, times(1)).getMessageGroup("foo");
+		verify(delegate, never()).getOneMessageFromGroup("foo");
+		List<Object> payloads = new ArrayList<>();
+		for (Message<?> message : group.getMessages()) {
+			payloads.add(message.getPayload());
+		}
+		assertEquals("[bar0, bar1, bar2]", payloads.toString());
+		verify(delegate).getMessagesForGroup("foo");
+	}
+
+	@Test
+	public void testDuplicatesNotCounted() {
+		SimpleMessageStore delegate = spy(new SimpleMessageStore());
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		store.setMaxCachedMessagesPerGroup(2);
+		Message<?> message1 = new GenericMessage<>("bar1");
+		Message<?> message2 = new GenericMessage<>("bar2");
+		store.getMessageGroup("foo");
+		store.addMessagesToGroup("foo", message1, message1);
+		assertEquals(1, store.messageGroupSize("foo"));
+		store.addMessagesToGroup("foo", message1, message2);
+		assertEquals(2, store.messageGroupSize("foo"));
+		store.addMessagesToGroup("foo", new GenericMessage<>("bar3"));
+		assertEquals(3, store.messageGroupSize("foo"));
+		verify(delegate, never()).messageGroupSize("foo");
+		store.addMessagesToGroup("foo", message2);
+		assertEquals(3, store.messageGroupSize("foo"));
+		verify(delegate).messageGroupSize("foo");
+	}
+
+	@Test
+	public void testWriteThrough() {
+		SimpleMessageStore delegate = new SimpleMessageStore();
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		Message<?> message1 = new GenericMessage<>("foo");
+		Message<?> message2 = new GenericMessage<>("bar");
+		Message<?> message3 = new GenericMessage<>("baz");
+		store.addMessagesToGroup("foo", message1, message2, message3);
+		store.removeMessagesFromGroup("foo", message1);
+		assertEquals(2, store.getMessageGroup("foo").size());
+		assertSame(message2, store.pollMessageFromGroup("foo"));
+		store.completeGroup("foo");
+		store.setLastReleasedSequenceNumberForGroup("foo", 3);
+		MessageGroup group = store.getMessageGroup("foo");
+		assertEquals(1, group.size());
+		assertTrue(group.isComplete());
+		assertEquals(3, group.getLastReleasedMessageSequenceNumber());
+		assertSame(message3, group.getOne());
+		assertEquals(1, delegate.messageGroupSize("foo"));
+		assertTrue(delegate.getMessageGroup("foo").isComplete());
+		store.removeMessageGroup("foo");
+		assertEquals(0, store.getMessageGroup("foo").size());
+		assertEquals(0, delegate.getMessageGroupCount());
+	}
+
+	@Test
+	public void testInvalidation() throws Exception {
+		SimpleMessageStore delegate = new SimpleMessageStore();
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		store.addMessageToGroup("foo", new GenericMessage<>("foo"));
+		delegate.addMessageToGroup("foo", new GenericMessage<>("bar"));
+		assertEquals(1, store.messageGroupSize("foo"));
+		store.invalidate("foo");
+		assertEquals(2, store.getMessageGroup("foo").size());
+		store.setTimeToLive(10);
+		delegate.addMessageToGroup("foo", new GenericMessage<>("baz"));
+		Thread.sleep(50);
+		assertEquals(3, store.getMessageGroup("foo").size());
+	}
+
+	@Test
+	public void testExpiryCallbackReadsTheStore() {
+		SimpleMessageStore delegate = new SimpleMessageStore();
+		CachingMessageGroupStore store = new CachingMessageGroupStore(delegate);
+		List<MessageGroupStore> callbackStores = new ArrayList<>();
+		List<MessageGroup> expiredGroups = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+			callbackStores.add(messageGroupStore);
+			expiredGroups.add(messageGroupStore.getMessageGroup(group.getGroupId()));
+		});
+		store.addMessageToGroup("foo", new GenericMessage<>("foo"));
+		delegate.addMessageToGroup("foo", new GenericMessage<>("bar"));
+		assertEquals(1, store.expireMessageGroups(-10000));
+		assertSame(store, callbackStores.get(0));
+		assertEquals(2, expiredGroups.get(0).size());
+	}
+
+}
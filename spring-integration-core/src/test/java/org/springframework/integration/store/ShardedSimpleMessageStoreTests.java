@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * @since 5.0
+ */
+public class ShardedSimpleMessageStoreTests {
+
+	@Test
+	public void testGroupsSpreadAcrossShards() {
+		ShardedSimpleMessageStore store = new ShardedSimpleMessageStore(4);
+		for (int i = 0; i < 1000; i++) {
+			store.addMessageToGroup(i, new GenericMessage<>("foo"));
+			store.addMessageToGroup(i, new GenericMessage<>("bar"));
+		}
+		assertEquals(1000, store.getMessageGroupCount());
+		assertEquals(2000, store.getMessageCountForAllMessageGroups());
+		SimpleMessageStore[] shards = (SimpleMessageStore[]) ReflectionTestUtils.getField(store, "shards");
+		for (SimpleMessageStore shard : shards) {
+			assertTrue(shard.getMessageGroupCount() > 150);
+		}
+		assertEquals(2, store.messageGroupSize(42));
+		assertEquals("foo", store.getOneMessageFromGroup(42).getPayload());
+		assertEquals("foo", store.pollMessageFromGroup(42).getPayload());
+		assertEquals(1, store.getMessagesForGroup(42).size());
+		store.completeGroup(42);
+		assertTrue(store.getMessageGroup(42).isComplete());
+		store.clearMessageGroup(42);
+		assertEquals(0, store.messageGroupSize(42));
+		store.removeMessageGroup(42);
+		assertEquals(999, store.getMessageGroupCount());
+	}
+
+	@Test
+	public void testIndividualMessages() {
+		ShardedSimpleMessageStore store = new ShardedSimpleMessageStore(4, 4, 0);
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Message<String> message = MessageBuilder.withPayload("foo").build();
+			store.addMessage(message);
+			messages.add(message);
+		}
+		try {
+			store.addMessage(MessageBuilder.withPayload("foo").build());
+			fail("Expected out of capacity");
+		}
+		catch (MessagingException e) {
+			assertThat(e.getMessage(), containsString("was out of capacity (4)"));
+		}
+		assertEquals(4, store.getMessageCount());
+		for (Message<?> message : messages) {
+			assertNotNull(store.getMessageMetadata(message.getHeaders().getId()));
+			assertEquals(message, store.removeMessage(message.getHeaders().getId()));
+		}
+		assertNull(store.getMessage(messages.get(0).getHeaders().getId()));
+		assertEquals(0, store.getMessageCount());
+		store.addMessage(MessageBuilder.withPayload("foo").build());
+		assertEquals(1, store.getMessageCount());
+	}
+
+	@Test
+	public void testCustomLockRegistryAppliedToShards() {
+		ShardedSimpleMessageStore store = new ShardedSimpleMessageStore(4);
+		LockRegistry lockRegistry = new DefaultLockRegistry();
+		store.setLockRegistry(lockRegistry);
+		SimpleMessageStore[] shards = (SimpleMessageStore[]) ReflectionTestUtils.getField(store, "shards");
+		for (SimpleMessageStore shard : shards) {
+			assertSame(lockRegistry, ReflectionTestUtils.getField(shard, "lockRegistry"));
+		}
+		store.addMessageToGroup("foo", new GenericMessage<>("foo"));
+		assertEquals(1, store.messageGroupSize("foo"));
+	}
+
+	@Test
+	public void testGroupCapacityAndExpiry() throws Exception {
+		final ShardedSimpleMessageStore store = new ShardedSimpleMessageStore(8, 0, 40);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 1000; j++) {
+					store.addMessageToGroup(j % 100, new GenericMessage<>(j));
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(100, store.getMessageGroupCount());
+		assertEquals(4000, store.getMessageCountForAllMessageGroups());
+		try {
+			store.addMessageToGroup(0, new GenericMessage<>("foo"));
+			fail("Expected out of capacity");
+		}
+		catch (MessagingException e) {
+			assertThat(e.getMessage(), containsString("was out of capacity (40) for group '0'"));
+		}
+		final List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+			expired.add(group.getGroupId());
+			messageGroupStore.removeMessageGroup(group.getGroupId());
+		});
+		assertEquals(100, store.expireMessageGroups(-10000));
+		assertEquals(100, expired.size());
+		assertEquals(0, store.getMessageGroupCount());
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class LatencyHistogramMetricsFactoryTests {
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(99), 0);
+		Random random = new Random(42);
+		long[] values = new long[10000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(5000000) + (i % 100 == 0 ? 500000000 : 0);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		assertEquals(values.length, histogram.getCount());
+		for (double percentile : new double[] { 50, 99, 99.9, 100 }) {
+			double expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1] / 1000000.;
+			assertEquals(expected, histogram.getValueAtPercentile(percentile), expected * 0.01);
+		}
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(TimeUnit.HOURS.toMillis(1), histogram.getValueAtPercentile(100), 0);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+	}
+
+	@Test
+	public void testConcurrentHandlerMetrics() throws Exception {
+		final AbstractMessageHandlerMetrics metrics = new LatencyHistogramMetricsFactory().createHandlerMetrics("test");
+		metrics.setFullStatsEnabled(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10000; j++) {
+					metrics.afterHandle(metrics.beforeHandle(), j % 10 != 0);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(40000, metrics.getHandleCountLong());
+		assertEquals(4000, metrics.getErrorCountLong());
+		assertEquals(36000, metrics.getDuration().getCountLong());
+		assertTrue(metrics.getDurationPercentile(50) > 0);
+		assertTrue(metrics.getDurationPercentile(99.9) >= metrics.getDurationPercentile(99));
+		assertTrue(metrics.getDurationPercentile(99) >= metrics.getDurationPercentile(50));
+		metrics.reset();
+		assertEquals(0, metrics.getDurationPercentile(99), 0);
+	}
+
+	@Test
+	public void testChannelPercentiles() {
+		DirectChannel channel = new DirectChannel();
+		channel.configureMetrics(new LatencyHistogramMetricsFactory().createChannelMetrics("channel"));
+		channel.setStatsEnabled(true);
+		channel.subscribe(m -> {
+			try {
+				Thread.sleep(m.getPayload().equals("slow") ? 50 : 0);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		for (int i = 0; i < 99; i++) {
+			channel.send(new GenericMessage<>("fast"));
+		}
+		channel.send(new GenericMessage<>("slow"));
+		assertTrue(channel.getP50SendDuration() < 50);
+		assertTrue(channel.getP999SendDuration() >= 50);
+		assertEquals(0, new DirectChannel().getP99SendDuration(), 0);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @since 5.0
+ */
+public class LockFreeMetricsFactoryTests {
+
+	@Test
+	public void testSameStatisticsAsSynchronized() {
+		ExponentialMovingAverage average = new ExponentialMovingAverage(10, 1000000.);
+		ExponentialMovingAverage lockFreeAverage = new LockFreeExponentialMovingAverage(10, 1000000.);
+		ExponentialMovingAverageRate rate = new ExponentialMovingAverageRate(1, 60, 10, true);
+		ExponentialMovingAverageRate lockFreeRate = new LockFreeExponentialMovingAverageRate(1, 60, 10, true);
+		ExponentialMovingAverageRatio ratio = new ExponentialMovingAverageRatio(60, 10, true);
+		ExponentialMovingAverageRatio lockFreeRatio = new LockFreeExponentialMovingAverageRatio(60, 10, true);
+		Random random = new Random(42);
+		long time = System.nanoTime();
+		for (int i = 0; i < 137; i++) {
+			double value = random.nextInt(1000000);
+			average.append(value);
+			lockFreeAverage.append(value);
+			time += random.nextInt(5000000);
+			rate.increment(time);
+			lockFreeRate.increment(time);
+			if (random.nextBoolean()) {
+				ratio.success(time);
+				lockFreeRatio.success(time);
+			}
+			else {
+				ratio.failure(time);
+				lockFreeRatio.failure(time);
+			}
+		}
+		assertEquals(average.getStatistics().toString(), lockFreeAverage.getStatistics().toString());
+
+		assertEquals(137, lockFreeRate.getCountLong());
+		assertEquals(rate.getMin(), lockFreeRate.getMin(), 0.000001);
+		assertEquals(rate.getMax(), lockFreeRate.getMax(), 0.000001);
+		assertEquals(rate.getStandardDeviation(), lockFreeRate.getStandardDeviation(), 0.000001);
+
+		assertEquals(137, lockFreeRatio.getCountLong());
+		assertEquals(ratio.getMin(), lockFreeRatio.getMin(), 0.000001);
+		assertEquals(ratio.getMax(), lockFreeRatio.getMax(), 0.000001);
+		assertEquals(ratio.getStandardDeviation(), lockFreeRatio.getStandardDeviation(), 0.000001);
+
+		lockFreeAverage.reset();
+		assertEquals(0, lockFreeAverage.getCountLong());
+		assertEquals(0, lockFreeAverage.getMean(), 0.01);
+		lockFreeRatio.reset();
+		assertEquals(1, lockFreeRatio.getMean(), 0.01);
+	}
+
+	@Test
+	public void testConcurrentChannelMetrics() throws Exception {
+		final AbstractMessageChannelMetrics metrics = new LockFreeMetricsFactory().createChannelMetrics("test");
+		metrics.setFullStatsEnabled(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10000; j++) {
+					metrics.afterSend(metrics.beforeSend(), j % 10 != 0);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(40000, metrics.getSendCountLong());
+		assertEquals(4000, metrics.getSendErrorCountLong());
+		assertEquals(36000, metrics.getSendDuration().getCountLong());
+		assertEquals(40000, metrics.getSendRate().getCountLong());
+		assertFalse(Double.isNaN(metrics.getMeanSendRate()));
+		assertEquals(0.1, metrics.getMeanErrorRatio(), 0.1);
+	}
+
+}
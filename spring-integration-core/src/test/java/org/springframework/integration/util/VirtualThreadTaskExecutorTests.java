@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @since 5.0
+ */
+public class VirtualThreadTaskExecutorTests {
+
+	@Test
+	public void testBlockingHandlers() throws Exception {
+		Assume.assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		int count = 1000;
+		CountDownLatch blocked = new CountDownLatch(count);
+		CountDownLatch release = new CountDownLatch(1);
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		ExecutorChannel channel = new ExecutorChannel(new VirtualThreadTaskExecutor("test-"));
+		channel.subscribe(m -> {
+			threads.add(Thread.currentThread().getName());
+			blocked.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		for (int i = 0; i < count; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		// all the handlers are blocked at the same time without a sized pool
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+		release.countDown();
+		assertEquals(count, threads.size());
+		assertTrue(threads.stream().allMatch(name -> name.startsWith("test-")));
+	}
+
+	@Test
+	public void testNotSupported() {
+		Assume.assumeTrue(!VirtualThreadTaskExecutor.isSupported());
+		try {
+			new VirtualThreadTaskExecutor();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("Java 21"));
+		}
+	}
+
+}
@@ -22,7 +22,6 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.util.Assert;
 
@@ -36,7 +35,7 @@ import org.springframework.util.Assert;
 public class ExpressionFileListFilter<F> extends AbstractFileListFilter<F>
 		implements BeanFactoryAware {
 
-	private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+	private static final ExpressionParser EXPRESSION_PARSER = ExpressionUtils.getExpressionParser();
 
 	private final Expression expression;
 
@@ -33,7 +33,6 @@ import java.util.Set;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.expression.FunctionExpression;
@@ -323,7 +322,7 @@ public abstract class AbstractRemoteFileOutboundGateway<F> extends AbstractReply
 		Assert.notNull(remoteFileTemplate, "'remoteFileTemplate' cannot be null");
 		this.remoteFileTemplate = remoteFileTemplate;
 		this.command = command;
-		Expression parsedExpression = new SpelExpressionParser().parseExpression(expression);
+		Expression parsedExpression = ExpressionUtils.getExpressionParser().parseExpression(expression);
 		this.fileNameProcessor = new ExpressionEvaluatingMessageProcessor<>(parsedExpression);
 		this.messageSessionCallback = null;
 		setPrimaryExpression(parsedExpression);
@@ -29,7 +29,7 @@ import org.springframework.data.gemfire.GemfireCallback;
 import org.springframework.data.gemfire.GemfireTemplate;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.handler.AbstractMessageHandler;
 import org.springframework.messaging.Message;
@@ -49,7 +49,7 @@ import org.springframework.util.Assert;
  */
 public class CacheWritingMessageHandler extends AbstractMessageHandler {
 
-	private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+	private static final ExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	private final Map<Expression, Expression> cacheEntryExpressions = new LinkedHashMap<Expression, Expression>();
 
@@ -19,11 +19,16 @@ package org.springframework.integration.gemfire.store;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.Region;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
 import org.springframework.data.gemfire.RegionAttributesFactoryBean;
 import org.springframework.data.gemfire.RegionFactoryBean;
 import org.springframework.integration.store.AbstractKeyValueMessageStore;
@@ -51,6 +56,10 @@ public class GemfireMessageStore extends AbstractKeyValueMessageStore implements
 
 	private volatile boolean ignoreJta = true;
 
+	private volatile SerializingConverter serializer;
+
+	private volatile DeserializingConverter deserializer;
+
 	/**
 	 * Provides the region to be used for the message store. This is useful when
 	 * using a configured region. This is also required if using a client region
@@ -66,9 +75,37 @@ public class GemfireMessageStore extends AbstractKeyValueMessageStore implements
 		this.ignoreJta = ignoreJta;
 	}
 
+	/**
+	 * Set a {@link Serializer} to store the messages and group metadata in the region as
+	 * byte arrays, e.g. a {@link org.springframework.integration.codec.CodecMessageSerializer},
+	 * instead of relying on the Gemfire serialization of the objects.
+	 * Requires a {@link #setDeserializer(Deserializer) deserializer}.
+	 * @param serializer the serializer.
+	 * @since 5.0
+	 */
+	public void setSerializer(Serializer<Object> serializer) {
+		Assert.notNull(serializer, "'serializer' must not be null");
+		this.serializer = new SerializingConverter(serializer);
+	}
+
+	/**
+	 * Set a {@link Deserializer} for the byte array values of the region; other values
+	 * (e.g. stored before a {@link #setSerializer(Serializer) serializer} was configured)
+	 * are returned as is.
+	 * @param deserializer the deserializer.
+	 * @since 5.0
+	 */
+	@SuppressWarnings("unchecked")
+	public void setDeserializer(Deserializer<?> deserializer) {
+		Assert.notNull(deserializer, "'deserializer' must not be null");
+		this.deserializer = new DeserializingConverter((Deserializer<Object>) deserializer);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public void afterPropertiesSet() {
+		Assert.state(this.serializer == null || this.deserializer != null,
+				"A 'deserializer' is required when a 'serializer' is provided");
 		if (this.messageStoreRegion != null) {
 			return;
 		}
@@ -98,21 +135,31 @@ public class GemfireMessageStore extends AbstractKeyValueMessageStore implements
 	@Override
 	protected Object doRetrieve(Object id) {
 		Assert.notNull(id, "'id' must not be null");
-		return this.messageStoreRegion.get(id);
+		return deserialize(this.messageStoreRegion.get(id));
+	}
+
+	@Override
+	protected Collection<?> doRetrieveAll(Collection<?> ids) {
+		Map<Object, Object> values = this.messageStoreRegion.getAll(ids);
+		List<Object> result = new ArrayList<Object>(ids.size());
+		for (Object id : ids) {
+			result.add(deserialize(values.get(id)));
+		}
+		return result;
 	}
 
 	@Override
 	protected void doStore(Object id, Object objectToStore) {
 		Assert.notNull(id, "'id' must not be null");
 		Assert.notNull(objectToStore, "'objectToStore' must not be null");
-		this.messageStoreRegion.put(id, objectToStore);
+		this.messageStoreRegion.put(id, serialize(objectToStore));
 	}
 
 	@Override
 	protected void doStoreIfAbsent(Object id, Object objectToStore) {
 		Assert.notNull(id, "'id' must not be null");
 		Assert.notNull(objectToStore, "'objectToStore' must not be null");
-		Object present = this.messageStoreRegion.putIfAbsent(id, objectToStore);
+		Object present = this.messageStoreRegion.putIfAbsent(id, serialize(objectToStore));
 		if (present != null && logger.isDebugEnabled()) {
 			logger.debug("The message: [" + present + "] is already present in the store. " +
 					"The [" + objectToStore + "] is ignored.");
@@ -122,7 +169,7 @@ public class GemfireMessageStore extends AbstractKeyValueMessageStore implements
 	@Override
 	protected Object doRemove(Object id) {
 		Assert.notNull(id, "'id' must not be null");
-		return this.messageStoreRegion.remove(id);
+		return deserialize(this.messageStoreRegion.remove(id));
 	}
 
 	@Override
@@ -139,4 +186,14 @@ public class GemfireMessageStore extends AbstractKeyValueMessageStore implements
 		return keyList;
 	}
 
+	private Object serialize(Object object) {
+		return this.serializer != null ? this.serializer.convert(object) : object;
+	}
+
+	private Object deserialize(Object value) {
+		return this.deserializer != null && value instanceof byte[]
+				? this.deserializer.convert((byte[]) value)
+				: value;
+	}
+
 }
@@ -19,6 +19,7 @@ package org.springframework.integration.gemfire.store;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,7 @@ import org.junit.Test;
 import org.springframework.data.gemfire.CacheFactoryBean;
 import org.springframework.data.gemfire.RegionFactoryBean;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.codec.CodecMessageSerializer;
 import org.springframework.integration.history.MessageHistory;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.support.MessageBuilder;
@@ -124,6 +126,28 @@ public class GemfireMessageStoreTests {
 		assertEquals(0, group.size());
 	}
 
+	@Test
+	public void testCodecMessageSerializer() throws Exception {
+		GemfireMessageStore messageStore = new GemfireMessageStore(region);
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		messageStore.setSerializer(serializer);
+		messageStore.setDeserializer(serializer);
+		messageStore.afterPropertiesSet();
+
+		Message<?> legacy = MessageBuilder.withPayload("legacy").build();
+		region.put("MESSAGE_" + legacy.getHeaders().getId(), legacy);
+		assertEquals(legacy, messageStore.getMessage(legacy.getHeaders().getId()));
+
+		String groupId = "X";
+		Message<String> message = MessageBuilder.withPayload("foo").setCorrelationId(groupId).build();
+		messageStore.addMessagesToGroup(groupId, message);
+		assertTrue(region.get("MESSAGE_" + message.getHeaders().getId()) instanceof byte[]);
+		MessageGroup group = messageStore.getMessageGroup(groupId);
+		assertEquals(1, group.size());
+		assertEquals(message, group.getOne());
+		assertEquals(message, messageStore.removeMessage(message.getHeaders().getId()));
+	}
+
 	@Before
 	public void prepare() {
 		if (region != null) {
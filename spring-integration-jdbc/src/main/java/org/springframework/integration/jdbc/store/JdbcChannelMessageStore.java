@@ -16,7 +16,10 @@
 
 package org.springframework.integration.jdbc.store;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -55,8 +58,12 @@ import org.springframework.integration.transaction.TransactionSynchronizationFac
 import org.springframework.integration.util.UUIDConverter;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
@@ -94,6 +101,8 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	private static final Log logger = LogFactory.getLog(JdbcChannelMessageStore.class);
 
+	private static final int MAX_SKIP_LOCKED_FETCH_SIZE = 1000;
+
 	private final Set<String> idCache = new HashSet<String>();
 
 	private final ReadWriteLock idCacheLock = new ReentrantReadWriteLock();
@@ -137,6 +146,8 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	private volatile JdbcTemplate jdbcTemplate;
 
+	private volatile JdbcTemplate skipLockedJdbcTemplate;
+
 	private volatile DeserializingConverter deserializer;
 
 	private volatile SerializingConverter serializer;
@@ -151,6 +162,10 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	private boolean usingIdCache = false;
 
+	private boolean skipLocked;
+
+	private volatile WriteBehindBatcher<MessageRow> addBatcher;
+
 	private boolean priorityEnabled;
 
 	private BeanFactory beanFactory;
@@ -197,11 +212,13 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	/**
 	 * A converter for deserializing byte arrays to messages.
+	 * The deserializer must produce messages, e.g. a
+	 * {@link org.springframework.integration.codec.CodecMessageSerializer}.
 	 *
 	 * @param deserializer the deserializer to set
 	 */
 	@SuppressWarnings({"unchecked", "rawtypes"})
-	public void setDeserializer(Deserializer<? extends Message<?>> deserializer) {
+	public void setDeserializer(Deserializer<?> deserializer) {
 		this.deserializer = new DeserializingConverter((Deserializer) deserializer);
 	}
 
@@ -339,6 +356,38 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		this.usingIdCache = usingIdCache;
 	}
 
+	/**
+	 * Set to true to poll with the {@code FOR UPDATE SKIP LOCKED} queries of the
+	 * {@link ChannelMessageStoreQueryProvider} (e.g. PostgreSQL 9.5+, MySQL 8+ or Oracle):
+	 * parallel transactional pollers then skip the rows locked by each other instead of
+	 * waiting for the same head row, without the {@link #setUsingIdCache(boolean) id cache},
+	 * and {@link #pollMessagesFromGroup(Object, int)} fetches and deletes up to the requested
+	 * number of messages with one query and one batch update (e.g. for a poller with a
+	 * {@code batchSize}). Cannot be used together with the id cache.
+	 * @param skipLocked true to skip locked rows.
+	 * @since 5.0
+	 */
+	public void setSkipLocked(boolean skipLocked) {
+		this.skipLocked = skipLocked;
+	}
+
+	/**
+	 * Enable the coalescing of the {@link #addMessageToGroup(Object, Message)} calls of
+	 * concurrent threads (outside of a transaction) into batched inserts: a thread inserts
+	 * the messages queued by the other threads along with its own, after waiting for the
+	 * provided window (in milliseconds) to collect more; {@code 0} means without waiting,
+	 * i.e. coalescing only the messages queued while a previous batch was being inserted.
+	 * Each call still returns when its message has been inserted.
+	 * Within a transaction, each message is inserted immediately, in that transaction.
+	 * Default -1 - no coalescing.
+	 * @param addBatchingWindow the window in milliseconds; a negative value disables the coalescing.
+	 * @since 5.0
+	 */
+	public void setAddBatchingWindow(long addBatchingWindow) {
+		this.addBatcher = addBatchingWindow < 0 ? null
+				: new WriteBehindBatcher<>(this::doInsertMessages, this::doInsertMessage, addBatchingWindow);
+	}
+
 	public void setPriorityEnabled(boolean priorityEnabled) {
 		this.priorityEnabled = priorityEnabled;
 	}
@@ -392,6 +441,15 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 			this.messageRowMapper = new MessageRowMapper(this.deserializer, this.lobHandler);
 		}
 
+		if (this.skipLocked) {
+			Assert.state(!this.usingIdCache, "The 'skipLocked' and 'usingIdCache' options are mutually exclusive");
+			Assert.state(this.channelMessageStoreQueryProvider.getPollFromGroupSkipLockedQuery() != null
+							&& this.channelMessageStoreQueryProvider.getPriorityPollFromGroupSkipLockedQuery() != null,
+					() -> "The " + this.channelMessageStoreQueryProvider + " doesn't support 'skipLocked'");
+			this.skipLockedJdbcTemplate = new JdbcTemplate(this.jdbcTemplate.getDataSource());
+			this.skipLockedJdbcTemplate.setQueryTimeout(this.jdbcTemplate.getQueryTimeout());
+		}
+
 		if (this.jdbcTemplate.getFetchSize() != 1 && logger.isWarnEnabled()) {
 			logger.warn("The jdbcTemplate's fetch size is not 1. This may cause FIFO issues with Oracle databases.");
 		}
@@ -412,47 +470,77 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	@Override
 	public MessageGroup addMessageToGroup(Object groupId, final Message<?> message) {
 
-		String groupKey = getKey(groupId);
+		Integer priority = message.getHeaders().get(IntegrationMessageHeaderAccessor.PRIORITY, Integer.class);
 
-		long createdDate = System.currentTimeMillis();
+		MessageRow messageRow = new MessageRow(getKey(groupId), getKey(message.getHeaders().getId()),
+				System.currentTimeMillis(), this.priorityEnabled ? priority : null, this.serializer.convert(message));
 
-		String messageId = getKey(message.getHeaders().getId());
+		WriteBehindBatcher<MessageRow> addBatcher = this.addBatcher;
+		if (addBatcher != null) {
+			addBatcher.write(messageRow);
+		}
+		else {
+			doInsertMessage(messageRow);
+		}
 
-		byte[] messageBytes = this.serializer.convert(message);
+		return getMessageGroup(groupId);
+	}
+
+	private void doInsertMessages(List<MessageRow> messageRows) {
+		if (messageRows.size() == 1) {
+			doInsertMessage(messageRows.get(0));
+			return;
+		}
 
 		if (logger.isDebugEnabled()) {
-			logger.debug("Inserting message with id key=" + messageId);
+			logger.debug("Inserting " + messageRows.size() + " messages");
+		}
+
+		try {
+			this.jdbcTemplate.batchUpdate(getQuery(this.channelMessageStoreQueryProvider.getCreateMessageQuery()),
+					messageRows, messageRows.size(), this::setMessageRowValues);
+		}
+		catch (DuplicateKeyException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Some of the Messages already exist; inserting them one by one.");
+			}
+			for (MessageRow messageRow : messageRows) {
+				doInsertMessage(messageRow);
+			}
+		}
+	}
+
+	private void doInsertMessage(MessageRow messageRow) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inserting message with id key=" + messageRow.messageId);
 		}
 
 		try {
 			this.jdbcTemplate.update(getQuery(this.channelMessageStoreQueryProvider.getCreateMessageQuery()),
-					ps -> {
-						ps.setString(1, messageId);
-						ps.setString(2, groupKey);
-						ps.setString(3, this.region);
-						ps.setLong(4, createdDate);
-
-						Integer priority = message.getHeaders()
-								.get(IntegrationMessageHeaderAccessor.PRIORITY, Integer.class);
-
-						if (JdbcChannelMessageStore.this.priorityEnabled && priority != null) {
-							ps.setInt(5, priority);
-						}
-						else {
-							ps.setNull(5, Types.NUMERIC);
-						}
-
-						this.lobHandler.getLobCreator().setBlobAsBytes(ps, 6, messageBytes);
-					});
+					ps -> setMessageRowValues(ps, messageRow));
 		}
 		catch (DuplicateKeyException e) {
 			if (logger.isDebugEnabled()) {
-				logger.debug("The Message with id [" + messageId + "] already exists.\n" +
+				logger.debug("The Message with id [" + messageRow.messageId + "] already exists.\n" +
 						"Ignoring INSERT...");
 			}
 		}
+	}
 
-		return getMessageGroup(groupId);
+	private void setMessageRowValues(PreparedStatement ps, MessageRow messageRow) throws SQLException {
+		ps.setString(1, messageRow.messageId);
+		ps.setString(2, messageRow.groupKey);
+		ps.setString(3, this.region);
+		ps.setLong(4, messageRow.createdDate);
+
+		if (messageRow.priority != null) {
+			ps.setInt(5, messageRow.priority);
+		}
+		else {
+			ps.setNull(5, Types.NUMERIC);
+		}
+
+		this.lobHandler.getLobCreator().setBlobAsBytes(ps, 6, messageRow.messageBytes);
 	}
 
 	/**
@@ -531,6 +619,10 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	 */
 	@Override
 	public Message<?> pollMessageFromGroup(Object groupId) {
+		if (this.skipLocked) {
+			List<Message<?>> messages = pollMessagesFromGroup(groupId, 1);
+			return messages.isEmpty() ? null : messages.get(0);
+		}
 
 		final String key = getKey(groupId);
 		final Message<?> polledMessage = this.doPollForMessage(key);
@@ -616,6 +708,87 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		return null;
 	}
 
+	/**
+	 * Polls the database for up to {@code maxMessages} messages persisted for the given
+	 * group id; with {@link #setSkipLocked(boolean) skipLocked}, the messages are selected
+	 * with a single query, skipping the rows locked by other transactions, and deleted with a
+	 * single batch update.
+	 * @since 5.0
+	 */
+	@Override
+	public List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		if (!this.skipLocked) {
+			return PriorityCapableChannelMessageStore.super.pollMessagesFromGroup(groupId, maxMessages);
+		}
+		List<Message<?>> messages = doPollForMessages(getKey(groupId), maxMessages);
+		if (messages.isEmpty()) {
+			return messages;
+		}
+		return doRemoveMessagesFromGroup(groupId, messages);
+	}
+
+	/**
+	 * This method executes a call to the DB to get up to {@code maxMessages} of the oldest
+	 * Messages in the MessageGroup (channel), skipping the rows locked by other transactions.
+	 * The statement {@code maxRows} is set to {@code maxMessages} for the databases which
+	 * can't limit the rows of a {@code FOR UPDATE} query.
+	 * @param groupIdKey String representation of message group (Channel) ID
+	 * @param maxMessages the maximum number of messages to retrieve.
+	 * @return the messages; empty if the query produced no Messages.
+	 * @since 5.0
+	 */
+	protected List<Message<?>> doPollForMessages(String groupIdKey, int maxMessages) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource()
+				.addValue("region", this.region)
+				.addValue("group_key", groupIdKey)
+				.addValue("max_messages", maxMessages);
+
+		String query = getQuery(this.priorityEnabled
+				? this.channelMessageStoreQueryProvider.getPriorityPollFromGroupSkipLockedQuery()
+				: this.channelMessageStoreQueryProvider.getPollFromGroupSkipLockedQuery());
+
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(query);
+		PreparedStatementCreator preparedStatementCreator =
+				new PreparedStatementCreatorFactory(NamedParameterUtils.substituteNamedParameters(parsedSql, parameters),
+						NamedParameterUtils.buildSqlParameterList(parsedSql, parameters))
+						.newPreparedStatementCreator(NamedParameterUtils.buildValueArray(parsedSql, parameters, null));
+
+		return this.skipLockedJdbcTemplate.query(connection -> {
+			PreparedStatement statement = preparedStatementCreator.createPreparedStatement(connection);
+			statement.setMaxRows(maxMessages);
+			statement.setFetchSize(Math.min(maxMessages, MAX_SKIP_LOCKED_FETCH_SIZE));
+			return statement;
+		}, this.messageRowMapper);
+	}
+
+	private List<Message<?>> doRemoveMessagesFromGroup(Object groupId, List<Message<?>> messagesToRemove) {
+		String groupKey = getKey(groupId);
+		List<Object[]> batchArgs = new ArrayList<>(messagesToRemove.size());
+		for (Message<?> message : messagesToRemove) {
+			batchArgs.add(new Object[] { getKey(message.getHeaders().getId()), groupKey, this.region });
+		}
+
+		int[] updated = this.jdbcTemplate.batchUpdate(getQuery(this.channelMessageStoreQueryProvider.getDeleteMessageQuery()),
+				batchArgs, new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR });
+
+		List<Message<?>> removed = new ArrayList<>(messagesToRemove.size());
+		for (int i = 0; i < updated.length; i++) {
+			Message<?> message = messagesToRemove.get(i);
+			// Statement.SUCCESS_NO_INFO is negative
+			if (updated[i] != 0) {
+				removed.add(message);
+			}
+			else {
+				logger.warn(String.format("Message with id '%s' was not deleted.", message.getHeaders().getId()));
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("%d messages were deleted from group '%s'.", removed.size(), groupId));
+		}
+
+		return removed;
+	}
+
 	private boolean doRemoveMessageFromGroup(Object groupId, Message<?> messageToRemove) {
 		final UUID id = messageToRemove.getHeaders().getId();
 
@@ -667,4 +840,26 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		return this.idCache.size();
 	}
 
+	private static final class MessageRow {
+
+		private final String groupKey;
+
+		private final String messageId;
+
+		private final long createdDate;
+
+		private final Integer priority;
+
+		private final byte[] messageBytes;
+
+		MessageRow(String groupKey, String messageId, long createdDate, Integer priority, byte[] messageBytes) {
+			this.groupKey = groupKey;
+			this.messageId = messageId;
+			this.createdDate = createdDate;
+			this.priority = priority;
+			this.messageBytes = messageBytes;
+		}
+
+	}
+
 }
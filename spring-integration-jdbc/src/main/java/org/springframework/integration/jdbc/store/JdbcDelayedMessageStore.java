@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.integration.store.DelayedMessageStore;
+import org.springframework.integration.util.UUIDConverter;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.lob.DefaultLobHandler;
+import org.springframework.jdbc.support.lob.LobHandler;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Implementation of {@link DelayedMessageStore} using a relational database via JDBC.
+ * The messages are stored in the {@code INT_DELAYED_MESSAGE} table (see
+ * <code>org/springframework/integration/jdbc/schema-*.sql</code>) with their release time,
+ * which is indexed, so only the messages due within the look-ahead window of the
+ * {@link org.springframework.integration.handler.DelayHandler} are retrieved.
+ * <p>
+ * The removal of a message is a single {@code DELETE}: with several instances sharing the
+ * table, only the one which actually deleted the row releases the message.
+ *
+ * @since 5.0
+ */
+public class JdbcDelayedMessageStore implements DelayedMessageStore {
+
+	/**
+	 * Default value for the table prefix property.
+	 */
+	public static final String DEFAULT_TABLE_PREFIX = "INT_";
+
+	private static final String CREATE_DELAYED_MESSAGE = "INSERT into %PREFIX%DELAYED_MESSAGE"
+			+ "(MESSAGE_ID, GROUP_KEY, REGION, RELEASE_TIME, MESSAGE_BYTES) values (?, ?, ?, ?, ?)";
+
+	private static final String LIST_DUE_MESSAGES = "SELECT MESSAGE_BYTES, RELEASE_TIME from %PREFIX%DELAYED_MESSAGE "
+			+ "where REGION=? and GROUP_KEY=? and RELEASE_TIME >= ? and RELEASE_TIME < ? ORDER BY RELEASE_TIME";
+
+	private static final String DELETE_DELAYED_MESSAGE = "DELETE from %PREFIX%DELAYED_MESSAGE "
+			+ "where MESSAGE_ID=? and GROUP_KEY=? and REGION=?";
+
+	private static final String COUNT_DELAYED_MESSAGES = "SELECT COUNT(MESSAGE_ID) from %PREFIX%DELAYED_MESSAGE "
+			+ "where GROUP_KEY=? and REGION=?";
+
+	private final JdbcOperations jdbcTemplate;
+
+	private final RowMapper<DueMessage> mapper = (rs, rowNum) ->
+			new DueMessage((Message<?>) JdbcDelayedMessageStore.this.deserializer.convert(
+					JdbcDelayedMessageStore.this.lobHandler.getBlobAsBytes(rs, "MESSAGE_BYTES")),
+					rs.getLong("RELEASE_TIME"));
+
+	private volatile String region = "DEFAULT";
+
+	private volatile String tablePrefix = DEFAULT_TABLE_PREFIX;
+
+	private volatile DeserializingConverter deserializer = new DeserializingConverter();
+
+	private volatile SerializingConverter serializer = new SerializingConverter();
+
+	private volatile LobHandler lobHandler = new DefaultLobHandler();
+
+	/**
+	 * Create a {@link DelayedMessageStore} with all mandatory properties.
+	 * @param dataSource a {@link DataSource}
+	 */
+	public JdbcDelayedMessageStore(DataSource dataSource) {
+		this(new JdbcTemplate(dataSource));
+	}
+
+	/**
+	 * Create a {@link DelayedMessageStore} with all mandatory properties.
+	 * @param jdbcOperations a {@link JdbcOperations}
+	 */
+	public JdbcDelayedMessageStore(JdbcOperations jdbcOperations) {
+		Assert.notNull(jdbcOperations, "'jdbcOperations' must not be null");
+		this.jdbcTemplate = jdbcOperations;
+	}
+
+	/**
+	 * Public setter for the table prefix property. This will be prefixed to all the table names before queries are
+	 * executed. Defaults to {@link #DEFAULT_TABLE_PREFIX}.
+	 * @param tablePrefix the tablePrefix to set
+	 */
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+	/**
+	 * A unique grouping identifier for all messages persisted with this store. Using multiple regions allows the store
+	 * to be partitioned (if necessary) for different purposes. Defaults to <code>DEFAULT</code>.
+	 * @param region the region name to set
+	 */
+	public void setRegion(String region) {
+		Assert.hasText(region, "Region must not be null or empty.");
+		this.region = region;
+	}
+
+	/**
+	 * Override the {@link LobHandler} that is used to create and unpack large objects in SQL queries. The default is
+	 * fine for almost all platforms, but some Oracle drivers require a native implementation.
+	 * @param lobHandler a {@link LobHandler}
+	 */
+	public void setLobHandler(LobHandler lobHandler) {
+		Assert.notNull(lobHandler, "'lobHandler' must not be null");
+		this.lobHandler = lobHandler;
+	}
+
+	/**
+	 * A converter for serializing messages to byte arrays for storage.
+	 * @param serializer the serializer to set
+	 */
+	@SuppressWarnings("unchecked")
+	public void setSerializer(Serializer<? super Message<?>> serializer) {
+		this.serializer = new SerializingConverter((Serializer<Object>) serializer);
+	}
+
+	/**
+	 * A converter for deserializing byte arrays to messages.
+	 * The deserializer must produce messages, e.g. a
+	 * {@link org.springframework.integration.codec.CodecMessageSerializer}.
+	 * @param deserializer the deserializer to set
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void setDeserializer(Deserializer<?> deserializer) {
+		this.deserializer = new DeserializingConverter((Deserializer) deserializer);
+	}
+
+	@Override
+	public void addDelayedMessage(Object groupId, Message<?> message, long releaseTime) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		Assert.notNull(message, "'message' must not be null");
+		final String messageId = getKey(message.getHeaders().getId());
+		final String groupKey = getKey(groupId);
+		final byte[] messageBytes = this.serializer.convert(message);
+		this.jdbcTemplate.update(getQuery(CREATE_DELAYED_MESSAGE), ps -> {
+			ps.setString(1, messageId);
+			ps.setString(2, groupKey);
+			ps.setString(3, JdbcDelayedMessageStore.this.region);
+			ps.setLong(4, releaseTime);
+			JdbcDelayedMessageStore.this.lobHandler.getLobCreator().setBlobAsBytes(ps, 5, messageBytes);
+		});
+	}
+
+	/**
+	 * Retrieve the due messages with a {@link PreparedStatement#setMaxRows(int) maxRows} limit
+	 * instead of a vendor specific SQL clause, so the same query works on all the platforms.
+	 */
+	@Override
+	public Collection<DueMessage> getMessagesDueBetween(Object groupId, long from, long to, int maxMessages) {
+		final String groupKey = getKey(groupId);
+		return this.jdbcTemplate.query(con -> {
+			PreparedStatement ps = con.prepareStatement(getQuery(LIST_DUE_MESSAGES));
+			ps.setMaxRows(maxMessages);
+			ps.setFetchSize(Math.min(maxMessages, 1000));
+			ps.setString(1, JdbcDelayedMessageStore.this.region);
+			ps.setString(2, groupKey);
+			ps.setLong(3, from);
+			ps.setLong(4, to);
+			return ps;
+		}, this.mapper);
+	}
+
+	@Override
+	public boolean removeDelayedMessage(Object groupId, UUID messageId) {
+		return this.jdbcTemplate.update(getQuery(DELETE_DELAYED_MESSAGE),
+				getKey(messageId), getKey(groupId), this.region) > 0;
+	}
+
+	@Override
+	public int getDelayedMessageCount(Object groupId) {
+		return this.jdbcTemplate.queryForObject(getQuery(COUNT_DELAYED_MESSAGES), Integer.class,
+				getKey(groupId), this.region);
+	}
+
+	private String getQuery(String base) {
+		return StringUtils.replace(base, "%PREFIX%", this.tablePrefix);
+	}
+
+	private String getKey(Object input) {
+		return UUIDConverter.getUUID(input).toString();
+	}
+
+}
@@ -20,15 +20,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -51,6 +57,9 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
@@ -88,9 +97,9 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 	 */
 	public static final String DEFAULT_TABLE_PREFIX = "INT_";
 
-	private enum Query {
-		GROUP_EXISTS("SELECT COUNT(GROUP_KEY) FROM %PREFIX%MESSAGE_GROUP where GROUP_KEY=? and REGION=?"),
+	private static final int ADD_BATCH_SIZE = 100;
 
+	private enum Query {
 		CREATE_MESSAGE_GROUP("INSERT into %PREFIX%MESSAGE_GROUP" +
 				"(GROUP_KEY, REGION, MARKED, COMPLETE, LAST_RELEASED_SEQUENCE, CREATED_DATE, UPDATED_DATE)"
 				+ " values (?, ?, 0, 0, 0, ?, ?)"),
@@ -113,6 +122,9 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 				"from %PREFIX%MESSAGE where MESSAGE_ID in (SELECT MESSAGE_ID from %PREFIX%GROUP_TO_MESSAGE where GROUP_KEY = ?) and REGION=? " +
 				"ORDER BY CREATED_DATE"),
 
+		LIST_MESSAGES_BY_IDS("SELECT MESSAGE_ID, MESSAGE_BYTES " +
+				"from %PREFIX%MESSAGE where MESSAGE_ID in (:messageIds) and REGION=:region"),
+
 		POLL_FROM_GROUP("SELECT %PREFIX%MESSAGE.MESSAGE_ID, %PREFIX%MESSAGE.MESSAGE_BYTES from %PREFIX%MESSAGE " +
 				"where %PREFIX%MESSAGE.MESSAGE_ID = " +
 				"(SELECT min(m.MESSAGE_ID) from %PREFIX%MESSAGE m " +
@@ -130,8 +142,6 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 		GET_MESSAGE("SELECT MESSAGE_ID, CREATED_DATE, MESSAGE_BYTES from %PREFIX%MESSAGE where MESSAGE_ID=? and REGION=?"),
 
-		GET_GROUP_CREATED_DATE("SELECT CREATED_DATE from %PREFIX%MESSAGE_GROUP where GROUP_KEY=? and REGION=?"),
-
 		GET_MESSAGE_COUNT("SELECT COUNT(MESSAGE_ID) from %PREFIX%MESSAGE where REGION=?"),
 
 		DELETE_MESSAGE("DELETE from %PREFIX%MESSAGE where MESSAGE_ID=? and REGION=?"),
@@ -189,6 +199,8 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	private final JdbcOperations jdbcTemplate;
 
+	private final NamedParameterJdbcOperations namedParameterJdbcTemplate;
+
 	private volatile DeserializingConverter deserializer;
 
 	private volatile SerializingConverter serializer;
@@ -197,6 +209,8 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	private volatile Map<Query, String> queryCache = new HashMap<Query, String>();
 
+	private volatile WriteBehindBatcher<GroupAddition> addBatcher;
+
 	/**
 	 * Create a {@link MessageStore} with all mandatory properties.
 	 * @param dataSource a {@link DataSource}
@@ -213,6 +227,7 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 	public JdbcMessageStore(JdbcOperations jdbcOperations) {
 		Assert.notNull(jdbcOperations, "'dataSource' must not be null");
 		this.jdbcTemplate = jdbcOperations;
+		this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcOperations);
 		this.deserializer = new DeserializingConverter();
 		this.serializer = new SerializingConverter();
 	}
@@ -260,14 +275,35 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	/**
 	 * A converter for deserializing byte arrays to messages.
+	 * The deserializer must produce messages, e.g. a
+	 * {@link org.springframework.integration.codec.CodecMessageSerializer}.
 	 *
 	 * @param deserializer the deserializer to set
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	public void setDeserializer(Deserializer<? extends Message<?>> deserializer) {
+	public void setDeserializer(Deserializer<?> deserializer) {
 		this.deserializer = new DeserializingConverter((Deserializer) deserializer);
 	}
 
+	/**
+	 * Enable the coalescing of the {@link #addMessagesToGroup(Object, Message[])} calls
+	 * of concurrent threads (outside of a transaction) into batched statements: a thread
+	 * writes the additions queued by the other threads along with its own, after waiting
+	 * for the provided window (in milliseconds) to collect more; {@code 0} means without
+	 * waiting, i.e. coalescing only the additions queued while a previous batch was being
+	 * written. Each call still returns when its messages have been stored.
+	 * Within a transaction, each call is written immediately, in that transaction.
+	 * Default -1 - no coalescing.
+	 * @param addBatchingWindow the window in milliseconds; a negative value disables the coalescing.
+	 * @since 5.0
+	 */
+	public void setAddBatchingWindow(long addBatchingWindow) {
+		this.addBatcher = addBatchingWindow < 0 ? null
+				: new WriteBehindBatcher<>(this::doAddMessagesToGroups,
+						groupAddition -> doAddMessagesToGroups(Collections.singletonList(groupAddition), true),
+						addBatchingWindow);
+	}
+
 	@Override
 	public Message<?> removeMessage(UUID id) {
 		Message<?> message = getMessage(id);
@@ -343,48 +379,152 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		return message;
 	}
 
+	/**
+	 * Store the messages and add them to the group with a batch update for each table;
+	 * the group is updated, and only created if it doesn't exist yet.
+	 * @see #setAddBatchingWindow(long)
+	 */
 	@Override
 	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
-		final String groupKey = getKey(groupId);
-		boolean groupNotExist = this.jdbcTemplate.queryForObject(this.getQuery(Query.GROUP_EXISTS),
-				Integer.class, groupKey, this.region) < 1;
+		GroupAddition groupAddition = new GroupAddition(getKey(groupId), messages);
+		WriteBehindBatcher<GroupAddition> addBatcher = this.addBatcher;
+		if (addBatcher != null) {
+			addBatcher.write(groupAddition);
+		}
+		else {
+			doAddMessagesToGroups(Collections.singletonList(groupAddition));
+		}
+	}
 
+	private void doAddMessagesToGroups(List<GroupAddition> groupAdditions) {
+		doAddMessagesToGroups(groupAdditions, false);
+	}
+
+	/**
+	 * Add the messages to their groups; with {@code ignoreExisting}, e.g. when retrying the
+	 * additions of a failed (non-transactional) batch, the messages which are already in
+	 * their group are considered added instead of failing with a {@link DuplicateKeyException}.
+	 */
+	private void doAddMessagesToGroups(List<GroupAddition> groupAdditions, boolean ignoreExisting) {
 		final Timestamp updatedDate = new Timestamp(System.currentTimeMillis());
 
-		final Timestamp createdDate = groupNotExist ?
-				updatedDate :
-				this.jdbcTemplate.queryForObject(getQuery(Query.GET_GROUP_CREATED_DATE), Timestamp.class, groupKey,
-						this.region);
+		Set<String> groupKeys = new LinkedHashSet<>();
+		Map<UUID, Message<?>> messages = new LinkedHashMap<>();
+		List<String[]> groupToMessages = new ArrayList<>();
+		for (GroupAddition groupAddition : groupAdditions) {
+			groupKeys.add(groupAddition.groupKey);
+			for (Message<?> message : groupAddition.messages) {
+				UUID id = message.getHeaders().getId();
+				messages.putIfAbsent(id, message);
+				groupToMessages.add(new String[] { groupAddition.groupKey, getKey(id) });
+			}
+		}
 
-		if (groupNotExist) {
+		for (String groupKey : doUpdateMessageGroups(groupKeys, updatedDate)) {
 			try {
-				doCreateMessageGroup(groupKey, createdDate);
+				doCreateMessageGroup(groupKey, updatedDate);
 			}
 			catch (DuplicateKeyException e) {
 				logger.warn("Lost race to create group; attempting update instead", e);
 				doUpdateMessageGroup(groupKey, updatedDate);
 			}
 		}
-		else {
-			doUpdateMessageGroup(groupKey, updatedDate);
-		}
 
-		for (Message<?> message : messages) {
-			addMessage(message);
+		doAddMessages(messages.values());
+
+		if (ignoreExisting) {
+			for (String[] groupToMessage : groupToMessages) {
+				try {
+					this.jdbcTemplate.update(getQuery(Query.CREATE_GROUP_TO_MESSAGE),
+							groupToMessage[0], groupToMessage[1], this.region);
+				}
+				catch (DuplicateKeyException e) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("The message with id key=" + groupToMessage[1] +
+								" is already in the group with key=" + groupToMessage[0]);
+					}
+				}
+			}
+			return;
 		}
+
 		this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_GROUP_TO_MESSAGE),
-				Arrays.asList(messages),
-				100,
-				(ps, messageToAdd) -> {
-					String messageId = getKey(messageToAdd.getHeaders().getId());
+				groupToMessages,
+				ADD_BATCH_SIZE,
+				(ps, groupToMessage) -> {
 					if (logger.isDebugEnabled()) {
-						logger.debug("Inserting message with id key=" + messageId +
-								" and created date=" + createdDate);
+						logger.debug("Inserting message with id key=" + groupToMessage[1] +
+								" into group with key=" + groupToMessage[0]);
 					}
-					ps.setString(1, groupKey);
-					ps.setString(2, messageId);
+					ps.setString(1, groupToMessage[0]);
+					ps.setString(2, groupToMessage[1]);
+					ps.setString(3, JdbcMessageStore.this.region);
+				});
+	}
+
+	/**
+	 * Update the groups and return the keys of those which don't exist yet.
+	 */
+	private List<String> doUpdateMessageGroups(Collection<String> groupKeys, Timestamp updatedDate) {
+		List<String> notUpdated = new ArrayList<>();
+		if (groupKeys.size() == 1) {
+			String groupKey = groupKeys.iterator().next();
+			if (doUpdateMessageGroup(groupKey, updatedDate) == 0) {
+				notUpdated.add(groupKey);
+			}
+			return notUpdated;
+		}
+		int[][] updated = this.jdbcTemplate.batchUpdate(getQuery(Query.UPDATE_MESSAGE_GROUP),
+				groupKeys,
+				ADD_BATCH_SIZE,
+				(ps, groupKey) -> {
+					ps.setTimestamp(1, updatedDate);
+					ps.setString(2, groupKey);
 					ps.setString(3, JdbcMessageStore.this.region);
 				});
+		Iterator<String> iterator = groupKeys.iterator();
+		for (int[] batch : updated) {
+			for (int count : batch) {
+				String groupKey = iterator.next();
+				// Statement.SUCCESS_NO_INFO (e.g. Oracle) - the update must be repeated to know the count
+				if (count == 0 || (count < 0 && doUpdateMessageGroup(groupKey, updatedDate) == 0)) {
+					notUpdated.add(groupKey);
+				}
+			}
+		}
+		return notUpdated;
+	}
+
+	private void doAddMessages(Collection<Message<?>> messages) {
+		if (messages.size() == 1) {
+			addMessage(messages.iterator().next());
+			return;
+		}
+		final Timestamp createdDate = new Timestamp(System.currentTimeMillis());
+		try {
+			this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_MESSAGE),
+					messages,
+					ADD_BATCH_SIZE,
+					(ps, message) -> {
+						String messageId = getKey(message.getHeaders().getId());
+						if (logger.isDebugEnabled()) {
+							logger.debug("Inserting message with id key=" + messageId);
+						}
+						ps.setString(1, messageId);
+						ps.setString(2, JdbcMessageStore.this.region);
+						ps.setTimestamp(3, createdDate);
+
+						this.lobHandler.getLobCreator().setBlobAsBytes(ps, 4, this.serializer.convert(message));
+					});
+		}
+		catch (DuplicateKeyException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Some of the Messages already exist; inserting them one by one, ignoring existing ones.");
+			}
+			for (Message<?> message : messages) {
+				addMessage(message);
+			}
+		}
 	}
 
 	@Override
@@ -447,19 +587,23 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		if (logger.isDebugEnabled()) {
 			logger.debug("Removing messages from group with group key=" + groupKey);
 		}
+		// the messages may be streamed from this store: iterate them only once
+		List<String> messageIds = messages.stream()
+				.map(messageToRemove -> getKey(messageToRemove.getHeaders().getId()))
+				.collect(Collectors.toList());
 		this.jdbcTemplate.batchUpdate(getQuery(Query.REMOVE_MESSAGE_FROM_GROUP),
-				messages,
+				messageIds,
 				getRemoveBatchSize(),
-				(ps, messageToRemove) -> {
+				(ps, messageId) -> {
 					ps.setString(1, groupKey);
-					ps.setString(2, getKey(messageToRemove.getHeaders().getId()));
+					ps.setString(2, messageId);
 					ps.setString(3, JdbcMessageStore.this.region);
 				});
 		this.jdbcTemplate.batchUpdate(getQuery(Query.DELETE_MESSAGE),
-				messages,
+				messageIds,
 				getRemoveBatchSize(),
-				(ps, messageToRemove) -> {
-					ps.setString(1, getKey(messageToRemove.getHeaders().getId()));
+				(ps, messageId) -> {
+					ps.setString(1, messageId);
 					ps.setString(2, JdbcMessageStore.this.region);
 				});
 		this.updateMessageGroup(groupKey);
@@ -547,6 +691,16 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 				this.region);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The ids of the messages are selected first; the messages are then selected
+	 * and deserialized one {@link #setStreamPageSize(int) page} at a time.
+	 */
+	@Override
+	public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		return streamInPages(getMessageIdsForGroup(groupId), this::getMessages);
+	}
+
 	@Override
 	public Iterator<MessageGroup> iterator() {
 
@@ -631,8 +785,8 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		});
 	}
 
-	private void doUpdateMessageGroup(final String groupKey, final Timestamp updatedDate) {
-		this.jdbcTemplate.update(getQuery(Query.UPDATE_MESSAGE_GROUP), ps -> {
+	private int doUpdateMessageGroup(final String groupKey, final Timestamp updatedDate) {
+		return this.jdbcTemplate.update(getQuery(Query.UPDATE_MESSAGE_GROUP), ps -> {
 			if (logger.isDebugEnabled()) {
 				logger.debug("Updating message group with id key=" + groupKey + " and updated date=" + updatedDate);
 			}
@@ -663,6 +817,24 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		return messageIds;
 	}
 
+	private List<Message<?>> getMessages(List<UUID> messageIds) {
+		List<String> keys = messageIds.stream()
+				.map(this::getKey)
+				.collect(Collectors.toList());
+		MapSqlParameterSource parameters = new MapSqlParameterSource("messageIds", keys)
+				.addValue("region", this.region);
+		Map<UUID, Message<?>> messages = new HashMap<UUID, Message<?>>();
+		this.namedParameterJdbcTemplate.query(getQuery(Query.LIST_MESSAGES_BY_IDS), parameters,
+				(RowCallbackHandler) rs -> {
+					Message<?> message = this.mapper.mapRow(rs, 0);
+					messages.put(message.getHeaders().getId(), message);
+				});
+		return messageIds.stream()
+				.map(messages::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+	}
+
 	private String getKey(Object input) {
 		return input == null ? null : UUIDConverter.getUUID(input).toString();
 	}
@@ -683,4 +855,17 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	}
 
+	private static final class GroupAddition {
+
+		private final String groupKey;
+
+		private final Message<?>[] messages;
+
+		GroupAddition(String groupKey, Message<?>[] messages) {
+			this.groupKey = groupKey;
+			this.messages = messages;
+		}
+
+	}
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces the writes of concurrent callers into batches: each caller queues its write and
+ * the first caller to obtain the lock writes all the queued writes with a single invocation
+ * of the batch writer, after waiting for the batching window, if any; every caller returns
+ * once its own write has been performed. When a batch fails, its writes are retried one by
+ * one with the retry writer, so that a failure is only reported to its own caller. The batch
+ * is not performed in a transaction, so some of its rows may have been written before the
+ * failure: the retry writer must treat the rows which already exist (duplicate keys) as
+ * written.
+ * <p>
+ * A write within a transaction is performed immediately by the caller, to remain part of
+ * that transaction.
+ *
+ * @param <T> the write type.
+ *
+ * @since 5.0
+ */
+final class WriteBehindBatcher<T> {
+
+	private final Queue<PendingWrite<T>> pendingWrites = new ConcurrentLinkedQueue<>();
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Consumer<List<T>> batchWriter;
+
+	private final Consumer<T> retryWriter;
+
+	private final long windowNanos;
+
+	WriteBehindBatcher(Consumer<List<T>> batchWriter, Consumer<T> retryWriter, long window) {
+		this.batchWriter = batchWriter;
+		this.retryWriter = retryWriter;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(window);
+	}
+
+	void write(T write) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			this.batchWriter.accept(Collections.singletonList(write));
+			return;
+		}
+		PendingWrite<T> pendingWrite = new PendingWrite<>(write);
+		this.pendingWrites.add(pendingWrite);
+		this.lock.lock();
+		try {
+			if (!pendingWrite.done) {
+				awaitWindow();
+				flush();
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (pendingWrite.failure != null) {
+			throw pendingWrite.failure;
+		}
+	}
+
+	/**
+	 * Wait for the batching window, holding the lock; an interrupt ends the wait, and the
+	 * interrupted status is left set for the caller.
+	 */
+	private void awaitWindow() {
+		long deadline = System.nanoTime() + this.windowNanos;
+		long remaining = this.windowNanos;
+		// parkNanos() may return early: spuriously or when the thread is interrupted
+		while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+			LockSupport.parkNanos(this, remaining);
+			remaining = deadline - System.nanoTime();
+		}
+	}
+
+	private void flush() {
+		List<PendingWrite<T>> batch = new ArrayList<>();
+		List<T> writes = new ArrayList<>();
+		PendingWrite<T> pendingWrite;
+		while ((pendingWrite = this.pendingWrites.poll()) != null) {
+			batch.add(pendingWrite);
+			writes.add(pendingWrite.write);
+		}
+		boolean settled = false;
+		try {
+			this.batchWriter.accept(writes);
+			settled = true;
+		}
+		catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				batch.get(0).failure = e;
+			}
+			else {
+				for (PendingWrite<T> write : batch) {
+					try {
+						this.retryWriter.accept(write.write);
+					}
+					catch (RuntimeException ex) {
+						write.failure = ex;
+					}
+				}
+			}
+			settled = true;
+		}
+		finally {
+			for (PendingWrite<T> write : batch) {
+				if (!settled) {
+					write.failure = new IllegalStateException("The batch of this write failed with an Error");
+				}
+				write.done = true;
+			}
+		}
+	}
+
+	private static final class PendingWrite<T> {
+
+		private final T write;
+
+		private volatile boolean done;
+
+		private volatile RuntimeException failure;
+
+		PendingWrite(T write) {
+			this.write = write;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,6 +67,32 @@ public interface ChannelMessageStoreQueryProvider {
 	 */
 	String getPriorityPollFromGroupQuery();
 
+	/**
+	 * Get the query used to retrieve and lock up to {@code :max_messages} of the oldest
+	 * messages for a channel, skipping the rows locked by other transactions
+	 * ({@code FOR UPDATE SKIP LOCKED}). The default implementation returns null: skipping
+	 * locked rows is not supported.
+	 *
+	 * @return Sql Query
+	 * @since 5.0
+	 */
+	default String getPollFromGroupSkipLockedQuery() {
+		return null;
+	}
+
+	/**
+	 * Get the query used to retrieve and lock up to {@code :max_messages} of the oldest
+	 * messages by priority for a channel, skipping the rows locked by other transactions
+	 * ({@code FOR UPDATE SKIP LOCKED}). The default implementation returns null: skipping
+	 * locked rows is not supported.
+	 *
+	 * @return Sql Query
+	 * @since 5.0
+	 */
+	default String getPriorityPollFromGroupSkipLockedQuery() {
+		return null;
+	}
+
 	/**
 	 * Query that retrieves a message for the provided message id, channel and
 	 * region.
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store.channel;
+
+/**
+ * Contains MySQL 8 (or later) specific queries for the
+ * {@link org.springframework.integration.jdbc.store.JdbcChannelMessageStore}:
+ * in addition to the {@link MySqlChannelMessageStoreQueryProvider} queries, it provides
+ * the {@code FOR UPDATE SKIP LOCKED} queries, which are not supported by earlier versions.
+ *
+ * @since 5.0
+ */
+public class MySql8ChannelMessageStoreQueryProvider extends MySqlChannelMessageStoreQueryProvider {
+
+	@Override
+	public String getPollFromGroupSkipLockedQuery() {
+		return "SELECT %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES from %PREFIX%CHANNEL_MESSAGE " +
+				"where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region " +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages FOR UPDATE SKIP LOCKED";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupSkipLockedQuery() {
+		return "SELECT %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES from %PREFIX%CHANNEL_MESSAGE " +
+				"where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region " +
+				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE " +
+				"LIMIT :max_messages FOR UPDATE SKIP LOCKED";
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,10 @@ import org.springframework.jdbc.core.JdbcTemplate;
  * Please ensure that the used {@link JdbcTemplate}'s fetchSize property is <code>1</code>.
  * <p>
  * Fore more details, please see: http://stackoverflow.com/questions/6117254/force-oracle-to-return-top-n-rows-with-skip-locked
+ * <p>
+ * Oracle does not allow a row limit together with {@code FOR UPDATE}, so the
+ * {@code SKIP LOCKED} queries for several messages are limited by the
+ * {@code maxRows} of the statement.
  *
  * @author Gunnar Hillert
  * @author Artem Bilan
@@ -66,4 +70,14 @@ public class OracleChannelMessageStoreQueryProvider extends AbstractChannelMessa
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FOR UPDATE SKIP LOCKED";
 	}
 
+	@Override
+	public String getPollFromGroupSkipLockedQuery() {
+		return getPollFromGroupQuery();
+	}
+
+	@Override
+	public String getPriorityPollFromGroupSkipLockedQuery() {
+		return getPriorityPollFromGroupQuery();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,10 @@
 package org.springframework.integration.jdbc.store.channel;
 
 /**
+ * Contains PostgreSQL-specific queries for the
+ * {@link org.springframework.integration.jdbc.store.JdbcChannelMessageStore}.
+ * The {@code SKIP LOCKED} queries require PostgreSQL 9.5 or later.
+ *
  * @author Gunnar Hillert
  * @author Artem Bilan
  * @since 2.2
@@ -52,4 +56,19 @@ public class PostgresChannelMessageStoreQueryProvider extends AbstractChannelMes
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1 FOR UPDATE";
 	}
 
+	@Override
+	public String getPollFromGroupSkipLockedQuery() {
+		return "SELECT %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES from %PREFIX%CHANNEL_MESSAGE " +
+				"where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region " +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages FOR UPDATE SKIP LOCKED";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupSkipLockedQuery() {
+		return "SELECT %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES from %PREFIX%CHANNEL_MESSAGE " +
+				"where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region " +
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE " +
+				"LIMIT :max_messages FOR UPDATE SKIP LOCKED";
+	}
+
 }
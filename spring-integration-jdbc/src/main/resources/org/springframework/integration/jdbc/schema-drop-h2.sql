@@ -3,10 +3,12 @@
 DROP INDEX  INT_MESSAGE_IX1 IF EXISTS;
 DROP INDEX  INT_CHANNEL_MSG_DATE_IDX IF EXISTS;
 DROP INDEX  INT_CHANNEL_MSG_PRIORITY_IDX IF EXISTS;
+DROP INDEX  INT_DELAYED_MSG_TIME_IDX IF EXISTS;
 DROP TABLE  INT_MESSAGE IF EXISTS;
 DROP TABLE  INT_MESSAGE_GROUP IF EXISTS;
 DROP TABLE  INT_GROUP_TO_MESSAGE IF EXISTS;
 DROP TABLE  INT_LOCK IF EXISTS;
 DROP TABLE  INT_CHANNEL_MESSAGE IF EXISTS;
 DROP TABLE  INT_METADATA_STORE IF EXISTS;
+DROP TABLE  INT_DELAYED_MESSAGE IF EXISTS;
 DROP SEQUENCE INT_MESSAGE_SEQ IF EXISTS;
@@ -6,3 +6,4 @@ DROP TABLE IF EXISTS INT_GROUP_TO_MESSAGE ;
 DROP TABLE IF EXISTS INT_LOCK ;
 DROP TABLE IF EXISTS INT_CHANNEL_MESSAGE ;
 DROP TABLE IF EXISTS INT_METADATA_STORE ;
+DROP TABLE IF EXISTS INT_DELAYED_MESSAGE ;
@@ -3,10 +3,12 @@
 DROP INDEX  INT_MESSAGE_IX1 ;
 DROP INDEX  INT_CHANNEL_MSG_DATE_IDX ;
 DROP INDEX  INT_CHANNEL_MSG_PRIORITY_IDX ;
+DROP INDEX  INT_DELAYED_MSG_TIME_IDX ;
 DROP TABLE  INT_MESSAGE ;
 DROP TABLE  INT_MESSAGE_GROUP ;
 DROP TABLE  INT_GROUP_TO_MESSAGE ;
 DROP TABLE  INT_LOCK ;
 DROP TABLE  INT_CHANNEL_MESSAGE ;
 DROP TABLE  INT_METADATA_STORE ;
+DROP TABLE  INT_DELAYED_MESSAGE ;
 DROP SEQUENCE INT_MESSAGE_SEQ ;
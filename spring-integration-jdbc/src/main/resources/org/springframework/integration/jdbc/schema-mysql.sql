@@ -59,3 +59,14 @@ CREATE TABLE INT_METADATA_STORE  (
 	REGION VARCHAR(100) NOT NULL,
 	constraint METADATA_STORE primary key (METADATA_KEY, REGION)
 ) ENGINE=InnoDB;
+
+CREATE TABLE INT_DELAYED_MESSAGE  (
+	MESSAGE_ID CHAR(36) NOT NULL,
+	GROUP_KEY CHAR(36) NOT NULL,
+	RELEASE_TIME BIGINT NOT NULL,
+	MESSAGE_BYTES BLOB,
+	REGION VARCHAR(100) NOT NULL,
+	constraint INT_DELAYED_MESSAGE_PK primary key (MESSAGE_ID, GROUP_KEY, REGION)
+) ENGINE=InnoDB;
+
+CREATE INDEX INT_DELAYED_MSG_TIME_IDX ON INT_DELAYED_MESSAGE (REGION, GROUP_KEY, RELEASE_TIME);
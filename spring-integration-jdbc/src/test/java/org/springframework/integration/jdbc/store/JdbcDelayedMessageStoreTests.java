@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.handler.DelayHandler;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @since 5.0
+ */
+public class JdbcDelayedMessageStoreTests {
+
+	private static EmbeddedDatabase dataSource;
+
+	private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+	private JdbcDelayedMessageStore delayedMessageStore;
+
+	@BeforeClass
+	public static void setupDatabase() {
+		dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("classpath:/org/springframework/integration/jdbc/schema-h2.sql")
+				.build();
+	}
+
+	@AfterClass
+	public static void shutDownDatabase() {
+		dataSource.shutdown();
+	}
+
+	@Before
+	public void setUp() {
+		this.delayedMessageStore = new JdbcDelayedMessageStore(dataSource);
+		this.taskScheduler.setPoolSize(4);
+		this.taskScheduler.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() {
+		this.taskScheduler.destroy();
+		new JdbcTemplate(dataSource).execute("delete from INT_DELAYED_MESSAGE");
+	}
+
+	@Test
+	public void testDueMessagesInReleaseTimeOrder() {
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Message<?> message = new GenericMessage<>(i);
+			messages.add(message);
+			this.delayedMessageStore.addDelayedMessage("foo", message, 1000 - i * 10);
+		}
+		this.delayedMessageStore.addDelayedMessage("bar", new GenericMessage<>("bar"), 0);
+		JdbcDelayedMessageStore otherRegion = new JdbcDelayedMessageStore(dataSource);
+		otherRegion.setRegion("other");
+		otherRegion.addDelayedMessage("foo", new GenericMessage<>("other"), 0);
+
+		List<Message<?>> due = new ArrayList<>(this.delayedMessageStore.getMessagesDueBefore("foo", 960, 3));
+		assertEquals(3, due.size());
+		assertEquals(9, due.get(0).getPayload());
+		assertEquals(8, due.get(1).getPayload());
+		assertEquals(7, due.get(2).getPayload());
+		assertEquals(5, this.delayedMessageStore.getMessagesDueBefore("foo", 960, 100).size());
+		assertEquals(10, this.delayedMessageStore.getDelayedMessageCount("foo"));
+
+		assertTrue(this.delayedMessageStore.removeDelayedMessage("foo", messages.get(9).getHeaders().getId()));
+		assertFalse(this.delayedMessageStore.removeDelayedMessage("foo", messages.get(9).getHeaders().getId()));
+		assertFalse(this.delayedMessageStore.removeDelayedMessage("bar", messages.get(8).getHeaders().getId()));
+		assertEquals(9, this.delayedMessageStore.getDelayedMessageCount("foo"));
+		assertEquals(1, this.delayedMessageStore.getDelayedMessageCount("bar"));
+		assertEquals(1, otherRegion.getDelayedMessageCount("foo"));
+	}
+
+	@Test
+	public void testDelayHandlerLookAhead() {
+		QueueChannel outputChannel = new QueueChannel();
+		DelayHandler delayHandler = delayHandler(outputChannel);
+		long startTime = System.currentTimeMillis();
+		for (int i = 0; i < 20; i++) {
+			delayHandler.handleMessage(MessageBuilder.withPayload(i)
+					.setHeader("delay", i % 2 == 0 ? 50 : 500)
+					.build());
+		}
+		assertEquals(20, delayHandler.getDelayedMessageCount());
+		for (int i = 0; i < 20; i++) {
+			Message<?> message = outputChannel.receive(10000);
+			assertNotNull(message);
+			if (i >= 10) {
+				assertEquals(1, (Integer) message.getPayload() % 2);
+				assertThat(System.currentTimeMillis() - startTime, greaterThanOrEqualTo(500L));
+			}
+		}
+		assertEquals(0, delayHandler.getDelayedMessageCount());
+	}
+
+	@Test
+	public void testSharedStoreReleasesOnce() {
+		QueueChannel outputChannel = new QueueChannel();
+		DelayHandler delayHandler1 = delayHandler(outputChannel);
+		DelayHandler delayHandler2 = delayHandler(outputChannel);
+		for (int i = 0; i < 20; i++) {
+			delayHandler1.handleMessage(MessageBuilder.withPayload(i).setHeader("delay", 300).build());
+		}
+		delayHandler2.reschedulePersistedMessages();
+		Set<Object> payloads = new HashSet<>();
+		for (int i = 0; i < 20; i++) {
+			Message<?> message = outputChannel.receive(10000);
+			assertNotNull(message);
+			assertTrue(payloads.add(message.getPayload()));
+		}
+		assertNull(outputChannel.receive(500));
+		assertEquals(0, this.delayedMessageStore.getDelayedMessageCount("delayer"));
+	}
+
+	private DelayHandler delayHandler(QueueChannel outputChannel) {
+		DelayHandler delayHandler = new DelayHandler("delayer", this.taskScheduler);
+		delayHandler.setDelayExpressionString("headers.delay");
+		delayHandler.setDelayedMessageStore(this.delayedMessageStore);
+		delayHandler.setLookAheadWindow(100);
+		delayHandler.setOutputChannel(outputChannel);
+		delayHandler.setBeanFactory(mock(BeanFactory.class));
+		delayHandler.afterPropertiesSet();
+		return delayHandler;
+	}
+
+}
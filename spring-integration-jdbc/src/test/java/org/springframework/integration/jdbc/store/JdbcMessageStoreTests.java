@@ -32,6 +32,9 @@ import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
@@ -43,6 +46,7 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.codec.CodecMessageSerializer;
 import org.springframework.integration.history.MessageHistory;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.support.MessageBuilder;
@@ -54,6 +58,7 @@ import org.springframework.messaging.support.GenericMessage;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -143,6 +148,23 @@ public class JdbcMessageStoreTests {
 		assertEquals("foo", result.getPayload());
 	}
 
+	@Test
+	public void testCodecMessageSerializer() throws Exception {
+		Message<String> legacy = MessageBuilder.withPayload("foo").setCorrelationId("X").build();
+		messageStore.addMessagesToGroup("X", legacy);
+
+		CodecMessageSerializer serializer = new CodecMessageSerializer();
+		serializer.setCompressionThreshold(0);
+		messageStore.setSerializer(serializer);
+		messageStore.setDeserializer(serializer);
+		Message<String> message = MessageBuilder.withPayload("bar").setCorrelationId("X").build();
+		messageStore.addMessagesToGroup("X", message);
+
+		assertEquals(legacy, messageStore.getMessage(legacy.getHeaders().getId()));
+		assertEquals(message, messageStore.getMessage(message.getHeaders().getId()));
+		assertEquals(2, messageStore.getMessageGroup("X").size());
+	}
+
 	@Test
 	public void testAddAndGetWithDifferentRegion() throws Exception {
 		Message<String> message = MessageBuilder.withPayload("foo").build();
@@ -237,6 +259,28 @@ public class JdbcMessageStoreTests {
 		assertEquals(0, group.size());
 	}
 
+	@Test
+	public void testStreamMessagesForGroup() throws Exception {
+		String groupId = "X";
+		this.messageStore.setStreamPageSize(2);
+		List<Object> payloads = new ArrayList<Object>();
+		for (int i = 0; i < 5; i++) {
+			this.messageStore.addMessagesToGroup(groupId, new GenericMessage<String>("foo" + i));
+			payloads.add("foo" + i);
+		}
+		assertEquals(5, this.messageStore.streamMessagesForGroup(groupId).count());
+		MessageGroup group = this.messageStore.getMessageGroup(groupId);
+		assertEquals(5, group.size());
+		List<Object> streamed = new ArrayList<Object>();
+		for (Message<?> message : group.getMessages()) {
+			streamed.add(message.getPayload());
+		}
+		assertEquals(5, streamed.size());
+		assertTrue(streamed.containsAll(payloads));
+		this.messageStore.removeMessagesFromGroup(groupId, group.getMessages());
+		assertEquals(0, this.messageStore.messageGroupSize(groupId));
+	}
+
 	@Test
 	public void testRemoveMessageGroup() throws Exception {
 		JdbcTemplate template = new JdbcTemplate(this.dataSource);
@@ -409,6 +453,70 @@ public class JdbcMessageStoreTests {
 		assertEquals(1, group.size());
 	}
 
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void testAddMessagesToGroupWithBatchingWindow() throws Exception {
+		JdbcMessageStore batchingMessageStore = new JdbcMessageStore(this.dataSource);
+		batchingMessageStore.setRegion("batching");
+		batchingMessageStore.setAddBatchingWindow(10);
+		Message<String> shared = MessageBuilder.withPayload("shared").build();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			String groupId = "batching" + (i % 4);
+			List<Message<?>> messages = new ArrayList<>();
+			if (i < 4) {
+				messages.add(shared);
+			}
+			messages.add(MessageBuilder.withPayload("foo").build());
+			messages.add(MessageBuilder.withPayload("bar").build());
+			futures.add(executor.submit(() ->
+					batchingMessageStore.addMessagesToGroup(groupId, messages.toArray(new Message<?>[0]))));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		try {
+			assertEquals(4, batchingMessageStore.getMessageGroupCount());
+			for (int i = 0; i < 4; i++) {
+				MessageGroup group = batchingMessageStore.getMessageGroup("batching" + i);
+				assertEquals(21, group.size());
+			}
+			assertEquals(81, batchingMessageStore.getMessageCount());
+		}
+		finally {
+			for (int i = 0; i < 4; i++) {
+				batchingMessageStore.removeMessageGroup("batching" + i);
+			}
+		}
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void testPartiallyWrittenBatchRetried() throws Exception {
+		JdbcMessageStore batchingMessageStore = new JdbcMessageStore(this.dataSource);
+		batchingMessageStore.setRegion("batching");
+		batchingMessageStore.setAddBatchingWindow(500);
+		Message<String> shared = MessageBuilder.withPayload("shared").build();
+		Message<String> other = MessageBuilder.withPayload("other").build();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// the duplicate group to message row fails the batch after its first row has been written
+			Future<?> first = executor.submit(() -> batchingMessageStore.addMessagesToGroup("retried", shared));
+			Thread.sleep(100);
+			Future<?> second = executor.submit(() ->
+					batchingMessageStore.addMessagesToGroup("retried", shared, other));
+			first.get(10, TimeUnit.SECONDS);
+			second.get(10, TimeUnit.SECONDS);
+			assertEquals(2, batchingMessageStore.getMessageGroup("retried").size());
+		}
+		finally {
+			executor.shutdownNow();
+			batchingMessageStore.removeMessageGroup("retried");
+		}
+	}
+
 	@Test
 	public void testSameMessageToMultipleGroups() throws Exception {
 
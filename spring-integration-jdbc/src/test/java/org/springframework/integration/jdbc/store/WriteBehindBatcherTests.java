@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @since 5.0
+ */
+public class WriteBehindBatcherTests {
+
+	@Test
+	public void testInterruptEndsTheWindow() {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		WriteBehindBatcher<String> batcher = new WriteBehindBatcher<>(written::addAll, written::add, 60000);
+		long start = System.currentTimeMillis();
+		Thread.currentThread().interrupt();
+		try {
+			batcher.write("foo");
+		}
+		finally {
+			assertTrue(Thread.interrupted());
+		}
+		assertThat(System.currentTimeMillis() - start, lessThan(10000L));
+		assertEquals(Collections.singletonList("foo"), written);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import javax.sql.DataSource;
 
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -100,4 +111,60 @@ public abstract class AbstractJdbcChannelMessageStoreTests {
 		assertEquals(message.getHeaders().getId(), messageFromDb.getHeaders().getId());
 	}
 
+	@Test
+	public void testAddMessageToGroupWithBatchingWindow() throws Exception {
+		this.messageStore.setAddBatchingWindow(10);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Message<Integer> message = MessageBuilder.withPayload(i).build();
+			futures.add(executor.submit(() -> this.messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, message)));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		assertEquals(50, this.messageStore.messageGroupSize(TEST_MESSAGE_GROUP));
+
+		Set<Object> payloads = new HashSet<>();
+		Message<?> message;
+		while ((message = this.messageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP)) != null) {
+			payloads.add(message.getPayload());
+		}
+		assertEquals(50, payloads.size());
+	}
+
+	@Test
+	public void testPollMessagesFromGroupSkipLocked() throws Exception {
+		Assume.assumeNotNull(this.queryProvider.getPollFromGroupSkipLockedQuery());
+		verifyPollMessagesFromGroup(this.queryProvider);
+	}
+
+	protected void verifyPollMessagesFromGroup(ChannelMessageStoreQueryProvider queryProvider) throws Exception {
+		JdbcChannelMessageStore skipLockedMessageStore = new JdbcChannelMessageStore(this.dataSource);
+		skipLockedMessageStore.setRegion("AbstractJdbcChannelMessageStoreTests");
+		skipLockedMessageStore.setChannelMessageStoreQueryProvider(queryProvider);
+		skipLockedMessageStore.setSkipLocked(true);
+		skipLockedMessageStore.afterPropertiesSet();
+
+		for (int i = 0; i < 5; i++) {
+			skipLockedMessageStore.addMessageToGroup(TEST_MESSAGE_GROUP, MessageBuilder.withPayload(i).build());
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		List<Message<?>> messages =
+				transactionTemplate.execute(status -> skipLockedMessageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 3));
+
+		assertEquals("[0, 1, 2]",
+				messages.stream().map(Message::getPayload).collect(Collectors.toList()).toString());
+		assertEquals(2, skipLockedMessageStore.messageGroupSize(TEST_MESSAGE_GROUP));
+
+		Message<?> message = transactionTemplate.execute(status ->
+				skipLockedMessageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP));
+		assertNotNull(message);
+		assertEquals(3, message.getPayload());
+		assertEquals(1, skipLockedMessageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 10).size());
+		assertEquals(0, skipLockedMessageStore.messageGroupSize(TEST_MESSAGE_GROUP));
+	}
+
 }
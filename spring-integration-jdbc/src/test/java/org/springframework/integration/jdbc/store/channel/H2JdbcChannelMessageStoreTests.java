@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.integration.jdbc.store.channel;
 
+import org.junit.Test;
+
 /**
  * @author Gunnar Hillert
  * @author Manuel Jordan
@@ -23,4 +25,25 @@ package org.springframework.integration.jdbc.store.channel;
  */
 public class H2JdbcChannelMessageStoreTests extends AbstractJdbcChannelMessageStoreTests {
 
+	@Test
+	public void testPollMessagesFromGroup() throws Exception {
+		// H2 doesn't support SKIP LOCKED; verify the multi-row poll and batch delete
+		verifyPollMessagesFromGroup(new H2ChannelMessageStoreQueryProvider() {
+
+			@Override
+			public String getPollFromGroupSkipLockedQuery() {
+				return "SELECT %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES " +
+						"from %PREFIX%CHANNEL_MESSAGE " +
+						"where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region " +
+						"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages";
+			}
+
+			@Override
+			public String getPriorityPollFromGroupSkipLockedQuery() {
+				return getPriorityPollFromGroupQuery();
+			}
+
+		});
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
@@ -562,6 +563,23 @@ public class IntegrationMBeanExporter extends MBeanExporter implements Applicati
 		return handlerMetrics != null ? handlerMetrics.getDuration() : null;
 	}
 
+	/**
+	 * Return the p50, p99 and p999 handler durations (milliseconds); the values are 0
+	 * unless the handler metrics track the duration distribution.
+	 * @param name the handler name.
+	 * @return the percentiles keyed by {@code p50, p99, p999}, or null if there is no such handler.
+	 * @since 5.0
+	 * @see org.springframework.integration.support.management.LatencyHistogramMetricsFactory
+	 */
+	@ManagedOperation
+	public Map<String, Double> getHandlerDurationPercentiles(String name) {
+		MessageHandlerMetrics handlerMetrics = getHandlerMetrics(name);
+		return handlerMetrics != null
+				? percentiles(handlerMetrics.getP50Duration(), handlerMetrics.getP99Duration(),
+						handlerMetrics.getP999Duration())
+				: null;
+	}
+
 	@ManagedAttribute
 	public String[] getSourceNames() {
 		return this.managementConfigurer.getSourceNames();
@@ -625,6 +643,31 @@ public class IntegrationMBeanExporter extends MBeanExporter implements Applicati
 		return channelMetrics != null ? channelMetrics.getErrorRate() : null;
 	}
 
+	/**
+	 * Return the p50, p99 and p999 channel send durations (milliseconds); the values are 0
+	 * unless the channel metrics track the duration distribution.
+	 * @param name the channel name.
+	 * @return the percentiles keyed by {@code p50, p99, p999}, or null if there is no such channel.
+	 * @since 5.0
+	 * @see org.springframework.integration.support.management.LatencyHistogramMetricsFactory
+	 */
+	@ManagedOperation
+	public Map<String, Double> getChannelSendDurationPercentiles(String name) {
+		MessageChannelMetrics channelMetrics = getChannelMetrics(name);
+		return channelMetrics != null
+				? percentiles(channelMetrics.getP50SendDuration(), channelMetrics.getP99SendDuration(),
+						channelMetrics.getP999SendDuration())
+				: null;
+	}
+
+	private Map<String, Double> percentiles(double p50, double p99, double p999) {
+		Map<String, Double> percentiles = new LinkedHashMap<>();
+		percentiles.put("p50", p50);
+		percentiles.put("p99", p99);
+		percentiles.put("p999", p999);
+		return percentiles;
+	}
+
 	private void registerChannels() {
 		for (MessageChannelMetrics monitor : this.channels) {
 			String name = ((NamedComponent) monitor).getComponentName();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2016 the original author or authors.
+ * Copyright 2013-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -119,6 +119,9 @@ public class MBeanAttributeFilterTests {
 				"MeanSendDuration",
 				"MeanSendRate",
 				"MinSendDuration",
+				"P50SendDuration",
+				"P999SendDuration",
+				"P99SendDuration",
 				"StandardDeviationSendDuration",
 				"SubscriberCount",
 				"TimeSinceLastSend"));
@@ -18,7 +18,7 @@ package org.springframework.integration.jpa.support;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -33,7 +33,7 @@ import org.springframework.util.Assert;
  */
 public class JpaParameter {
 
-	private static final ExpressionParser PARSER = new SpelExpressionParser();
+	private static final ExpressionParser PARSER = ExpressionUtils.getExpressionParser();
 
 	private String name;
 
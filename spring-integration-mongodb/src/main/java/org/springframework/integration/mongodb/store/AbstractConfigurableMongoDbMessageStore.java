@@ -30,6 +30,8 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.MongoDbFactory;
@@ -98,6 +100,10 @@ public abstract class AbstractConfigurableMongoDbMessageStore extends AbstractMe
 
 	protected MessageBuilderFactory messageBuilderFactory = new DefaultMessageBuilderFactory();
 
+	private Serializer<? super Message<?>> serializer;
+
+	private Deserializer<?> deserializer;
+
 	public AbstractConfigurableMongoDbMessageStore(MongoTemplate mongoTemplate, String collectionName) {
 		Assert.notNull(mongoTemplate, "'mongoTemplate' must not be null");
 		Assert.hasText(collectionName, "'collectionName' must not be empty");
@@ -119,6 +125,30 @@ public abstract class AbstractConfigurableMongoDbMessageStore extends AbstractMe
 		this.mappingMongoConverter = mappingMongoConverter;
 	}
 
+	/**
+	 * Set the {@link Serializer} for the messages, when the store creates its own
+	 * {@link MappingMongoConverter}, e.g. a
+	 * {@link org.springframework.integration.codec.CodecMessageSerializer}.
+	 * Default Java serialization.
+	 * @param serializer the serializer.
+	 * @since 5.0
+	 */
+	public void setSerializer(Serializer<? super Message<?>> serializer) {
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Set the {@link Deserializer} for the messages, when the store creates its own
+	 * {@link MappingMongoConverter}; it must produce messages, e.g. a
+	 * {@link org.springframework.integration.codec.CodecMessageSerializer}.
+	 * Default Java serialization.
+	 * @param deserializer the deserializer.
+	 * @since 5.0
+	 */
+	public void setDeserializer(Deserializer<?> deserializer) {
+		this.deserializer = deserializer;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
@@ -132,8 +162,12 @@ public abstract class AbstractConfigurableMongoDbMessageStore extends AbstractMe
 						new MongoMappingContext());
 				this.mappingMongoConverter.setApplicationContext(this.applicationContext);
 				List<Object> customConverters = new ArrayList<Object>();
-				customConverters.add(new MessageToBinaryConverter());
-				customConverters.add(new BinaryToMessageConverter());
+				customConverters.add(this.serializer != null
+						? new MessageToBinaryConverter(this.serializer)
+						: new MessageToBinaryConverter());
+				customConverters.add(this.deserializer != null
+						? new BinaryToMessageConverter(this.deserializer)
+						: new BinaryToMessageConverter());
 				this.mappingMongoConverter.setCustomConversions(new MongoCustomConversions(customConverters));
 				this.mappingMongoConverter.afterPropertiesSet();
 			}
@@ -23,6 +23,10 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.MongoDbFactory;
@@ -204,16 +208,14 @@ public class ConfigurableMongoDbMessageStore extends AbstractConfigurableMongoDb
 		Assert.notNull(groupId, "'groupId' must not be null");
 		Assert.notNull(messages, "'messageToRemove' must not be null");
 
-		Collection<UUID> ids = new ArrayList<UUID>();
+		// collect all the ids first: the messages may be streamed from this group
+		List<UUID> ids = new ArrayList<UUID>();
 		for (Message<?> messageToRemove : messages) {
 			ids.add(messageToRemove.getHeaders().getId());
-			if (ids.size() >= getRemoveBatchSize()) {
-				removeMessages(groupId, ids);
-				ids.clear();
-			}
 		}
-		if (ids.size() > 0) {
-			removeMessages(groupId, ids);
+		int removeBatchSize = getRemoveBatchSize();
+		for (int i = 0; i < ids.size(); i += removeBatchSize) {
+			removeMessages(groupId, ids.subList(i, Math.min(ids.size(), i + removeBatchSize)));
 		}
 		updateGroup(groupId, lastModifiedUpdate());
 	}
@@ -345,6 +347,30 @@ public class ConfigurableMongoDbMessageStore extends AbstractConfigurableMongoDb
 		return messages;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The ids of the group documents are read first; then the documents are read one
+	 * {@link #setStreamPageSize(int) page} of ids at a time while the stream is consumed,
+	 * so no database cursor is left open when the stream is not consumed to the end, and
+	 * the messages removed or modified meanwhile (e.g. by
+	 * {@link #removeMessagesFromGroup(Object, Collection)} on the streamed messages) don't
+	 * shift the following pages.
+	 */
+	@Override
+	public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		Query idsQuery = groupOrderQuery(groupId);
+		idsQuery.fields().include("_id");
+		List<Object> ids = this.mongoTemplate.find(idsQuery, Document.class, this.collectionName)
+				.stream()
+				.map(document -> document.get("_id"))
+				.collect(Collectors.toList());
+		return streamInPages(ids, pageIds ->
+				this.mongoTemplate.find(groupOrderQuery(groupId).addCriteria(Criteria.where("_id").in(pageIds)),
+						MessageDocument.class, this.collectionName))
+				.map(MessageDocument::getMessage);
+	}
+
 	private void expire(MessageGroup group) {
 
 		RuntimeException exception = null;
@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -306,16 +307,14 @@ public class MongoDbMessageStore extends AbstractMessageGroupStore
 		Assert.notNull(groupId, "'groupId' must not be null");
 		Assert.notNull(messages, "'messageToRemove' must not be null");
 
-		Collection<UUID> ids = new ArrayList<>();
+		// collect all the ids first: the messages may be streamed from this group
+		List<UUID> ids = new ArrayList<>();
 		for (Message<?> messageToRemove : messages) {
 			ids.add(messageToRemove.getHeaders().getId());
-			if (ids.size() >= getRemoveBatchSize()) {
-				bulkRemove(groupId, ids);
-				ids.clear();
-			}
 		}
-		if (ids.size() > 0) {
-			bulkRemove(groupId, ids);
+		int removeBatchSize = getRemoveBatchSize();
+		for (int i = 0; i < ids.size(); i += removeBatchSize) {
+			bulkRemove(groupId, ids.subList(i, Math.min(ids.size(), i + removeBatchSize)));
 		}
 		updateGroup(groupId, lastModifiedUpdate());
 	}
@@ -405,6 +404,30 @@ public class MongoDbMessageStore extends AbstractMessageGroupStore
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The ids of the group documents are read first; then the documents are read one
+	 * {@link #setStreamPageSize(int) page} of ids at a time while the stream is consumed,
+	 * so no database cursor is left open when the stream is not consumed to the end, and
+	 * the messages removed or modified meanwhile (e.g. by
+	 * {@link #removeMessagesFromGroup(Object, Collection)} on the streamed messages) don't
+	 * shift the following pages.
+	 */
+	@Override
+	public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		Query idsQuery = whereGroupIdOrder(groupId);
+		idsQuery.fields().include("_id");
+		List<Object> ids = this.template.find(idsQuery, Document.class, this.collectionName)
+				.stream()
+				.map(document -> document.get("_id"))
+				.collect(Collectors.toList());
+		return streamInPages(ids, pageIds ->
+				this.template.find(whereGroupIdOrder(groupId).addCriteria(Criteria.where("_id").in(pageIds)),
+						MessageWrapper.class, this.collectionName))
+				.map(MessageWrapper::getMessage);
+	}
+
 	@Override
 	@ManagedAttribute
 	public int getMessageCountForAllMessageGroups() {
@@ -19,6 +19,7 @@ package org.springframework.integration.mongodb.support;
 import org.bson.types.Binary;
 
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.Deserializer;
 import org.springframework.core.serializer.support.DeserializingConverter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.messaging.Message;
@@ -30,7 +31,24 @@ import org.springframework.messaging.Message;
 @ReadingConverter
 public class BinaryToMessageConverter implements Converter<Binary, Message<?>> {
 
-	private final Converter<byte[], Object> deserializingConverter = new DeserializingConverter();
+	private final Converter<byte[], Object> deserializingConverter;
+
+	/**
+	 * Create an instance which uses Java serialization.
+	 */
+	public BinaryToMessageConverter() {
+		this.deserializingConverter = new DeserializingConverter();
+	}
+
+	/**
+	 * Create an instance with the provided {@link Deserializer}, which must produce messages,
+	 * e.g. a {@link org.springframework.integration.codec.CodecMessageSerializer}.
+	 * @param deserializer the deserializer.
+	 */
+	@SuppressWarnings("unchecked")
+	public BinaryToMessageConverter(Deserializer<?> deserializer) {
+		this.deserializingConverter = new DeserializingConverter((Deserializer<Object>) deserializer);
+	}
 
 	@Override
 	public Message<?> convert(Binary source) {
@@ -19,6 +19,7 @@ package org.springframework.integration.mongodb.support;
 import org.bson.types.Binary;
 
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.Serializer;
 import org.springframework.core.serializer.support.SerializingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.messaging.Message;
@@ -30,7 +31,24 @@ import org.springframework.messaging.Message;
 @WritingConverter
 public class MessageToBinaryConverter implements Converter<Message<?>, Binary> {
 
-	private final Converter<Object, byte[]> serializingConverter = new SerializingConverter();
+	private final Converter<Object, byte[]> serializingConverter;
+
+	/**
+	 * Create an instance which uses Java serialization.
+	 */
+	public MessageToBinaryConverter() {
+		this.serializingConverter = new SerializingConverter();
+	}
+
+	/**
+	 * Create an instance with the provided {@link Serializer},
+	 * e.g. a {@link org.springframework.integration.codec.CodecMessageSerializer}.
+	 * @param serializer the serializer.
+	 */
+	@SuppressWarnings("unchecked")
+	public MessageToBinaryConverter(Serializer<? super Message<?>> serializer) {
+		this.serializingConverter = new SerializingConverter((Serializer<Object>) serializer);
+	}
 
 	@Override
 	public Binary convert(Message<?> source) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -423,6 +423,35 @@ public abstract class AbstractMongoDbMessageGroupStoreTests extends MongoDbAvail
 		assertEquals(0, group.size());
 	}
 
+	@Test
+	@MongoDbAvailable
+	public void testRemoveStreamedMessagesFromMessageGroup() throws Exception {
+		MessageGroupStore messageStore = (MessageGroupStore) this.getMessageStore();
+		String groupId = "X";
+		messageStore.removeMessageGroup("X");
+		((AbstractBatchingMessageGroupStore) messageStore).setStreamPageSize(10);
+		((AbstractBatchingMessageGroupStore) messageStore).setRemoveBatchSize(5);
+		for (int i = 0; i < 25; i++) {
+			messageStore.addMessagesToGroup(groupId,
+					MessageBuilder.withPayload("foo").setCorrelationId(groupId).build());
+		}
+		MessageGroup group = messageStore.getMessageGroup(groupId);
+		assertEquals(25, group.size());
+
+		int streamed = 0;
+		for (Message<?> message : group.getMessages()) {
+			if (streamed++ == 0) {
+				messageStore.removeMessagesFromGroup(groupId, message);
+			}
+		}
+		assertEquals(25, streamed);
+
+		group = messageStore.getMessageGroup(groupId);
+		assertEquals(24, group.size());
+		messageStore.removeMessagesFromGroup(groupId, group.getMessages());
+		assertEquals(0, messageStore.getMessageGroup(groupId).size());
+	}
+
 //	@Test
 //	@MongoDbAvailable
 //	public void testConcurrentModifications() throws Exception{
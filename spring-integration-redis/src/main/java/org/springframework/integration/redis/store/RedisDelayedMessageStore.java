@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.redis.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.integration.store.DelayedMessageStore;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * Redis implementation of the {@link DelayedMessageStore}: each group is a sorted set of
+ * the message ids scored by release time, and a hash of the messages by id.
+ * <p>
+ * The message is claimed by the {@code ZREM} of its id from the sorted set, so only one
+ * of the instances sharing the store releases it.
+ *
+ * @since 5.0
+ */
+public class RedisDelayedMessageStore implements DelayedMessageStore {
+
+	/**
+	 * Default value for the key prefix property.
+	 */
+	public static final String DEFAULT_KEY_PREFIX = "DELAYED_MESSAGE_";
+
+	private static final String MESSAGES_KEY_SUFFIX = "_MESSAGES";
+
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private volatile String keyPrefix = DEFAULT_KEY_PREFIX;
+
+	/**
+	 * Construct a store that uses Java Serialization for messages.
+	 * @param connectionFactory The redis connection factory.
+	 */
+	public RedisDelayedMessageStore(RedisConnectionFactory connectionFactory) {
+		this.redisTemplate = new RedisTemplate<>();
+		this.redisTemplate.setConnectionFactory(connectionFactory);
+		this.redisTemplate.setKeySerializer(new StringRedisSerializer());
+		this.redisTemplate.setValueSerializer(new StringRedisSerializer());
+		this.redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+		this.redisTemplate.setHashValueSerializer(new JdkSerializationRedisSerializer());
+		this.redisTemplate.afterPropertiesSet();
+	}
+
+	/**
+	 * Use a different serializer (default {@link JdkSerializationRedisSerializer} for
+	 * the {@link Message}.
+	 * @param valueSerializer The value serializer.
+	 */
+	public void setValueSerializer(RedisSerializer<?> valueSerializer) {
+		Assert.notNull(valueSerializer, "'valueSerializer' must not be null");
+		this.redisTemplate.setHashValueSerializer(valueSerializer);
+	}
+
+	/**
+	 * Set the prefix of the keys of the sorted set and the hash of each group.
+	 * Default {@value #DEFAULT_KEY_PREFIX}.
+	 * @param keyPrefix the key prefix.
+	 */
+	public void setKeyPrefix(String keyPrefix) {
+		Assert.notNull(keyPrefix, "'keyPrefix' must not be null");
+		this.keyPrefix = keyPrefix;
+	}
+
+	/**
+	 * Store the message in the hash before adding its id to the sorted set, so
+	 * an id can't be retrieved before its message.
+	 */
+	@Override
+	public void addDelayedMessage(Object groupId, Message<?> message, long releaseTime) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		Assert.notNull(message, "'message' must not be null");
+		String messageId = message.getHeaders().getId().toString();
+		this.redisTemplate.boundHashOps(messagesKey(groupId)).put(messageId, message);
+		this.redisTemplate.boundZSetOps(timeIndexKey(groupId)).add(messageId, releaseTime);
+	}
+
+	@Override
+	public Collection<DueMessage> getMessagesDueBetween(Object groupId, long from, long to, int maxMessages) {
+		Set<TypedTuple<Object>> dueIds = this.redisTemplate.opsForZSet()
+				.rangeByScoreWithScores(timeIndexKey(groupId), from, to - 1, 0, maxMessages);
+		if (dueIds == null || dueIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Object> messageIds = new ArrayList<>(dueIds.size());
+		for (TypedTuple<Object> dueId : dueIds) {
+			messageIds.add(dueId.getValue());
+		}
+		List<Object> messages = this.redisTemplate.<Object, Object>boundHashOps(messagesKey(groupId))
+				.multiGet(messageIds);
+		List<DueMessage> dueMessages = new ArrayList<>(messages.size());
+		Iterator<TypedTuple<Object>> dueIdIterator = dueIds.iterator();
+		for (Object message : messages) {
+			long releaseTime = dueIdIterator.next().getScore().longValue();
+			// null if removed in the meantime
+			if (message != null) {
+				dueMessages.add(new DueMessage((Message<?>) message, releaseTime));
+			}
+		}
+		return dueMessages;
+	}
+
+	@Override
+	public boolean removeDelayedMessage(Object groupId, UUID messageId) {
+		String id = messageId.toString();
+		Long removed = this.redisTemplate.boundZSetOps(timeIndexKey(groupId)).remove(id);
+		this.redisTemplate.boundHashOps(messagesKey(groupId)).delete(id);
+		return removed != null && removed > 0;
+	}
+
+	@Override
+	public int getDelayedMessageCount(Object groupId) {
+		Long count = this.redisTemplate.boundZSetOps(timeIndexKey(groupId)).zCard();
+		return count == null ? 0 : count.intValue();
+	}
+
+	private String timeIndexKey(Object groupId) {
+		return this.keyPrefix + groupId;
+	}
+
+	private String messagesKey(Object groupId) {
+		return this.keyPrefix + groupId + MESSAGES_KEY_SUFFIX;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2007-2016 the original author or authors.
+ * Copyright 2007-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.redis.store;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -61,6 +62,11 @@ public class RedisMessageStore extends AbstractKeyValueMessageStore {
 		return ops.get();
 	}
 
+	@Override
+	protected Collection<?> doRetrieveAll(Collection<?> ids) {
+		Assert.notNull(ids, "'ids' must not be null");
+		return this.redisTemplate.opsForValue().multiGet(new ArrayList<Object>(ids));
+	}
 
 	@Override
 	protected void doStore(Object id, Object objectToStore) {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.redis.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.handler.DelayHandler;
+import org.springframework.integration.redis.rules.RedisAvailable;
+import org.springframework.integration.redis.rules.RedisAvailableTests;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @since 5.0
+ */
+public class RedisDelayedMessageStoreTests extends RedisAvailableTests {
+
+	@Before
+	@After
+	public void setUpTearDown() {
+		StringRedisTemplate template = this.createStringRedisTemplate(this.getConnectionFactoryForTest());
+		template.delete(template.keys(RedisDelayedMessageStore.DEFAULT_KEY_PREFIX + "*"));
+	}
+
+	@Test
+	@RedisAvailable
+	public void testDueMessagesInReleaseTimeOrder() {
+		RedisDelayedMessageStore store = new RedisDelayedMessageStore(this.getConnectionFactoryForTest());
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Message<?> message = new GenericMessage<>(i);
+			messages.add(message);
+			store.addDelayedMessage("foo", message, 1000 - i * 10);
+		}
+		List<Message<?>> due = new ArrayList<>(store.getMessagesDueBefore("foo", 960, 3));
+		assertEquals(3, due.size());
+		assertEquals(9, due.get(0).getPayload());
+		assertEquals(8, due.get(1).getPayload());
+		assertEquals(7, due.get(2).getPayload());
+		assertEquals(5, store.getMessagesDueBefore("foo", 960, 100).size());
+		assertEquals(10, store.getDelayedMessageCount("foo"));
+		assertTrue(store.removeDelayedMessage("foo", messages.get(9).getHeaders().getId()));
+		assertFalse(store.removeDelayedMessage("foo", messages.get(9).getHeaders().getId()));
+		assertEquals(9, store.getDelayedMessageCount("foo"));
+		assertEquals(0, store.getDelayedMessageCount("bar"));
+	}
+
+	@Test
+	@RedisAvailable
+	public void testDelayHandlerLookAhead() {
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.afterPropertiesSet();
+		RedisDelayedMessageStore store = new RedisDelayedMessageStore(this.getConnectionFactoryForTest());
+		DelayHandler delayHandler = new DelayHandler("delayer", taskScheduler);
+		delayHandler.setDefaultDelay(300);
+		delayHandler.setDelayedMessageStore(store);
+		delayHandler.setLookAheadWindow(100);
+		QueueChannel outputChannel = new QueueChannel();
+		delayHandler.setOutputChannel(outputChannel);
+		delayHandler.setBeanFactory(mock(BeanFactory.class));
+		delayHandler.afterPropertiesSet();
+		for (int i = 0; i < 10; i++) {
+			delayHandler.handleMessage(new GenericMessage<>(i));
+		}
+		assertEquals(10, delayHandler.getDelayedMessageCount());
+		for (int i = 0; i < 10; i++) {
+			assertNotNull(outputChannel.receive(10000));
+		}
+		assertEquals(0, delayHandler.getDelayedMessageCount());
+		taskScheduler.destroy();
+	}
+
+}